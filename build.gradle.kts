@@ -18,6 +18,29 @@ dependencies {
     implementation("com.google.code.gson:gson:2.10.1")
 }
 
+sourceSets {
+    // 在用户项目 JVM 中运行的引导类（上下文测速等），只依赖 JDK，需兼容 Java 8
+    create("bootstrap")
+
+    // JMH 基准测试，覆盖扫描链路中不依赖 IDE 运行时的纯 Java 热点
+    create("jmh") {
+        compileClasspath += sourceSets["main"].output + sourceSets["main"].compileClasspath
+        runtimeClasspath += output + compileClasspath
+    }
+
+    // 基于 IntelliJ 测试框架的规模测试与功能测试：合成项目生成器 + heavy 测试项目，不参与 check
+    create("perf") {
+        compileClasspath += sourceSets["main"].output + sourceSets["main"].compileClasspath
+        runtimeClasspath += output + compileClasspath
+    }
+}
+
+dependencies {
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+    "perfImplementation"("junit:junit:4.13.2")
+}
+
 intellij {
     // 固定 IDE 版本，避免每次构建都去查询最新版
     version.set("2024.1.7")
@@ -37,6 +60,73 @@ tasks {
         options.compilerArgs.addAll(listOf("-Xlint:unchecked", "-Xlint:deprecation"))
     }
 
+    named<JavaCompile>("compileBootstrapJava") {
+        options.release.set(8)
+    }
+
+    // 引导类与插件类打进同一个 jar，运行时通过插件 jar 路径加入用户进程的类路径
+    jar {
+        from(sourceSets["bootstrap"].output)
+    }
+
+    // ./gradlew jmh [-PjmhIncludes=MapperMatching]，结果写入 build/reports/jmh/results.json 便于做趋势对比
+    register<JavaExec>("jmh") {
+        group = "benchmark"
+        description = "运行 JMH 基准测试并输出 JSON 结果"
+        classpath = sourceSets["jmh"].runtimeClasspath
+        mainClass.set("org.openjdk.jmh.Main")
+        val resultFile = layout.buildDirectory.file("reports/jmh/results.json").get().asFile
+        project.findProperty("jmhIncludes")?.let { args(it.toString()) }
+        args("-rf", "json", "-rff", resultFile.absolutePath)
+        doFirst {
+            resultFile.parentFile.mkdirs()
+        }
+    }
+
+    // ./gradlew scalingBenchmark -Dlite.scaling.sizes=10,50,300，其余参数见 ScalingBenchmark
+    register<Test>("scalingBenchmark") {
+        group = "benchmark"
+        description = "在合成的多模块项目上输出上下文初始化与 Bean 遍历的规模曲线"
+        testClassesDirs = sourceSets["perf"].output.classesDirs
+        classpath = sourceSets["perf"].runtimeClasspath
+        filter.includeTestsMatching("*ScalingBenchmark")
+        maxHeapSize = "4g"
+        System.getProperties().stringPropertyNames()
+            .filter { it.startsWith("lite.") }
+            .forEach { systemProperty(it, System.getProperty(it)) }
+        testLogging.showStandardStreams = true
+        outputs.upToDateWhen { false }
+    }
+
+    // 性能门禁：src/perf/testData 下各项目按阶段检查时间、分配与 PSI 查找，预算由实测基线加余量得出，超限即失败
+    // 在基线机器上执行 ./gradlew perfGate -Dlite.perf.recordBaseline=true 记录基线
+    register<Test>("perfGate") {
+        group = "verification"
+        description = "按 baseline.properties 与 budgets.properties 中的余量检查各阶段的性能预算"
+        testClassesDirs = sourceSets["perf"].output.classesDirs
+        classpath = sourceSets["perf"].runtimeClasspath
+        filter.includeTestsMatching("*PerformanceGateTest")
+        maxHeapSize = "4g"
+        systemProperty("lite.perf.testData", file("src/perf/testData").absolutePath)
+        systemProperty("lite.perf.report", layout.buildDirectory.file("reports/perf/gate.json").get().asFile.absolutePath)
+        systemProperty("lite.perf.baseline", file("src/perf/testData/baseline.properties").absolutePath)
+        systemProperty("lite.perf.recordBaseline", System.getProperty("lite.perf.recordBaseline", "false"))
+        inputs.dir("src/perf/testData")
+        testLogging.showStandardStreams = true
+        outputs.upToDateWhen { false }
+    }
+
+    // 基于 IntelliJ 测试框架、需要真实项目的功能测试，测试项目同样放在 src/perf/testData 下
+    register<Test>("ideTest") {
+        group = "verification"
+        description = "在 heavy 测试项目上运行上下文完整性检查等功能测试"
+        testClassesDirs = sourceSets["perf"].output.classesDirs
+        classpath = sourceSets["perf"].runtimeClasspath
+        filter.includeTestsMatching("*ContextCompletenessCheckerTest")
+        systemProperty("lite.perf.testData", file("src/perf/testData").absolutePath)
+        inputs.dir("src/perf/testData")
+    }
+
     // Kotlin 编译配置
     withType<org.jetbrains.kotlin.gradle.tasks.KotlinCompile> {
         kotlinOptions.jvmTarget = "17"
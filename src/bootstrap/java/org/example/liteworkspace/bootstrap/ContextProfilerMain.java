@@ -0,0 +1,259 @@
+package org.example.liteworkspace.bootstrap;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 在用户项目的 JVM 中启动 Spring 上下文并记录每个 Bean 的创建耗时与内存分配。
+ * <p>
+ * 该类运行在被测项目的类路径上，因此不能依赖 IntelliJ 与 Spring 的编译期 API：
+ * 所有 Spring 类型均通过反射和动态代理访问，源码保持 Java 8 语法。
+ * <p>
+ * 用法：
+ * <pre>
+ *   java -cp ... ContextProfilerMain xml         classpath/relative/FooTest.xml
+ *   java -cp ... ContextProfilerMain initializer com.example.FooTestInitializer
+ *   java -cp ... ContextProfilerMain boot        com.example.Application
+ * </pre>
+ * 结果以 {@link #PREFIX} 开头的制表符分隔行输出到标准输出，由插件侧解析。
+ */
+public class ContextProfilerMain {
+
+    public static final String PREFIX = "LITE-PROFILE";
+
+    private static final ThreadLocal<Deque<Frame>> STACK = new ThreadLocal<Deque<Frame>>() {
+        @Override
+        protected Deque<Frame> initialValue() {
+            return new ArrayDeque<Frame>();
+        }
+    };
+
+    private static final List<String> RESULTS = new ArrayList<String>();
+
+    public static void main(String[] args) throws Exception {
+        long jvmStartupMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        if (args.length < 2) {
+            System.err.println("usage: ContextProfilerMain <xml|initializer|boot> <location>");
+            System.exit(2);
+        }
+        String mode = args[0];
+        String location = args[1];
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        long start = System.nanoTime();
+        Object context;
+        if ("boot".equals(mode)) {
+            context = bootFull(location);
+        } else if ("initializer".equals(mode)) {
+            context = bootInitializer(location);
+        } else {
+            context = bootXml(location);
+        }
+        long refreshNanos = System.nanoTime() - start;
+        long heapDelta = memory.getHeapMemoryUsage().getUsed() - heapBefore;
+
+        int beanCount = (Integer) Class.forName("org.springframework.beans.factory.ListableBeanFactory")
+                .getMethod("getBeanDefinitionCount").invoke(context);
+
+        synchronized (RESULTS) {
+            for (String line : RESULTS) {
+                System.out.println(line);
+            }
+        }
+        System.out.println(PREFIX + "\tCONTEXT\t" + mode + "\t" + jvmStartupMillis + "\t" + refreshNanos
+                + "\t" + beanCount + "\t" + heapDelta);
+        System.out.flush();
+
+        Class.forName("org.springframework.context.ConfigurableApplicationContext")
+                .getMethod("close").invoke(context);
+        System.exit(0);
+    }
+
+    /**
+     * 以 ClassPathXmlApplicationContext 启动生成的最小上下文
+     */
+    private static Object bootXml(String location) throws Exception {
+        Class<?> contextType = Class.forName("org.springframework.context.support.ClassPathXmlApplicationContext");
+        Class<?> parentType = Class.forName("org.springframework.context.ApplicationContext");
+        Object context = contextType.getConstructor(String[].class, boolean.class, parentType)
+                .newInstance(new String[]{location}, false, null);
+        attachProfiler(context);
+        contextType.getMethod("refresh").invoke(context);
+        return context;
+    }
+
+    /**
+     * 以 GenericApplicationContext 加载生成的 ApplicationContextInitializer，与 XML 上下文对比
+     */
+    private static Object bootInitializer(String initializerClass) throws Exception {
+        Class<?> contextType = Class.forName("org.springframework.context.support.GenericApplicationContext");
+        Class<?> configurableContextType = Class.forName("org.springframework.context.ConfigurableApplicationContext");
+        Object context = contextType.getConstructor().newInstance();
+        Object initializer = Class.forName(initializerClass).getConstructor().newInstance();
+        Class.forName("org.springframework.context.ApplicationContextInitializer")
+                .getMethod("initialize", configurableContextType).invoke(initializer, context);
+        attachProfiler(context);
+        contextType.getMethod("refresh").invoke(context);
+        return context;
+    }
+
+    /**
+     * 以 SpringApplication 启动完整的应用上下文（关闭 Web 服务器）用于对比
+     */
+    private static Object bootFull(String mainClass) throws Exception {
+        System.setProperty("spring.main.web-application-type", "none");
+        Class<?> primary = Class.forName(mainClass);
+        Class<?> applicationType = Class.forName("org.springframework.boot.SpringApplication");
+        Object application = applicationType.getConstructor(Class[].class)
+                .newInstance((Object) new Class<?>[]{primary});
+
+        Class<?> initializerType = Class.forName("org.springframework.context.ApplicationContextInitializer");
+        Object initializer = proxy(initializerType, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if ("initialize".equals(method.getName())) {
+                    attachProfiler(args[0]);
+                    return null;
+                }
+                return objectMethod(proxy, method, args);
+            }
+        });
+        Object initializers = Array.newInstance(initializerType, 1);
+        Array.set(initializers, 0, initializer);
+        applicationType.getMethod("addInitializers", initializers.getClass()).invoke(application, initializers);
+        return applicationType.getMethod("run", String[].class).invoke(application, (Object) new String[0]);
+    }
+
+    /**
+     * 通过 BeanFactoryPostProcessor 在 refresh 早期注册计时用的 InstantiationAwareBeanPostProcessor
+     */
+    private static void attachProfiler(Object context) throws Exception {
+        final Class<?> bppType = Class.forName("org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor");
+        final Class<?> beanPostProcessorType = Class.forName("org.springframework.beans.factory.config.BeanPostProcessor");
+        final Class<?> configurableFactoryType = Class.forName("org.springframework.beans.factory.config.ConfigurableBeanFactory");
+        Class<?> bfppType = Class.forName("org.springframework.beans.factory.config.BeanFactoryPostProcessor");
+        Class<?> configurableContextType = Class.forName("org.springframework.context.ConfigurableApplicationContext");
+
+        final Object beanPostProcessor = proxy(bppType, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if ("postProcessBeforeInstantiation".equals(name)) {
+                    enter((String) args[1], ((Class<?>) args[0]).getName());
+                    return null;
+                }
+                if ("postProcessAfterInstantiation".equals(name)) {
+                    return Boolean.TRUE;
+                }
+                if ("postProcessProperties".equals(name) || "postProcessPropertyValues".equals(name)
+                        || "postProcessBeforeInitialization".equals(name)) {
+                    return args[0];
+                }
+                if ("postProcessAfterInitialization".equals(name)) {
+                    exit((String) args[1]);
+                    return args[0];
+                }
+                return objectMethod(proxy, method, args);
+            }
+        });
+
+        Object factoryPostProcessor = proxy(bfppType, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if ("postProcessBeanFactory".equals(method.getName())) {
+                    configurableFactoryType.getMethod("addBeanPostProcessor", beanPostProcessorType)
+                            .invoke(args[0], beanPostProcessor);
+                    return null;
+                }
+                return objectMethod(proxy, method, args);
+            }
+        });
+
+        configurableContextType.getMethod("addBeanFactoryPostProcessor", bfppType).invoke(context, factoryPostProcessor);
+    }
+
+    private static Object proxy(Class<?> type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object objectMethod(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        if ("hashCode".equals(name)) {
+            return System.identityHashCode(proxy);
+        }
+        if ("equals".equals(name)) {
+            return proxy == args[0];
+        }
+        if ("toString".equals(name)) {
+            return "LiteWorkspaceContextProfiler";
+        }
+        if (method.getReturnType() == boolean.class) {
+            return Boolean.FALSE;
+        }
+        if (method.getReturnType() == int.class) {
+            return 0;
+        }
+        return null;
+    }
+
+    private static void enter(String beanName, String className) {
+        STACK.get().push(new Frame(beanName, className, System.nanoTime(), allocatedBytes()));
+    }
+
+    private static void exit(String beanName) {
+        Deque<Frame> stack = STACK.get();
+        Frame frame = stack.peek();
+        // FactoryBean 产出的对象会以相同的 beanName 再次回调，只认栈顶匹配的那一次
+        if (frame == null || !frame.beanName.equals(beanName)) {
+            return;
+        }
+        stack.pop();
+        long totalNanos = System.nanoTime() - frame.startNanos;
+        long totalBytes = allocatedBytes() - frame.startBytes;
+        Frame parent = stack.peek();
+        if (parent != null) {
+            parent.childNanos += totalNanos;
+            parent.childBytes += totalBytes;
+        }
+        String line = PREFIX + "\tBEAN\t" + frame.beanName + "\t" + frame.className
+                + "\t" + (totalNanos - frame.childNanos) + "\t" + totalNanos
+                + "\t" + (totalBytes - frame.childBytes) + "\t" + totalBytes;
+        synchronized (RESULTS) {
+            RESULTS.add(line);
+        }
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0L;
+    }
+
+    private static final class Frame {
+        private final String beanName;
+        private final String className;
+        private final long startNanos;
+        private final long startBytes;
+        private long childNanos;
+        private long childBytes;
+
+        private Frame(String beanName, String className, long startNanos, long startBytes) {
+            this.beanName = beanName;
+            this.className = className;
+            this.startNanos = startNanos;
+            this.startBytes = startBytes;
+        }
+    }
+}
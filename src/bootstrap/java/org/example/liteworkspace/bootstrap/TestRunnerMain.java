@@ -0,0 +1,72 @@
+package org.example.liteworkspace.bootstrap;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * 在常驻运行器中执行一个 JUnit 4 测试类，供上下文自动修复循环解析失败原因。
+ * <p>
+ * 不能调用 {@code JUnitCore.main}（会 System.exit 结束常驻进程），因此通过反射调用
+ * {@code JUnitCore.runClasses}，失败的完整堆栈输出到标准错误，最后输出一行
+ * {@code LITE-TEST\tRESULT\t<run>\t<failures>}。
+ * <p>
+ * Spring TestContext 的上下文缓存位于共享的父加载器中，会跨请求保留已启动或启动失败的上下文
+ * （失败阈值会直接跳过后续启动），因此每次运行前后都清空该缓存。源码保持 Java 8 语法。
+ * <p>
+ * 用法：{@code TestRunnerMain com.example.FooServiceTest}
+ */
+public class TestRunnerMain {
+
+    public static final String PREFIX = "LITE-TEST";
+
+    private static final String CONTEXT_LOADER_DELEGATE =
+            "org.springframework.test.context.cache.DefaultCacheAwareContextLoaderDelegate";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: TestRunnerMain <testClass>");
+            return;
+        }
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        Class<?> testClass = Class.forName(args[0], true, loader);
+        Class<?> junitCore = Class.forName("org.junit.runner.JUnitCore", true, loader);
+
+        resetSpringContextCache(loader);
+        Object result;
+        try {
+            result = junitCore.getMethod("runClasses", Class[].class)
+                    .invoke(null, (Object) new Class<?>[]{testClass});
+        } finally {
+            resetSpringContextCache(loader);
+        }
+
+        List<?> failures = (List<?>) result.getClass().getMethod("getFailures").invoke(result);
+        for (Object failure : failures) {
+            System.err.println(failure.getClass().getMethod("getTrace").invoke(failure));
+        }
+        int runCount = (Integer) result.getClass().getMethod("getRunCount").invoke(result);
+        System.err.flush();
+        System.out.println(PREFIX + "\tRESULT\t" + runCount + "\t" + failures.size());
+        System.out.flush();
+    }
+
+    /**
+     * 清空 spring-test 的静态上下文缓存（含失败计数）；旧版本或未使用 spring-test 时忽略
+     */
+    private static void resetSpringContextCache(ClassLoader loader) {
+        try {
+            Class<?> delegate = Class.forName(CONTEXT_LOADER_DELEGATE, true, loader);
+            Field field = delegate.getDeclaredField("defaultContextCache");
+            field.setAccessible(true);
+            Object cache = field.get(null);
+            if (cache != null) {
+                Method reset = cache.getClass().getMethod("reset");
+                reset.setAccessible(true);
+                reset.invoke(cache);
+            }
+        } catch (Throwable ignored) {
+            // 没有可清空的缓存
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package org.example.liteworkspace.bootstrap;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 常驻的运行器 JVM：第三方 jar 由启动类路径（父加载器）共享，项目输出目录在每次请求时
+ * 用新的子加载器加载，从而避免重复的 JVM 启动与依赖类加载。
+ * <p>
+ * 启动后输出一行 {@code LITE-RUNNER\tPORT\t<port>\t<token>}，随后在回环地址上串行处理请求：
+ * <pre>
+ *   TOKEN\t&lt;token&gt;
+ *   RUN\tcom.example.Main
+ *   CP\t/path/to/classes      （可重复）
+ *   ARG\tvalue                （可重复）
+ *   CLASS\tcom.example.Foo\t&lt;base64 字节码&gt;  （可重复，进程内编译的结果，优先于输出目录中的同名类）
+ *   END
+ * </pre>
+ * 响应为 {@code OUT\t...}/{@code ERR\t...} 输出行，最后是 {@code EXIT\t<code>\t<millis>}。
+ * 标准输入关闭（IDE 退出）或空闲超时后进程自行退出。源码保持 Java 8 语法。
+ */
+public class WarmRunnerMain {
+
+    public static final String PREFIX = "LITE-RUNNER";
+
+    private static final int IDLE_TIMEOUT_MILLIS = 30 * 60 * 1000;
+    private static final String CHARSET = "UTF-8";
+
+    public static void main(String[] args) throws Exception {
+        ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        server.setSoTimeout(IDLE_TIMEOUT_MILLIS);
+        String token = Long.toHexString(new SecureRandom().nextLong());
+
+        watchParent();
+        System.out.println(PREFIX + "\tPORT\t" + server.getLocalPort() + "\t" + token);
+        System.out.flush();
+
+        PrintStream originalOut = System.out;
+        PrintStream originalErr = System.err;
+        while (true) {
+            Socket socket;
+            try {
+                socket = server.accept();
+            } catch (SocketTimeoutException e) {
+                originalErr.println("[WarmRunner] 空闲超时，退出");
+                System.exit(0);
+                return;
+            }
+            try {
+                handle(socket, token);
+            } catch (Throwable e) {
+                originalErr.println("[WarmRunner] 处理请求失败: " + e);
+            } finally {
+                System.setOut(originalOut);
+                System.setErr(originalErr);
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    private static void handle(Socket socket, String token) throws Exception {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), CHARSET));
+        Writer writer = new OutputStreamWriter(socket.getOutputStream(), CHARSET);
+
+        if (!("TOKEN\t" + token).equals(reader.readLine())) {
+            return;
+        }
+        String mainClass = null;
+        List<URL> urls = new ArrayList<URL>();
+        List<String> arguments = new ArrayList<String>();
+        Map<String, byte[]> memoryClasses = new HashMap<String, byte[]>();
+        String line;
+        while ((line = reader.readLine()) != null && !"END".equals(line)) {
+            int tab = line.indexOf('\t');
+            if (tab < 0) {
+                continue;
+            }
+            String key = line.substring(0, tab);
+            String value = line.substring(tab + 1);
+            if ("RUN".equals(key)) {
+                mainClass = value;
+            } else if ("CP".equals(key)) {
+                urls.add(new File(value).toURI().toURL());
+            } else if ("ARG".equals(key)) {
+                arguments.add(value);
+            } else if ("CLASS".equals(key)) {
+                int separator = value.indexOf('\t');
+                if (separator > 0) {
+                    memoryClasses.put(value.substring(0, separator),
+                            Base64.getDecoder().decode(value.substring(separator + 1)));
+                }
+            }
+        }
+        if (mainClass == null) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        int exitCode = 0;
+        LineForwarder out = new LineForwarder(writer, "OUT");
+        LineForwarder err = new LineForwarder(writer, "ERR");
+        System.setOut(new PrintStream(out, true, CHARSET));
+        System.setErr(new PrintStream(err, true, CHARSET));
+
+        Thread thread = Thread.currentThread();
+        ClassLoader previousLoader = thread.getContextClassLoader();
+        URLClassLoader loader = new RequestClassLoader(urls.toArray(new URL[0]), memoryClasses);
+        try {
+            thread.setContextClassLoader(loader);
+            Method main = Class.forName(mainClass, true, loader).getMethod("main", String[].class);
+            main.invoke(null, (Object) arguments.toArray(new String[0]));
+        } catch (InvocationTargetException e) {
+            exitCode = 1;
+            e.getTargetException().printStackTrace();
+        } catch (Throwable e) {
+            exitCode = 1;
+            e.printStackTrace();
+        } finally {
+            thread.setContextClassLoader(previousLoader);
+            System.out.flush();
+            System.err.flush();
+            out.flushLine();
+            err.flushLine();
+            closeQuietly(loader);
+        }
+
+        synchronized (writer) {
+            writer.write("EXIT\t" + exitCode + "\t" + (System.currentTimeMillis() - start) + "\n");
+            writer.flush();
+        }
+    }
+
+    /**
+     * IDE 退出时标准输入关闭，随之结束常驻进程
+     */
+    private static void watchParent() {
+        Thread watcher = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    while (System.in.read() != -1) {
+                        // 忽略输入
+                    }
+                } catch (IOException ignored) {
+                    // 管道异常同样视为父进程退出
+                }
+                System.exit(0);
+            }
+        }, "lite-warm-runner-parent-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // 忽略关闭异常
+        }
+    }
+
+    /**
+     * 每次请求新建的类加载器：内存中的类优先定义，其余项目类来自输出目录，第三方类委托给启动类路径
+     */
+    private static final class RequestClassLoader extends URLClassLoader {
+        private final Map<String, byte[]> memoryClasses;
+
+        private RequestClassLoader(URL[] urls, Map<String, byte[]> memoryClasses) {
+            super(urls, WarmRunnerMain.class.getClassLoader());
+            this.memoryClasses = memoryClasses;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            byte[] bytes = memoryClasses.get(name);
+            if (bytes == null) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    loaded = defineClass(name, bytes, 0, bytes.length);
+                }
+                if (resolve) {
+                    resolveClass(loaded);
+                }
+                return loaded;
+            }
+        }
+    }
+
+    /**
+     * 把 System.out/err 的字节按行转发到套接字，每行加上通道前缀
+     */
+    private static final class LineForwarder extends OutputStream {
+        private final Writer writer;
+        private final String channel;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        private LineForwarder(Writer writer, String channel) {
+            this.writer = writer;
+            this.channel = channel;
+        }
+
+        @Override
+        public synchronized void write(int b) throws IOException {
+            if (b == '\n') {
+                emit();
+            } else if (b != '\r') {
+                buffer.write(b);
+            }
+        }
+
+        /**
+         * 输出未以换行结尾的剩余内容
+         */
+        private synchronized void flushLine() throws IOException {
+            if (buffer.size() > 0) {
+                emit();
+            }
+        }
+
+        private void emit() throws IOException {
+            String line;
+            try {
+                line = buffer.toString(CHARSET);
+            } catch (UnsupportedEncodingException e) {
+                line = buffer.toString();
+            }
+            buffer.reset();
+            synchronized (writer) {
+                writer.write(channel + "\t" + line + "\n");
+                writer.flush();
+            }
+        }
+    }
+}
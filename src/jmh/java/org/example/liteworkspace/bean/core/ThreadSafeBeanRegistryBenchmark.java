@@ -0,0 +1,98 @@
+package org.example.liteworkspace.bean.core;
+
+import org.example.liteworkspace.bean.core.enums.BeanType;
+import org.example.liteworkspace.dto.ClassSignatureDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 并发扫描时注册与查询交织进行：写线程不断注册新 Bean，读线程查询已存在的 Bean。
+ * contended 组模拟并行遍历：多个写线程同时注册，其中一半是其他线程已注册过的重复 Bean，并查询来源索引。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class ThreadSafeBeanRegistryBenchmark {
+
+    private static final int PRESET_BEANS = 10_000;
+
+    private ThreadSafeBeanRegistry registry;
+    private BeanDefinition[] presetBeans;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        registry = new ThreadSafeBeanRegistry();
+        presetBeans = new BeanDefinition[PRESET_BEANS];
+        for (int i = 0; i < PRESET_BEANS; i++) {
+            presetBeans[i] = newBean("preset" + i);
+            registry.register(presetBeans[i]);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        private long sequence;
+
+        String nextName() {
+            return "bean-" + Thread.currentThread().getId() + "-" + sequence++;
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public boolean register(Writer writer) {
+        return registry.register(newBean(writer.nextName()));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public BeanDefinition lookup() {
+        return registry.get(presetBeans[ThreadLocalRandom.current().nextInt(PRESET_BEANS)].getBeanName());
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(4)
+    public boolean registerContended(Writer writer) {
+        // 一半请求命中已注册的 Bean，对应多条路径发现同一依赖
+        if ((writer.sequence & 1) == 0) {
+            writer.sequence++;
+            return registry.register(presetBeans[ThreadLocalRandom.current().nextInt(PRESET_BEANS)], 1);
+        }
+        return registry.register(newBean(writer.nextName()), 2);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public int lookupBySource() {
+        return registry.getBeansBySource(
+                presetBeans[ThreadLocalRandom.current().nextInt(PRESET_BEANS)].getClassName()).size();
+    }
+
+    @Benchmark
+    @Group("ordered")
+    @GroupThreads(1)
+    public int orderedSnapshot() {
+        return registry.getAllBeans().size();
+    }
+
+    @Benchmark
+    @Group("readOnly")
+    @GroupThreads(4)
+    public BeanDefinition lookupOnly() {
+        return registry.get(presetBeans[ThreadLocalRandom.current().nextInt(PRESET_BEANS)].getBeanName());
+    }
+
+    private static BeanDefinition newBean(String beanName) {
+        return new BeanDefinition(beanName, "com.example.service." + beanName, BeanType.ANNOTATION,
+                (ClassSignatureDTO) null);
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.liteworkspace.bean.engine;
+
+import org.example.liteworkspace.bean.core.BeanDefinition;
+import org.example.liteworkspace.bean.core.enums.BeanType;
+import org.example.liteworkspace.bean.core.enums.LazyInitMode;
+import org.example.liteworkspace.dto.ClassSignatureDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按 Bean 数量观察 XML 片段生成的伸缩性。
+ * <p>
+ * MyBatis Bean 的生成依赖项目上下文中的 namespace 映射与数据源配置，这里只覆盖
+ * 注解、JavaConfig、Mapper 三类不访问上下文的 Bean，因此上下文传 null。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpringXmlBuilderBenchmark {
+
+    private static final BeanType[] TYPES = {BeanType.ANNOTATION, BeanType.JAVA_CONFIG, BeanType.MAPPER};
+
+    @Param({"100", "1000", "10000"})
+    private int beanCount;
+
+    private List<BeanDefinition> beans;
+
+    @Setup
+    public void setUp() {
+        beans = new ArrayList<>(beanCount);
+        for (int i = 0; i < beanCount; i++) {
+            String className = "com.example.module" + (i % 50) + ".service.Service" + i;
+            beans.add(new BeanDefinition("service" + i, className, TYPES[i % TYPES.length], (ClassSignatureDTO) null));
+        }
+    }
+
+    @Benchmark
+    public Map<String, String> buildXmlMap() {
+        return new SpringXmlBuilder(null, LazyInitMode.EAGER).buildXmlMap(beans);
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.liteworkspace.cache;
+
+import org.example.liteworkspace.util.MybatisBeanDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 缓存 JSON 写入与读回，规模对应中大型项目的 Mapper 数量
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LiteCacheStorageBenchmark {
+
+    @Param({"100", "1000"})
+    private int mapperCount;
+
+    private Path cacheDir;
+    private LiteCacheStorage storage;
+    private Map<String, MybatisBeanDto> mapperXmlPaths;
+
+    @Setup
+    public void setUp() throws IOException {
+        cacheDir = Files.createTempDirectory("lite-cache-benchmark");
+        storage = new LiteCacheStorage(cacheDir);
+        mapperXmlPaths = new LinkedHashMap<>();
+        for (int i = 0; i < mapperCount; i++) {
+            String namespace = "com.example.module" + (i % 20) + ".dao.Order" + i + "Mapper";
+            mapperXmlPaths.put(namespace, new MybatisBeanDto(namespace,
+                    "mapper/module" + (i % 20) + "/Order" + i + "Mapper.xml", "sqlSessionFactory"));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(cacheDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public Map<String, String> roundTrip() {
+        storage.saveMapperXmlPaths(mapperXmlPaths);
+        return storage.loadMapperXmlPaths();
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.liteworkspace.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日志占位符替换：扫描过程中每个 Bean、每个 SQL 会话都会打日志，格式化本身不能成为热点
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogFormatBenchmark {
+
+    private List<String> beanNames;
+    private Map<String, String> beanMap;
+
+    @Setup
+    public void setUp() {
+        beanNames = new ArrayList<>();
+        beanMap = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            beanNames.add("orderService" + i);
+            beanMap.put("orderService" + i, "com.example.order.service.OrderService" + i);
+        }
+    }
+
+    @Benchmark
+    public String noParams() {
+        return LogUtil.format("开始扫描 Bean");
+    }
+
+    @Benchmark
+    public String scalarParams() {
+        return LogUtil.format("类型 {} 由自动配置 {} 提供, 耗时: {} ms",
+                "javax.sql.DataSource", "DataSourceAutoConfiguration", 42L);
+    }
+
+    @Benchmark
+    public String collectionParam() {
+        return LogUtil.format("收集到 Bean: {}", beanNames);
+    }
+
+    @Benchmark
+    public String mapParam() {
+        return LogUtil.format("生成 XML 映射: {}", beanMap);
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.liteworkspace.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapper XML 匹配与 namespace 提取：扫描依赖 jar 时每个 XML 文件都会经过这两步
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperMatchingBenchmark {
+
+    @Param({"100", "1000"})
+    private int xmlCount;
+
+    private List<String> mapperXmlPaths;
+    private List<String> mapperLocations;
+    private byte[] mapperXml;
+
+    @Setup
+    public void setUp() {
+        mapperXmlPaths = new ArrayList<>(xmlCount);
+        for (int i = 0; i < xmlCount; i++) {
+            String module = "module" + (i % 10);
+            // 约一半位于 mapper 目录下，其余为 Spring 配置等无关 XML
+            mapperXmlPaths.add(i % 2 == 0
+                    ? "mapper/" + module + "/Order" + i + "Mapper.xml"
+                    : "config/" + module + "/spring-" + i + ".xml");
+        }
+        mapperLocations = List.of("classpath*:mapper/**/*.xml", "classpath:sqlmap/*.xml");
+        mapperXml = buildMapperXml().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<String> matchMapperPaths() {
+        return MapperMatcher.matchMapperPaths(mapperXmlPaths, mapperLocations);
+    }
+
+    @Benchmark
+    public void matchesMapperLocation(Blackhole blackhole) {
+        for (String path : mapperXmlPaths) {
+            blackhole.consume(MyBatisXmlFinder.matchesMapperLocation(path, mapperLocations));
+        }
+    }
+
+    @Benchmark
+    public String extractMapperNamespace() throws IOException {
+        return MyBatisXmlFinder.extractMapperNamespace(new ByteArrayInputStream(mapperXml));
+    }
+
+    /**
+     * 与 MyBatis Generator 产出的文件结构一致：XML 声明、DOCTYPE、注释，然后才是 mapper 标签
+     */
+    private static String buildMapperXml() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        sb.append("<!DOCTYPE mapper\n");
+        sb.append("        PUBLIC \"-//mybatis.org//DTD Mapper 3.0//EN\"\n");
+        sb.append("        \"http://mybatis.org/dtd/mybatis-3-mapper.dtd\">\n");
+        sb.append("<!--\n");
+        sb.append("    订单表 Mapper，由 MyBatis Generator 生成\n");
+        sb.append("-->\n");
+        sb.append("<mapper\n");
+        sb.append("        namespace=\"com.example.order.dao.OrderMapper\">\n");
+        sb.append("    <resultMap id=\"BaseResultMap\" type=\"com.example.order.entity.Order\">\n");
+        for (int i = 0; i < 30; i++) {
+            sb.append("        <result column=\"col_").append(i).append("\" property=\"col").append(i)
+                    .append("\" jdbcType=\"VARCHAR\"/>\n");
+        }
+        sb.append("    </resultMap>\n");
+        for (int i = 0; i < 20; i++) {
+            sb.append("    <select id=\"select").append(i).append("\" resultMap=\"BaseResultMap\">\n");
+            sb.append("        select * from t_order where id = #{id}\n");
+            sb.append("    </select>\n");
+        }
+        sb.append("</mapper>\n");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.liteworkspace.action;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.util.ui.JBUI;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * 展示上下文测速的成本表
+ */
+public class ContextProfileDialog extends DialogWrapper {
+    private final String content;
+
+    public ContextProfileDialog(Project project, String content) {
+        super(project, true);
+        this.content = content;
+        setTitle("LiteWorkspace Context Profile");
+        setOKButtonText("Close");
+        init();
+    }
+
+    @Override
+    protected JComponent createCenterPanel() {
+        JTextArea area = new JTextArea(content, 30, 120);
+        area.setEditable(false);
+        area.setFont(new Font(Font.MONOSPACED, Font.PLAIN, JBUI.scaleFontSize(12)));
+        area.setCaretPosition(0);
+        return new JScrollPane(area);
+    }
+
+    @Override
+    protected Action[] createActions() {
+        return new Action[]{getOKAction()};
+    }
+}
@@ -12,17 +12,26 @@ import com.intellij.execution.junit2.info.MethodLocation;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.LangDataKeys;
+import com.intellij.openapi.compiler.CompileScope;
 import com.intellij.openapi.compiler.CompilerManager;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiMethod;
+import org.example.liteworkspace.config.ConfigurationManager;
+import org.example.liteworkspace.util.CompileClosureResolver;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
 
 public class CustomCompileRunAction extends AnAction {
     @Override
@@ -39,24 +48,72 @@ public class CustomCompileRunAction extends AnAction {
             return;
         }
 
-        // 2. 增量编译
+        // 2. 编译闭包模式：只编译扫描得到的 Bean 闭包中过期的源文件
         CompilerManager compilerManager = CompilerManager.getInstance(project);
-        compilerManager.make(module, (aborted, errors, warnings, ctx) -> {
+        PsiClass testClass = element instanceof PsiMethod method ? method.getContainingClass()
+                : element instanceof PsiClass psiClass ? psiClass : null;
+        if (ConfigurationManager.getInstance().isCompileClosure() && testClass != null
+                && testClass.getQualifiedName() != null) {
+            FileDocumentManager.getInstance().saveAllDocuments();
+            String testClassName = testClass.getQualifiedName();
+            String targetClassName = testClassName.endsWith("Test")
+                    ? testClassName.substring(0, testClassName.length() - "Test".length())
+                    : testClassName;
+            // 闭包解析需要遍历 PSI 并读取 bean-classes.txt，放到后台执行，结果回到 EDT 再编译运行
+            new Task.Backgroundable(project, "计算编译闭包...", true) {
+                private Set<VirtualFile> staleFiles;
+
+                @Override
+                public void run(@NotNull ProgressIndicator indicator) {
+                    staleFiles = new CompileClosureResolver(project).resolveStaleFiles(testClass, targetClassName);
+                }
+
+                @Override
+                public void onSuccess() {
+                    if (staleFiles == null) {
+                        makeModuleAndRun(project, module, element);
+                    } else if (staleFiles.isEmpty()) {
+                        runJUnit(project, element);
+                    } else {
+                        CompileScope scope = compilerManager.createFilesCompileScope(staleFiles.toArray(new VirtualFile[0]));
+                        compilerManager.make(scope, (aborted, errors, warnings, ctx) -> {
+                            if (!aborted && errors == 0) {
+                                runJUnit(project, element);
+                            }
+                        });
+                    }
+                }
+            }.queue();
+            return;
+        }
+
+        // 3. 增量编译整个模块
+        makeModuleAndRun(project, module, element);
+    }
+
+    private void makeModuleAndRun(Project project, Module module, PsiElement element) {
+        CompilerManager.getInstance(project).make(module, (aborted, errors, warnings, ctx) -> {
             if (errors == 0) {
-                // 2. 调用默认 Run
-                Executor executor = DefaultRunExecutor.getRunExecutorInstance();
-                RunnerAndConfigurationSettings configuration = createJUnitRunConfig(project, element);
-                ProgramRunnerUtil.executeConfiguration(configuration, executor);
+                runJUnit(project, element);
             }
         });
     }
 
+    private void runJUnit(Project project, PsiElement element) {
+        // 调用默认 Run
+        Executor executor = DefaultRunExecutor.getRunExecutorInstance();
+        RunnerAndConfigurationSettings configuration = createJUnitRunConfig(project, element);
+        ProgramRunnerUtil.executeConfiguration(configuration, executor);
+    }
+
     private RunnerAndConfigurationSettings createJUnitRunConfig(Project project, PsiElement element) {
         ConfigurationType type = ConfigurationTypeUtil.findConfigurationType(JUnitConfigurationType.class);
         ConfigurationFactory factory = type.getConfigurationFactories()[0];
         RunManager runManager = RunManager.getInstance(project);
         RunnerAndConfigurationSettings settings = runManager.createConfiguration("CustomRun", factory);
         JUnitConfiguration config = (JUnitConfiguration) settings.getConfiguration();
+        // 上面已经编译过，去掉默认的 Build 前置任务，避免运行前再整模块 make 一次
+        RunManagerEx.getInstanceEx(project).setBeforeRunTasks(config, Collections.emptyList());
         if (element instanceof PsiClass) {
             config.beClassConfiguration((PsiClass) element);
         } else if (element instanceof PsiMethod) {
@@ -4,6 +4,7 @@ import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
@@ -12,14 +13,23 @@ import com.intellij.psi.*;
 
 
 import com.intellij.psi.util.PsiTreeUtil;
-import org.example.liteworkspace.bean.core.LiteWorkspaceService;
 import org.example.liteworkspace.dto.ClassSignatureDTO;
 import org.example.liteworkspace.dto.MethodSignatureDTO;
 import org.example.liteworkspace.dto.PsiToDtoConverter;
+import org.example.liteworkspace.exception.TaskExecutionException;
+import org.example.liteworkspace.task.LiteScanTask;
+import org.example.liteworkspace.task.TaskResult;
+import org.example.liteworkspace.task.TaskScheduler;
 import org.example.liteworkspace.util.CostUtil;
 import org.example.liteworkspace.util.LogUtil;
 import org.example.liteworkspace.util.ReadActionUtil;
 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 public class LiteScanAction extends AnAction {
 
     @Override
@@ -99,11 +109,18 @@ public class LiteScanAction extends AnAction {
                     indicator.setText("正在扫描项目依赖...");
                     indicator.setFraction(0.1);
                     
-                    // 在后台线程中创建服务，使用DTO而不是PSI对象
-                    LiteWorkspaceService service = new LiteWorkspaceService(project);
-                    service.scanAndGenerateWithDto(targetClassDto[0], targetMethodDto[0], indicator);
+                    // 交给调度器：相同请求复用进行中的扫描，同一目标的新请求取代旧请求
+                    LiteScanTask scanTask = new LiteScanTask(project, targetClassDto[0], targetMethodDto[0]);
+                    TaskScheduler.KeyedSubmission submission = TaskScheduler.getInstance(project).submitKeyedTask(
+                            scanTask.getTargetKey(), scanTask.getRequestKey(), scanTask, TaskScheduler.TaskPriority.HIGH);
+                    if (submission.isJoined()) {
+                        indicator.setText("相同请求正在扫描，等待其结果...");
+                    }
+                    awaitResult(submission, indicator);
                     
                     CostUtil.end("LiteWorkspaceService_scanAndGenerate", "LiteWorkspace服务扫描和生成");
+                } catch (CancellationException | ProcessCanceledException ex) {
+                    LogUtil.info("扫描请求已取消或被同一目标的新请求取代: {}", targetClassDto[0].getQualifiedName());
                 } catch (Exception ex) {
                     LogUtil.error("生成过程发生异常", ex);
                     showError(project, "❌ 生成失败：" + ex.getMessage());
@@ -114,6 +131,45 @@ public class LiteScanAction extends AnAction {
         }.queue();
     }
 
+    /**
+     * 等待调度结果，期间同步共享扫描的进度并响应当前进度条的取消；
+     * 取消只撤回本次请求，其他请求仍在等待时扫描继续执行
+     */
+    private static void awaitResult(TaskScheduler.KeyedSubmission submission, ProgressIndicator indicator) throws Exception {
+        CompletableFuture<TaskResult> future = submission.getFuture();
+        ProgressIndicator shared = submission.getProgress();
+        while (true) {
+            if (indicator.isCanceled()) {
+                future.cancel(true);
+                throw new CancellationException();
+            }
+            if (shared != null && shared.isRunning()) {
+                if (shared.getText() != null) {
+                    indicator.setText(shared.getText());
+                }
+                indicator.setText2(shared.getText2());
+                if (!shared.isIndeterminate()) {
+                    indicator.setFraction(shared.getFraction());
+                }
+            }
+            try {
+                TaskResult result = future.get(100, TimeUnit.MILLISECONDS);
+                if (!result.isSuccess()) {
+                    throw new IllegalStateException(result.getMessage(), result.getError().orElse(null));
+                }
+                return;
+            } catch (TimeoutException ignored) {
+                // 继续等待
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof TaskExecutionException && cause.getCause() != null) {
+                    cause = cause.getCause();
+                }
+                throw cause instanceof Exception ? (Exception) cause : ex;
+            }
+        }
+    }
+
     private static void showError(Project project, String message) {
         ApplicationManager.getApplication().invokeLater(() -> {
             LogUtil.error("显示错误对话框: {}", null, message);
@@ -0,0 +1,217 @@
+package org.example.liteworkspace.action;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.compiler.CompilerManager;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.AnnotatedElementsSearch;
+import org.example.liteworkspace.bean.engine.SpringInitializerBuilder;
+import org.example.liteworkspace.util.ContextBootProfiler;
+import org.example.liteworkspace.util.LogUtil;
+import org.example.liteworkspace.util.ReadActionUtil;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 在独立 JVM 中启动当前类生成的最小上下文，输出每个 Bean 的创建成本；
+ * 若同时生成了 ApplicationContextInitializer，则对同一 Bean 集合比较 XML 与 Initializer 的启动耗时，
+ * 可选地启动完整的 Spring Boot 上下文作为对照。
+ */
+public class MeasureContextAction extends AnAction {
+
+    private static final String SPRING_BOOT_APPLICATION = "org.springframework.boot.autoconfigure.SpringBootApplication";
+    private static final int TABLE_LIMIT = 50;
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getProject();
+        PsiFile psiFile = e.getData(CommonDataKeys.PSI_FILE);
+        if (project == null || !(psiFile instanceof PsiJavaFile javaFile) || javaFile.getClasses().length == 0) {
+            return;
+        }
+
+        PsiClass targetClass = javaFile.getClasses()[0];
+        Module module = ModuleUtilCore.findModuleForPsiElement(targetClass);
+        String qualifiedName = targetClass.getQualifiedName();
+        if (module == null || qualifiedName == null) {
+            Messages.showErrorDialog(project, "无法确定当前类所属的模块", "LiteWorkspace");
+            return;
+        }
+
+        String xmlResource = resolveXmlResource(qualifiedName, targetClass.getName());
+        if (!existsInTestResources(module, xmlResource)) {
+            Messages.showErrorDialog(project, "未找到生成的上下文 " + xmlResource + "，请先执行 Scan Spring Components", "LiteWorkspace");
+            return;
+        }
+
+        FileDocumentManager.getInstance().saveAllDocuments();
+        String className = targetClass.getName();
+        // 查找 Initializer 与 @SpringBootApplication 需要索引，放到后台；确认对比与编译回到 EDT
+        new Task.Backgroundable(project, "LiteWorkspace 准备上下文测速...", true) {
+            private String initializerClass;
+            private String applicationClass;
+
+            @Override
+            public void run(ProgressIndicator indicator) {
+                indicator.setText("查找 Initializer 与 Spring Boot 启动类");
+                String[] found = ReadActionUtil.computeAsync(project, () -> new String[]{
+                        findInitializer(project, module, qualifiedName, className),
+                        findSpringBootApplication(project, module)
+                }).join();
+                initializerClass = found[0];
+                applicationClass = found[1];
+            }
+
+            @Override
+            public void onSuccess() {
+                boolean compareFull = applicationClass != null && Messages.showYesNoDialog(project,
+                        "是否同时启动完整应用上下文 " + applicationClass + " 进行对比？",
+                        "LiteWorkspace", Messages.getQuestionIcon()) == Messages.YES;
+                Task.Backgroundable measureTask = createMeasureTask(project, module, xmlResource,
+                        initializerClass, compareFull ? applicationClass : null);
+                // 测速在子进程中加载模块输出目录，先增量编译模块及其依赖，保证测到的是当前代码
+                CompilerManager compilerManager = CompilerManager.getInstance(project);
+                compilerManager.make(compilerManager.createModuleCompileScope(module, true),
+                        (aborted, errors, warnings, compileContext) -> {
+                            if (aborted || errors > 0) {
+                                Messages.showErrorDialog(project, "编译失败，错误数：" + errors + "，无法测速", "LiteWorkspace");
+                                return;
+                            }
+                            measureTask.queue();
+                        });
+            }
+        }.queue();
+    }
+
+    /**
+     * @param applicationClass 需要对照的完整应用启动类；不对照时为 null
+     */
+    private Task.Backgroundable createMeasureTask(Project project, Module module, String xmlResource,
+                                                  String initializerClass, String applicationClass) {
+        return new Task.Backgroundable(project, "LiteWorkspace 上下文测速中...", true) {
+            @Override
+            public void run(ProgressIndicator indicator) {
+                try {
+                    ContextBootProfiler profiler = new ContextBootProfiler(project, module);
+                    List<ContextBootProfiler.ContextProfile> profiles = new ArrayList<>();
+
+                    indicator.setText("启动最小上下文: " + xmlResource);
+                    profiles.add(profiler.profileXml(xmlResource, indicator));
+
+                    if (initializerClass != null) {
+                        indicator.checkCanceled();
+                        indicator.setText("启动 Initializer 上下文: " + initializerClass);
+                        profiles.add(profiler.profileInitializer(initializerClass, indicator));
+                    }
+
+                    if (applicationClass != null) {
+                        indicator.checkCanceled();
+                        indicator.setText("启动完整上下文: " + applicationClass);
+                        profiles.add(profiler.profileFullContext(applicationClass, indicator));
+                    }
+
+                    Path file = ContextBootProfiler.save(project, profiles);
+                    String report = buildReport(profiles, file);
+                    ApplicationManager.getApplication().invokeLater(() ->
+                            new ContextProfileDialog(project, report).show());
+                } catch (ProcessCanceledException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    LogUtil.error("上下文测速失败", ex);
+                    ApplicationManager.getApplication().invokeLater(() ->
+                            Messages.showErrorDialog(project, "上下文测速失败：" + ex.getMessage(), "LiteWorkspace"));
+                }
+            }
+        };
+    }
+
+    private String buildReport(List<ContextBootProfiler.ContextProfile> profiles, Path file) {
+        StringBuilder sb = new StringBuilder();
+        for (ContextBootProfiler.ContextProfile profile : profiles) {
+            if (!profile.isBooted()) {
+                sb.append(String.format("[%s] 启动失败，退出码 %d，详见 RunOnDemand 控制台输出%n%n",
+                        profile.getMode(), profile.getExitCode()));
+            }
+            sb.append(ContextBootProfiler.renderTable(profile, TABLE_LIMIT)).append('\n');
+        }
+        // 以 XML 最小上下文为基准，逐个比较其余上下文
+        ContextBootProfiler.ContextProfile baseline = profiles.get(0);
+        for (ContextBootProfiler.ContextProfile other : profiles.subList(1, profiles.size())) {
+            if (!baseline.isBooted() || !other.isBooted()) {
+                continue;
+            }
+            double lite = baseline.getRefreshMillis();
+            double compared = other.getRefreshMillis();
+            sb.append(String.format("[%s] %.1f ms / [%s] %.1f ms，差异 %+.0f%%%n",
+                    baseline.getMode(), lite, other.getMode(), compared,
+                    lite > 0 ? (compared / lite - 1) * 100 : 0));
+        }
+        sb.append("结果已保存: ").append(file);
+        return sb.toString();
+    }
+
+    /**
+     * 与 LiteFileWriter 的命名保持一致：目标类 Foo 生成 FooTest.xml；在测试类上执行时直接使用同名 XML
+     */
+    private String resolveXmlResource(String qualifiedName, String className) {
+        String relativePath = qualifiedName.contains(".")
+                ? qualifiedName.substring(0, qualifiedName.lastIndexOf('.')).replace('.', '/') + "/"
+                : "";
+        String testClassName = className.endsWith("Test") ? className : className + "Test";
+        return relativePath + testClassName + ".xml";
+    }
+
+    /**
+     * 与 LiteFileWriter 的命名保持一致：FooTest 对应 FooTestInitializer，未生成或未启用 Initializer 模式时返回 null；
+     * 需在读操作中调用
+     */
+    private String findInitializer(Project project, Module module, String qualifiedName, String className) {
+        String testClassName = className.endsWith("Test") ? className : className + "Test";
+        String packagePrefix = qualifiedName.contains(".")
+                ? qualifiedName.substring(0, qualifiedName.lastIndexOf('.') + 1)
+                : "";
+        String initializerClass = packagePrefix + SpringInitializerBuilder.initializerClassName(testClassName);
+        PsiClass initializer = JavaPsiFacade.getInstance(project)
+                .findClass(initializerClass, GlobalSearchScope.moduleWithDependenciesScope(module));
+        return initializer != null ? initializerClass : null;
+    }
+
+    private boolean existsInTestResources(Module module, String xmlResource) {
+        for (VirtualFile root : ModuleRootManager.getInstance(module).getSourceRoots(true)) {
+            if (root.findFileByRelativePath(xmlResource) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 需在读操作中调用
+     */
+    private String findSpringBootApplication(Project project, Module module) {
+        PsiClass annotation = JavaPsiFacade.getInstance(project)
+                .findClass(SPRING_BOOT_APPLICATION, GlobalSearchScope.allScope(project));
+        if (annotation == null) {
+            return null;
+        }
+        PsiClass application = AnnotatedElementsSearch
+                .searchPsiClasses(annotation, GlobalSearchScope.moduleWithDependenciesScope(module))
+                .findFirst();
+        return application != null ? application.getQualifiedName() : null;
+    }
+}
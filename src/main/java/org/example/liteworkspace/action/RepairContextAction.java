@@ -0,0 +1,99 @@
+package org.example.liteworkspace.action;
+
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import org.example.liteworkspace.bean.core.enums.ContextOutputFormat;
+import org.example.liteworkspace.bean.engine.ContextRepairLoop;
+import org.example.liteworkspace.config.ConfigurationManager;
+import org.example.liteworkspace.util.LogUtil;
+
+/**
+ * 在常驻运行器中执行当前类生成的测试，按失败原因自动修补生成的 XML 并重新运行，
+ * 最多运行 {@code maxRepairIterations} 轮，结束后报告修复项与估计节省的时间。
+ */
+public class RepairContextAction extends AnAction {
+
+    @Override
+    public void actionPerformed(AnActionEvent e) {
+        Project project = e.getProject();
+        PsiFile psiFile = e.getData(CommonDataKeys.PSI_FILE);
+        if (project == null || !(psiFile instanceof PsiJavaFile javaFile) || javaFile.getClasses().length == 0) {
+            return;
+        }
+
+        PsiClass targetClass = javaFile.getClasses()[0];
+        Module module = ModuleUtilCore.findModuleForPsiElement(targetClass);
+        String qualifiedName = targetClass.getQualifiedName();
+        if (module == null || qualifiedName == null || targetClass.getName() == null) {
+            Messages.showErrorDialog(project, "无法确定当前类所属的模块", "LiteWorkspace");
+            return;
+        }
+
+        // 初始化器形式的测试不加载 XML，修补 XML 对运行结果没有影响
+        if (ConfigurationManager.getInstance().getContextOutputFormat() == ContextOutputFormat.INITIALIZER) {
+            Messages.showWarningDialog(project, "当前上下文输出形式为 INITIALIZER，测试类不加载生成的 XML，" +
+                    "自动修复只支持 XML 形式", "LiteWorkspace");
+            return;
+        }
+
+        // 与 LiteFileWriter 的命名保持一致：目标类 Foo 对应 FooTest 与 FooTest.xml
+        String testClassName = qualifiedName.endsWith("Test") ? qualifiedName : qualifiedName + "Test";
+        String xmlResource = testClassName.replace('.', '/') + ".xml";
+        VirtualFile xmlFile = findInTestResources(module, xmlResource);
+        if (xmlFile == null) {
+            Messages.showErrorDialog(project, "未找到生成的上下文 " + xmlResource + "，请先执行 Scan Spring Components", "LiteWorkspace");
+            return;
+        }
+
+        FileDocumentManager.getInstance().saveAllDocuments();
+        int maxIterations = ConfigurationManager.getInstance().getMaxRepairIterations();
+        new Task.Backgroundable(project, "LiteWorkspace 上下文自动修复中...", true) {
+            @Override
+            public void run(ProgressIndicator indicator) {
+                try {
+                    ContextRepairLoop.RepairReport report = new ContextRepairLoop(project, module, testClassName,
+                            xmlFile.toNioPath(), maxIterations).run(indicator);
+                    NotificationGroupManager.getInstance()
+                            .getNotificationGroup("LiteWorkspace")
+                            .createNotification(report.isPassed() ? "上下文已修复" : "上下文未能完全修复",
+                                    report.summary(), report.isPassed() ? NotificationType.INFORMATION : NotificationType.WARNING)
+                            .notify(project);
+                } catch (ProcessCanceledException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    LogUtil.error("上下文自动修复失败", ex);
+                    NotificationGroupManager.getInstance()
+                            .getNotificationGroup("LiteWorkspace")
+                            .createNotification("上下文自动修复失败：" + ex.getMessage(), NotificationType.ERROR)
+                            .notify(project);
+                }
+            }
+        }.queue();
+    }
+
+    private VirtualFile findInTestResources(Module module, String xmlResource) {
+        for (VirtualFile root : ModuleRootManager.getInstance(module).getSourceRoots(true)) {
+            VirtualFile file = root.findFileByRelativePath(xmlResource);
+            if (file != null) {
+                return file;
+            }
+        }
+        return null;
+    }
+}
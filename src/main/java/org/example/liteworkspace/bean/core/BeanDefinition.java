@@ -5,11 +5,19 @@ import org.example.liteworkspace.bean.core.enums.BeanType;
 import org.example.liteworkspace.dto.ClassSignatureDTO;
 import org.example.liteworkspace.dto.PsiToDtoConverter;
 
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 public class BeanDefinition {
     private final String beanName;
     private final String className;
     private final BeanType type;
     private final ClassSignatureDTO sourceDto; // 轻量级DTO替代PSI对象
+    private final Set<String> dependencyClassNames = new LinkedHashSet<>(); // 扫描得到的直接依赖类
+    private final Set<String> requiredTypeNames = new LinkedHashSet<>(); // 注入点声明的类型，可能由自动配置提供
+    private boolean eagerRequired; // BeanPostProcessor 等必须随上下文立即初始化
+    private boolean frontier; // 扫描预算耗尽时未展开依赖的边界 Bean，生成为 mock（无 Mockito 时为懒加载）
 
     public BeanDefinition(String beanName, String className, BeanType type, PsiClass source) {
         this.beanName = beanName;
@@ -41,6 +49,42 @@ public class BeanDefinition {
         return sourceDto;
     }
 
+    public Set<String> getDependencyClassNames() {
+        return Collections.unmodifiableSet(dependencyClassNames);
+    }
+
+    public void addDependencyClassName(String className) {
+        if (className != null) {
+            dependencyClassNames.add(className);
+        }
+    }
+
+    public Set<String> getRequiredTypeNames() {
+        return Collections.unmodifiableSet(requiredTypeNames);
+    }
+
+    public void addRequiredTypeName(String typeName) {
+        if (typeName != null) {
+            requiredTypeNames.add(typeName);
+        }
+    }
+
+    public boolean isEagerRequired() {
+        return eagerRequired;
+    }
+
+    public void setEagerRequired(boolean eagerRequired) {
+        this.eagerRequired = eagerRequired;
+    }
+
+    public boolean isFrontier() {
+        return frontier;
+    }
+
+    public void setFrontier(boolean frontier) {
+        this.frontier = frontier;
+    }
+
     @Override
     public String toString() {
         return "BeanDefinition{" +
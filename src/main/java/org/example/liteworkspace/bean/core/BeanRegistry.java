@@ -6,10 +6,26 @@ public class BeanRegistry {
 
     private final Map<String, BeanDefinition> beanMap = new LinkedHashMap<>();
 
+    /**
+     * 供并行遍历使用的注册表：无锁注册，输出顺序与线程调度无关
+     */
+    public static BeanRegistry concurrent() {
+        return new ConcurrentBeanRegistry();
+    }
+
     public void register(BeanDefinition bean) {
         beanMap.putIfAbsent(bean.getBeanName(), bean);
     }
 
+    /**
+     * 注册Bean定义
+     *
+     * @param depth 从根类开始的发现深度；并发注册表据此重建确定的输出顺序，顺序注册表按注册顺序输出
+     */
+    public void register(BeanDefinition bean, int depth) {
+        register(bean);
+    }
+
     public Collection<BeanDefinition> getAllBeans() {
         return beanMap.values();
     }
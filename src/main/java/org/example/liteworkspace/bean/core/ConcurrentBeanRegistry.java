@@ -0,0 +1,41 @@
+package org.example.liteworkspace.bean.core;
+
+import java.util.Collection;
+
+/**
+ * 以 {@link ThreadSafeBeanRegistry} 为存储的 {@link BeanRegistry}，供多线程遍历的扫描器共享
+ */
+class ConcurrentBeanRegistry extends BeanRegistry {
+
+    private final ThreadSafeBeanRegistry delegate = new ThreadSafeBeanRegistry();
+
+    @Override
+    public void register(BeanDefinition bean) {
+        delegate.register(bean);
+    }
+
+    @Override
+    public void register(BeanDefinition bean, int depth) {
+        delegate.register(bean, depth);
+    }
+
+    @Override
+    public Collection<BeanDefinition> getAllBeans() {
+        return delegate.getAllBeans();
+    }
+
+    @Override
+    public boolean contains(String beanName) {
+        return delegate.contains(beanName);
+    }
+
+    @Override
+    public BeanDefinition get(String beanName) {
+        return delegate.get(beanName);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+}
@@ -1,14 +1,18 @@
 package org.example.liteworkspace.bean.core;
 
-import com.intellij.openapi.application.ApplicationManager;
-import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiClass;
 import org.example.liteworkspace.bean.core.context.LiteProjectContext;
+import org.example.liteworkspace.bean.core.enums.ContextOutputFormat;
+import org.example.liteworkspace.bean.core.enums.LazyInitMode;
+import org.example.liteworkspace.bean.engine.AutoConfigurationResolver;
+import org.example.liteworkspace.bean.engine.ContextCompletenessChecker;
 import org.example.liteworkspace.bean.engine.LiteFileWriter;
+import org.example.liteworkspace.bean.engine.SpringInitializerBuilder;
 import org.example.liteworkspace.bean.engine.SpringXmlBuilder;
+import org.example.liteworkspace.config.ConfigurationManager;
 import org.example.liteworkspace.dto.ClassSignatureDTO;
 import org.example.liteworkspace.dto.MethodSignatureDTO;
 import org.example.liteworkspace.exception.BeanScanningException;
@@ -16,11 +20,13 @@ import org.example.liteworkspace.exception.ExceptionHandler;
 import org.example.liteworkspace.service.BeanAnalysisService;
 import org.example.liteworkspace.service.ConfigurationService;
 import org.example.liteworkspace.service.ServiceContainer;
+import org.example.liteworkspace.util.CompileClosureResolver;
 import org.example.liteworkspace.util.CostUtil;
+import org.example.liteworkspace.util.IncrementalFileWriter;
 import org.example.liteworkspace.util.LogUtil;
+import org.example.liteworkspace.util.ReadActionMetrics;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -69,6 +75,7 @@ public class LiteWorkspaceService {
             indicator.setFraction(1.0);
             
             LogUtil.info("完成扫描和生成流程，耗时: {} ms", CostUtil.end(qualifiedName));
+            LogUtil.debug(ReadActionMetrics.summary());
             
         } catch (ProcessCanceledException e) {
             LogUtil.warn("扫描和生成流程被用户取消: {}", qualifiedName);
@@ -94,9 +101,32 @@ public class LiteWorkspaceService {
         indicator.setText2("生成Spring XML配置...");
         indicator.setFraction(0.6);
         
-        SpringXmlBuilder xmlBuilder = new SpringXmlBuilder(analysisResult.getProjectContext());
+        LazyInitMode lazyInitMode = ConfigurationManager.getInstance().getLazyInitMode();
+        SpringXmlBuilder xmlBuilder = new SpringXmlBuilder(analysisResult.getProjectContext(), lazyInitMode);
         Map<String, String> beanMap = xmlBuilder.buildXmlMap(analysisResult.getBeans());
-        LogUtil.info("生成Spring XML配置完成，数量: {}", beanMap.size());
+        LogUtil.info("生成Spring XML配置完成，数量: {}, 懒加载模式: {}", beanMap.size(), lazyInitMode);
+        
+        // Initializer 模式下仍保留 XML，便于对同一 Bean 集合做启动耗时对比
+        String initializerSource = null;
+        if (ConfigurationManager.getInstance().getContextOutputFormat() == ContextOutputFormat.INITIALIZER) {
+            indicator.setText2("生成ApplicationContextInitializer...");
+            String testClassName = targetClassDto.getSimpleName() + "Test";
+            initializerSource = new SpringInitializerBuilder(analysisResult.getProjectContext(), lazyInitMode)
+                    .build(analysisResult.getBeans(), targetClassDto.getPackageName(),
+                            SpringInitializerBuilder.initializerClassName(testClassName));
+        }
+        
+        // Spring Boot 项目只引入 Bean 集合缺失类型所需的自动配置
+        indicator.setText2("计算所需自动配置...");
+        List<String> autoConfigurations = new AutoConfigurationResolver(analysisResult.getProjectContext())
+                .resolve(analysisResult.getBeans());
+        
+        // 启动前静态检查注入点能否在生成的上下文中满足，结果随生成通知展示
+        indicator.setText2("检查上下文完整性...");
+        ContextCompletenessChecker.CompletenessReport completenessReport =
+                new ContextCompletenessChecker(analysisResult.getProjectContext())
+                        .check(analysisResult.getBeans(), beanMap, autoConfigurations);
+        analysisResult.getProjectContext().setCompletenessReport(completenessReport);
         
         // 写入文件
         indicator.setText2("写入文件...");
@@ -106,6 +136,9 @@ public class LiteWorkspaceService {
         writeFiles(analysisResult.getProjectContext(), 
                   targetClass, 
                   beanMap, 
+                  xmlBuilder.isDefaultLazyInit(),
+                  initializerSource,
+                  autoConfigurations,
                   analysisResult.getBeans(), 
                   indicator);
     }
@@ -116,54 +149,54 @@ public class LiteWorkspaceService {
     private void writeFiles(LiteProjectContext projectContext,
                             PsiClass targetClass,
                             Map<String, String> beanMap,
+                            boolean defaultLazyInit,
+                            String initializerSource,
+                            List<String> autoConfigurations,
                             Collection<BeanDefinition> beans,
                             ProgressIndicator indicator) {
 
-        // 使用 invokeLater + WriteCommandAction 在主线程中执行写操作，避免死锁
-        ApplicationManager.getApplication().invokeLater(() -> {
-            WriteCommandAction.runWriteCommandAction(project, () -> {
-                try {
-                    if (indicator != null) {
-                        indicator.setText2("写入Spring XML文件...");
-                    }
-                    
-                    // 1️⃣ 写Spring XML文件
-                    new LiteFileWriter(projectContext).write(project, targetClass, beanMap);
-                    
-                    if (indicator != null) {
-                        indicator.setText2("写入bean-classes.txt文件...");
-                    }
-                    
-                    // 2️⃣ 写 bean-classes.txt
-                    try {
-                        writeBeanClassesFile(beans);
-                    } catch (IOException e) {
-                        throw new RuntimeException("写入 bean-classes.txt 失败", e);
-                    }
-                    
-                } catch (Exception e) {
-                    LogUtil.error("写入文件失败", e);
-                    // 使用新的异常处理机制
-                    ExceptionHandler.handle(project, e, "写入文件失败");
-                    throw new RuntimeException("写入文件失败", e);
-                }
-            });
-        });
+        try {
+            if (indicator != null) {
+                indicator.setText2("写入Spring XML文件...");
+            }
+            
+            // 1️⃣ 写Spring XML文件：LiteFileWriter 自行在 EDT 的写命令中执行，这里不再包一层
+            new LiteFileWriter(projectContext).write(project, targetClass, beanMap, defaultLazyInit, initializerSource, autoConfigurations);
+            
+            if (indicator != null) {
+                indicator.setText2("写入bean-classes.txt文件...");
+            }
+            
+            // 2️⃣ 写 bean-classes.txt，纯文件写入，无需写锁
+            writeBeanClassesFile(beans);
+            
+        } catch (Exception e) {
+            LogUtil.error("写入文件失败", e);
+            // 使用新的异常处理机制
+            ExceptionHandler.handle(project, e, "写入文件失败");
+            throw new RuntimeException("写入文件失败", e);
+        }
     }
     
     /**
      * 写入bean-classes.txt文件
      */
     private void writeBeanClassesFile(Collection<BeanDefinition> beans) throws IOException {
-        Path file = Paths.get(project.getBasePath(), "build/lite/bean-classes.txt");
-        Files.createDirectories(file.getParent());
+        Path file = Paths.get(project.getBasePath(), CompileClosureResolver.BEAN_CLASSES_FILE);
         
         Set<String> classNames = beans.stream()
                 .map(BeanDefinition::getClassName)
                 .collect(Collectors.toCollection(LinkedHashSet::new));
         
-        Files.write(file, classNames, StandardCharsets.UTF_8);
-        LogUtil.info("写入bean-classes.txt文件完成，数量: {}", classNames.size());
+        StringBuilder content = new StringBuilder();
+        for (String className : classNames) {
+            content.append(className).append(System.lineSeparator());
+        }
+        if (IncrementalFileWriter.writeIfChanged(file, content.toString())) {
+            LogUtil.info("写入bean-classes.txt文件完成，数量: {}", classNames.size());
+        } else {
+            LogUtil.info("bean-classes.txt 内容未变化，跳过写入");
+        }
     }
     
     /**
@@ -1,127 +1,168 @@
 package org.example.liteworkspace.bean.core;
 
+import org.example.liteworkspace.bean.core.enums.BeanType;
+
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
- * 线程安全的Bean注册表
- * 
- * 主要改进：
- * 1. 使用 ConcurrentHashMap 替代 LinkedHashMap
- * 2. 添加读写锁保护复合操作
- * 3. 线程安全的统计信息
- * 4. 原子操作支持
+ * 线程安全的Bean注册表，面向多线程并行遍历
+ *
+ * 主要设计：
+ * 1. 注册与查询无全局锁：基于 ConcurrentHashMap 的 putIfAbsent，竞争只发生在同一个哈希桶上
+ * 2. 并行注册的到达顺序不确定，输出时按（发现深度, 类全限定名, Bean 名称）重建确定的顺序
+ * 3. 按 Bean 类型、来源类维护二级索引，注册成功后无锁追加
+ * 4. 统计信息使用分段的 LongAdder，避免写线程在计数器上互相争用
+ *
+ * 单个 Bean 的注册、替换与移除不加锁，直接作用于当前存储；查询同样不加锁。
+ * 清空、快照恢复与 executeAtomic 这类整体操作在新的存储上构建结果后一次性替换，读方不会看到做了一半的状态；
+ * 整体操作之间互斥，但不与单个写操作互斥：替换期间到达的注册可能落在被替换掉的旧存储上而丢失，
+ * 因此整体操作只能在没有扫描写入时执行（扫描开始前或结束后）。
  */
 public class ThreadSafeBeanRegistry {
-    
+
+    /**
+     * 输出顺序：先按发现深度，再按类全限定名与 Bean 名称
+     */
+    private static final Comparator<Entry> DETERMINISTIC_ORDER = Comparator
+        .comparingInt((Entry entry) -> entry.depth)
+        .thenComparing(entry -> entry.bean.getClassName() != null ? entry.bean.getClassName() : "")
+        .thenComparing(entry -> entry.bean.getBeanName());
+
     /**
      * 注册表统计信息
      */
     public static class RegistryStatistics {
-        private volatile long totalRegistrations = 0;
-        private volatile long totalLookups = 0;
-        private volatile long totalHits = 0;
-        private volatile long totalMisses = 0;
-        private volatile long totalClears = 0;
-        private final Map<String, Long> beanTypeCounts = new ConcurrentHashMap<>();
-        private final Map<String, Long> beanSourceCounts = new ConcurrentHashMap<>();
-        
+        private final LongAdder totalRegistrations = new LongAdder();
+        private final LongAdder totalLookups = new LongAdder();
+        private final LongAdder totalHits = new LongAdder();
+        private final LongAdder totalMisses = new LongAdder();
+        private final LongAdder totalClears = new LongAdder();
+        private final Map<String, LongAdder> beanTypeCounts = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> beanSourceCounts = new ConcurrentHashMap<>();
+
         public void recordRegistration(String beanType, String source) {
-            totalRegistrations++;
-            beanTypeCounts.merge(beanType, 1L, Long::sum);
-            beanSourceCounts.merge(source, 1L, Long::sum);
+            totalRegistrations.increment();
+            beanTypeCounts.computeIfAbsent(beanType, key -> new LongAdder()).increment();
+            beanSourceCounts.computeIfAbsent(source, key -> new LongAdder()).increment();
         }
-        
+
         public void recordLookup(boolean hit) {
-            totalLookups++;
+            totalLookups.increment();
             if (hit) {
-                totalHits++;
+                totalHits.increment();
             } else {
-                totalMisses++;
+                totalMisses.increment();
             }
         }
-        
+
         public void recordClear() {
-            totalClears++;
+            totalClears.increment();
         }
-        
+
         public double getHitRate() {
-            return totalLookups == 0 ? 0.0 : (double) totalHits / totalLookups;
+            long lookups = totalLookups.sum();
+            return lookups == 0 ? 0.0 : (double) totalHits.sum() / lookups;
         }
-        
+
         // Getters
-        public long getTotalRegistrations() { return totalRegistrations; }
-        public long getTotalLookups() { return totalLookups; }
-        public long getTotalHits() { return totalHits; }
-        public long getTotalMisses() { return totalMisses; }
-        public long getTotalClears() { return totalClears; }
-        public Map<String, Long> getBeanTypeCounts() { return new HashMap<>(beanTypeCounts); }
-        public Map<String, Long> getBeanSourceCounts() { return new HashMap<>(beanSourceCounts); }
-        
+        public long getTotalRegistrations() { return totalRegistrations.sum(); }
+        public long getTotalLookups() { return totalLookups.sum(); }
+        public long getTotalHits() { return totalHits.sum(); }
+        public long getTotalMisses() { return totalMisses.sum(); }
+        public long getTotalClears() { return totalClears.sum(); }
+        public Map<String, Long> getBeanTypeCounts() { return sumAll(beanTypeCounts); }
+        public Map<String, Long> getBeanSourceCounts() { return sumAll(beanSourceCounts); }
+
+        private static Map<String, Long> sumAll(Map<String, LongAdder> counters) {
+            Map<String, Long> result = new HashMap<>();
+            counters.forEach((key, counter) -> result.put(key, counter.sum()));
+            return result;
+        }
+
         @Override
         public String toString() {
             return String.format(
                 "RegistryStats{registrations=%d, lookups=%d, hits=%d, misses=%d, hitRate=%.2f%%, clears=%d}",
-                totalRegistrations, totalLookups, totalHits, totalMisses, getHitRate() * 100, totalClears
+                getTotalRegistrations(), getTotalLookups(), getTotalHits(), getTotalMisses(),
+                getHitRate() * 100, getTotalClears()
             );
         }
     }
-    
-    // 核心存储
-    private final Map<String, BeanDefinition> beanMap;
-    private final ReadWriteLock lock;
-    private final RegistryStatistics statistics;
-    private volatile boolean isShutdown;
-    
+
+    /**
+     * 注册项：Bean 定义及其被发现时的遍历深度
+     */
+    private static final class Entry {
+        private final BeanDefinition bean;
+        private final int depth;
+
+        private Entry(BeanDefinition bean, int depth) {
+            this.bean = bean;
+            this.depth = depth;
+        }
+    }
+
     /**
-     * 默认构造函数 - 使用ConcurrentHashMap
+     * 主表与二级索引；整体操作构建新的实例后整体替换
      */
+    private static final class Storage {
+        private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+        // 二级索引：Bean 类型 / 来源类 → Bean 名称
+        private final Map<BeanType, Set<String>> namesByType = new ConcurrentHashMap<>();
+        private final Map<String, Set<String>> namesBySource = new ConcurrentHashMap<>();
+    }
+
+    private volatile Storage storage = new Storage();
+    // 只在整体操作之间互斥，单个 Bean 的读写不经过它
+    private final Object bulkMonitor = new Object();
+    private final RegistryStatistics statistics = new RegistryStatistics();
+    private volatile boolean isShutdown;
+
     public ThreadSafeBeanRegistry() {
-        this.beanMap = new ConcurrentHashMap<>();
-        this.lock = new ReentrantReadWriteLock();
-        this.statistics = new RegistryStatistics();
-        this.isShutdown = false;
     }
-    
+
     /**
-     * 构造函数 - 允许指定Map实现
+     * 构造函数 - 以已有的 Bean 定义初始化
      */
     public ThreadSafeBeanRegistry(Map<String, BeanDefinition> map) {
-        this.beanMap = map != null ? map : new ConcurrentHashMap<>();
-        this.lock = new ReentrantReadWriteLock();
-        this.statistics = new RegistryStatistics();
-        this.isShutdown = false;
+        if (map != null) {
+            registerAll(map.values());
+        }
     }
-    
+
     /**
-     * 注册Bean定义
+     * 注册Bean定义，已存在同名 Bean 时保留先注册的
      */
     public boolean register(BeanDefinition bean) {
+        return register(bean, 0);
+    }
+
+    /**
+     * 注册Bean定义
+     *
+     * @param depth 从根类开始的发现深度，用于重建确定的输出顺序
+     */
+    public boolean register(BeanDefinition bean, int depth) {
         if (isShutdown || bean == null) {
             return false;
         }
-        
-        lock.writeLock().lock();
-        try {
-            BeanDefinition existing = beanMap.putIfAbsent(bean.getBeanName(), bean);
-            if (existing == null) {
-                // 新注册
-                statistics.recordRegistration(
-                    bean.getClass().getSimpleName(), 
-                    bean.getClassName() != null ? bean.getClassName() : "unknown"
-                );
-                return true;
-            }
+
+        Storage current = storage;
+        if (current.entries.putIfAbsent(bean.getBeanName(), new Entry(bean, depth)) != null) {
             return false;
-        } finally {
-            lock.writeLock().unlock();
         }
+        index(current, bean);
+        statistics.recordRegistration(
+            bean.getClass().getSimpleName(),
+            bean.getClassName() != null ? bean.getClassName() : "unknown"
+        );
+        return true;
     }
-    
+
     /**
      * 强制注册Bean定义（覆盖已存在的）
      */
@@ -129,23 +170,16 @@ public class ThreadSafeBeanRegistry {
         if (isShutdown || bean == null) {
             return;
         }
-        
-        lock.writeLock().lock();
-        try {
-            boolean isNew = !beanMap.containsKey(bean.getBeanName());
-            beanMap.put(bean.getBeanName(), bean);
-            
-            if (isNew) {
-                statistics.recordRegistration(
-                    bean.getClass().getSimpleName(), 
-                    bean.getClassName() != null ? bean.getClassName() : "unknown"
-                );
-            }
-        } finally {
-            lock.writeLock().unlock();
+
+        Entry previous = replace(storage, bean);
+        if (previous == null) {
+            statistics.recordRegistration(
+                bean.getClass().getSimpleName(),
+                bean.getClassName() != null ? bean.getClassName() : "unknown"
+            );
         }
     }
-    
+
     /**
      * 批量注册Bean定义
      */
@@ -153,25 +187,16 @@ public class ThreadSafeBeanRegistry {
         if (isShutdown || beans == null || beans.isEmpty()) {
             return 0;
         }
-        
-        lock.writeLock().lock();
-        try {
-            int count = 0;
-            for (BeanDefinition bean : beans) {
-                if (bean != null && beanMap.putIfAbsent(bean.getBeanName(), bean) == null) {
-                    statistics.recordRegistration(
-                        bean.getClass().getSimpleName(), 
-                        bean.getClassName() != null ? bean.getClassName() : "unknown"
-                    );
-                    count++;
-                }
+
+        int count = 0;
+        for (BeanDefinition bean : beans) {
+            if (register(bean)) {
+                count++;
             }
-            return count;
-        } finally {
-            lock.writeLock().unlock();
         }
+        return count;
     }
-    
+
     /**
      * 获取Bean定义
      */
@@ -179,17 +204,12 @@ public class ThreadSafeBeanRegistry {
         if (isShutdown || beanName == null) {
             return null;
         }
-        
-        lock.readLock().lock();
-        try {
-            BeanDefinition bean = beanMap.get(beanName);
-            statistics.recordLookup(bean != null);
-            return bean;
-        } finally {
-            lock.readLock().unlock();
-        }
+
+        Entry entry = storage.entries.get(beanName);
+        statistics.recordLookup(entry != null);
+        return entry != null ? entry.bean : null;
     }
-    
+
     /**
      * 获取Bean定义（带类型检查）
      */
@@ -201,7 +221,7 @@ public class ThreadSafeBeanRegistry {
         }
         return null;
     }
-    
+
     /**
      * 检查是否包含指定Bean
      */
@@ -209,31 +229,22 @@ public class ThreadSafeBeanRegistry {
         if (isShutdown || beanName == null) {
             return false;
         }
-        
-        lock.readLock().lock();
-        try {
-            return beanMap.containsKey(beanName);
-        } finally {
-            lock.readLock().unlock();
-        }
+        return storage.entries.containsKey(beanName);
     }
-    
+
     /**
-     * 获取所有Bean定义
+     * 获取所有Bean定义，按（发现深度, 类全限定名, Bean 名称）排序，与注册线程的调度无关
      */
     public Collection<BeanDefinition> getAllBeans() {
         if (isShutdown) {
             return Collections.emptyList();
         }
-        
-        lock.readLock().lock();
-        try {
-            return new ArrayList<>(beanMap.values());
-        } finally {
-            lock.readLock().unlock();
-        }
+        return storage.entries.values().stream()
+            .sorted(DETERMINISTIC_ORDER)
+            .map(entry -> entry.bean)
+            .collect(Collectors.toList());
     }
-    
+
     /**
      * 获取所有Bean名称
      */
@@ -241,15 +252,9 @@ public class ThreadSafeBeanRegistry {
         if (isShutdown) {
             return Collections.emptySet();
         }
-        
-        lock.readLock().lock();
-        try {
-            return new HashSet<>(beanMap.keySet());
-        } finally {
-            lock.readLock().unlock();
-        }
+        return new HashSet<>(storage.entries.keySet());
     }
-    
+
     /**
      * 根据类型获取Bean定义
      */
@@ -257,35 +262,33 @@ public class ThreadSafeBeanRegistry {
         if (isShutdown || beanType == null) {
             return Collections.emptyList();
         }
-        
-        lock.readLock().lock();
-        try {
-            return beanMap.values().stream()
-                .filter(bean -> beanType.isInstance(bean))
-                .collect(Collectors.toList());
-        } finally {
-            lock.readLock().unlock();
+        return getAllBeans().stream()
+            .filter(beanType::isInstance)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 根据 Bean 类型获取Bean定义（走索引）
+     */
+    public List<BeanDefinition> getBeansByBeanType(BeanType type) {
+        if (isShutdown || type == null) {
+            return Collections.emptyList();
         }
+        Storage current = storage;
+        return resolve(current, current.namesByType.get(type));
     }
-    
+
     /**
-     * 根据来源获取Bean定义
+     * 根据来源获取Bean定义（走索引）
      */
     public List<BeanDefinition> getBeansBySource(String source) {
         if (isShutdown || source == null) {
             return Collections.emptyList();
         }
-        
-        lock.readLock().lock();
-        try {
-            return beanMap.values().stream()
-                .filter(bean -> source.equals(bean.getClassName()))
-                .collect(Collectors.toList());
-        } finally {
-            lock.readLock().unlock();
-        }
+        Storage current = storage;
+        return resolve(current, current.namesBySource.get(source));
     }
-    
+
     /**
      * 移除Bean定义
      */
@@ -293,15 +296,10 @@ public class ThreadSafeBeanRegistry {
         if (isShutdown || beanName == null) {
             return false;
         }
-        
-        lock.writeLock().lock();
-        try {
-            return beanMap.remove(beanName) != null;
-        } finally {
-            lock.writeLock().unlock();
-        }
+
+        return removeEntry(storage, beanName);
     }
-    
+
     /**
      * 批量移除Bean定义
      */
@@ -309,165 +307,217 @@ public class ThreadSafeBeanRegistry {
         if (isShutdown || beanNames == null || beanNames.isEmpty()) {
             return 0;
         }
-        
-        lock.writeLock().lock();
-        try {
-            int count = 0;
-            for (String beanName : beanNames) {
-                if (beanMap.remove(beanName) != null) {
-                    count++;
-                }
+
+        int count = 0;
+        for (String beanName : beanNames) {
+            if (remove(beanName)) {
+                count++;
             }
-            return count;
-        } finally {
-            lock.writeLock().unlock();
         }
+        return count;
     }
-    
+
     /**
-     * 清空所有Bean定义
+     * 清空所有Bean定义，不能与扫描写入并发执行
      */
     public void clear() {
         if (isShutdown) {
             return;
         }
-        
-        lock.writeLock().lock();
-        try {
-            beanMap.clear();
+
+        synchronized (bulkMonitor) {
+            storage = new Storage();
             statistics.recordClear();
-        } finally {
-            lock.writeLock().unlock();
         }
     }
-    
+
     /**
      * 获取Bean数量
      */
     public int size() {
-        if (isShutdown) {
-            return 0;
-        }
-        
-        lock.readLock().lock();
-        try {
-            return beanMap.size();
-        } finally {
-            lock.readLock().unlock();
-        }
+        return isShutdown ? 0 : storage.entries.size();
     }
-    
+
     /**
      * 检查是否为空
      */
     public boolean isEmpty() {
         return size() == 0;
     }
-    
+
     /**
      * 获取统计信息
      */
     public RegistryStatistics getStatistics() {
         return statistics;
     }
-    
+
     /**
-     * 创建快照
+     * 创建快照，迭代顺序与 {@link #getAllBeans()} 一致
      */
     public Map<String, BeanDefinition> createSnapshot() {
         if (isShutdown) {
             return Collections.emptyMap();
         }
-        
-        lock.readLock().lock();
-        try {
-            return new HashMap<>(beanMap);
-        } finally {
-            lock.readLock().unlock();
+
+        Map<String, BeanDefinition> snapshot = new LinkedHashMap<>();
+        for (BeanDefinition bean : getAllBeans()) {
+            snapshot.put(bean.getBeanName(), bean);
         }
+        return snapshot;
     }
-    
+
     /**
-     * 从快照恢复
+     * 从快照恢复：快照之外的 Bean 被移除，仍在注册表中的 Bean 保留原有的发现深度；
+     * 不能与扫描写入并发执行
      */
     public void restoreFromSnapshot(Map<String, BeanDefinition> snapshot) {
         if (isShutdown || snapshot == null) {
             return;
         }
-        
-        lock.writeLock().lock();
-        try {
-            beanMap.clear();
-            beanMap.putAll(snapshot);
-        } finally {
-            lock.writeLock().unlock();
+
+        synchronized (bulkMonitor) {
+            storage = rebuild(storage, snapshot);
         }
     }
-    
+
     /**
-     * 执行原子操作
+     * 执行整体操作：操作作用于当前内容的副本，完成后以副本构建新的存储并整体替换；
+     * 不能与扫描写入并发执行，否则替换期间到达的注册会丢失
      */
     public <T> T executeAtomic(Function<Map<String, BeanDefinition>, T> operation) {
         if (isShutdown || operation == null) {
             return null;
         }
-        
-        lock.writeLock().lock();
-        try {
-            return operation.apply(beanMap);
-        } finally {
-            lock.writeLock().unlock();
+
+        synchronized (bulkMonitor) {
+            Storage current = storage;
+            Map<String, BeanDefinition> working = createSnapshot();
+            T result = operation.apply(working);
+            storage = rebuild(current, working);
+            return result;
         }
     }
-    
+
     /**
-     * 执行读操作
+     * 执行读操作，操作看到的是只读快照
      */
     public <T> T executeRead(Function<Map<String, BeanDefinition>, T> operation) {
         if (isShutdown || operation == null) {
             return null;
         }
-        
-        lock.readLock().lock();
-        try {
-            return operation.apply(beanMap);
-        } finally {
-            lock.readLock().unlock();
-        }
+        return operation.apply(Collections.unmodifiableMap(createSnapshot()));
     }
-    
+
     /**
      * 关闭注册表
      */
     public void shutdown() {
-        lock.writeLock().lock();
-        try {
+        synchronized (bulkMonitor) {
             isShutdown = true;
-            beanMap.clear();
-        } finally {
-            lock.writeLock().unlock();
+            storage = new Storage();
         }
     }
-    
+
     /**
      * 检查是否已关闭
      */
     public boolean isShutdown() {
         return isShutdown;
     }
-    
+
+    /**
+     * 以 target 的内容构建新存储，仍在 current 中的 Bean 沿用原有的发现深度
+     */
+    private static Storage rebuild(Storage current, Map<String, BeanDefinition> target) {
+        Storage rebuilt = new Storage();
+        for (BeanDefinition bean : target.values()) {
+            if (bean == null) {
+                continue;
+            }
+            Entry existing = current.entries.get(bean.getBeanName());
+            rebuilt.entries.put(bean.getBeanName(), new Entry(bean, existing != null ? existing.depth : 0));
+            index(rebuilt, bean);
+        }
+        return rebuilt;
+    }
+
+    /**
+     * 写入或替换 Bean，替换时沿用原有的发现深度
+     */
+    private static Entry replace(Storage target, BeanDefinition bean) {
+        Entry[] previous = new Entry[1];
+        target.entries.compute(bean.getBeanName(), (name, existing) -> {
+            previous[0] = existing;
+            return new Entry(bean, existing != null ? existing.depth : 0);
+        });
+        if (previous[0] != null) {
+            unindex(target, previous[0].bean);
+        }
+        index(target, bean);
+        return previous[0];
+    }
+
+    private static boolean removeEntry(Storage target, String beanName) {
+        Entry removed = target.entries.remove(beanName);
+        if (removed == null) {
+            return false;
+        }
+        unindex(target, removed.bean);
+        return true;
+    }
+
+    private static void index(Storage target, BeanDefinition bean) {
+        if (bean.getType() != null) {
+            target.namesByType.computeIfAbsent(bean.getType(), key -> ConcurrentHashMap.newKeySet()).add(bean.getBeanName());
+        }
+        if (bean.getClassName() != null) {
+            target.namesBySource.computeIfAbsent(bean.getClassName(), key -> ConcurrentHashMap.newKeySet()).add(bean.getBeanName());
+        }
+    }
+
+    private static void unindex(Storage target, BeanDefinition bean) {
+        if (bean.getType() != null) {
+            Set<String> names = target.namesByType.get(bean.getType());
+            if (names != null) {
+                names.remove(bean.getBeanName());
+            }
+        }
+        if (bean.getClassName() != null) {
+            Set<String> names = target.namesBySource.get(bean.getClassName());
+            if (names != null) {
+                names.remove(bean.getBeanName());
+            }
+        }
+    }
+
+    /**
+     * 索引与主表的更新不在同一原子操作内，以主表为准过滤掉已被移除或替换的名称
+     */
+    private static List<BeanDefinition> resolve(Storage source, Set<String> names) {
+        if (names == null || names.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Entry> resolved = new ArrayList<>(names.size());
+        for (String name : names) {
+            Entry entry = source.entries.get(name);
+            if (entry != null) {
+                resolved.add(entry);
+            }
+        }
+        resolved.sort(DETERMINISTIC_ORDER);
+        List<BeanDefinition> result = new ArrayList<>(resolved.size());
+        for (Entry entry : resolved) {
+            result.add(entry.bean);
+        }
+        return result;
+    }
+
     @Override
     public String toString() {
         if (isShutdown) {
             return "ThreadSafeBeanRegistry{shutdown=true}";
         }
-        
-        lock.readLock().lock();
-        try {
-            return String.format("ThreadSafeBeanRegistry{size=%d, statistics=%s}", 
-                beanMap.size(), statistics);
-        } finally {
-            lock.readLock().unlock();
-        }
+        return String.format("ThreadSafeBeanRegistry{size=%d, statistics=%s}", storage.entries.size(), statistics);
     }
 }
@@ -1,7 +1,9 @@
 package org.example.liteworkspace.bean.core.context;
 
+import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ModuleRootManager;
@@ -15,13 +17,17 @@ import com.intellij.psi.search.FilenameIndex;
 import com.intellij.psi.search.GlobalSearchScope;
 import org.example.liteworkspace.bean.core.DatasourceConfig;
 import org.example.liteworkspace.bean.core.enums.BuildToolType;
+import org.example.liteworkspace.bean.engine.ContextCompletenessChecker;
+import org.example.liteworkspace.bean.engine.ScanBudget;
 import org.example.liteworkspace.cache.CacheVersionChecker;
 import org.example.liteworkspace.datasource.DataSourceConfigLoader;
 import org.example.liteworkspace.datasource.SqlSessionConfig;
 import org.example.liteworkspace.dto.ClassSignatureDTO;
 import org.example.liteworkspace.dto.MethodSignatureDTO;
 import org.example.liteworkspace.dto.PsiToDtoConverter;
+import org.example.liteworkspace.task.TaskScheduler;
 import org.example.liteworkspace.util.LogUtil;
+import org.example.liteworkspace.util.OptimizedSearchScopeManager;
 
 import java.net.URL;
 import java.util.Arrays;
@@ -59,8 +65,20 @@ public class LiteProjectContext {
      * mybatis 上下文
      */
     private final MyBatisContext myBatisContext;
+    /**
+     * 目标类所在模块，决定解析与 Bean 搜索范围；无法确定时为 null，使用全局范围
+     */
+    private final Module targetModule;
     private final CacheVersionChecker versionChecker = new CacheVersionChecker();
     private final List<SqlSessionConfig> sqlSessionConfigList;
+    /**
+     * 最近一次 Bean 扫描的预算使用情况，扫描前为 null
+     */
+    private volatile ScanBudget.ScanReport scanReport;
+    /**
+     * 生成上下文的静态完整性检查结果，生成前为 null
+     */
+    private volatile ContextCompletenessChecker.CompletenessReport completenessReport;
 
     public LiteProjectContext(Project project, PsiClass targetClass, PsiMethod targetMethod, ProgressIndicator indicator) {
         LogUtil.info("开始初始化 LiteProjectContext, 项目名称: {}", project.getName());
@@ -77,17 +95,21 @@ public class LiteProjectContext {
         this.multiModule = modules.size() > 1;
         this.buildToolType = detect(project);
         LogUtil.info("检测到构建工具类型: {}", buildToolType);
+        this.targetModule = targetClass != null
+                ? ReadAction.compute(() -> ModuleUtilCore.findModuleForPsiElement(targetClass)) : null;
+        LogUtil.info("目标模块: {}", targetModule != null ? targetModule.getName() : "未知");
         // 数据源配置
         this.datasourceConfig = refreshDatasourceConfig();
         LogUtil.info("datasourceConfig：{}", datasourceConfig);
         // spring 上下下文初始化
         LogUtil.info("开始初始化 Spring 上下文");
-        this.springContext = new SpringContext(project, indicator);
+        this.springContext = new SpringContext(project, indicator, getBeanSearchScope(), getResolveScope());
         this.springContext.refresh(null);
         LogUtil.info("Spring 上下文初始化完成");
         // 数据源配置初始化
         LogUtil.info("开始加载数据源配置");
-        this.sqlSessionConfigList = DataSourceConfigLoader.load(project);
+        this.sqlSessionConfigList = TaskScheduler.shareProjectPhase(project, "sqlSessionConfigs",
+                () -> DataSourceConfigLoader.load(project));
         LogUtil.info("sqlSessionConfigList：{}", sqlSessionConfigList);
         // mybatis 上下文初始化
         LogUtil.info("开始初始化 MyBatis 上下文");
@@ -218,6 +240,7 @@ public class LiteProjectContext {
     }
 
     public BuildToolType getBuildToolType() { return buildToolType; }
+    public Module getTargetModule() { return targetModule; }
     public SpringContext getSpringContext() { return springContext; }
     public MyBatisContext getMyBatisContext() { return myBatisContext; }
     public CacheVersionChecker getVersionChecker() { return versionChecker; }
@@ -230,6 +253,22 @@ public class LiteProjectContext {
         return targetMethodDto;
     }
 
+    /**
+     * 按全限定名解析类的范围：目标模块及其传递依赖（含库）
+     */
+    public GlobalSearchScope getResolveScope() {
+        OptimizedSearchScopeManager scopeManager = OptimizedSearchScopeManager.getInstance(project);
+        return scopeManager != null ? scopeManager.getResolveScope(targetModule) : GlobalSearchScope.allScope(project);
+    }
+
+    /**
+     * 搜索 Bean 的范围：目标模块及其传递依赖模块，加上含 Spring 元数据的依赖 jar
+     */
+    public GlobalSearchScope getBeanSearchScope() {
+        OptimizedSearchScopeManager scopeManager = OptimizedSearchScopeManager.getInstance(project);
+        return scopeManager != null ? scopeManager.getBeanSearchScope(targetModule) : GlobalSearchScope.allScope(project);
+    }
+
     /**
      * 根据ClassSignatureDTO查找对应的PsiClass对象
      */
@@ -287,4 +326,20 @@ public class LiteProjectContext {
     public DatasourceConfig getDatasourceConfig() {
         return datasourceConfig;
     }
+
+    public ScanBudget.ScanReport getScanReport() {
+        return scanReport;
+    }
+
+    public void setScanReport(ScanBudget.ScanReport scanReport) {
+        this.scanReport = scanReport;
+    }
+
+    public ContextCompletenessChecker.CompletenessReport getCompletenessReport() {
+        return completenessReport;
+    }
+
+    public void setCompletenessReport(ContextCompletenessChecker.CompletenessReport completenessReport) {
+        this.completenessReport = completenessReport;
+    }
 }
\ No newline at end of file
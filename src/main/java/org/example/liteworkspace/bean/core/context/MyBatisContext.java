@@ -3,6 +3,7 @@ package org.example.liteworkspace.bean.core.context;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiClass;
 import org.example.liteworkspace.datasource.SqlSessionConfig;
+import org.example.liteworkspace.task.TaskScheduler;
 import org.example.liteworkspace.util.JSONUtil;
 import org.example.liteworkspace.util.LogUtil;
 import org.example.liteworkspace.util.MyBatisXmlFinder;
@@ -17,6 +18,8 @@ import java.util.*;
  */
 public class MyBatisContext {
 
+    private final Project project;
+
     private final MyBatisXmlFinder myBatisXmlFinder;
 
     private final List<SqlSessionConfig> sqlSessionConfigList;
@@ -24,13 +27,18 @@ public class MyBatisContext {
     private final Map<String, MybatisBeanDto> namespace2XmlFileMap = new HashMap<>();
 
     public MyBatisContext(Project project, List<SqlSessionConfig> sqlSessionConfigList) {
+        this.project = project;
         this.myBatisXmlFinder = new MyBatisXmlFinder(project);
         this.sqlSessionConfigList = sqlSessionConfigList;
     }
 
     public void refresh() {
-        LogUtil.info("start refresh myBatisContext, sql session config list{}", JSONUtil.toJsonStr(sqlSessionConfigList));
-        Map<String, MybatisBeanDto> namespace2dao = myBatisXmlFinder.scanAllMapperXml(sqlSessionConfigList);
+        String configJson = JSONUtil.toJsonStr(sqlSessionConfigList);
+        LogUtil.info("start refresh myBatisContext, sql session config list{}", configJson);
+        // 相同数据源配置下的 Mapper XML 扫描由并发请求共享
+        Map<String, MybatisBeanDto> namespace2dao = TaskScheduler.shareProjectPhase(project,
+                "mapperNamespaces:" + configJson.hashCode(),
+                () -> myBatisXmlFinder.scanAllMapperXml(sqlSessionConfigList));
         namespace2XmlFileMap.putAll(namespace2dao);
         LogUtil.info("end refresh myBatisContext, namespace map size:{}", namespace2dao.size());
     }
@@ -14,8 +14,10 @@ import com.intellij.psi.util.PsiUtil;
 import com.intellij.util.concurrency.NonUrgentExecutor;
 import org.apache.commons.collections.CollectionUtils;
 import org.example.liteworkspace.bean.engine.SpringConfigurationScanner;
+import org.example.liteworkspace.cache.LibrarySummaryIndex;
 import org.example.liteworkspace.dto.ClassSignatureDTO;
 import org.example.liteworkspace.dto.PsiToDtoConverter;
+import org.example.liteworkspace.task.TaskScheduler;
 import org.example.liteworkspace.util.LogUtil;
 import org.example.liteworkspace.util.MyPsiClassUtil;
 import org.jetbrains.concurrency.CancellablePromise;
@@ -30,16 +32,31 @@ public class SpringContext {
 
     private final ProgressIndicator indicator;
 
+    /**
+     * 配置类发现范围与按全限定名解析的范围
+     */
+    private final GlobalSearchScope searchScope;
+    private final GlobalSearchScope resolveScope;
+
     public SpringContext(Project project, ProgressIndicator indicator) {
+        this(project, indicator, GlobalSearchScope.allScope(project), GlobalSearchScope.allScope(project));
+    }
+
+    public SpringContext(Project project, ProgressIndicator indicator,
+                         GlobalSearchScope searchScope, GlobalSearchScope resolveScope) {
         this.project = project;
         this.indicator = indicator;
+        this.searchScope = searchScope;
+        this.resolveScope = resolveScope;
     }
 
     public void refresh(Set<String> miniPackages) {
         LogUtil.info("start refresh SpringContext");
 
         SpringConfigurationScanner scanner = new SpringConfigurationScanner();
-        componentScanPackages.addAll(scanner.scanEffectiveComponentScanPackages(project));
+        // 扫描包与目标类无关，并发的扫描请求共享同一次计算
+        componentScanPackages.addAll(TaskScheduler.shareProjectPhase(project, "componentScanPackages",
+                () -> scanner.scanEffectiveComponentScanPackages(project)));
 
         if (CollectionUtils.isEmpty(miniPackages)) {
             miniPackages = componentScanPackages;
@@ -74,7 +91,8 @@ public class SpringContext {
 
                         PsiPackage psiPackage = JavaPsiFacade.getInstance(project).findPackage(pkgOrJar);
                         if (psiPackage != null) {
-                            GlobalSearchScope packageScope = new PackageScope(psiPackage, true, true);
+                            GlobalSearchScope packageScope = new PackageScope(psiPackage, true, true)
+                                    .intersectWith(searchScope);
                             AllClassesSearch.search(packageScope, project).forEach(psiClass -> {
                                 String fqName = psiClass.getQualifiedName();
                                 if (fqName != null) classesToScanFqns.add(fqName);
@@ -84,7 +102,7 @@ public class SpringContext {
                         }
 
                         VirtualFile jarFile = findJarByName(project, pkgOrJar);
-                        if (jarFile != null) {
+                        if (jarFile != null && mayContainConfiguration(jarFile)) {
                             GlobalSearchScope jarScope = GlobalSearchScope.filesScope(project, Set.of(jarFile));
                             AllClassesSearch.search(jarScope, project).forEach(psiClass -> {
                                 String fqName = psiClass.getQualifiedName();
@@ -100,7 +118,7 @@ public class SpringContext {
                     for (String classFqn : classesToScanFqns) {
                         indicator.checkCanceled();
                         PsiClass psiClass = JavaPsiFacade.getInstance(project)
-                                .findClass(classFqn, GlobalSearchScope.allScope(project));
+                                .findClass(classFqn, resolveScope);
                         if (psiClass == null) continue;
                         if (!hasAnnotation(psiClass, "org.springframework.context.annotation.Configuration")) continue;
 
@@ -178,6 +196,15 @@ public class SpringContext {
         return null;
     }
 
+    /**
+     * 依赖 jar 摘要的布隆过滤器确定不含 @Configuration 时，跳过整个 jar 的类遍历；
+     * 这里持有读锁，尚无摘要的 jar 照常遍历，摘要在后台生成
+     */
+    private boolean mayContainConfiguration(VirtualFile jarRoot) {
+        LibrarySummaryIndex.LibrarySummary summary = LibrarySummaryIndex.getInstance().getCachedOrAnalyzeInBackground(jarRoot);
+        return summary == null || summary.mightContainAnnotation("org.springframework.context.annotation.Configuration");
+    }
+
     private boolean hasAnnotation(PsiModifierListOwner owner, String annotationFqn) {
         PsiModifierList list = owner.getModifierList();
         return list != null && list.findAnnotation(annotationFqn) != null;
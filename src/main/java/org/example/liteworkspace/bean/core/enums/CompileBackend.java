@@ -0,0 +1,12 @@
+package org.example.liteworkspace.bean.core.enums;
+
+/**
+ * RunOnDemand 运行前的编译方式
+ */
+public enum CompileBackend {
+    // CompilerManager.make，走完整的 JPS 构建
+    JPS,
+    // 进程内 javax.tools 编译到内存，结果直接交给运行器类加载器；启用注解处理的模块回退到 JPS
+    IN_MEMORY,
+    ;
+}
@@ -0,0 +1,12 @@
+package org.example.liteworkspace.bean.core.enums;
+
+/**
+ * 生成的测试上下文形式
+ */
+public enum ContextOutputFormat {
+    // Spring XML，测试类通过 @ContextConfiguration(locations = ...) 加载
+    XML,
+    // 额外生成 ApplicationContextInitializer，测试类通过 @ContextConfiguration(initializers = ...) 加载
+    INITIALIZER,
+    ;
+}
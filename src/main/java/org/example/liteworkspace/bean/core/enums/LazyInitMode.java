@@ -0,0 +1,12 @@
+package org.example.liteworkspace.bean.core.enums;
+
+/**
+ * 生成 Spring XML 时的懒加载策略
+ */
+public enum LazyInitMode {
+    // 所有 Bean 随上下文立即初始化（默认行为）
+    EAGER,
+    // default-lazy-init="true"，只有目标 Bean、其直接依赖以及必须立即初始化的 Bean 保持 eager
+    TARGET_EAGER,
+    ;
+}
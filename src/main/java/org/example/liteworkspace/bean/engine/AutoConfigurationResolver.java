@@ -0,0 +1,292 @@
+package org.example.liteworkspace.bean.engine;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.roots.OrderEnumerator;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiUtil;
+import org.example.liteworkspace.bean.core.BeanDefinition;
+import org.example.liteworkspace.bean.core.context.LiteProjectContext;
+import org.example.liteworkspace.bean.core.enums.BeanType;
+import org.example.liteworkspace.util.CostUtil;
+import org.example.liteworkspace.util.LogUtil;
+import org.example.liteworkspace.util.ReadActionUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 为 Spring Boot 项目计算最小的自动配置集合。
+ * <p>
+ * 从模块依赖 jar 的 {@code META-INF/spring.factories} 与
+ * {@code META-INF/spring/...AutoConfiguration.imports} 读取候选自动配置，
+ * 只保留能够提供收集到的 Bean 所需、但 Bean 集合自身无法满足的类型（如 DataSource、ObjectMapper）的那部分；
+ * 每个缺失类型只选一个提供者：优先已选中的自动配置，否则取候选声明顺序中的第一个，
+ * 避免同时引入多个互斥的实现（如多种连接池的 DataSource 配置）。
+ * 被选中的提供方法的参数类型会继续参与匹配，直到收敛。
+ */
+public class AutoConfigurationResolver {
+
+    private static final String SPRING_FACTORIES = "META-INF/spring.factories";
+    private static final String AUTO_CONFIGURATION_IMPORTS =
+            "META-INF/spring/org.springframework.boot.autoconfigure.AutoConfiguration.imports";
+    private static final String ENABLE_AUTO_CONFIGURATION_KEY =
+            "org.springframework.boot.autoconfigure.EnableAutoConfiguration";
+    private static final String PROPERTY_PLACEHOLDER_AUTO_CONFIGURATION =
+            "org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration";
+
+    /**
+     * 这些包装类型的注入点都是可选的，不作为必须满足的类型
+     */
+    private static final Set<String> OPTIONAL_WRAPPER_TYPES = Set.of(
+            "org.springframework.beans.factory.ObjectProvider",
+            "org.springframework.beans.factory.ObjectFactory",
+            "java.util.Optional",
+            "java.util.List",
+            "java.util.Collection",
+            "java.util.Set",
+            "java.util.Map"
+    );
+
+    private final LiteProjectContext context;
+
+    public AutoConfigurationResolver(LiteProjectContext context) {
+        this.context = context;
+    }
+
+    /**
+     * @return 按候选声明顺序排列的自动配置全限定名；非 Spring Boot 项目或无需自动配置时为空
+     */
+    public List<String> resolve(Collection<BeanDefinition> beans) {
+        CostUtil.start("autoConfiguration");
+        // 非阻塞读：写操作到来时让位并重试，期间响应进度取消
+        List<String> result = ReadActionUtil.computeAsync(context.getProject(), () -> doResolve(beans)).join();
+        LogUtil.info("自动配置计算完成，选中 {} 个，耗时: {} ms", result.size(), CostUtil.end("autoConfiguration"));
+        return result;
+    }
+
+    private List<String> doResolve(Collection<BeanDefinition> beans) {
+        PsiClass targetClass = context.findTargetClass();
+        Module module = targetClass != null ? ModuleUtilCore.findModuleForPsiElement(targetClass) : null;
+        if (module == null) {
+            return Collections.emptyList();
+        }
+
+        List<String> candidates = loadCandidates(module);
+        if (candidates.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        GlobalSearchScope scope = GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(module);
+        JavaPsiFacade facade = JavaPsiFacade.getInstance(context.getProject());
+
+        List<PsiClass> beanClasses = new ArrayList<>();
+        Set<String> providedTypes = new HashSet<>(context.getSpringContext().getBean2configurationDtos().keySet());
+        Set<String> requiredTypes = new LinkedHashSet<>();
+        for (BeanDefinition bean : beans) {
+            providedTypes.add(bean.getClassName());
+            requiredTypes.addAll(bean.getRequiredTypeNames());
+            PsiClass beanClass = facade.findClass(bean.getClassName(), scope);
+            if (beanClass != null) {
+                beanClasses.add(beanClass);
+            }
+            // MyBatis Bean 存在时数据源由 XML 或 configs/datasource.xml 提供
+            if (bean.getType() == BeanType.MYBATIS) {
+                providedTypes.add("javax.sql.DataSource");
+            }
+        }
+
+        Map<String, List<PsiMethod>> beanMethodsByCandidate = new LinkedHashMap<>();
+        for (String candidate : candidates) {
+            ProgressManager.checkCanceled();
+            PsiClass candidateClass = facade.findClass(candidate, scope);
+            if (candidateClass != null) {
+                List<PsiMethod> beanMethods = new ArrayList<>();
+                collectBeanMethods(candidateClass, beanMethods, new HashSet<>());
+                beanMethodsByCandidate.put(candidate, beanMethods);
+            }
+        }
+
+        Set<String> selected = new LinkedHashSet<>();
+        Deque<String> pending = new ArrayDeque<>(requiredTypes);
+        Set<String> processed = new HashSet<>();
+        while (!pending.isEmpty()) {
+            ProgressManager.checkCanceled();
+            String typeName = pending.poll();
+            if (!processed.add(typeName) || providedTypes.contains(typeName)) {
+                continue;
+            }
+            PsiClass requiredClass = facade.findClass(typeName, scope);
+            if (requiredClass == null || isSatisfiedBy(requiredClass, beanClasses)) {
+                continue;
+            }
+
+            String provider = findProvider(requiredClass, selected, beanMethodsByCandidate);
+            if (provider == null) {
+                continue;
+            }
+            if (selected.add(provider)) {
+                LogUtil.info("类型 {} 由自动配置 {} 提供", typeName, provider);
+                // 已选中的自动配置暴露的其余类型也视为已提供，避免再引入同类自动配置
+                for (PsiMethod method : beanMethodsByCandidate.get(provider)) {
+                    PsiClass returnClass = PsiUtil.resolveClassInType(method.getReturnType());
+                    if (returnClass != null && returnClass.getQualifiedName() != null) {
+                        providedTypes.add(returnClass.getQualifiedName());
+                    }
+                }
+            }
+            // 只有选中的提供方法的参数才是新的依赖
+            for (PsiMethod method : beanMethodsByCandidate.get(provider)) {
+                if (provides(method, requiredClass)) {
+                    for (PsiParameter parameter : method.getParameterList().getParameters()) {
+                        String parameterType = resolveRequiredParameterType(parameter.getType());
+                        if (parameterType != null) {
+                            pending.add(parameterType);
+                        }
+                    }
+                }
+            }
+        }
+
+        if (selected.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // 占位符解析是自动配置正常工作的前提
+        if (beanMethodsByCandidate.containsKey(PROPERTY_PLACEHOLDER_AUTO_CONFIGURATION)) {
+            selected.add(PROPERTY_PLACEHOLDER_AUTO_CONFIGURATION);
+        }
+        List<String> ordered = new ArrayList<>();
+        for (String candidate : candidates) {
+            if (selected.contains(candidate)) {
+                ordered.add(candidate);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * 已选中的自动配置能提供时复用它，否则取候选声明顺序中第一个能提供的
+     */
+    private String findProvider(PsiClass requiredClass, Set<String> selected,
+                                Map<String, List<PsiMethod>> beanMethodsByCandidate) {
+        for (String candidate : selected) {
+            if (providesAny(beanMethodsByCandidate.get(candidate), requiredClass)) {
+                return candidate;
+            }
+        }
+        for (Map.Entry<String, List<PsiMethod>> entry : beanMethodsByCandidate.entrySet()) {
+            if (providesAny(entry.getValue(), requiredClass)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    private boolean providesAny(List<PsiMethod> beanMethods, PsiClass requiredClass) {
+        for (PsiMethod method : beanMethods) {
+            if (provides(method, requiredClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean provides(PsiMethod method, PsiClass requiredClass) {
+        PsiClass returnClass = PsiUtil.resolveClassInType(method.getReturnType());
+        return returnClass != null && InheritanceUtil.isInheritorOrSelf(returnClass, requiredClass, true);
+    }
+
+    private boolean isSatisfiedBy(PsiClass requiredClass, List<PsiClass> beanClasses) {
+        for (PsiClass beanClass : beanClasses) {
+            if (InheritanceUtil.isInheritorOrSelf(beanClass, requiredClass, true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String resolveRequiredParameterType(PsiType type) {
+        PsiClass parameterClass = PsiUtil.resolveClassInType(type);
+        if (parameterClass == null || parameterClass.getQualifiedName() == null
+                || OPTIONAL_WRAPPER_TYPES.contains(parameterClass.getQualifiedName())
+                || parameterClass.getQualifiedName().startsWith("java.lang.")) {
+            return null;
+        }
+        return parameterClass.getQualifiedName();
+    }
+
+    /**
+     * 收集自动配置类、其内部配置类以及 @Import 引入的配置类上的 @Bean 方法
+     */
+    static void collectBeanMethods(PsiClass configClass, List<PsiMethod> beanMethods, Set<String> visited) {
+        if (configClass.getQualifiedName() == null || !visited.add(configClass.getQualifiedName())) {
+            return;
+        }
+        for (PsiMethod method : configClass.getMethods()) {
+            if (method.hasAnnotation("org.springframework.context.annotation.Bean")) {
+                beanMethods.add(method);
+            }
+        }
+        for (PsiClass innerClass : configClass.getInnerClasses()) {
+            collectBeanMethods(innerClass, beanMethods, visited);
+        }
+        PsiAnnotation importAnnotation = configClass.getAnnotation("org.springframework.context.annotation.Import");
+        if (importAnnotation != null) {
+            for (PsiClass imported : ImportGraphResolver.resolveClassValues(importAnnotation.findAttributeValue("value"))) {
+                collectBeanMethods(imported, beanMethods, visited);
+            }
+        }
+    }
+
+    /**
+     * 读取模块依赖 jar 中声明的自动配置，兼容 Boot 2.x 的 spring.factories 与 2.7+ 的 AutoConfiguration.imports
+     */
+    private List<String> loadCandidates(Module module) {
+        Set<String> candidates = new LinkedHashSet<>();
+        for (VirtualFile root : OrderEnumerator.orderEntries(module).recursively().librariesOnly().classes().getRoots()) {
+            VirtualFile imports = root.findFileByRelativePath(AUTO_CONFIGURATION_IMPORTS);
+            if (imports != null) {
+                for (String line : readText(imports).split("\\R")) {
+                    String className = line.replaceFirst("#.*", "").trim();
+                    if (!className.isEmpty()) {
+                        candidates.add(className);
+                    }
+                }
+            }
+            VirtualFile factories = root.findFileByRelativePath(SPRING_FACTORIES);
+            if (factories != null) {
+                Properties properties = new Properties();
+                try (InputStream is = factories.getInputStream()) {
+                    properties.load(is);
+                } catch (IOException e) {
+                    LogUtil.warn("读取 {} 失败: {}", factories.getPath(), e.getMessage());
+                    continue;
+                }
+                String value = properties.getProperty(ENABLE_AUTO_CONFIGURATION_KEY);
+                if (value != null) {
+                    for (String className : value.split(",")) {
+                        if (!className.isBlank()) {
+                            candidates.add(className.trim());
+                        }
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(candidates);
+    }
+
+    private String readText(VirtualFile file) {
+        try {
+            return new String(file.contentsToByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LogUtil.warn("读取 {} 失败: {}", file.getPath(), e.getMessage());
+            return "";
+        }
+    }
+}
@@ -2,28 +2,46 @@ package org.example.liteworkspace.bean.engine;
 
 import com.intellij.lang.jvm.types.JvmPrimitiveTypeKind;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.*;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.InheritanceUtil;
 import org.example.liteworkspace.bean.core.BeanDefinition;
 import org.example.liteworkspace.bean.core.BeanRegistry;
 import org.example.liteworkspace.bean.core.enums.BeanType;
 import org.example.liteworkspace.bean.core.context.LiteProjectContext;
+import org.example.liteworkspace.bean.engine.InjectionCandidateResolver.InjectionRequirement;
 import org.example.liteworkspace.dto.ClassSignatureDTO;
 import org.example.liteworkspace.dto.PsiToDtoConverter;
 import org.example.liteworkspace.util.LogUtil;
 import org.example.liteworkspace.util.MyPsiClassUtil;
+import org.example.liteworkspace.util.PsiClassResolver;
 import org.example.liteworkspace.util.ReadActionUtil;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 public class BeanScannerTask implements Runnable  {
+    private static final List<String> EAGER_INIT_TYPES = List.of(
+            "org.springframework.beans.factory.SmartInitializingSingleton",
+            "org.springframework.beans.factory.config.BeanPostProcessor",
+            "org.springframework.beans.factory.config.BeanFactoryPostProcessor",
+            "org.springframework.context.ApplicationListener");
+
     private final ClassSignatureDTO clazzDto;
     private final BeanRegistry registry;
     private final LiteProjectContext context;
     private final Set<String> visited;
     private final Set<String> normalDependencies;
     private boolean isConfigBean = false;
+    // 由 @Import / ImportSelector 引入的类，即使没有构造型注解也会被 Spring 注册
+    private boolean imported = false;
+    // 扫描预算，为 null 时不限制；depth 为距根节点的层数
+    private ScanBudget budget;
+    private int depth;
+    // 遍历进度与取消检查，为 null 时不上报
+    private TraversalProgress progress;
 
     public BeanScannerTask(PsiClass clazz, BeanRegistry registry, LiteProjectContext context,
                            Set<String> visited, Set<String> normalDependencies) {
@@ -65,6 +83,22 @@ public class BeanScannerTask implements Runnable  {
         this.isConfigBean = isConfigBean;
     }
 
+    /**
+     * 为根任务设置扫描预算，子任务继承同一预算并逐层加深
+     */
+    public BeanScannerTask withBudget(ScanBudget budget) {
+        this.budget = budget;
+        return this;
+    }
+
+    /**
+     * 为根任务设置进度上报，子任务共享同一实例
+     */
+    public BeanScannerTask withProgress(TraversalProgress progress) {
+        this.progress = progress;
+        return this;
+    }
+
     @Override
     public void run() {
         ReadActionUtil.runSync(context.getProject(), ()->{
@@ -79,8 +113,15 @@ public class BeanScannerTask implements Runnable  {
         try {
             String qName = clazzDto.getQualifiedName();
             if (qName == null || !visited.add(qName)) {
+                if (progress != null) {
+                    progress.nodeSkipped();
+                }
                 return;
             }
+            // 每个节点开始前检查取消，已发现的 Bean 保留在 registry 中
+            if (progress != null) {
+                progress.nodeStarted(qName);
+            }
             LogUtil.info("开始扫描类: {}", qName);
             
             // 从DTO转换回PSI对象以进行进一步处理
@@ -94,40 +135,66 @@ public class BeanScannerTask implements Runnable  {
             ReadActionUtil.runSync(context.getProject(), () -> {
                 // 1. 解析当前类的 Bean 类型
                 BeanType type = resolveBeanType(clazz);
+                if (type == BeanType.PLAIN && imported) {
+                    type = BeanType.ANNOTATION;
+                }
+                if (type == BeanType.PLAIN && !this.isConfigBean) {
+                    // 不是spring或mybatis管理的直接return
+                    LogUtil.info("类 {} 不是Spring/MyBatis管理的Bean，跳过扫描", qName);
+                    return;
+                }
+                // 预算耗尽时仍登记当前 Bean，但不再展开其依赖
+                boolean expand = budget == null || budget.allowsExpansion(qName, depth);
+                BeanDefinition definition = null;
                 if (type != BeanType.PLAIN) {
                     String beanId = generateBeanId(clazz);
                     LogUtil.info("发现Bean: {}, 类型: {}, ID: {}", qName, type, beanId);
                     if (BeanType.MAPPER_STRUCT == type) {
                         // mapstruct 生成的类名是原类名加Impl结尾的
-                        registry.register(new BeanDefinition(beanId + "Impl", qName + "Impl", type, clazzDto));
+                        definition = new BeanDefinition(beanId + "Impl", qName + "Impl", type, clazzDto);
                     } else {
-                        registry.register(new BeanDefinition(beanId, qName, type, clazzDto));
+                        definition = new BeanDefinition(beanId, qName, type, clazzDto);
+                    }
+                    definition.setEagerRequired(requiresEagerInit(clazz));
+                    definition.setFrontier(!expand);
+                    registry.register(definition, depth);
+                    if (progress != null) {
+                        progress.beanDiscovered(definition, depth);
                     }
-                } else if (this.isConfigBean) {
-                    LogUtil.info("配置Bean: {}, 需要扫描依赖项", qName);
                 } else {
-                    // 不是spring或mybatis管理的直接return
-                    LogUtil.info("类 {} 不是Spring/MyBatis管理的Bean，跳过扫描", qName);
+                    LogUtil.info("配置Bean: {}, 需要扫描依赖项", qName);
+                }
+                if (!expand) {
                     return;
                 }
 
                 // 2. 提取当前类引用的所有依赖类
-                Set<PsiClass> dependencies = extractDependencies(clazz);
-                LogUtil.info("类 {} 发现 {} 个依赖", qName, dependencies.size());
-                if (dependencies.isEmpty()) {
+                Map<PsiClass, List<InjectionRequirement>> dependencies = timed("依赖提取", () -> extractDependencies(clazz));
+                List<PsiClass> importedClasses = timed("@Import 展开", () -> ImportGraphResolver.resolveImports(clazz));
+                LogUtil.info("类 {} 发现 {} 个依赖，{} 个引入类", qName, dependencies.size(), importedClasses.size());
+                if (dependencies.isEmpty() && importedClasses.isEmpty()) {
                     return;
                 }
 
                 // 3. 针对每个依赖创建子任务
                 List<BeanScannerTask> subTasks = new ArrayList<>();
+                for (PsiClass importedClass : importedClasses) {
+                    BeanScannerTask importTask = child(PsiToDtoConverter.convertToClassSignature(importedClass), false);
+                    importTask.imported = true;
+                    subTasks.add(importTask);
+                }
                 Map<String, ClassSignatureDTO> bean2ConfigurationDtos = context.getSpringContext().getBean2configurationDtos();
 
-                for (PsiClass dependency : dependencies) {
+                for (Map.Entry<PsiClass, List<InjectionRequirement>> dependencyEntry : dependencies.entrySet()) {
+                    PsiClass dependency = dependencyEntry.getKey();
                     String depQName = dependency.getQualifiedName();
                     if (depQName == null) {
                         continue;
                     }
                     LogUtil.info("处理依赖: {}", depQName);
+                    if (definition != null) {
+                        definition.addRequiredTypeName(depQName);
+                    }
                     // 将依赖类转换为DTO，但不长期保存PSI对象
                     ClassSignatureDTO dependencyDto = PsiToDtoConverter.convertToClassSignature(dependency);
                     LogUtil.debug("依赖类转换为DTO: {}", dependencyDto);
@@ -138,12 +205,14 @@ public class BeanScannerTask implements Runnable  {
                         LogUtil.info("依赖 {} 是Bean，类型: {}", depQName, depType);
                         // 将依赖类转换为DTO，但不长期保存PSI对象
                         ClassSignatureDTO depDependencyDto = PsiToDtoConverter.convertToClassSignature(dependency);
-                        subTasks.add(new BeanScannerTask(depDependencyDto, registry, context, visited, normalDependencies));
+                        subTasks.add(child(depDependencyDto, false));
                     } else if (dependency.isInterface()) {
                         // 查找接口的所有实现类
                         LogUtil.info("依赖 {} 是接口，查找实现类", depQName);
-                        List<PsiClass> implementations = findImplementations(dependency);
-                        LogUtil.info("接口 {} 找到 {} 个实现类", depQName, implementations.size());
+                        List<PsiClass> allImplementations = timed("实现类查找", () -> findImplementations(dependency));
+                        // 按注入点的限定符、@Primary、泛型与名称收窄到 Spring 实际注入的实现
+                        List<PsiClass> implementations = InjectionCandidateResolver.select(allImplementations, dependencyEntry.getValue());
+                        LogUtil.info("接口 {} 找到 {} 个实现类，实际注入 {} 个", depQName, allImplementations.size(), implementations.size());
                         for (PsiClass subClass : implementations) {
                             String subClassQualifiedName = subClass.getQualifiedName();
                             // 将实现类转换为DTO，但不长期保存PSI对象
@@ -156,12 +225,12 @@ public class BeanScannerTask implements Runnable  {
                                 PsiClass relateConfiguration = findPsiClassByDto(configDto);
                                 if (relateConfiguration != null) {
                                     LogUtil.info("实现类 {} 有对应的配置类 {}", subClassQualifiedName, relateConfiguration.getQualifiedName());
-                                    subTasks.add(new BeanScannerTask(relateConfiguration, registry, context, visited, normalDependencies));
+                                    subTasks.add(child(PsiToDtoConverter.convertToClassSignature(relateConfiguration), false));
                                 }
                                 // 自己也加进去是为了找依赖的类
-                                subTasks.add(new BeanScannerTask(subClassDto, registry, context, visited, normalDependencies, true));
+                                subTasks.add(child(subClassDto, true));
                             } else {
-                                subTasks.add(new BeanScannerTask(subClassDto, registry, context, visited, normalDependencies));
+                                subTasks.add(child(subClassDto, false));
                             }
                         }
                     } else if (bean2ConfigurationDtos.containsKey(depQName)) {
@@ -170,12 +239,12 @@ public class BeanScannerTask implements Runnable  {
                         PsiClass relateConfiguration = findPsiClassByDto(configDto);
                         if (relateConfiguration != null) {
                             LogUtil.info("普通依赖 {} 有对应的配置类 {}", depQName, relateConfiguration.getQualifiedName());
-                            subTasks.add(new BeanScannerTask(relateConfiguration, registry, context, visited, normalDependencies));
+                            subTasks.add(child(PsiToDtoConverter.convertToClassSignature(relateConfiguration), false));
                         }
                         // 自己也加进去是为了找依赖的类
                         // 将依赖类转换为DTO，但不长期保存PSI对象
                         ClassSignatureDTO configDependencyDto = PsiToDtoConverter.convertToClassSignature(dependency);
-                        subTasks.add(new BeanScannerTask(configDependencyDto, registry, context, visited, normalDependencies, true));
+                        subTasks.add(child(configDependencyDto, true));
                         normalDependencies.add(depQName);
                     } else {
                         // 普通依赖
@@ -184,16 +253,43 @@ public class BeanScannerTask implements Runnable  {
                     }
                 }
 
+                // 记录直接依赖，供懒加载生成等下游使用
+                if (definition != null) {
+                    for (BeanScannerTask subTask : subTasks) {
+                        definition.addDependencyClassName(subTask.clazzDto.getQualifiedName());
+                    }
+                }
+
                 // 4. 使用队列单线程执行子任务，避免死锁
                 LogUtil.info("类 {} 扫描完成，创建 {} 个子任务", qName, subTasks.size());
+                if (progress != null) {
+                    progress.enqueued(subTasks.size());
+                }
                 executeSubTasksWithQueue(subTasks);
             });
+        } catch (ProcessCanceledException e) {
+            throw e;
         } catch (Exception e) {
             LogUtil.error("扫描类 {} 时发生错误: {}", e, clazzDto.getQualifiedName(), e.getMessage());
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * 子任务：共享已访问集合、预算与进度，深度加一
+     */
+    private BeanScannerTask child(ClassSignatureDTO dto, boolean isConfigBean) {
+        BeanScannerTask task = new BeanScannerTask(dto, registry, context, visited, normalDependencies, isConfigBean);
+        task.budget = budget;
+        task.progress = progress;
+        task.depth = depth + 1;
+        return task;
+    }
+
+    private <T> T timed(String phase, Supplier<T> work) {
+        return budget == null ? work.get() : budget.time(phase, work);
+    }
+
     /**
      * 使用队列单线程执行子任务，避免死锁
      */
@@ -213,6 +309,8 @@ public class BeanScannerTask implements Runnable  {
                 ReadActionUtil.runSync(context.getProject(), () -> {
                     task.run();
                 });
+            } catch (ProcessCanceledException e) {
+                throw e;
             } catch (Exception e) {
                 LogUtil.error("执行子任务时发生错误: {}", e, e.getMessage());
                 throw e;
@@ -282,6 +380,24 @@ public class BeanScannerTask implements Runnable  {
         return BeanType.PLAIN; // 不是 Spring / MyBatis 管理的 Bean
     }
 
+    /**
+     * 判断 Bean 是否必须随上下文立即初始化：容器回调类 Bean 或 @EventListener 宿主在懒加载下不会生效
+     */
+    private boolean requiresEagerInit(PsiClass clazz) {
+        for (String eagerType : EAGER_INIT_TYPES) {
+            if (InheritanceUtil.isInheritor(clazz, eagerType)) {
+                return true;
+            }
+        }
+        for (PsiMethod method : clazz.getAllMethods()) {
+            if (hasAnnotation(method, "org.springframework.context.event.EventListener") ||
+                    hasAnnotation(method, "org.springframework.transaction.event.TransactionalEventListener")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * 判断某个 Mapper 类是否是 Spring 管理的 MapStruct Mapper（componentModel = "spring"）
      */
@@ -322,14 +438,19 @@ public class BeanScannerTask implements Runnable  {
         return Character.toLowerCase(name.charAt(0)) + name.substring(1);
     }
 
-    private Set<PsiClass> extractDependencies(PsiClass clazz) {
-        Set<PsiClass> dependencies = new HashSet<>();
+    /**
+     * 提取依赖类及各自的注入点要求，同一依赖类可能被多个注入点以不同限定符引用
+     */
+    private Map<PsiClass, List<InjectionRequirement>> extractDependencies(PsiClass clazz) {
+        Map<PsiClass, List<InjectionRequirement>> dependencies = new LinkedHashMap<>();
+        InjectionPoints leafInjectionPoints = InjectionPoints.of(clazz);
         PsiClass current = clazz;
         while (current != null && !"java.lang.Object".equals(current.getQualifiedName())) {
             // 将当前类转换为DTO，但不长期保存PSI对象
             ClassSignatureDTO currentDto = PsiToDtoConverter.convertToClassSignature(current);
             LogUtil.debug("处理类 {} 的依赖，转换为DTO: {}", current.getQualifiedName(), currentDto);
-            
+            InjectionPoints injectionPoints = current == clazz ? leafInjectionPoints : InjectionPoints.of(current);
+
             for (PsiField field : current.getFields()) {
                 PsiType type = field.getType();
                 PsiClass dependency = resolvePsiClassFromType(type);
@@ -337,23 +458,29 @@ public class BeanScannerTask implements Runnable  {
                 if (dependency == null || isJavaLangOrPrimitive(dependency)) {
                     continue;
                 }
-                // 既不是spring 注解 也不是 构造器注入等
-                if (!isSpringInjectedMember(field) && !isInjectedViaConstructorOrSetter(clazz, field)) {
+                // 既不是注解注入，也不是声明类或目标类的构造器 / Setter 注入
+                if (!injectionPoints.isInjected(field)
+                        && (injectionPoints == leafInjectionPoints || !leafInjectionPoints.acceptsType(type))) {
                     continue;
                 }
+                String parameterQualifier = injectionPoints.parameterQualifier(field);
+                if (parameterQualifier == null && injectionPoints != leafInjectionPoints) {
+                    parameterQualifier = leafInjectionPoints.parameterQualifier(field);
+                }
                 // 是否是 list map 这些构造的
                 if (isCollectionOrMap(dependency) && type instanceof PsiClassType classType) {
                     for (PsiType paramType : classType.getParameters()) {
                         PsiClass elementClass = resolvePsiClassFromType(paramType);
                         if (elementClass != null && !isJavaLangOrPrimitive(elementClass)) {
-                            dependencies.add(elementClass);
+                            addDependency(dependencies, elementClass,
+                                    InjectionRequirement.of(field, paramType, true, parameterQualifier));
                             // 将元素类转换为DTO，但不长期保存PSI对象
                             ClassSignatureDTO elementDto = PsiToDtoConverter.convertToClassSignature(elementClass);
                             LogUtil.debug("集合元素类 {} 转换为DTO: {}", elementClass.getQualifiedName(), elementDto);
                         }
                     }
                 } else {
-                    dependencies.add(dependency);
+                    addDependency(dependencies, dependency, InjectionRequirement.of(field, type, false, parameterQualifier));
                     // 将依赖类转换为DTO，但不长期保存PSI对象
                     ClassSignatureDTO dependencyDto = PsiToDtoConverter.convertToClassSignature(dependency);
                     LogUtil.debug("依赖类 {} 转换为DTO: {}", dependency.getQualifiedName(), dependencyDto);
@@ -370,7 +497,8 @@ public class BeanScannerTask implements Runnable  {
                     for (PsiParameter parameter : method.getParameterList().getParameters()) {
                         PsiClass paramClass = resolvePsiClassFromType(parameter.getType());
                         if (paramClass != null && !isJavaLangOrPrimitive(paramClass)) {
-                            dependencies.add(paramClass);
+                            addDependency(dependencies, paramClass,
+                                    InjectionRequirement.of(parameter, parameter.getType(), false, null));
                             // 将参数类转换为DTO，但不长期保存PSI对象
                             ClassSignatureDTO paramDto = PsiToDtoConverter.convertToClassSignature(paramClass);
                             LogUtil.debug("方法参数类 {} 转换为DTO: {}", paramClass.getQualifiedName(), paramDto);
@@ -379,7 +507,7 @@ public class BeanScannerTask implements Runnable  {
                     // 方法返回类型（可选，表示容器中暴露的Bean）
                     PsiClass returnClass = resolvePsiClassFromType(method.getReturnType());
                     if (returnClass != null && !isJavaLangOrPrimitive(returnClass)) {
-                        dependencies.add(returnClass);
+                        addDependency(dependencies, returnClass, InjectionRequirement.UNCONSTRAINED);
                         // 将返回类转换为DTO，但不长期保存PSI对象
                         ClassSignatureDTO returnDto = PsiToDtoConverter.convertToClassSignature(returnClass);
                         LogUtil.debug("方法返回类 {} 转换为DTO: {}", returnClass.getQualifiedName(), returnDto);
@@ -393,6 +521,11 @@ public class BeanScannerTask implements Runnable  {
         return dependencies;
     }
 
+    private void addDependency(Map<PsiClass, List<InjectionRequirement>> dependencies, PsiClass dependency,
+                               InjectionRequirement requirement) {
+        dependencies.computeIfAbsent(dependency, key -> new ArrayList<>()).add(requirement);
+    }
+
     // 是否是 @Configuration 类
     private boolean isConfigurationClass(PsiClass clazz) {
         return clazz.getModifierList() != null &&
@@ -404,133 +537,6 @@ public class BeanScannerTask implements Runnable  {
         return method.getModifierList().findAnnotation("org.springframework.context.annotation.Bean") != null;
     }
 
-    /**
-     * 判断一个字段是否通过构造器或 Setter 注入（即使没有注解）
-     */
-    private boolean isInjectedViaConstructorOrSetter(PsiClass clazz, PsiField field) {
-        // 检查是否有 Lombok @AllArgsConstructor 注解,有的话所有field都可以交给spring管理
-        if (hasLombokAllArgsConstructor(clazz)) {
-            return true;
-        }
-
-        PsiType fieldType = field.getType();
-        // 构造器参数匹配
-        for (PsiMethod constructor : clazz.getConstructors()) {
-            for (PsiParameter param : constructor.getParameterList().getParameters()) {
-                if (fieldType.isAssignableFrom(param.getType()) || param.getType().isAssignableFrom(fieldType)) {
-                    return true;
-                }
-            }
-        }
-
-        // Setter 方法参数匹配
-        for (PsiMethod method : clazz.getMethods()) {
-            if (isSetterMethod(method)) {
-                PsiParameter[] params = method.getParameterList().getParameters();
-                if (params.length == 1 &&
-                        (fieldType.isAssignableFrom(params[0].getType()) || params[0].getType().isAssignableFrom(fieldType))) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
-    /**
-     * 判断一个类成员（字段/方法/构造器）是否是 Spring 注入点
-     */
-    private boolean isSpringInjectedMember(PsiElement element) {
-        if (element instanceof PsiField field) {
-            // 字段注入：有注解，或者没有注解但按需可放行（一般字段必须有注解才注入）
-            return isAnnotatedWithSpringInject(field);
-        }
-        if (element instanceof PsiMethod method) {
-            // 构造器注入（有注解）
-            if (method.isConstructor() && isAnnotatedWithSpringInject(method)) {
-                return true;
-            }
-            // 构造器注入（无注解但全参构造器）
-            if (method.isConstructor() && isAllArgsConstructor(method)) {
-                return true;
-            }
-            // Setter 注入
-            if (isSetterMethod(method) && isAnnotatedWithSpringInject(method)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * 判断是否为全参数构造器（无注解情况）
-     */
-    private boolean isAllArgsConstructor(PsiMethod constructor) {
-        if (!constructor.isConstructor()) return false;
-        PsiClass clazz = constructor.getContainingClass();
-        if (clazz == null) return false;
-
-        // 获取类的字段（排除 static / final 已初始化的）
-        List<PsiField> instanceFields = Arrays.stream(clazz.getFields())
-                .filter(f -> !f.hasModifierProperty(PsiModifier.STATIC))
-                .filter(f -> !f.hasModifierProperty(PsiModifier.FINAL) || f.getInitializer() == null)
-                .toList();
-
-        // 构造器参数数量匹配字段数量，并且类型一一对应
-        PsiParameter[] params = constructor.getParameterList().getParameters();
-        if (params.length != instanceFields.size()) return false;
-
-        // 判断类型匹配（简单按顺序比对）
-        for (int i = 0; i < params.length; i++) {
-            PsiType paramType = params[i].getType();
-            PsiType fieldType = instanceFields.get(i).getType();
-            if (!paramType.isAssignableFrom(fieldType)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-
-    /**
-     * 判断字段或方法是否带有 Spring 注入相关注解
-     */
-    private boolean isAnnotatedWithSpringInject(PsiModifierListOwner element) {
-        return hasAnnotation(element, "org.springframework.beans.factory.annotation.Autowired") ||
-                hasAnnotation(element, "jakarta.annotation.Resource") ||
-                hasAnnotation(element, "javax.annotation.Resource") ||
-                hasAnnotation(element, "jakarta.inject.Inject") ||
-                hasAnnotation(element, "javax.inject.Inject");
-    }
-
-    /**
-     * 判断是否是标准 Setter 方法
-     */
-    private boolean isSetterMethod(PsiMethod method) {
-        // 方法名必须以 "set" 开头，且长度至少4（setX）
-        String name = method.getName();
-        if (name == null || !name.startsWith("set") || name.length() < 4) {
-            return false;
-        }
-
-        // 必须是 public 方法
-        if (!method.hasModifierProperty(PsiModifier.PUBLIC)) {
-            return false;
-        }
-
-        // 参数数量必须是1
-        if (method.getParameterList().getParametersCount() != 1) {
-            return false;
-        }
-
-        // 返回类型必须是 void
-        PsiType returnType = method.getReturnType();
-        return isVoid(returnType);
-    }
-
-    private boolean isVoid(PsiType returnType) {
-       return returnType != null && PsiType.VOID.equals(returnType);
-    }
-
     /**
      * 通用注解判断
      */
@@ -539,14 +545,6 @@ public class BeanScannerTask implements Runnable  {
         return modifierList != null && modifierList.findAnnotation(annotationFqn) != null;
     }
 
-    /**
-     * 判断类是否有 Lombok @AllArgsConstructor 注解
-     */
-    private boolean hasLombokAllArgsConstructor(PsiClass clazz) {
-        return hasAnnotation(clazz, "lombok.AllArgsConstructor");
-    }
-
-
     /**
      * 判断类是否是 Collection 或 Map
      */
@@ -624,16 +622,18 @@ public class BeanScannerTask implements Runnable  {
         Set<PsiClass> allImplementations = new LinkedHashSet<>();
         
         if (scanPackages == null || scanPackages.isEmpty()) {
-            // 如果没有配置扫描包，默认扫描所有类
-            LogUtil.info("未配置组件扫描包，使用全局搜索范围");
-            GlobalSearchScope scope = GlobalSearchScope.allScope(project);
-            // 使用全局搜索范围查找实现类
+            // 如果没有配置扫描包，扫描目标模块可见的全部 Bean
+            LogUtil.info("未配置组件扫描包，使用目标模块的 Bean 搜索范围");
+            GlobalSearchScope scope = context.getBeanSearchScope();
+            // 使用模块依赖范围查找实现类
             MyPsiClassUtil.findImplementationsInScope(interfaceClass, scope, allImplementations);
         } else {
-            // 针对每个包前缀单独搜索
+            // 针对每个包前缀单独搜索，限制在目标模块可见的范围内
+            GlobalSearchScope beanSearchScope = context.getBeanSearchScope();
             for (String scanPackage : scanPackages) {
                 LogUtil.info("在包 {} 中搜索实现类", scanPackage);
-                GlobalSearchScope packageScope = MyPsiClassUtil.createSearchScopeForPackage(project, scanPackage, true);
+                GlobalSearchScope packageScope = MyPsiClassUtil.createSearchScopeForPackage(project, scanPackage, true)
+                        .intersectWith(beanSearchScope);
                 // 在当前包范围内查找实现类
                 MyPsiClassUtil.findImplementationsInScope(interfaceClass, packageScope, allImplementations);
             }
@@ -672,8 +672,6 @@ public class BeanScannerTask implements Runnable  {
             return null;
         }
         
-        Project project = context.getProject();
-        JavaPsiFacade facade = JavaPsiFacade.getInstance(project);
-        return facade.findClass(dto.getQualifiedName(), GlobalSearchScope.allScope(project));
+        return PsiClassResolver.getInstance(context.getProject()).resolve(dto.getQualifiedName(), context.getResolveScope());
     }
 }
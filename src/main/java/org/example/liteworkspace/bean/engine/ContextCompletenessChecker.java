@@ -0,0 +1,664 @@
+package org.example.liteworkspace.bean.engine;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.intellij.psi.util.TypeConversionUtil;
+import org.example.liteworkspace.bean.core.BeanDefinition;
+import org.example.liteworkspace.bean.core.context.LiteProjectContext;
+import org.example.liteworkspace.bean.core.enums.BeanType;
+import org.example.liteworkspace.util.CostUtil;
+import org.example.liteworkspace.util.LogUtil;
+import org.example.liteworkspace.util.MyPsiClassUtil;
+import org.example.liteworkspace.util.PsiClassResolver;
+import org.example.liteworkspace.util.ReadActionUtil;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 生成上下文的静态完整性检查，在首次启动前发现缺失或有歧义的依赖。
+ * <p>
+ * 对每个生成的 Bean 解析其注入点（注解字段、构造器、注解方法、{@code @Bean} 方法参数），
+ * 与生成的 Bean 集合、导入的数据源 XML、选中的自动配置以及容器内置对象进行匹配：
+ * <ul>
+ *   <li>没有候选：对应启动时的 {@code NoSuchBeanDefinitionException}</li>
+ *   <li>多个候选且无法通过限定符、{@code @Primary} 或名称确定：对应 {@code NoUniqueBeanDefinitionException}</li>
+ * </ul>
+ * 可选注入点（{@code required = false}、{@code Optional}、{@code ObjectProvider}、集合）与 {@code @Value} 不检查。
+ * 未展开依赖的边界 Bean 以 mock 或懒加载生成，不会注入其依赖，同样不检查。
+ */
+public class ContextCompletenessChecker {
+
+    private static final Set<String> INJECT_ANNOTATIONS = Set.of(
+            "org.springframework.beans.factory.annotation.Autowired",
+            "jakarta.annotation.Resource",
+            "javax.annotation.Resource",
+            "jakarta.inject.Inject",
+            "javax.inject.Inject"
+    );
+    private static final String AUTOWIRED = "org.springframework.beans.factory.annotation.Autowired";
+    private static final String VALUE = "org.springframework.beans.factory.annotation.Value";
+    private static final String BEAN = "org.springframework.context.annotation.Bean";
+    private static final String PRIMARY = "org.springframework.context.annotation.Primary";
+    private static final String FACTORY_BEAN = "org.springframework.beans.factory.FactoryBean";
+
+    /**
+     * 可选或延迟获取的包装类型，缺少候选时不会导致启动失败
+     */
+    private static final Set<String> OPTIONAL_WRAPPER_TYPES = Set.of(
+            "org.springframework.beans.factory.ObjectProvider",
+            "org.springframework.beans.factory.ObjectFactory",
+            "javax.inject.Provider",
+            "jakarta.inject.Provider",
+            "java.util.Optional",
+            "java.util.List",
+            "java.util.Collection",
+            "java.util.Set",
+            "java.util.Map"
+    );
+
+    /**
+     * 容器自身注册的可注入对象
+     */
+    private static final Set<String> INFRASTRUCTURE_TYPES = Set.of(
+            "org.springframework.context.ApplicationContext",
+            "org.springframework.context.ConfigurableApplicationContext",
+            "org.springframework.context.ApplicationEventPublisher",
+            "org.springframework.context.MessageSource",
+            "org.springframework.beans.factory.BeanFactory",
+            "org.springframework.beans.factory.ListableBeanFactory",
+            "org.springframework.beans.factory.config.ConfigurableListableBeanFactory",
+            "org.springframework.beans.factory.config.AutowireCapableBeanFactory",
+            "org.springframework.core.env.Environment",
+            "org.springframework.core.env.ConfigurableEnvironment",
+            "org.springframework.core.io.ResourceLoader",
+            "org.springframework.core.io.support.ResourcePatternResolver"
+    );
+
+    static final Pattern XML_BEAN = Pattern.compile("<bean\\s+id=\"([^\"]+)\"\\s+class=\"([^\"]+)\"");
+    static final Pattern MAPPER_INTERFACE = Pattern.compile("name=\"mapperInterface\"\\s+value=\"([^\"]+)\"");
+
+    private final LiteProjectContext context;
+
+    public ContextCompletenessChecker(LiteProjectContext context) {
+        this.context = context;
+    }
+
+    /**
+     * @param beans              扫描得到的 Bean
+     * @param xmlMap             {@link SpringXmlBuilder#buildXmlMap} 的结果
+     * @param autoConfigurations 选中的自动配置
+     */
+    public CompletenessReport check(Collection<BeanDefinition> beans, Map<String, String> xmlMap,
+                                    List<String> autoConfigurations) {
+        CostUtil.start("completenessCheck");
+        // 非阻塞读操作：写操作到来时让出并重新执行，进度条取消时随之取消
+        List<Issue> issues = ReadActionUtil.computeAsync(context.getProject(),
+                () -> doCheck(beans, xmlMap, autoConfigurations)).join();
+        long elapsed = CostUtil.end("completenessCheck");
+        CompletenessReport report = new CompletenessReport(issues, elapsed, SpringXmlBuilder.isMockitoAvailable(context));
+        if (report.hasIssues()) {
+            LogUtil.warn("上下文完整性检查: {}", report.summary());
+        } else {
+            LogUtil.info("上下文完整性检查通过，耗时: {} ms", elapsed);
+        }
+        return report;
+    }
+
+    private List<Issue> doCheck(Collection<BeanDefinition> beans, Map<String, String> xmlMap,
+                                List<String> autoConfigurations) {
+        PsiClassResolver resolver = PsiClassResolver.getInstance(context.getProject());
+        GlobalSearchScope scope = context.getResolveScope();
+        List<Provider> providers = collectProviders(beans, xmlMap, autoConfigurations, resolver, scope);
+        Set<String> usedNames = new HashSet<>(xmlMap.keySet());
+        Set<String> frontierBeanNames = SpringXmlBuilder.resolveFrontierBeanNames(beans);
+
+        List<Issue> issues = new ArrayList<>();
+        Set<String> reported = new HashSet<>();
+        for (BeanDefinition bean : beans) {
+            ProgressManager.checkCanceled();
+            if (bean.getType() == BeanType.MYBATIS || bean.getType() == BeanType.MAPPER
+                    || frontierBeanNames.contains(bean.getBeanName())) {
+                continue;
+            }
+            String className = bean.getType() == BeanType.MAPPER_STRUCT && bean.getSourceDto() != null
+                    ? bean.getSourceDto().getQualifiedName() : bean.getClassName();
+            PsiClass beanClass = resolver.resolve(className, scope);
+            if (beanClass == null) {
+                continue;
+            }
+            for (InjectionPoint point : collectInjectionPoints(beanClass, bean.getType() == BeanType.JAVA_CONFIG)) {
+                Issue issue = checkPoint(bean, point, providers, usedNames);
+                if (issue != null && reported.add(bean.getBeanName() + "#" + point.description)) {
+                    issues.add(issue);
+                }
+            }
+        }
+        return issues;
+    }
+
+    private Issue checkPoint(BeanDefinition bean, InjectionPoint point, List<Provider> providers, Set<String> usedNames) {
+        PsiClass required = PsiUtil.resolveClassInType(point.type);
+        String requiredName = required != null ? required.getQualifiedName() : null;
+        if (required == null || required instanceof PsiTypeParameter || requiredName == null
+                || INFRASTRUCTURE_TYPES.contains(requiredName)) {
+            return null;
+        }
+
+        List<Provider> candidates = new ArrayList<>();
+        for (Provider provider : providers) {
+            if (InheritanceUtil.isInheritorOrSelf(provider.type, required, true)) {
+                candidates.add(provider);
+            }
+        }
+        candidates = filterByTypeArguments(candidates, point.type);
+
+        String qualifier = InjectionCandidateResolver.qualifierValue(point.element);
+        if (qualifier == null) {
+            qualifier = InjectionCandidateResolver.resourceName(point.element);
+        }
+        String qualifierAnnotation = qualifier == null ? InjectionCandidateResolver.customQualifierAnnotation(point.element) : null;
+        if (qualifier != null || qualifierAnnotation != null) {
+            List<Provider> qualified = new ArrayList<>();
+            for (Provider candidate : candidates) {
+                if (qualifier != null ? qualifier.equals(candidate.name) || qualifier.equals(candidate.qualifier)
+                        : candidate.annotatedWith(qualifierAnnotation)) {
+                    qualified.add(candidate);
+                }
+            }
+            candidates = qualified;
+        }
+
+        if (candidates.isEmpty()) {
+            return Issue.unsatisfied(bean, point.description, requiredName, qualifier,
+                    suggestInclusion(required, context.getBeanSearchScope()), uniqueName(required, usedNames));
+        }
+        if (candidates.size() == 1) {
+            return null;
+        }
+        List<Provider> primary = new ArrayList<>();
+        for (Provider candidate : candidates) {
+            if (candidate.primary) {
+                primary.add(candidate);
+            }
+        }
+        if (primary.size() == 1) {
+            return null;
+        }
+        for (Provider candidate : candidates) {
+            if (point.name != null && point.name.equals(candidate.name)) {
+                return null;
+            }
+        }
+        List<String> names = new ArrayList<>();
+        for (Provider candidate : candidates) {
+            names.add(candidate.name != null ? candidate.name : candidate.type.getQualifiedName());
+        }
+        return Issue.ambiguous(bean, point.description, requiredName, names);
+    }
+
+    private List<Provider> filterByTypeArguments(List<Provider> candidates, PsiType declaredType) {
+        if (candidates.size() <= 1) {
+            return candidates;
+        }
+        List<PsiClass> classes = new ArrayList<>();
+        for (Provider candidate : candidates) {
+            classes.add(candidate.type);
+        }
+        Set<PsiClass> matching = new HashSet<>(InjectionCandidateResolver.filterByTypeArguments(classes, declaredType));
+        List<Provider> result = new ArrayList<>();
+        for (Provider candidate : candidates) {
+            if (matching.contains(candidate.type)) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    // ------------------------------------------------------------------ 候选 Bean
+
+    private List<Provider> collectProviders(Collection<BeanDefinition> beans, Map<String, String> xmlMap,
+                                            List<String> autoConfigurations, PsiClassResolver resolver,
+                                            GlobalSearchScope scope) {
+        List<Provider> providers = new ArrayList<>();
+        Set<String> definedNames = new HashSet<>();
+        for (BeanDefinition bean : beans) {
+            definedNames.add(bean.getBeanName());
+            String className = bean.getType() == BeanType.MAPPER_STRUCT && bean.getSourceDto() != null
+                    ? bean.getSourceDto().getQualifiedName() : bean.getClassName();
+            PsiClass beanClass = resolver.resolve(className, scope);
+            if (beanClass == null) {
+                continue;
+            }
+            providers.add(Provider.ofClass(bean.getBeanName(), beanClass));
+            if (bean.getType() == BeanType.JAVA_CONFIG) {
+                addBeanMethods(beanClass.getMethods(), providers);
+            }
+        }
+
+        // XML 中不对应扫描结果的条目：数据源、SqlSessionFactory 等
+        for (Map.Entry<String, String> entry : xmlMap.entrySet()) {
+            if (definedNames.contains(entry.getKey())) {
+                continue;
+            }
+            Matcher matcher = XML_BEAN.matcher(entry.getValue());
+            while (matcher.find()) {
+                addXmlBean(matcher.group(1), matcher.group(2), entry.getValue(), providers, resolver, scope);
+            }
+        }
+
+        if (context.getDatasourceConfig().isImported()) {
+            for (String className : LiteFileWriter.parseDefinedBeans(context.getDatasourceConfig().getImportPath())) {
+                addXmlBean(null, className, "", providers, resolver, scope);
+            }
+        }
+
+        for (String autoConfiguration : autoConfigurations) {
+            PsiClass autoConfigurationClass = resolver.resolve(autoConfiguration, scope);
+            if (autoConfigurationClass != null) {
+                List<PsiMethod> beanMethods = new ArrayList<>();
+                AutoConfigurationResolver.collectBeanMethods(autoConfigurationClass, beanMethods, new HashSet<>());
+                addBeanMethods(beanMethods.toArray(PsiMethod.EMPTY_ARRAY), providers);
+            }
+        }
+        return providers;
+    }
+
+    private void addBeanMethods(PsiMethod[] methods, List<Provider> providers) {
+        for (PsiMethod method : methods) {
+            PsiAnnotation beanAnnotation = method.getAnnotation(BEAN);
+            if (beanAnnotation == null) {
+                continue;
+            }
+            PsiClass returnClass = PsiUtil.resolveClassInType(method.getReturnType());
+            if (returnClass == null) {
+                continue;
+            }
+            String name = method.getName();
+            PsiAnnotationMemberValue value = beanAnnotation.findDeclaredAttributeValue("name");
+            if (value == null) {
+                value = beanAnnotation.findDeclaredAttributeValue("value");
+            }
+            if (value instanceof PsiLiteralExpression literal && literal.getValue() instanceof String text && !text.isEmpty()) {
+                name = text;
+            }
+            providers.add(new Provider(name, returnClass, method.hasAnnotation(PRIMARY),
+                    InjectionCandidateResolver.qualifierValue(method), method));
+        }
+    }
+
+    /**
+     * XML 定义的 Bean；FactoryBean 以其产物类型参与匹配
+     */
+    private void addXmlBean(String name, String className, String xml, List<Provider> providers,
+                            PsiClassResolver resolver, GlobalSearchScope scope) {
+        PsiClass beanClass = resolver.resolve(className, scope);
+        if (beanClass == null) {
+            return;
+        }
+        PsiClass productClass = null;
+        Matcher mapperInterface = MAPPER_INTERFACE.matcher(xml);
+        if (mapperInterface.find()) {
+            productClass = resolver.resolve(mapperInterface.group(1), scope);
+        } else if (InheritanceUtil.isInheritor(beanClass, FACTORY_BEAN)) {
+            PsiClass factoryBean = JavaPsiFacade.getInstance(context.getProject()).findClass(FACTORY_BEAN, scope);
+            if (factoryBean != null) {
+                PsiSubstitutor substitutor = TypeConversionUtil.getSuperClassSubstitutor(factoryBean, beanClass, PsiSubstitutor.EMPTY);
+                productClass = PsiUtil.resolveClassInType(substitutor.substitute(factoryBean.getTypeParameters()[0]));
+            }
+        }
+        providers.add(Provider.ofClass(name, productClass != null ? productClass : beanClass));
+    }
+
+    // ------------------------------------------------------------------ 注入点
+
+    private List<InjectionPoint> collectInjectionPoints(PsiClass beanClass, boolean configuration) {
+        List<InjectionPoint> points = new ArrayList<>();
+        String beanName = beanClass.getName();
+
+        PsiClass current = beanClass;
+        while (current != null && !"java.lang.Object".equals(current.getQualifiedName())) {
+            for (PsiField field : current.getFields()) {
+                if (!field.hasModifierProperty(PsiModifier.STATIC) && isInjected(field) && isRequired(field)) {
+                    addPoint(points, field, field.getType(), field.getName(), beanName + "." + field.getName());
+                }
+            }
+            for (PsiMethod method : current.getMethods()) {
+                if (!method.isConstructor() && isInjected(method) && isRequired(method)) {
+                    addParameters(points, method, beanName + "." + method.getName() + "()");
+                }
+            }
+            current = current.getSuperClass();
+        }
+
+        PsiMethod constructor = injectionConstructor(beanClass);
+        if (constructor != null && isRequired(constructor)) {
+            addParameters(points, constructor, beanName + " 构造器");
+        }
+        if (configuration) {
+            for (PsiMethod method : beanClass.getMethods()) {
+                if (method.hasAnnotation(BEAN)) {
+                    addParameters(points, method, beanName + "." + method.getName() + "() @Bean");
+                }
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Spring 选用的构造器：带注入注解的构造器，否则唯一的有参构造器
+     */
+    private PsiMethod injectionConstructor(PsiClass beanClass) {
+        PsiMethod[] constructors = beanClass.getConstructors();
+        for (PsiMethod constructor : constructors) {
+            if (isInjected(constructor)) {
+                return constructor;
+            }
+        }
+        return constructors.length == 1 && constructors[0].getParameterList().getParametersCount() > 0
+                ? constructors[0] : null;
+    }
+
+    private void addParameters(List<InjectionPoint> points, PsiMethod method, String description) {
+        for (PsiParameter parameter : method.getParameterList().getParameters()) {
+            if (isRequired(parameter)) {
+                addPoint(points, parameter, parameter.getType(), parameter.getName(),
+                        description + " 参数 " + parameter.getName());
+            }
+        }
+    }
+
+    private void addPoint(List<InjectionPoint> points, PsiModifierListOwner element, PsiType type, String name,
+                          String description) {
+        if (!(type instanceof PsiClassType) || element.hasAnnotation(VALUE)) {
+            return;
+        }
+        PsiClass typeClass = PsiUtil.resolveClassInType(type);
+        String typeName = typeClass != null ? typeClass.getQualifiedName() : null;
+        if (typeName == null || typeName.startsWith("java.lang.") || OPTIONAL_WRAPPER_TYPES.contains(typeName)) {
+            return;
+        }
+        points.add(new InjectionPoint(element, type, name, description));
+    }
+
+    private boolean isInjected(PsiModifierListOwner element) {
+        PsiModifierList modifierList = element.getModifierList();
+        if (modifierList == null) {
+            return false;
+        }
+        for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+            if (INJECT_ANNOTATIONS.contains(annotation.getQualifiedName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@code @Autowired(required = false)} 的注入点缺少候选时不会失败
+     */
+    private boolean isRequired(PsiModifierListOwner element) {
+        PsiAnnotation autowired = element.getAnnotation(AUTOWIRED);
+        if (autowired == null) {
+            return true;
+        }
+        PsiAnnotationMemberValue required = autowired.findDeclaredAttributeValue("required");
+        return required == null || !"false".equals(required.getText());
+    }
+
+    // ------------------------------------------------------------------ 修复建议
+
+    /**
+     * 可一键加入上下文的类：所需类型本身是项目中的具体类，或在 Bean 搜索范围内只有一个具体实现
+     */
+    static String suggestInclusion(PsiClass required, GlobalSearchScope beanSearchScope) {
+        if (!required.isInterface() && !required.hasModifierProperty(PsiModifier.ABSTRACT)) {
+            return required.getQualifiedName();
+        }
+        Set<PsiClass> implementations = new LinkedHashSet<>();
+        MyPsiClassUtil.findImplementationsInScope(required, beanSearchScope, implementations);
+        PsiClass only = null;
+        for (PsiClass implementation : implementations) {
+            if (implementation.isInterface() || implementation.hasModifierProperty(PsiModifier.ABSTRACT)) {
+                continue;
+            }
+            if (only != null) {
+                return null;
+            }
+            only = implementation;
+        }
+        return only != null ? only.getQualifiedName() : null;
+    }
+
+    static String uniqueName(PsiClass required, Set<String> usedNames) {
+        String simpleName = required.getName() != null ? required.getName() : "bean";
+        String base = Character.toLowerCase(simpleName.charAt(0)) + simpleName.substring(1);
+        String name = base;
+        for (int i = 2; !usedNames.add(name); i++) {
+            name = base + i;
+        }
+        return name;
+    }
+
+    // ------------------------------------------------------------------ 数据结构
+
+    private static class InjectionPoint {
+        private final PsiModifierListOwner element;
+        private final PsiType type;
+        private final String name;
+        private final String description;
+
+        private InjectionPoint(PsiModifierListOwner element, PsiType type, String name, String description) {
+            this.element = element;
+            this.type = type;
+            this.name = name;
+            this.description = description;
+        }
+    }
+
+    /**
+     * 上下文中能提供某个类型的 Bean
+     */
+    private static class Provider {
+        private final String name;
+        private final PsiClass type;
+        private final boolean primary;
+        private final String qualifier;
+        private final PsiModifierListOwner declaration;
+
+        private Provider(String name, PsiClass type, boolean primary, String qualifier, PsiModifierListOwner declaration) {
+            this.name = name;
+            this.type = type;
+            this.primary = primary;
+            this.qualifier = qualifier;
+            this.declaration = declaration;
+        }
+
+        private static Provider ofClass(String name, PsiClass type) {
+            return new Provider(name, type, type.hasAnnotation(PRIMARY), InjectionCandidateResolver.qualifierValue(type), type);
+        }
+
+        private boolean annotatedWith(String annotationFqn) {
+            return declaration.hasAnnotation(annotationFqn);
+        }
+    }
+
+    /**
+     * 一个无法满足或有歧义的注入点
+     */
+    public static class Issue {
+        public enum Kind { UNSATISFIED, AMBIGUOUS }
+
+        private final Kind kind;
+        private final String beanName;
+        private final String injectionPoint;
+        private final String requiredType;
+        private final String qualifier;
+        private final List<String> candidates;
+        private final String inclusionClass;
+        private final String suggestedBeanName;
+
+        private Issue(Kind kind, String beanName, String injectionPoint, String requiredType, String qualifier,
+                      List<String> candidates, String inclusionClass, String suggestedBeanName) {
+            this.kind = kind;
+            this.beanName = beanName;
+            this.injectionPoint = injectionPoint;
+            this.requiredType = requiredType;
+            this.qualifier = qualifier;
+            this.candidates = candidates;
+            this.inclusionClass = inclusionClass;
+            this.suggestedBeanName = suggestedBeanName;
+        }
+
+        static Issue unsatisfied(BeanDefinition bean, String injectionPoint, String requiredType, String qualifier,
+                                 String inclusionClass, String suggestedBeanName) {
+            return unsatisfied(bean.getBeanName(), injectionPoint, requiredType, qualifier, inclusionClass, suggestedBeanName);
+        }
+
+        static Issue unsatisfied(String beanName, String injectionPoint, String requiredType, String qualifier,
+                                 String inclusionClass, String suggestedBeanName) {
+            return new Issue(Kind.UNSATISFIED, beanName, injectionPoint, requiredType, qualifier,
+                    Collections.emptyList(), inclusionClass, suggestedBeanName);
+        }
+
+        static Issue ambiguous(BeanDefinition bean, String injectionPoint, String requiredType, List<String> candidates) {
+            return new Issue(Kind.AMBIGUOUS, bean.getBeanName(), injectionPoint, requiredType, null,
+                    candidates, null, null);
+        }
+
+        public Kind getKind() { return kind; }
+        public String getBeanName() { return beanName; }
+        public String getInjectionPoint() { return injectionPoint; }
+        public String getRequiredType() { return requiredType; }
+        public String getQualifier() { return qualifier; }
+        public List<String> getCandidates() { return candidates; }
+        public String getInclusionClass() { return inclusionClass; }
+
+        /**
+         * 加入缺失 Bean 的 XML 片段；没有可加入的具体类时为 null
+         */
+        public String inclusionXml() {
+            if (kind != Kind.UNSATISFIED || inclusionClass == null) {
+                return null;
+            }
+            return String.format("    <bean id=\"%s\" class=\"%s\"/>", beanId(), inclusionClass);
+        }
+
+        /**
+         * 以 Mockito mock 替代缺失 Bean 的 XML 片段
+         */
+        public String mockXml() {
+            if (kind != Kind.UNSATISFIED) {
+                return null;
+            }
+            return SpringXmlBuilder.mockBeanXml(beanId(), requiredType);
+        }
+
+        private String beanId() {
+            return qualifier != null ? qualifier : suggestedBeanName;
+        }
+
+        public String describe() {
+            if (kind == Kind.UNSATISFIED) {
+                return String.format("%s 缺少 %s%s", injectionPoint, requiredType,
+                        qualifier != null ? " (\"" + qualifier + "\")" : "");
+            }
+            return String.format("%s 的 %s 有 %d 个候选: %s", injectionPoint, requiredType, candidates.size(),
+                    String.join(", ", candidates));
+        }
+
+        @Override
+        public String toString() {
+            return describe();
+        }
+    }
+
+    /**
+     * 完整性检查结果
+     */
+    public static class CompletenessReport {
+        private static final int MAX_LISTED_ISSUES = 10;
+
+        private final List<Issue> issues;
+        private final long elapsedMillis;
+        private final boolean mockAvailable;
+
+        public CompletenessReport(List<Issue> issues, long elapsedMillis, boolean mockAvailable) {
+            this.issues = issues;
+            this.elapsedMillis = elapsedMillis;
+            this.mockAvailable = mockAvailable;
+        }
+
+        public List<Issue> getIssues() { return issues; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        /**
+         * 测试类路径上有 Mockito 时才提供 mock 修复
+         */
+        public boolean isMockAvailable() { return mockAvailable; }
+
+        public boolean hasIssues() {
+            return !issues.isEmpty();
+        }
+
+        /**
+         * 按要求类型去重的修复片段：可加入上下文的具体类
+         */
+        public List<String> inclusionSnippets() {
+            return snippets(true);
+        }
+
+        /**
+         * 可加入上下文的具体类，与 {@link #inclusionSnippets()} 一一对应
+         */
+        public List<String> inclusionClasses() {
+            Map<String, String> byType = new LinkedHashMap<>();
+            for (Issue issue : issues) {
+                if (issue.inclusionXml() != null) {
+                    byType.putIfAbsent(issue.getRequiredType() + "#" + issue.getQualifier(), issue.getInclusionClass());
+                }
+            }
+            return new ArrayList<>(byType.values());
+        }
+
+        /**
+         * 按要求类型去重的修复片段：缺失依赖的 mock
+         */
+        public List<String> mockSnippets() {
+            return mockAvailable ? snippets(false) : Collections.emptyList();
+        }
+
+        private List<String> snippets(boolean inclusion) {
+            Map<String, String> byType = new LinkedHashMap<>();
+            for (Issue issue : issues) {
+                String xml = inclusion ? issue.inclusionXml() : issue.mockXml();
+                if (xml != null) {
+                    byType.putIfAbsent(issue.getRequiredType() + "#" + issue.getQualifier(), xml);
+                }
+            }
+            return new ArrayList<>(byType.values());
+        }
+
+        public String summary() {
+            long unsatisfied = issues.stream().filter(issue -> issue.getKind() == Issue.Kind.UNSATISFIED).count();
+            StringBuilder sb = new StringBuilder(String.format("%d 个依赖无法满足，%d 个依赖存在歧义（检查耗时 %d ms）",
+                    unsatisfied, issues.size() - unsatisfied, elapsedMillis));
+            for (int i = 0; i < issues.size() && i < MAX_LISTED_ISSUES; i++) {
+                sb.append("\n- ").append(issues.get(i).describe());
+            }
+            if (issues.size() > MAX_LISTED_ISSUES) {
+                sb.append("\n... 另有 ").append(issues.size() - MAX_LISTED_ISSUES).append(" 项");
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public String toString() {
+            return summary();
+        }
+    }
+}
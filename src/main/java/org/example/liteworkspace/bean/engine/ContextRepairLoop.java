@@ -0,0 +1,628 @@
+package org.example.liteworkspace.bean.engine;
+
+import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.compiler.CompilerManager;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.projectRoots.Sdk;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.PsiShortNamesCache;
+import org.example.liteworkspace.util.*;
+
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 生成上下文的失败驱动修复循环。
+ * <p>
+ * 在常驻运行器（{@link WarmRunnerService}）中执行生成的测试类，从失败堆栈中解析
+ * {@code NoSuchBeanDefinitionException}、{@code UnsatisfiedDependencyException}、{@code BeanCreationException}
+ * 与无法解析的占位符，借助生成 XML 中的 Bean 索引与 PSI 把它们映射回具体类，修补 XML（加入实现类或以
+ * Mockito mock 替代）后重新运行，直至测试通过、无法继续修复或达到最大轮数。
+ * <p>
+ * 第三方 jar 由常驻进程的父加载器共享，XML 修改不需要重新编译，因此每轮只付出上下文启动本身的成本。
+ */
+public class ContextRepairLoop {
+
+    private static final String RUNNER_MAIN = "org.example.liteworkspace.bootstrap.TestRunnerMain";
+    private static final String RESULT_PREFIX = "LITE-TEST\tRESULT\t";
+
+    /**
+     * 手工修复一轮（阅读堆栈、定位类、编辑 XML）的估计耗时，仅用于估算节省的时间
+     */
+    private static final long MANUAL_FIX_ESTIMATE_MILLIS = 60_000;
+
+    /**
+     * 单次测试运行的上限，超时后销毁常驻运行器
+     */
+    private static final long RUN_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private static final Pattern NO_QUALIFYING_BEAN = Pattern.compile("No qualifying bean of type '([^']+)'");
+    private static final Pattern NO_BEAN_NAMED = Pattern.compile("No bean named '([^']+)' available");
+    private static final Pattern UNRESOLVED_PLACEHOLDER = Pattern.compile("Could not resolve placeholder '([^':]+)");
+    private static final Pattern CREATING_BEAN = Pattern.compile("Error creating bean with name '([^']+)'");
+    private static final Pattern QUALIFIER = Pattern.compile("Qualifier\\((?:value=)?\"([^\"]+)\"\\)");
+
+    private static final String PLACEHOLDER_BEGIN = "    <!-- lite-repair:placeholders -->";
+    private static final String PLACEHOLDER_END = "    <!-- /lite-repair:placeholders -->";
+
+    private final Project project;
+    private final Module module;
+    private final String testClassName;
+    private final String targetClassName;
+    private final Path xmlFile;
+    private final int maxIterations;
+
+    /**
+     * 已尝试过的修复，同一修复不重复应用，避免循环；只在一轮修复的读操作成功后合并
+     */
+    private final Set<String> attempted = new HashSet<>();
+    private final Set<String> placeholders = new TreeSet<>();
+
+    /**
+     * @param testClassName 生成的测试类全限定名
+     * @param xmlFile       测试资源目录中生成的上下文 XML
+     * @param maxIterations 最多运行次数
+     */
+    public ContextRepairLoop(Project project, Module module, String testClassName, Path xmlFile, int maxIterations) {
+        this.project = project;
+        this.module = module;
+        this.testClassName = testClassName;
+        this.targetClassName = testClassName.endsWith("Test")
+                ? testClassName.substring(0, testClassName.length() - "Test".length()) : testClassName;
+        this.xmlFile = xmlFile;
+        this.maxIterations = Math.max(1, maxIterations);
+    }
+
+    public RepairReport run(ProgressIndicator indicator) throws IOException {
+        long start = System.currentTimeMillis();
+        RepairReport report = new RepairReport(testClassName);
+
+        indicator.setText("编译测试类: " + testClassName);
+        List<String> classpath = ReadActionUtil.computeAsync(project, this::collectClasspath).join();
+        Map<String, byte[]> testClasses = compileTestClass(classpath, indicator);
+        if (testClasses == null) {
+            report.stopReason = "测试类编译失败，详见 RunOnDemand 控制台输出";
+            report.totalMillis = System.currentTimeMillis() - start;
+            return report;
+        }
+
+        WarmRunnerService runner = WarmRunnerService.getInstance(project);
+        String javaExecutable = ContextBootProfiler.resolveJavaExecutable(module);
+        for (int iteration = 1; iteration <= maxIterations; iteration++) {
+            indicator.checkCanceled();
+            indicator.setFraction((double) (iteration - 1) / maxIterations);
+            indicator.setText(String.format("运行 %s（第 %d/%d 轮）", testClassName, iteration, maxIterations));
+
+            List<String> output = new ArrayList<>();
+            WarmRunnerService.RunResult result = runner.execute(javaExecutable, RUNNER_MAIN, classpath, testClasses,
+                    List.of(testClassName), output::add, indicator, RUN_TIMEOUT_MILLIS);
+            report.addRun(result);
+            if (passed(output)) {
+                report.passed = true;
+                break;
+            }
+
+            List<Failure> failures = parseFailures(output);
+            report.remainingFailures = failures;
+            if (failures.isEmpty()) {
+                report.stopReason = result.getExitCode() != 0
+                        ? "测试类无法运行，详见 RunOnDemand 控制台输出"
+                        : "测试失败，但不是上下文装配问题";
+                break;
+            }
+            if (iteration == maxIterations) {
+                report.stopReason = "已达到最大轮数 " + maxIterations;
+                break;
+            }
+
+            String xml = Files.readString(xmlFile, StandardCharsets.UTF_8);
+            // 读操作可能因写操作重新执行，本轮的修复记录只在读操作成功后合并
+            RepairRound round = ReadActionUtil.computeAsync(project, () -> repair(xml, failures)).join();
+            indicator.checkCanceled();
+            attempted.addAll(round.attempted);
+            placeholders.addAll(round.placeholders);
+            report.unrepairable.addAll(round.unrepairable);
+            if (round.applied.isEmpty()) {
+                report.stopReason = "剩余失败无法自动修复";
+                break;
+            }
+            if (IncrementalFileWriter.writeIfChanged(xmlFile, round.xml)) {
+                IncrementalFileWriter.refreshAsync(List.of(xmlFile), null);
+            }
+            report.repairs.addAll(round.applied);
+            report.repairRounds++;
+            for (String repair : round.applied) {
+                ConsoleService.print(project, "[REPAIR] 第 " + iteration + " 轮: " + repair,
+                        ConsoleViewContentType.SYSTEM_OUTPUT);
+            }
+        }
+
+        report.totalMillis = System.currentTimeMillis() - start;
+        LogUtil.info("上下文自动修复结束: {}", report.summary());
+        return report;
+    }
+
+    // ------------------------------------------------------------------ 运行
+
+    /**
+     * 运行时类路径，生成 XML 所在的资源源目录放在最前面，保证修补后的 XML 优先于输出目录中的旧副本
+     */
+    private List<String> collectClasspath() {
+        List<String> classpath = new ArrayList<>();
+        for (VirtualFile root : ModuleRootManager.getInstance(module).getSourceRoots(true)) {
+            if (xmlFile.startsWith(root.toNioPath())) {
+                classpath.add(root.getPath());
+            }
+        }
+        for (String entry : RunOnDemandCompiler.collectRuntimeClasspath(List.of(module))) {
+            if (!classpath.contains(entry)) {
+                classpath.add(entry);
+            }
+        }
+        return classpath;
+    }
+
+    /**
+     * 测试类刚生成，通常尚未编译，直接在内存中编译；进程内编译不可用时用 CompilerManager 编译模块，
+     * 从测试输出目录加载
+     *
+     * @return 内存中的类（可能为空）；编译失败时为 null
+     */
+    private Map<String, byte[]> compileTestClass(List<String> classpath, ProgressIndicator indicator) {
+        Map<String, String> sources = new LinkedHashMap<>();
+        Sdk[] sdk = new Sdk[1];
+        ReadActionUtil.runSync(project, () -> {
+            PsiClass testClass = JavaPsiFacade.getInstance(project)
+                    .findClass(testClassName, GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(module, true));
+            PsiFile file = testClass != null ? testClass.getContainingFile() : null;
+            Document document = file != null && file.getVirtualFile() != null
+                    ? FileDocumentManager.getInstance().getDocument(file.getVirtualFile()) : null;
+            if (document != null) {
+                sources.put(testClassName, document.getText());
+            }
+            sdk[0] = ModuleRootManager.getInstance(module).getSdk();
+        });
+        if (sources.isEmpty()) {
+            LogUtil.warn("未找到测试类源码 {}，使用测试输出目录中的类", testClassName);
+            return Collections.emptyMap();
+        }
+
+        String unsupported = InMemoryJavaCompiler.unsupportedReason(sdk[0], List.of(module));
+        if (unsupported != null) {
+            ConsoleService.print(project, "[WARN] " + unsupported + "，改用 CompilerManager 编译模块 " + module.getName(),
+                    ConsoleViewContentType.NORMAL_OUTPUT);
+            return makeModule(indicator) ? Collections.emptyMap() : null;
+        }
+        InMemoryJavaCompiler.CompileResult result = InMemoryJavaCompiler.getInstance().compile(sources, classpath, sdk[0]);
+        for (Diagnostic<? extends JavaFileObject> diagnostic : result.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                ConsoleService.print(project, String.format("[ERROR] %d: %s", diagnostic.getLineNumber(),
+                        diagnostic.getMessage(Locale.getDefault())), ConsoleViewContentType.ERROR_OUTPUT);
+            }
+        }
+        return result.isSuccess() ? result.getClasses() : null;
+    }
+
+    /**
+     * 在 EDT 上发起模块增量编译并等待结果，期间响应取消
+     */
+    private boolean makeModule(ProgressIndicator indicator) {
+        CompletableFuture<Boolean> done = new CompletableFuture<>();
+        ApplicationManager.getApplication().invokeLater(() -> CompilerManager.getInstance(project).make(module,
+                (aborted, errors, warnings, compileContext) -> done.complete(!aborted && errors == 0)));
+        while (true) {
+            indicator.checkCanceled();
+            try {
+                return done.get(100, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ignored) {
+                // 继续等待
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProcessCanceledException(e);
+            } catch (ExecutionException e) {
+                return false;
+            }
+        }
+    }
+
+    private boolean passed(List<String> output) {
+        for (int i = output.size() - 1; i >= 0; i--) {
+            String line = output.get(i);
+            if (line.startsWith(RESULT_PREFIX)) {
+                String[] parts = line.split("\t");
+                return parts.length >= 4 && Integer.parseInt(parts[2]) > 0 && "0".equals(parts[3]);
+            }
+        }
+        return false;
+    }
+
+    // ------------------------------------------------------------------ 失败解析
+
+    /**
+     * 从测试输出中提取上下文装配失败；只在没有更具体原因时才把最内层创建失败的 Bean 作为修复对象
+     */
+    static List<Failure> parseFailures(List<String> output) {
+        Map<String, Failure> failures = new LinkedHashMap<>();
+        String innermostCreating = null;
+        for (String line : output) {
+            Matcher matcher = NO_QUALIFYING_BEAN.matcher(line);
+            while (matcher.find()) {
+                String type = rawType(matcher.group(1));
+                Matcher qualifier = QUALIFIER.matcher(line);
+                String name = qualifier.find() ? qualifier.group(1) : null;
+                failures.putIfAbsent("type:" + type + "#" + name, new Failure(Failure.Kind.MISSING_TYPE, type, name));
+            }
+            matcher = NO_BEAN_NAMED.matcher(line);
+            while (matcher.find()) {
+                failures.putIfAbsent("name:" + matcher.group(1),
+                        new Failure(Failure.Kind.MISSING_NAME, matcher.group(1), null));
+            }
+            matcher = UNRESOLVED_PLACEHOLDER.matcher(line);
+            while (matcher.find()) {
+                failures.putIfAbsent("placeholder:" + matcher.group(1),
+                        new Failure(Failure.Kind.PLACEHOLDER, matcher.group(1), null));
+            }
+            matcher = CREATING_BEAN.matcher(line);
+            while (matcher.find()) {
+                innermostCreating = matcher.group(1);
+            }
+        }
+        if (failures.isEmpty() && innermostCreating != null) {
+            failures.put("bean:" + innermostCreating,
+                    new Failure(Failure.Kind.CREATION_FAILED, innermostCreating, null));
+        }
+        return new ArrayList<>(failures.values());
+    }
+
+    private static String rawType(String type) {
+        int generic = type.indexOf('<');
+        String raw = generic > 0 ? type.substring(0, generic) : type;
+        return raw.replace("[]", "").replace('$', '.').trim();
+    }
+
+    // ------------------------------------------------------------------ 修复
+
+    /**
+     * 根据失败修补 XML，需在读操作中调用；不修改循环的状态，读操作重新执行时不会残留上一次尝试的记录
+     */
+    private RepairRound repair(String xml, List<Failure> failures) {
+        RepairRound round = new RepairRound(attempted, placeholders);
+        Set<String> attempted = round.attempted;
+        List<String> applied = round.applied;
+        Map<String, String> beanIndex = new LinkedHashMap<>();
+        Matcher matcher = ContextCompletenessChecker.XML_BEAN.matcher(xml);
+        while (matcher.find()) {
+            beanIndex.put(matcher.group(1), matcher.group(2));
+        }
+        Set<String> usedNames = new HashSet<>(beanIndex.keySet());
+        OptimizedSearchScopeManager scopeManager = OptimizedSearchScopeManager.getInstance(project);
+        GlobalSearchScope resolveScope = scopeManager != null
+                ? scopeManager.getResolveScope(module) : GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(module, true);
+        GlobalSearchScope beanScope = scopeManager != null
+                ? scopeManager.getBeanSearchScope(module) : GlobalSearchScope.moduleWithDependenciesScope(module);
+        boolean mockAvailable = JavaPsiFacade.getInstance(project)
+                .findClass(SpringXmlBuilder.MOCKITO, resolveScope) != null;
+        PsiClassResolver resolver = PsiClassResolver.getInstance(project);
+
+        List<String> additions = new ArrayList<>();
+        boolean placeholdersChanged = false;
+        for (Failure failure : failures) {
+            switch (failure.kind) {
+                case MISSING_TYPE -> {
+                    PsiClass required = resolver.resolve(failure.key, resolveScope);
+                    if (required == null) {
+                        continue;
+                    }
+                    String inclusion = ContextCompletenessChecker.suggestInclusion(required, beanScope);
+                    String beanName = failure.qualifier != null
+                            ? failure.qualifier : ContextCompletenessChecker.uniqueName(required, usedNames);
+                    ContextCompletenessChecker.Issue issue = ContextCompletenessChecker.Issue.unsatisfied(
+                            testClassName, failure.describe(), failure.key, failure.qualifier, inclusion, beanName);
+                    if (inclusion != null && !beanIndex.containsValue(inclusion)
+                            && attempted.add("include:" + inclusion)) {
+                        additions.add(issue.inclusionXml());
+                        applied.add("加入 " + inclusion + "（" + failure.describe() + "）");
+                    } else if (mockAvailable && attempted.add("mock:" + failure.key + "#" + failure.qualifier)) {
+                        additions.add(issue.mockXml());
+                        applied.add("mock " + failure.key + "（" + failure.describe() + "）");
+                    }
+                }
+                case MISSING_NAME -> {
+                    PsiClass named = findClassByBeanName(failure.key, beanScope);
+                    if (named == null || named.getQualifiedName() == null) {
+                        continue;
+                    }
+                    String inclusion = ContextCompletenessChecker.suggestInclusion(named, beanScope);
+                    ContextCompletenessChecker.Issue issue = ContextCompletenessChecker.Issue.unsatisfied(
+                            testClassName, failure.describe(), named.getQualifiedName(), failure.key, inclusion, failure.key);
+                    if (inclusion != null && attempted.add("include:" + failure.key)) {
+                        additions.add(issue.inclusionXml());
+                        applied.add("加入 " + inclusion + "（" + failure.describe() + "）");
+                    } else if (mockAvailable && attempted.add("mock:" + failure.key)) {
+                        additions.add(issue.mockXml());
+                        applied.add("mock " + named.getQualifiedName() + "（" + failure.describe() + "）");
+                    }
+                }
+                case PLACEHOLDER -> {
+                    if (round.placeholders.add(failure.key)) {
+                        placeholdersChanged = true;
+                        applied.add("占位符 ${" + failure.key + "} 置为空字符串");
+                    }
+                }
+                case CREATION_FAILED -> {
+                    String className = beanIndex.get(failure.key);
+                    if (targetClassName.equals(className) || testClassName.equals(className)) {
+                        // 被测 Bean 本身创建失败，mock 掉它测试就失去意义，只能报告
+                        round.unrepairable.add(failure.describe() + "：被测类 " + className + " 不能以 mock 替代");
+                        continue;
+                    }
+                    if (className == null || !mockAvailable || !attempted.add("mockBean:" + failure.key)) {
+                        continue;
+                    }
+                    String element = findBeanElement(xml, failure.key);
+                    // 工厂 Bean（如 MapperFactoryBean）mock 其产物类型
+                    Matcher mapper = ContextCompletenessChecker.MAPPER_INTERFACE.matcher(element != null ? element : "");
+                    String mockType = mapper.find() ? mapper.group(1) : className;
+                    String mockXml = ContextCompletenessChecker.Issue.unsatisfied(testClassName, failure.describe(), mockType,
+                            failure.key, null, failure.key).mockXml();
+                    if (element != null) {
+                        xml = xml.replace(element, mockXml.strip());
+                    } else {
+                        additions.add(mockXml);
+                    }
+                    applied.add("以 mock 替代 " + failure.key + " (" + mockType + ")");
+                }
+            }
+        }
+
+        if (placeholdersChanged) {
+            xml = upsertPlaceholders(xml, round.placeholders);
+        }
+        if (!additions.isEmpty()) {
+            int end = xml.lastIndexOf("</beans>");
+            if (end < 0) {
+                LogUtil.warn("无法识别配置文件结构: {}", xmlFile);
+                applied.clear();
+                round.xml = xml;
+                return round;
+            }
+            xml = xml.substring(0, end) + String.join("\n", additions) + "\n" + xml.substring(end);
+        }
+        round.xml = xml;
+        return round;
+    }
+
+    /**
+     * 按默认 Bean 命名规则（首字母小写的类名）反查类，范围内同名类唯一时采用
+     */
+    private PsiClass findClassByBeanName(String beanName, GlobalSearchScope scope) {
+        String className = Character.toUpperCase(beanName.charAt(0)) + beanName.substring(1);
+        PsiClass[] candidates = PsiShortNamesCache.getInstance(project).getClassesByName(className, scope);
+        return candidates.length == 1 ? candidates[0] : null;
+    }
+
+    /**
+     * 生成 XML 中 id 对应的完整 bean 元素（自闭合或含嵌套元素），未找到时返回 null
+     */
+    private static String findBeanElement(String xml, String id) {
+        int start = xml.indexOf("<bean id=\"" + id + "\"");
+        if (start < 0) {
+            return null;
+        }
+        int tagEnd = xml.indexOf('>', start);
+        if (tagEnd < 0) {
+            return null;
+        }
+        if (xml.charAt(tagEnd - 1) == '/') {
+            return xml.substring(start, tagEnd + 1);
+        }
+        int depth = 1;
+        int cursor = tagEnd + 1;
+        while (depth > 0) {
+            int open = xml.indexOf("<bean", cursor);
+            int close = xml.indexOf("</bean>", cursor);
+            if (close < 0) {
+                return null;
+            }
+            if (open >= 0 && open < close) {
+                int nestedEnd = xml.indexOf('>', open);
+                if (nestedEnd < 0) {
+                    return null;
+                }
+                if (xml.charAt(nestedEnd - 1) != '/') {
+                    depth++;
+                }
+                cursor = nestedEnd + 1;
+            } else {
+                depth--;
+                cursor = close + "</bean>".length();
+            }
+        }
+        return xml.substring(start, cursor);
+    }
+
+    /**
+     * 以最高优先级的占位符配置器为无法解析的占位符提供空值，其余占位符仍交给项目原有的配置器
+     */
+    private static String upsertPlaceholders(String xml, Set<String> placeholders) {
+        StringBuilder block = new StringBuilder(PLACEHOLDER_BEGIN).append('\n');
+        block.append("    <bean class=\"org.springframework.context.support.PropertySourcesPlaceholderConfigurer\">\n");
+        block.append("        <property name=\"order\" value=\"").append(Integer.MIN_VALUE).append("\"/>\n");
+        block.append("        <property name=\"ignoreUnresolvablePlaceholders\" value=\"true\"/>\n");
+        block.append("        <property name=\"properties\">\n");
+        block.append("            <props>\n");
+        for (String key : placeholders) {
+            block.append("                <prop key=\"").append(key).append("\"></prop>\n");
+        }
+        block.append("            </props>\n");
+        block.append("        </property>\n");
+        block.append("    </bean>\n");
+        block.append(PLACEHOLDER_END);
+
+        int begin = xml.indexOf(PLACEHOLDER_BEGIN);
+        int end = xml.indexOf(PLACEHOLDER_END);
+        if (begin >= 0 && end > begin) {
+            return xml.substring(0, begin) + block + xml.substring(end + PLACEHOLDER_END.length());
+        }
+        int beansEnd = xml.lastIndexOf("</beans>");
+        return beansEnd < 0 ? xml : xml.substring(0, beansEnd) + block + "\n" + xml.substring(beansEnd);
+    }
+
+    // ------------------------------------------------------------------ 数据结构
+
+    /**
+     * 一轮修复的结果：已尝试的修复与占位符为循环状态的副本加上本轮新增
+     */
+    private static class RepairRound {
+        private final Set<String> attempted;
+        private final Set<String> placeholders;
+        private final List<String> applied = new ArrayList<>();
+        private final List<String> unrepairable = new ArrayList<>();
+        private String xml;
+
+        private RepairRound(Set<String> attempted, Set<String> placeholders) {
+            this.attempted = new HashSet<>(attempted);
+            this.placeholders = new TreeSet<>(placeholders);
+        }
+    }
+
+    /**
+     * 运行输出中解析出的一个上下文装配失败
+     */
+    public static class Failure {
+        public enum Kind { MISSING_TYPE, MISSING_NAME, PLACEHOLDER, CREATION_FAILED }
+
+        private final Kind kind;
+        private final String key;
+        private final String qualifier;
+
+        Failure(Kind kind, String key, String qualifier) {
+            this.kind = kind;
+            this.key = key;
+            this.qualifier = qualifier;
+        }
+
+        public Kind getKind() { return kind; }
+        public String getKey() { return key; }
+        public String getQualifier() { return qualifier; }
+
+        public String describe() {
+            return switch (kind) {
+                case MISSING_TYPE -> "缺少 " + key + (qualifier != null ? " (\"" + qualifier + "\")" : "");
+                case MISSING_NAME -> "缺少名为 " + key + " 的 Bean";
+                case PLACEHOLDER -> "无法解析占位符 ${" + key + "}";
+                case CREATION_FAILED -> "创建 " + key + " 失败";
+            };
+        }
+
+        @Override
+        public String toString() {
+            return describe();
+        }
+    }
+
+    /**
+     * 修复循环的结果
+     */
+    public static class RepairReport {
+        private final String testClassName;
+        private boolean passed;
+        private String stopReason;
+        private final List<String> repairs = new ArrayList<>();
+        private final Set<String> unrepairable = new LinkedHashSet<>();
+        private List<Failure> remainingFailures = Collections.emptyList();
+        private int runs;
+        private int repairRounds;
+        private int coldStarts;
+        private long runMillis;
+        private long runnerStartupMillis;
+        private long totalMillis;
+
+        RepairReport(String testClassName) {
+            this.testClassName = testClassName;
+        }
+
+        private void addRun(WarmRunnerService.RunResult result) {
+            runs++;
+            runMillis += result.getElapsedMillis();
+            runnerStartupMillis = result.getRunnerStartupMillis();
+            if (result.isColdStart()) {
+                coldStarts++;
+            }
+        }
+
+        public boolean isPassed() { return passed; }
+        public String getStopReason() { return stopReason; }
+        public List<String> getRepairs() { return repairs; }
+        public Set<String> getUnrepairable() { return unrepairable; }
+        public List<Failure> getRemainingFailures() { return passed ? Collections.emptyList() : remainingFailures; }
+        public int getRuns() { return runs; }
+        public long getTotalMillis() { return totalMillis; }
+
+        /**
+         * 常驻进程复用省下的 JVM 启动时间
+         */
+        public long getJvmReuseSavedMillis() {
+            return (long) (runs - coldStarts) * runnerStartupMillis;
+        }
+
+        /**
+         * 手工完成同样修复的估计耗时：每次运行都启动新 JVM，每轮修复按固定的人工耗时估算
+         */
+        public long getEstimatedManualMillis() {
+            return (long) runs * runnerStartupMillis + runMillis + (long) repairRounds * MANUAL_FIX_ESTIMATE_MILLIS;
+        }
+
+        public long getEstimatedSavedMillis() {
+            return Math.max(0, getEstimatedManualMillis() - totalMillis);
+        }
+
+        public String summary() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%s %s，运行 %d 轮，应用 %d 项修复，耗时 %d ms", testClassName,
+                    passed ? "已通过" : "未通过", runs, repairs.size(), totalMillis));
+            if (stopReason != null && !passed) {
+                sb.append("\n停止原因: ").append(stopReason);
+            }
+            for (String repair : repairs) {
+                sb.append("\n+ ").append(repair);
+            }
+            for (Failure failure : getRemainingFailures()) {
+                sb.append("\n- ").append(failure.describe());
+            }
+            if (!passed) {
+                for (String reason : unrepairable) {
+                    sb.append("\n! ").append(reason);
+                }
+            }
+            sb.append(String.format("%n复用常驻 JVM 节省 %d ms；与手工修复相比估计节省 %.1f s（每轮人工修复按 %d s 估算）",
+                    getJvmReuseSavedMillis(), getEstimatedSavedMillis() / 1000.0, MANUAL_FIX_ESTIMATE_MILLIS / 1000));
+            return sb.toString();
+        }
+
+        @Override
+        public String toString() {
+            return summary();
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package org.example.liteworkspace.bean.engine;
+
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiUtil;
+import org.example.liteworkspace.util.ClassFileReader;
+import org.example.liteworkspace.util.LogUtil;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * 静态展开配置类上的 {@code @Import}、{@code ImportSelector} 与 {@code @EnableXxx} 元注解，得到 Spring 会额外注册的类。
+ * <p>
+ * <ul>
+ *   <li>{@code @Import} 的普通类与配置类直接作为结果</li>
+ *   <li>{@code ImportSelector}：有源码时收集 selectImports 中的字符串字面量与 {@code Foo.class.getName()}，
+ *   只有 class 文件时读取常量池中引用的配置类</li>
+ *   <li>{@code ImportBeanDefinitionRegistrar} 以编程方式注册 Bean，无法静态展开，跳过</li>
+ *   <li>注解类型（如 {@code @EnableCaching}）的展开结果缓存在注解类上，项目内多个配置类复用，PSI 变化后失效；
+ *   元注解成环时被截断、依赖展开路径的结果不缓存</li>
+ * </ul>
+ * 自动配置相关的选择器由 {@link AutoConfigurationResolver} 处理，这里不展开。
+ */
+public final class ImportGraphResolver {
+
+    private static final String IMPORT = "org.springframework.context.annotation.Import";
+    private static final String CONFIGURATION = "org.springframework.context.annotation.Configuration";
+    private static final String IMPORT_SELECTOR = "org.springframework.context.annotation.ImportSelector";
+    private static final String IMPORT_REGISTRAR = "org.springframework.context.annotation.ImportBeanDefinitionRegistrar";
+
+    private static final Set<String> SKIPPED_SELECTORS = Set.of(
+            "org.springframework.boot.autoconfigure.AutoConfigurationImportSelector",
+            "org.springframework.boot.autoconfigure.ImportAutoConfigurationImportSelector"
+    );
+
+    private static final Key<CachedExpansion> EXPANSION = Key.create("LiteWorkspace.ImportGraphResolver.expansion");
+
+    private ImportGraphResolver() {
+    }
+
+    /**
+     * 类上注解（含元注解）引入的类，按声明顺序去重；需在读操作中调用
+     */
+    public static List<PsiClass> resolveImports(PsiClass clazz) {
+        PsiModifierList modifierList = clazz.getModifierList();
+        if (modifierList == null) {
+            return Collections.emptyList();
+        }
+        Set<String> imported = new LinkedHashSet<>();
+        for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+            collectFromAnnotation(annotation, imported, new Expansion());
+        }
+        imported.remove(clazz.getQualifiedName());
+        if (imported.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<PsiClass> result = new ArrayList<>();
+        JavaPsiFacade facade = JavaPsiFacade.getInstance(clazz.getProject());
+        GlobalSearchScope scope = clazz.getResolveScope();
+        for (String className : imported) {
+            PsiClass importedClass = facade.findClass(className, scope);
+            if (importedClass != null) {
+                result.add(importedClass);
+            }
+        }
+        LogUtil.info("类 {} 通过 @Import / @Enable 引入 {} 个类", clazz.getQualifiedName(), result.size());
+        return result;
+    }
+
+    private static void collectFromAnnotation(PsiAnnotation annotation, Set<String> imported, Expansion expansion) {
+        String fqn = annotation.getQualifiedName();
+        if (fqn == null || fqn.startsWith("java.") || fqn.startsWith("kotlin.")) {
+            return;
+        }
+        if (IMPORT.equals(fqn)) {
+            Set<String> visited = new HashSet<>();
+            for (PsiClass importedClass : resolveClassValues(annotation.findAttributeValue("value"))) {
+                expandImportedClass(importedClass, imported, visited);
+            }
+            return;
+        }
+        PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+        if (reference != null && reference.resolve() instanceof PsiClass annotationClass
+                && annotationClass.isAnnotationType()) {
+            int onStack = expansion.stack.indexOf(fqn);
+            if (onStack >= 0) {
+                // 元注解成环，截断；截断点之上的展开结果依赖本次的展开路径
+                expansion.cutDepth = Math.min(expansion.cutDepth, onStack);
+                return;
+            }
+            imported.addAll(expandAnnotationType(annotationClass, fqn, expansion));
+        }
+    }
+
+    /**
+     * 注解类型本身的展开结果。只有与展开路径无关（没有因路径上更外层的注解成环而被截断）的结果才缓存在注解类上，
+     * 菱形元注解图中同一注解从不同路径到达时都能得到完整结果
+     */
+    private static List<String> expandAnnotationType(PsiClass annotationClass, String fqn, Expansion expansion) {
+        long modificationCount = PsiModificationTracker.getInstance(annotationClass.getProject()).getModificationCount();
+        CachedExpansion cached = annotationClass.getUserData(EXPANSION);
+        if (cached != null && cached.modificationCount == modificationCount) {
+            return cached.imports;
+        }
+
+        int depth = expansion.stack.size();
+        int outerCutDepth = expansion.cutDepth;
+        expansion.cutDepth = Integer.MAX_VALUE;
+        expansion.stack.add(fqn);
+        Set<String> imported = new LinkedHashSet<>();
+        try {
+            PsiModifierList modifierList = annotationClass.getModifierList();
+            if (modifierList != null) {
+                for (PsiAnnotation metaAnnotation : modifierList.getAnnotations()) {
+                    collectFromAnnotation(metaAnnotation, imported, expansion);
+                }
+            }
+        } finally {
+            expansion.stack.remove(depth);
+        }
+        boolean contextFree = expansion.cutDepth >= depth;
+        expansion.cutDepth = Math.min(outerCutDepth, expansion.cutDepth);
+
+        List<String> result = List.copyOf(imported);
+        if (contextFree) {
+            annotationClass.putUserData(EXPANSION, new CachedExpansion(modificationCount, result));
+        }
+        if (!result.isEmpty()) {
+            LogUtil.debug("注解 @{} 展开为: {}", annotationClass.getName(), result);
+        }
+        return result;
+    }
+
+    private static void expandImportedClass(PsiClass importedClass, Set<String> imported, Set<String> visited) {
+        String qualifiedName = importedClass.getQualifiedName();
+        if (qualifiedName == null || !visited.add(qualifiedName)) {
+            return;
+        }
+        if (InheritanceUtil.isInheritor(importedClass, IMPORT_SELECTOR)) {
+            if (SKIPPED_SELECTORS.contains(qualifiedName)) {
+                return;
+            }
+            for (PsiClass selected : selectStatically(importedClass)) {
+                expandImportedClass(selected, imported, visited);
+            }
+            return;
+        }
+        if (InheritanceUtil.isInheritor(importedClass, IMPORT_REGISTRAR)) {
+            LogUtil.debug("ImportBeanDefinitionRegistrar {} 无法静态展开，跳过", qualifiedName);
+            return;
+        }
+        imported.add(qualifiedName);
+    }
+
+    /**
+     * 静态推断 ImportSelector 会选择的类
+     */
+    private static List<PsiClass> selectStatically(PsiClass selector) {
+        JavaPsiFacade facade = JavaPsiFacade.getInstance(selector.getProject());
+        GlobalSearchScope scope = selector.getResolveScope();
+        List<PsiClass> result = new ArrayList<>();
+
+        PsiElement navigation = selector.getNavigationElement();
+        if (navigation instanceof PsiClass sourceClass && !(sourceClass instanceof PsiCompiledElement)) {
+            for (PsiMethod method : sourceClass.findMethodsByName("selectImports", true)) {
+                PsiCodeBlock body = method.getBody();
+                if (body == null) {
+                    continue;
+                }
+                for (String className : collectClassNames(body)) {
+                    PsiClass selected = facade.findClass(className, scope);
+                    if (selected != null) {
+                        result.add(selected);
+                    }
+                }
+            }
+            return result;
+        }
+
+        // 只有 class 文件：常量池中引用的配置类或下一级选择器
+        PsiFile file = selector.getContainingFile();
+        VirtualFile classFile = file != null ? file.getVirtualFile() : null;
+        if (classFile == null) {
+            return result;
+        }
+        try {
+            for (String className : ClassFileReader.readReferencedClassNames(classFile.contentsToByteArray())) {
+                PsiClass referenced = facade.findClass(className, scope);
+                if (referenced != null && !referenced.equals(selector)
+                        && (referenced.hasAnnotation(CONFIGURATION) || InheritanceUtil.isInheritor(referenced, IMPORT_SELECTOR))) {
+                    result.add(referenced);
+                }
+            }
+        } catch (IOException e) {
+            LogUtil.warn("读取 {} 失败: {}", classFile.getPath(), e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * 方法体中的类名字符串字面量与 {@code Foo.class.getName()}
+     */
+    private static Set<String> collectClassNames(PsiCodeBlock body) {
+        Set<String> classNames = new LinkedHashSet<>();
+        body.accept(new JavaRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitLiteralExpression(PsiLiteralExpression expression) {
+                if (expression.getValue() instanceof String text && text.indexOf('.') > 0 && !text.contains(" ")) {
+                    classNames.add(text.replace('$', '.'));
+                }
+            }
+
+            @Override
+            public void visitMethodCallExpression(PsiMethodCallExpression expression) {
+                super.visitMethodCallExpression(expression);
+                PsiReferenceExpression methodExpression = expression.getMethodExpression();
+                if (("getName".equals(methodExpression.getReferenceName())
+                        || "getCanonicalName".equals(methodExpression.getReferenceName()))
+                        && methodExpression.getQualifierExpression() instanceof PsiClassObjectAccessExpression classAccess) {
+                    PsiClass psiClass = PsiUtil.resolveClassInType(classAccess.getOperand().getType());
+                    if (psiClass != null && psiClass.getQualifiedName() != null) {
+                        classNames.add(psiClass.getQualifiedName());
+                    }
+                }
+            }
+        });
+        return classNames;
+    }
+
+    /**
+     * 一次从类上注解出发的展开：当前展开路径上的注解（入栈出栈），以及展开中因成环被截断的最浅栈深度
+     */
+    private static final class Expansion {
+        private final List<String> stack = new ArrayList<>();
+        private int cutDepth = Integer.MAX_VALUE;
+    }
+
+    private static final class CachedExpansion {
+        private final long modificationCount;
+        private final List<String> imports;
+
+        private CachedExpansion(long modificationCount, List<String> imports) {
+            this.modificationCount = modificationCount;
+            this.imports = imports;
+        }
+    }
+
+    static List<PsiClass> resolveClassValues(PsiAnnotationMemberValue value) {
+        List<PsiClass> result = new ArrayList<>();
+        if (value instanceof PsiClassObjectAccessExpression classObjectAccess) {
+            PsiClass psiClass = PsiUtil.resolveClassInType(classObjectAccess.getOperand().getType());
+            if (psiClass != null) {
+                result.add(psiClass);
+            }
+        } else if (value instanceof PsiArrayInitializerMemberValue arrayValue) {
+            for (PsiAnnotationMemberValue initializer : arrayValue.getInitializers()) {
+                result.addAll(resolveClassValues(initializer));
+            }
+        }
+        return result;
+    }
+}
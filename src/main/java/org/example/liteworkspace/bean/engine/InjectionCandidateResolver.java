@@ -0,0 +1,298 @@
+package org.example.liteworkspace.bean.engine;
+
+import com.intellij.psi.*;
+import com.intellij.psi.util.TypeConversionUtil;
+import org.example.liteworkspace.util.LogUtil;
+
+import java.beans.Introspector;
+import java.util.*;
+
+/**
+ * 按 Spring 的规则从接口的多个实现中选出实际会被注入的候选：
+ * <ol>
+ *   <li>泛型实参：{@code Handler<Order>} 只匹配实现了 {@code Handler<Order>} 的类</li>
+ *   <li>限定符：{@code @Qualifier}、{@code @Named}、{@code @Resource(name=...)} 及自定义限定注解</li>
+ *   <li>{@code @Primary}</li>
+ *   <li>按字段名 / 参数名作为 Bean 名称回退</li>
+ * </ol>
+ * 集合注入（List / Map）保留所有按类型与限定符匹配的候选；无法唯一确定时保守地保留全部候选。
+ */
+public final class InjectionCandidateResolver {
+
+    static final String QUALIFIER = "org.springframework.beans.factory.annotation.Qualifier";
+    private static final String PRIMARY = "org.springframework.context.annotation.Primary";
+    private static final List<String> NAMED = List.of("jakarta.inject.Named", "javax.inject.Named");
+    private static final List<String> RESOURCE = List.of("jakarta.annotation.Resource", "javax.annotation.Resource");
+    private static final List<String> STEREOTYPES = List.of(
+            "org.springframework.stereotype.Component",
+            "org.springframework.stereotype.Service",
+            "org.springframework.stereotype.Repository",
+            "org.springframework.stereotype.Controller",
+            "org.springframework.web.bind.annotation.RestController",
+            "org.springframework.context.annotation.Configuration"
+    );
+
+    private InjectionCandidateResolver() {
+    }
+
+    /**
+     * 对所有注入点分别选出候选后取并集
+     */
+    public static List<PsiClass> select(List<PsiClass> candidates, Collection<InjectionRequirement> requirements) {
+        if (candidates.size() <= 1 || requirements.isEmpty()) {
+            return candidates;
+        }
+        Set<PsiClass> selected = new LinkedHashSet<>();
+        for (InjectionRequirement requirement : requirements) {
+            selected.addAll(select(candidates, requirement));
+            if (selected.size() == candidates.size()) {
+                return candidates;
+            }
+        }
+        return new ArrayList<>(selected);
+    }
+
+    static List<PsiClass> select(List<PsiClass> candidates, InjectionRequirement requirement) {
+        if (requirement.unconstrained) {
+            return candidates;
+        }
+        List<PsiClass> matching = filterByTypeArguments(candidates, requirement.declaredType);
+
+        if (requirement.qualifier != null || requirement.qualifierAnnotation != null) {
+            List<PsiClass> qualified = new ArrayList<>();
+            for (PsiClass candidate : matching) {
+                if (matchesQualifier(candidate, requirement)) {
+                    qualified.add(candidate);
+                }
+            }
+            if (!qualified.isEmpty()) {
+                return qualified;
+            }
+            LogUtil.debug("限定符 {} 未匹配任何实现，保留全部候选", requirement.describeQualifier());
+            return matching;
+        }
+        if (requirement.multiple || matching.size() <= 1) {
+            return matching;
+        }
+
+        List<PsiClass> primary = new ArrayList<>();
+        for (PsiClass candidate : matching) {
+            if (hasAnnotation(candidate, PRIMARY)) {
+                primary.add(candidate);
+            }
+        }
+        if (primary.size() == 1) {
+            return primary;
+        }
+
+        if (requirement.name != null) {
+            for (PsiClass candidate : matching) {
+                if (requirement.name.equals(beanName(candidate))) {
+                    return List.of(candidate);
+                }
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * 按泛型实参过滤；注入点为原始类型或通配符时不过滤
+     */
+    static List<PsiClass> filterByTypeArguments(List<PsiClass> candidates, PsiType declaredType) {
+        if (!(declaredType instanceof PsiClassType classType) || !classType.hasParameters()) {
+            return candidates;
+        }
+        PsiClassType.ClassResolveResult resolveResult = classType.resolveGenerics();
+        PsiClass target = resolveResult.getElement();
+        if (target == null) {
+            return candidates;
+        }
+        PsiTypeParameter[] typeParameters = target.getTypeParameters();
+        PsiType[] arguments = classType.getParameters();
+        if (typeParameters.length != arguments.length) {
+            return candidates;
+        }
+
+        List<PsiClass> matching = new ArrayList<>();
+        for (PsiClass candidate : candidates) {
+            PsiSubstitutor substitutor = TypeConversionUtil.getClassSubstitutor(target, candidate, PsiSubstitutor.EMPTY);
+            if (substitutor == null || argumentsMatch(typeParameters, arguments, substitutor)) {
+                matching.add(candidate);
+            }
+        }
+        return matching;
+    }
+
+    private static boolean argumentsMatch(PsiTypeParameter[] typeParameters, PsiType[] arguments, PsiSubstitutor substitutor) {
+        for (int i = 0; i < typeParameters.length; i++) {
+            PsiType expected = arguments[i];
+            PsiType actual = substitutor.substitute(typeParameters[i]);
+            if (actual == null || expected instanceof PsiWildcardType || !(expected instanceof PsiClassType expectedClass)
+                    || expectedClass.resolve() instanceof PsiTypeParameter
+                    || actual instanceof PsiClassType actualClass && actualClass.resolve() instanceof PsiTypeParameter) {
+                continue;
+            }
+            if (!TypeConversionUtil.erasure(expected).isAssignableFrom(TypeConversionUtil.erasure(actual))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesQualifier(PsiClass candidate, InjectionRequirement requirement) {
+        if (requirement.qualifierAnnotation != null) {
+            return hasAnnotation(candidate, requirement.qualifierAnnotation);
+        }
+        String classQualifier = qualifierValue(candidate);
+        return requirement.qualifier.equals(classQualifier) || requirement.qualifier.equals(beanName(candidate));
+    }
+
+    /**
+     * 候选类的 Bean 名称：构造型注解的 value，否则按 Spring 的默认规则（{@link Introspector#decapitalize}）由类名生成，
+     * 如 URLService 仍为 URLService
+     */
+    static String beanName(PsiClass candidate) {
+        for (String stereotype : STEREOTYPES) {
+            String value = stringAttribute(candidate, stereotype, "value");
+            if (value != null && !value.isEmpty()) {
+                return value;
+            }
+        }
+        for (String named : NAMED) {
+            String value = stringAttribute(candidate, named, "value");
+            if (value != null && !value.isEmpty()) {
+                return value;
+            }
+        }
+        String name = candidate.getName();
+        return name == null ? null : Introspector.decapitalize(name);
+    }
+
+    /**
+     * 元素上的 @Qualifier / @Named 值
+     */
+    static String qualifierValue(PsiModifierListOwner element) {
+        String value = stringAttribute(element, QUALIFIER, "value");
+        if (value != null && !value.isEmpty()) {
+            return value;
+        }
+        for (String named : NAMED) {
+            value = stringAttribute(element, named, "value");
+            if (value != null && !value.isEmpty()) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 元素上 @Resource 的 name 属性
+     */
+    static String resourceName(PsiModifierListOwner element) {
+        for (String resource : RESOURCE) {
+            String value = stringAttribute(element, resource, "name");
+            if (value != null && !value.isEmpty()) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 元素上以 @Qualifier 为元注解的自定义限定注解
+     */
+    static String customQualifierAnnotation(PsiModifierListOwner element) {
+        PsiModifierList modifierList = element.getModifierList();
+        if (modifierList == null) {
+            return null;
+        }
+        for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+            String fqn = annotation.getQualifiedName();
+            if (fqn == null || QUALIFIER.equals(fqn) || NAMED.contains(fqn)) {
+                continue;
+            }
+            PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+            if (reference != null && reference.resolve() instanceof PsiClass annotationClass
+                    && hasAnnotation(annotationClass, QUALIFIER)) {
+                return fqn;
+            }
+        }
+        return null;
+    }
+
+    private static String stringAttribute(PsiModifierListOwner element, String annotationFqn, String attribute) {
+        PsiModifierList modifierList = element.getModifierList();
+        PsiAnnotation annotation = modifierList == null ? null : modifierList.findAnnotation(annotationFqn);
+        if (annotation == null) {
+            return null;
+        }
+        PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue(attribute);
+        if (value instanceof PsiLiteralExpression literal && literal.getValue() instanceof String text) {
+            return text;
+        }
+        if (value instanceof PsiExpression expression) {
+            Object constant = JavaPsiFacade.getInstance(element.getProject()).getConstantEvaluationHelper()
+                    .computeConstantExpression(expression);
+            return constant instanceof String text ? text : null;
+        }
+        return null;
+    }
+
+    private static boolean hasAnnotation(PsiModifierListOwner element, String annotationFqn) {
+        PsiModifierList modifierList = element.getModifierList();
+        return modifierList != null && modifierList.findAnnotation(annotationFqn) != null;
+    }
+
+    /**
+     * 一个注入点对依赖类型的要求
+     */
+    public static class InjectionRequirement {
+        /**
+         * 不参与筛选的依赖（如 @Bean 方法返回类型），保留全部实现
+         */
+        static final InjectionRequirement UNCONSTRAINED = new InjectionRequirement(null, null, null, null, false, true);
+
+        private final PsiType declaredType;
+        private final String name;
+        private final String qualifier;
+        private final String qualifierAnnotation;
+        private final boolean multiple;
+        private final boolean unconstrained;
+
+        private InjectionRequirement(PsiType declaredType, String name, String qualifier, String qualifierAnnotation,
+                                     boolean multiple, boolean unconstrained) {
+            this.declaredType = declaredType;
+            this.name = name;
+            this.qualifier = qualifier;
+            this.qualifierAnnotation = qualifierAnnotation;
+            this.multiple = multiple;
+            this.unconstrained = unconstrained;
+        }
+
+        /**
+         * 由字段或参数构造注入点
+         *
+         * @param element          字段或参数，读取其名称与限定注解
+         * @param declaredType     依赖类型，集合注入时为元素类型
+         * @param multiple         是否为集合注入
+         * @param fallbackQualifier 元素自身没有限定符时使用的限定符（如构造器参数上的 @Qualifier）
+         */
+        static InjectionRequirement of(PsiModifierListOwner element, PsiType declaredType, boolean multiple,
+                                       String fallbackQualifier) {
+            String name = element instanceof PsiNamedElement named ? named.getName() : null;
+            String qualifier = qualifierValue(element);
+            if (qualifier == null) {
+                qualifier = resourceName(element);
+            }
+            if (qualifier == null) {
+                qualifier = fallbackQualifier;
+            }
+            String qualifierAnnotation = qualifier == null ? customQualifierAnnotation(element) : null;
+            return new InjectionRequirement(declaredType, name, qualifier, qualifierAnnotation, multiple, false);
+        }
+
+        private String describeQualifier() {
+            return qualifier != null ? qualifier : "@" + qualifierAnnotation;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.example.liteworkspace.bean.engine;
+
+import com.intellij.psi.*;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.TypeConversionUtil;
+
+import java.beans.Introspector;
+import java.util.*;
+
+/**
+ * 一个类的注入点模型：一次遍历收集构造器参数、Setter 参数与注入注解标注的成员，
+ * 之后按字段做哈希查找，不再对每个字段重复遍历构造器与方法。
+ * <p>
+ * 模型缓存在 PsiClass 上，依赖其所在文件的修改戳，被多个子类共享的父类在文件未修改前只分析一次。
+ */
+public final class InjectionPoints {
+
+    private static final Set<String> INJECT_ANNOTATIONS = Set.of(
+            "org.springframework.beans.factory.annotation.Autowired",
+            "jakarta.annotation.Resource",
+            "javax.annotation.Resource",
+            "jakarta.inject.Inject",
+            "javax.inject.Inject"
+    );
+
+    private static final String OBJECT = "java.lang.Object";
+
+    /**
+     * 通过注解或 Lombok 生成的构造器注入的本类字段名
+     */
+    private final Set<String> injectedFieldNames;
+    /**
+     * 构造器、Setter 及注解方法的参数类型（擦除后）
+     */
+    private final Set<String> parameterTypes;
+    /**
+     * 参数类型及其所有父类型，字段类型落在其中说明参数可赋值给字段
+     */
+    private final Set<String> parameterSuperTypes;
+    /**
+     * 参数名（Setter 为属性名）到参数上 @Qualifier 值，字段本身没有限定符时使用；
+     * 同一类型的多个参数可以各自带不同限定符，因此不能按类型索引
+     */
+    private final Map<String, String> parameterQualifiers;
+
+    private InjectionPoints(Set<String> injectedFieldNames, Set<String> parameterTypes, Set<String> parameterSuperTypes,
+                            Map<String, String> parameterQualifiers) {
+        this.injectedFieldNames = injectedFieldNames;
+        this.parameterTypes = parameterTypes;
+        this.parameterSuperTypes = parameterSuperTypes;
+        this.parameterQualifiers = parameterQualifiers;
+    }
+
+    /**
+     * 获取类的注入点模型，需在读操作中调用
+     */
+    public static InjectionPoints of(PsiClass clazz) {
+        return CachedValuesManager.getCachedValue(clazz, () -> {
+            PsiFile file = clazz.getContainingFile();
+            Object dependency = file != null ? file : PsiModificationTracker.MODIFICATION_COUNT;
+            return CachedValueProvider.Result.create(compute(clazz), dependency);
+        });
+    }
+
+    /**
+     * 本类声明的字段是否是注入点：带注入注解、由 Lombok 构造器注入，或类型与某个注入参数相容
+     */
+    public boolean isInjected(PsiField field) {
+        return injectedFieldNames.contains(field.getName()) || acceptsType(field.getType());
+    }
+
+    /**
+     * 是否有构造器、Setter 或注解方法的参数与该类型相容（任一方向可赋值）
+     */
+    public boolean acceptsType(PsiType type) {
+        if (parameterTypes.isEmpty()) {
+            return false;
+        }
+        String erased = TypeConversionUtil.erasure(type).getCanonicalText();
+        if (parameterSuperTypes.contains(erased)) {
+            return true;
+        }
+        // 字段类型是参数类型的子类型
+        if (type instanceof PsiClassType classType) {
+            PsiClass fieldClass = classType.resolve();
+            if (fieldClass != null) {
+                for (String superType : superTypeNames(fieldClass)) {
+                    if (parameterTypes.contains(superType)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 为该字段赋值的构造器参数（同名）或 Setter 参数（同属性名）上声明的限定符
+     */
+    public String parameterQualifier(PsiField field) {
+        return parameterQualifiers.isEmpty() ? null : parameterQualifiers.get(field.getName());
+    }
+
+    private static InjectionPoints compute(PsiClass clazz) {
+        Set<String> fieldNames = new HashSet<>();
+        Set<String> paramTypes = new HashSet<>();
+        Set<String> paramSuperTypes = new HashSet<>();
+        Map<String, String> paramQualifiers = new HashMap<>();
+
+        boolean allArgs = hasAnnotation(clazz, "lombok.AllArgsConstructor") || hasAnnotation(clazz, "lombok.Value");
+        boolean requiredArgs = hasAnnotation(clazz, "lombok.RequiredArgsConstructor") || hasAnnotation(clazz, "lombok.Data");
+        for (PsiField field : clazz.getFields()) {
+            if (field.hasModifierProperty(PsiModifier.STATIC)) {
+                continue;
+            }
+            if (isAnnotatedWithInject(field)
+                    || allArgs
+                    || requiredArgs && field.getInitializer() == null
+                    && (field.hasModifierProperty(PsiModifier.FINAL) || hasAnnotation(field, "lombok.NonNull"))) {
+                fieldNames.add(field.getName());
+            }
+        }
+
+        for (PsiMethod constructor : clazz.getConstructors()) {
+            addParameters(constructor, paramTypes, paramSuperTypes, paramQualifiers);
+        }
+        for (PsiMethod method : clazz.getMethods()) {
+            if (!method.isConstructor() && (isSetterMethod(method) || isAnnotatedWithInject(method))) {
+                addParameters(method, paramTypes, paramSuperTypes, paramQualifiers);
+            }
+        }
+        return new InjectionPoints(fieldNames, paramTypes, paramSuperTypes, paramQualifiers);
+    }
+
+    private static void addParameters(PsiMethod method, Set<String> paramTypes, Set<String> paramSuperTypes,
+                                      Map<String, String> paramQualifiers) {
+        for (PsiParameter parameter : method.getParameterList().getParameters()) {
+            PsiType type = parameter.getType();
+            String erased = TypeConversionUtil.erasure(type).getCanonicalText();
+            String qualifier = InjectionCandidateResolver.qualifierValue(parameter);
+            if (qualifier != null) {
+                paramQualifiers.putIfAbsent(parameter.getName(), qualifier);
+                if (isSetterMethod(method)) {
+                    paramQualifiers.putIfAbsent(Introspector.decapitalize(method.getName().substring(3)), qualifier);
+                }
+            }
+            // Object 参数与任何字段都相容，不作为注入依据
+            if (OBJECT.equals(erased) || !paramTypes.add(erased)) {
+                continue;
+            }
+            paramSuperTypes.add(erased);
+            if (type instanceof PsiClassType classType) {
+                PsiClass paramClass = classType.resolve();
+                if (paramClass != null) {
+                    paramSuperTypes.addAll(superTypeNames(paramClass));
+                }
+            }
+        }
+    }
+
+    private static Set<String> superTypeNames(PsiClass psiClass) {
+        Set<PsiClass> supers = new LinkedHashSet<>();
+        InheritanceUtil.getSuperClasses(psiClass, supers, true);
+        Set<String> names = new HashSet<>();
+        for (PsiClass superClass : supers) {
+            String qualifiedName = superClass.getQualifiedName();
+            if (qualifiedName != null && !OBJECT.equals(qualifiedName)) {
+                names.add(qualifiedName);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * 判断是否是标准 Setter 方法：public void setX(一个参数)
+     */
+    private static boolean isSetterMethod(PsiMethod method) {
+        String name = method.getName();
+        return name.startsWith("set") && name.length() >= 4
+                && method.hasModifierProperty(PsiModifier.PUBLIC)
+                && method.getParameterList().getParametersCount() == 1
+                && PsiTypes.voidType().equals(method.getReturnType());
+    }
+
+    private static boolean isAnnotatedWithInject(PsiModifierListOwner element) {
+        PsiModifierList modifierList = element.getModifierList();
+        if (modifierList == null) {
+            return false;
+        }
+        for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+            if (INJECT_ANNOTATIONS.contains(annotation.getQualifiedName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasAnnotation(PsiModifierListOwner element, String annotationFqn) {
+        PsiModifierList modifierList = element.getModifierList();
+        return modifierList != null && modifierList.findAnnotation(annotationFqn) != null;
+    }
+}
@@ -1,19 +1,35 @@
 package org.example.liteworkspace.bean.engine;
 
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiClass;
 import org.example.liteworkspace.bean.core.BeanDefinition;
 import org.example.liteworkspace.bean.core.BeanRegistry;
 import org.example.liteworkspace.bean.core.context.LiteProjectContext;
+import org.example.liteworkspace.event.EventBus;
+import org.example.liteworkspace.event.PluginEvents;
 import org.example.liteworkspace.util.LogUtil;
 import org.example.liteworkspace.util.ReadActionUtil;
 
 import java.util.Collection;
 import java.util.Set;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class LiteBeanScanner {
 
+    private static final String EVENT_SOURCE = "BeanScanner";
+    private static final AtomicLong SCAN_IDS = new AtomicLong();
+    private static final String SCAN_TYPE = "BEAN_SCAN";
+    // Bean 扫描在整体流程进度条中占据的区间
+    private static final double PROGRESS_START = 0.4;
+    private static final double PROGRESS_END = 0.6;
+
     private final LiteProjectContext context;
 
     public LiteBeanScanner(LiteProjectContext context) {
@@ -29,18 +45,69 @@ public class LiteBeanScanner {
     public Collection<BeanDefinition> scanAndCollectBeanList(PsiClass rootClass, Project project) {
         // 使用单线程执行器和队列，避免并发问题
         ExecutorService executorService = Executors.newSingleThreadExecutor();
-        Set<String> visited = ConcurrentHashMap.newKeySet();
-        Set<String> normalDependencies = ConcurrentHashMap.newKeySet();
-        BeanRegistry registry = new BeanRegistry();
+        EventBus eventBus = EventBus.getInstance(project);
+        ProgressIndicator indicator = ProgressManager.getInstance().getProgressIndicator();
+        // non-blocking 读操作遇到写操作会重新执行，每次尝试都从全新的遍历状态开始，这里只保留最近一次尝试
+        AtomicReference<ScanState> current = new AtomicReference<>();
+        AtomicInteger attempts = new AtomicInteger();
+        // 预算跨尝试共享，截止时间从第一次尝试开始计算
+        ScanBudget budget = ScanBudget.fromConfiguration();
+        long start = System.currentTimeMillis();
+        String rootName = ReadAction.compute(rootClass::getQualifiedName);
+        // 每次扫描使用独立的事件来源，并发扫描的事件不会混在一起
+        String eventSource = EVENT_SOURCE + "#" + SCAN_IDS.incrementAndGet();
+        if (eventBus != null) {
+            eventBus.publish(new PluginEvents.ScanStartedEvent(eventSource, SCAN_TYPE, rootName));
+        }
+        boolean completed = false;
         try {
             LogUtil.info("scanAndCollectBeanList start");
             // 在ReadAction中执行PSI操作
             ReadActionUtil.runSync(project, () -> {
+                int attempt = attempts.incrementAndGet();
+                if (attempt > 1) {
+                    LogUtil.debug("Bean 扫描因写操作重新开始，第 {} 次尝试", attempt);
+                    if (eventBus != null) {
+                        eventBus.publish(new PluginEvents.ScanRestartedEvent(eventSource, SCAN_TYPE, attempt));
+                    }
+                }
+                budget.beginAttempt();
+                ScanState state = new ScanState(budget,
+                        new TraversalProgress(indicator, eventBus, eventSource, attempt, PROGRESS_START, PROGRESS_END));
+                current.set(state);
                 // 创建根任务
-                BeanScannerTask rootTask = new BeanScannerTask(rootClass, registry, context, visited, normalDependencies);
+                BeanScannerTask rootTask = new BeanScannerTask(rootClass, state.registry, context, state.visited,
+                        state.normalDependencies)
+                        .withBudget(state.budget)
+                        .withProgress(state.progress);
                 rootTask.run();
             });
+            completed = true;
+            if (eventBus != null) {
+                eventBus.publish(new PluginEvents.ScanCompletedEvent(eventSource, SCAN_TYPE,
+                        current.get().registry.getAllBeans().size(), System.currentTimeMillis() - start));
+            }
+        } catch (ProcessCanceledException e) {
+            publishFailure(eventBus, eventSource, "扫描已取消: " + rootName, null);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            publishFailure(eventBus, eventSource, "扫描失败: " + rootName + ", " + e.getMessage(), e);
+            throw e;
         } finally {
+            ScanState state = current.get();
+            if (state != null) {
+                LogUtil.info("Bean 遍历访问 {} 个节点，登记 {} 个 Bean", state.progress.getVisited(),
+                        state.registry.getAllBeans().size());
+                ScanBudget.ScanReport report = state.budget.report();
+                context.setScanReport(report);
+                if (!completed) {
+                    LogUtil.warn("Bean 扫描未完成: {}", report.summary());
+                } else if (report.isTruncated()) {
+                    LogUtil.warn("Bean 扫描未完整展开: {}", report.summary());
+                } else {
+                    LogUtil.info("Bean 扫描完成: {}", report.summary());
+                }
+            }
             // 关闭线程池
             executorService.shutdown();
             try {
@@ -53,6 +120,31 @@ public class LiteBeanScanner {
             }
         }
 
-        return registry.getAllBeans();
+        return current.get().registry.getAllBeans();
+    }
+
+    /**
+     * 失败或取消时同样结束本次扫描，避免工具窗口一直停留在扫描中
+     */
+    private void publishFailure(EventBus eventBus, String eventSource, String message, Throwable cause) {
+        if (eventBus != null) {
+            eventBus.publish(new PluginEvents.ScanFailedEvent(eventSource, SCAN_TYPE, message, cause));
+        }
+    }
+
+    /**
+     * 一次遍历尝试的可变状态；预算由整次扫描共享
+     */
+    private static class ScanState {
+        private final Set<String> visited = ConcurrentHashMap.newKeySet();
+        private final Set<String> normalDependencies = ConcurrentHashMap.newKeySet();
+        private final BeanRegistry registry = BeanRegistry.concurrent();
+        private final ScanBudget budget;
+        private final TraversalProgress progress;
+
+        private ScanState(ScanBudget budget, TraversalProgress progress) {
+            this.budget = budget;
+            this.progress = progress;
+        }
     }
 }
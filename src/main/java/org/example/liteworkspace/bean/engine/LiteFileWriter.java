@@ -1,6 +1,7 @@
 package org.example.liteworkspace.bean.engine;
 
 import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationAction;
 import com.intellij.notification.NotificationGroupManager;
 import com.intellij.notification.NotificationType;
 import com.intellij.openapi.application.ApplicationManager;
@@ -9,6 +10,9 @@ import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ContentEntry;
 import com.intellij.openapi.roots.ModifiableRootModel;
@@ -19,9 +23,16 @@ import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VfsUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
+import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import org.example.liteworkspace.bean.core.BeanDefinition;
 import org.example.liteworkspace.bean.core.DatasourceConfig;
 import org.example.liteworkspace.bean.core.context.LiteProjectContext;
+import org.example.liteworkspace.config.ConfigurationManager;
+import org.example.liteworkspace.util.IncrementalFileWriter;
 import org.example.liteworkspace.util.LogUtil;
+import org.example.liteworkspace.util.PsiClassResolver;
+import org.example.liteworkspace.util.ReadActionUtil;
+import org.jetbrains.annotations.NotNull;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
@@ -29,14 +40,25 @@ import org.w3c.dom.NodeList;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
 
 public class LiteFileWriter {
 
+    private static final String IMPORT_AUTO_CONFIGURATION = "org.springframework.boot.autoconfigure.ImportAutoConfiguration";
+
+    /**
+     * 数据源 XML 中已定义的 Bean 类，按文件路径缓存，文件修改时间或大小变化后重新解析
+     */
+    private static final Map<String, DefinedBeans> DEFINED_BEANS_CACHE = new ConcurrentHashMap<>();
+
     private final LiteProjectContext context;
 
     public LiteFileWriter(LiteProjectContext context) {
@@ -44,6 +66,19 @@ public class LiteFileWriter {
     }
 
     public void write(Project project, PsiClass clazz, Map<String, String> beanMap) {
+        write(project, clazz, beanMap, false);
+    }
+
+    public void write(Project project, PsiClass clazz, Map<String, String> beanMap, boolean defaultLazyInit) {
+        write(project, clazz, beanMap, defaultLazyInit, null, Collections.emptyList());
+    }
+
+    /**
+     * @param initializerSource  非空时额外写出 ApplicationContextInitializer，新建的测试类通过 initializers 引用它
+     * @param autoConfigurations 非空时在测试类上声明 @ImportAutoConfiguration
+     */
+    public void write(Project project, PsiClass clazz, Map<String, String> beanMap, boolean defaultLazyInit,
+                      String initializerSource, List<String> autoConfigurations) {
         ApplicationManager.getApplication().invokeLater(() ->
                 WriteCommandAction.runWriteCommandAction(project, () -> {
                     try {
@@ -73,10 +108,8 @@ public class LiteFileWriter {
                             return;
                         }
 
-                        File javaTestDir = new File(testJavaDir.getPath(), relativePath);
-                        File resourcesTestDir = new File(testResourcesDir.getPath(), relativePath);
-                        javaTestDir.mkdirs();
-                        resourcesTestDir.mkdirs();
+                        Path javaTestDir = Paths.get(testJavaDir.getPath(), relativePath);
+                        Path resourcesTestDir = Paths.get(testResourcesDir.getPath(), relativePath);
 
                         // 解析默认 XML 配置
                         Set<String> definedBeanClasses = parseDefinedBeans(context.getDatasourceConfig().getImportPath());
@@ -84,21 +117,46 @@ public class LiteFileWriter {
                         // 过滤重复 bean
                         beanMap.keySet().removeIf(definedBeanClasses::contains);
 
-                        // 写文件
-                        File xmlFile = writeSpringXmlFile(beanMap, resourcesTestDir, testClassName);
-                        File testFile = writeJUnitTestFile(packageName, className, testClassName, relativePath, javaTestDir);
-
-                        Objects.requireNonNull(VfsUtil.findFileByIoFile(xmlFile, true)).refresh(false, false);
-                        VirtualFile virtualTestFile = VfsUtil.findFileByIoFile(testFile, true);
-                        if (virtualTestFile != null) {
-                            virtualTestFile.refresh(false, false);
-                            FileEditorManager.getInstance(project).openFile(virtualTestFile, true);
+                        // 写文件：内容未变化的文件不重写，实际写入的文件最后统一刷新
+                        List<Path> writtenFiles = new ArrayList<>();
+                        int fileCount = 2;
+                        Path xmlFile = writeSpringXmlFile(beanMap, resourcesTestDir, testClassName, defaultLazyInit, writtenFiles);
+                        Path testFile = writeJUnitTestFile(packageName, className, testClassName, relativePath, javaTestDir,
+                                initializerSource != null, autoConfigurations, writtenFiles);
+                        if (initializerSource != null) {
+                            fileCount++;
+                            Path initializerFile = writeInitializerFile(initializerSource, javaTestDir, testClassName, writtenFiles);
+                            LogUtil.info("已生成上下文初始化器={}", initializerFile);
                         }
+                        IncrementalFileWriter.refreshAsync(writtenFiles, () -> openInEditor(project, testFile));
 
-                        notifyInfo(project,
-                                "测试类与配置已生成",
-                                "测试类: " + testFile.getAbsolutePath() + "\n配置文件: " + xmlFile.getAbsolutePath());
-                        LogUtil.info("已生成测试类={} 配置文件={}", testFile.getAbsolutePath(), xmlFile.getAbsolutePath());
+                        String content = "测试类: " + testFile + "\n配置文件: " + xmlFile;
+                        if (writtenFiles.size() < fileCount) {
+                            content += "\n内容未变化，跳过 " + (fileCount - writtenFiles.size()) + " 个文件";
+                        }
+                        ScanBudget.ScanReport scanReport = context.getScanReport();
+                        ContextCompletenessChecker.CompletenessReport completenessReport = context.getCompletenessReport();
+                        boolean truncated = scanReport != null && scanReport.isTruncated();
+                        boolean incomplete = completenessReport != null && completenessReport.hasIssues();
+                        if (truncated) {
+                            content += "\n" + scanReport.summary();
+                        }
+                        if (incomplete) {
+                            content += "\n上下文完整性检查: " + completenessReport.summary();
+                        }
+                        if (truncated || incomplete) {
+                            Notification notification = createNotification(incomplete
+                                    ? "测试类与配置已生成（存在无法满足的依赖）"
+                                    : "测试类与配置已生成（扫描未完整）", content, NotificationType.WARNING);
+                            // 初始化器形式的测试不加载 XML，修补 XML 不会生效，不提供一键修复
+                            if (incomplete && initializerSource == null) {
+                                addRepairActions(project, notification, xmlFile, completenessReport);
+                            }
+                            notification.notify(project);
+                        } else {
+                            notifyInfo(project, "测试类与配置已生成", content);
+                        }
+                        LogUtil.info("已生成测试类={} 配置文件={}，写入 {} 个文件", testFile, xmlFile, writtenFiles.size());
                     } catch (Exception ex) {
                         notifyError(project, "生成失败: " + ex.getMessage());
                         LogUtil.error("生成测试文件失败", ex);
@@ -107,7 +165,7 @@ public class LiteFileWriter {
         );
     }
 
-    private Set<String> parseDefinedBeans(String xmlPath) {
+    static Set<String> parseDefinedBeans(String xmlPath) {
         Set<String> definedBeans = new HashSet<>();
         if (xmlPath == null) {
             return definedBeans;
@@ -118,6 +176,13 @@ public class LiteFileWriter {
             LogUtil.warn("配置文件不存在: {}", xmlPath);
             return definedBeans;
         }
+        String cacheKey = xml.getAbsolutePath();
+        long lastModified = xml.lastModified();
+        long length = xml.length();
+        DefinedBeans cached = DEFINED_BEANS_CACHE.get(cacheKey);
+        if (cached != null && cached.lastModified == lastModified && cached.length == length) {
+            return cached.beanClasses;
+        }
         try {
             DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
             DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
@@ -131,17 +196,132 @@ public class LiteFileWriter {
                     definedBeans.add(beanElement.getAttribute("class"));
                 }
             }
+            DEFINED_BEANS_CACHE.put(cacheKey, new DefinedBeans(lastModified, length, Set.copyOf(definedBeans)));
         } catch (Exception e) {
             LogUtil.error("解析配置文件失败: " + xmlPath, e);
         }
         return definedBeans;
     }
 
+    /**
+     * VFS 刷新完成后在编辑器中打开测试类
+     */
+    private void openInEditor(Project project, Path file) {
+        ApplicationManager.getApplication().invokeLater(() -> {
+            VirtualFile virtualFile = LocalFileSystem.getInstance().findFileByNioFile(file);
+            if (virtualFile != null) {
+                FileEditorManager.getInstance(project).openFile(virtualFile, true);
+            }
+        }, project.getDisposed());
+    }
+
     private void notifyInfo(Project project, String title, String content) {
-        Notification notification = NotificationGroupManager.getInstance()
+        notify(project, title, content, NotificationType.INFORMATION);
+    }
+
+    private void notify(Project project, String title, String content, NotificationType type) {
+        createNotification(title, content, type).notify(project);
+    }
+
+    private Notification createNotification(String title, String content, NotificationType type) {
+        return NotificationGroupManager.getInstance()
                 .getNotificationGroup("LiteWorkspace")
-                .createNotification(title, content, NotificationType.INFORMATION);
-        notification.notify(project);
+                .createNotification(title, content, type);
+    }
+
+    /**
+     * 完整性检查发现缺失依赖时，提供一键加入具体实现或以 mock 替代的修复
+     */
+    private void addRepairActions(Project project, Notification notification, Path xmlFile,
+                                  ContextCompletenessChecker.CompletenessReport report) {
+        List<String> inclusions = report.inclusionSnippets();
+        if (!inclusions.isEmpty()) {
+            List<String> inclusionClasses = report.inclusionClasses();
+            notification.addAction(NotificationAction.createSimpleExpiring(
+                    "加入缺失 Bean (" + inclusions.size() + ")",
+                    () -> includeWithDependencies(project, xmlFile, inclusions, inclusionClasses)));
+        }
+        List<String> mocks = report.mockSnippets();
+        if (!mocks.isEmpty()) {
+            notification.addAction(NotificationAction.createSimpleExpiring(
+                    "Mock 缺失依赖 (" + mocks.size() + ")", () -> appendBeans(project, xmlFile, mocks)));
+        }
+    }
+
+    /**
+     * 加入缺失的具体类，并把它们经 Bean 扫描得到的依赖一并加入，避免修好一个缺失又引出下一个
+     */
+    private void includeWithDependencies(Project project, Path xmlFile, List<String> inclusions,
+                                         List<String> inclusionClasses) {
+        new Task.Backgroundable(project, "扫描缺失 Bean 的依赖...", true) {
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                try {
+                    String xml = Files.readString(xmlFile, StandardCharsets.UTF_8);
+                    Set<String> existingIds = new HashSet<>();
+                    Matcher matcher = ContextCompletenessChecker.XML_BEAN.matcher(xml);
+                    while (matcher.find()) {
+                        existingIds.add(matcher.group(1));
+                    }
+
+                    Collection<BeanDefinition> dependencies = new ArrayList<>();
+                    for (String className : inclusionClasses) {
+                        indicator.checkCanceled();
+                        indicator.setText2(className);
+                        PsiClass psiClass = ReadActionUtil.computeAsync(project, () -> PsiClassResolver.getInstance(project)
+                                .resolve(className, context.getResolveScope())).join();
+                        if (psiClass == null) {
+                            continue;
+                        }
+                        for (BeanDefinition bean : new LiteBeanScanner(context).scanAndCollectBeanList(psiClass, project)) {
+                            // 缺失类本身沿用检查给出的片段（其中的 Bean 名称与限定符一致）
+                            if (!inclusionClasses.contains(bean.getClassName())) {
+                                dependencies.add(bean);
+                            }
+                        }
+                    }
+
+                    List<String> snippets = new ArrayList<>(inclusions);
+                    Map<String, String> dependencyXml = new SpringXmlBuilder(context,
+                            ConfigurationManager.getInstance().getLazyInitMode()).buildXmlMap(dependencies);
+                    dependencyXml.forEach((beanName, snippet) -> {
+                        if (!existingIds.contains(beanName) && !xml.contains(snippet.strip()) && !snippets.contains(snippet)) {
+                            snippets.add(snippet);
+                        }
+                    });
+                    LogUtil.info("加入缺失 Bean {} 个，连带依赖 {} 个", inclusions.size(), snippets.size() - inclusions.size());
+                    appendBeans(project, xmlFile, snippets);
+                } catch (ProcessCanceledException e) {
+                    throw e;
+                } catch (Exception e) {
+                    notifyError(project, "加入缺失 Bean 失败: " + e.getMessage());
+                    LogUtil.error("加入缺失 Bean 失败: " + xmlFile, e);
+                }
+            }
+        }.queue();
+    }
+
+    /**
+     * 在生成的 XML 末尾追加 Bean 定义
+     */
+    private void appendBeans(Project project, Path xmlFile, List<String> snippets) {
+        try {
+            String xml = Files.readString(xmlFile, StandardCharsets.UTF_8);
+            int end = xml.lastIndexOf("</beans>");
+            if (end < 0) {
+                notifyError(project, "无法识别配置文件结构: " + xmlFile);
+                return;
+            }
+            String patched = xml.substring(0, end) + String.join("\n", snippets) + "\n" + xml.substring(end);
+            if (IncrementalFileWriter.writeIfChanged(xmlFile, patched)) {
+                IncrementalFileWriter.refreshAsync(List.of(xmlFile), null);
+            }
+            notifyInfo(project, "配置文件已更新", "追加 " + snippets.size() + " 个 Bean: " + xmlFile);
+            LogUtil.info("配置文件 {} 追加 {} 个 Bean", xmlFile, snippets.size());
+        } catch (IOException e) {
+            notifyError(project, "更新配置文件失败: " + e.getMessage());
+            LogUtil.error("更新配置文件失败: " + xmlFile, e);
+        }
     }
 
     private void notifyError(Project project, String content) {
@@ -231,35 +411,57 @@ public class LiteFileWriter {
                 Messages.showErrorDialog(project, message, "LiteWorkspace"));
     }
 
-    private File writeSpringXmlFile(Map<String, String> beanMap, File resourcesTestDir, String testClassName) throws IOException {
-        File xmlFile = new File(resourcesTestDir, testClassName + ".xml");
-        try (FileWriter fw = new FileWriter(xmlFile)) {
-            fw.write("<beans xmlns=\"http://www.springframework.org/schema/beans\"\n");
-            fw.write("       xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n");
-            fw.write("       xsi:schemaLocation=\"http://www.springframework.org/schema/beans\n");
-            fw.write("        http://www.springframework.org/schema/beans/spring-beans.xsd\">\n\n");
-            for (String xml : beanMap.values()) {
-                fw.write(xml);
-                fw.write("\n");
-            }
-            fw.write("</beans>");
+    private Path writeSpringXmlFile(Map<String, String> beanMap, Path resourcesTestDir, String testClassName,
+                                    boolean defaultLazyInit, List<Path> writtenFiles) throws IOException {
+        Path xmlFile = resourcesTestDir.resolve(testClassName + ".xml");
+        StringBuilder sb = new StringBuilder();
+        sb.append("<beans xmlns=\"http://www.springframework.org/schema/beans\"\n");
+        sb.append("       xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n");
+        sb.append("       xsi:schemaLocation=\"http://www.springframework.org/schema/beans\n");
+        if (defaultLazyInit) {
+            sb.append("        http://www.springframework.org/schema/beans/spring-beans.xsd\"\n");
+            sb.append("       default-lazy-init=\"true\">\n\n");
+        } else {
+            sb.append("        http://www.springframework.org/schema/beans/spring-beans.xsd\">\n\n");
+        }
+        for (String xml : beanMap.values()) {
+            sb.append(xml);
+            sb.append("\n");
         }
+        sb.append("</beans>");
+        writeIfChanged(xmlFile, sb.toString(), writtenFiles);
         return xmlFile;
     }
 
-    private File writeJUnitTestFile(String packageName,
+    private Path writeInitializerFile(String initializerSource, Path javaTestDir, String testClassName,
+                                      List<Path> writtenFiles) throws IOException {
+        Path initializerFile = javaTestDir.resolve(SpringInitializerBuilder.initializerClassName(testClassName) + ".java");
+        writeIfChanged(initializerFile, initializerSource, writtenFiles);
+        return initializerFile;
+    }
+
+    private void writeIfChanged(Path file, String content, List<Path> writtenFiles) throws IOException {
+        if (IncrementalFileWriter.writeIfChanged(file, content)) {
+            writtenFiles.add(file);
+        }
+    }
+
+    private Path writeJUnitTestFile(String packageName,
                                     String className,
                                     String testClassName,
                                     String relativePath,
-                                    File javaTestDir) throws IOException {
-        File testFile = new File(javaTestDir, testClassName + ".java");
+                                    Path javaTestDir,
+                                    boolean useInitializer,
+                                    List<String> autoConfigurations,
+                                    List<Path> writtenFiles) throws IOException {
+        Path testFile = javaTestDir.resolve(testClassName + ".java");
         String methodName = getMethodName(context.findTargetMethod());
         String beanName = decapitalize(className);
-        if (testFile.exists()) {
+        if (Files.exists(testFile)) {
             Project project = context.getProject();
             // 已存在：用 PSI 解析 testFile，判断是否已有该方法的测试方法
             PsiFile psiFile = PsiManager.getInstance(project)
-                    .findFile(Objects.requireNonNull(LocalFileSystem.getInstance().refreshAndFindFileByIoFile(testFile)));
+                    .findFile(Objects.requireNonNull(LocalFileSystem.getInstance().refreshAndFindFileByNioFile(testFile)));
             if (psiFile instanceof PsiJavaFile javaFile) {
                 PsiClass[] classes = javaFile.getClasses();
                 if (classes.length > 0) {
@@ -269,6 +471,8 @@ public class LiteFileWriter {
                     boolean exists = Arrays.stream(testClass.getMethods())
                             .anyMatch(m -> m.getName().equals(testMethodName));
 
+                    updateImportAutoConfiguration(project, testClass, autoConfigurations);
+
                     if (!exists) {
                         // 新建测试方法
                         PsiElementFactory factory = JavaPsiFacade.getElementFactory(project);
@@ -288,7 +492,9 @@ public class LiteFileWriter {
             }
         } else {
             // 文件不存在：用模板创建测试类
-            String template = loadTemplate(); // 从 resources 加载
+            String template = loadTemplate(useInitializer
+                    ? "templates/TestClassInitializerTemplate.java"
+                    : "templates/TestClassTemplate.java"); // 从 resources 加载
             if (template == null) {
                 throw new RuntimeException("缺少模板文件");
             }
@@ -298,16 +504,55 @@ public class LiteFileWriter {
                     .replace("${TEST_CLASS}", testClassName)
                     .replace("${CLASS}", className)
                     .replace("${BEAN}", beanName)
-                    .replace("${METHOD}", methodName);
+                    .replace("${METHOD}", methodName)
+                    .replace(autoConfigurations.isEmpty() ? "${IMPORT_AUTO_CONFIGURATION}\n" : "${IMPORT_AUTO_CONFIGURATION}",
+                            autoConfigurations.isEmpty() ? "" : buildImportAutoConfiguration(autoConfigurations));
 
-            try (FileWriter fw = new FileWriter(testFile)) {
-                fw.write(content);
-            }
+            writeIfChanged(testFile, content, writtenFiles);
         }
 
         return testFile;
     }
 
+    private static class DefinedBeans {
+        private final long lastModified;
+        private final long length;
+        private final Set<String> beanClasses;
+
+        private DefinedBeans(long lastModified, long length, Set<String> beanClasses) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.beanClasses = beanClasses;
+        }
+    }
+
+    private String buildImportAutoConfiguration(List<String> autoConfigurations) {
+        StringJoiner classes = new StringJoiner(",\n        ",
+                "@" + IMPORT_AUTO_CONFIGURATION + "({\n        ", "\n})");
+        for (String autoConfiguration : autoConfigurations) {
+            classes.add(autoConfiguration + ".class");
+        }
+        return classes.toString();
+    }
+
+    /**
+     * 已存在的测试类：以本次计算结果替换 @ImportAutoConfiguration，未计算出自动配置时保持原样
+     */
+    private void updateImportAutoConfiguration(Project project, PsiClass testClass, List<String> autoConfigurations) {
+        if (autoConfigurations.isEmpty() || testClass.getModifierList() == null) {
+            return;
+        }
+        PsiAnnotation annotation = JavaPsiFacade.getElementFactory(project)
+                .createAnnotationFromText(buildImportAutoConfiguration(autoConfigurations), testClass);
+        WriteCommandAction.runWriteCommandAction(project, () -> {
+            PsiAnnotation existing = testClass.getAnnotation(IMPORT_AUTO_CONFIGURATION);
+            PsiElement added = existing != null
+                    ? existing.replace(annotation)
+                    : testClass.getModifierList().addBefore(annotation, testClass.getModifierList().getFirstChild());
+            JavaCodeStyleManager.getInstance(project).shortenClassReferences(added);
+        });
+    }
+
     private String getMethodName(PsiMethod targetMethod) {
         String defaultName = "ContextLoads";
         if (targetMethod == null) {
@@ -316,8 +561,8 @@ public class LiteFileWriter {
         return capitalize(targetMethod.getName());
     }
 
-    private String loadTemplate() {
-        try (InputStream is = getClass().getClassLoader().getResourceAsStream("templates/TestClassTemplate.java")) {
+    private String loadTemplate(String templatePath) {
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream(templatePath)) {
             if (is == null) return null;
             return new String(is.readAllBytes(), StandardCharsets.UTF_8);
         } catch (IOException e) {
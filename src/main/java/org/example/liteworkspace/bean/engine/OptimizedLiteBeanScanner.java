@@ -296,7 +296,7 @@ public class OptimizedLiteBeanScanner {
     private Collection<BeanDefinition> performOptimizedScan(PsiClass rootClass, Project project) {
         Set<String> visited = ConcurrentHashMap.newKeySet();
         Set<String> normalDependencies = ConcurrentHashMap.newKeySet();
-        BeanRegistry registry = new BeanRegistry();
+        BeanRegistry registry = BeanRegistry.concurrent();
         
         // 在 ReadAction 中执行 PSI 操作
         ReadActionUtil.runSync(project, () -> {
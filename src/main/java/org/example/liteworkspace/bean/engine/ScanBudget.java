@@ -0,0 +1,142 @@
+package org.example.liteworkspace.bean.engine;
+
+import org.example.liteworkspace.config.ConfigurationManager;
+import org.example.liteworkspace.util.LogUtil;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 一次 Bean 扫描的时间与深度预算。
+ * <p>
+ * 超过 {@code scanTimeout} 或 {@code maxScanDepth} 后不再展开新节点的依赖，已发现的 Bean 仍照常生成，
+ * 未展开的边界 Bean 在测试类路径有 Mockito 时生成为 mock，否则为懒加载；同时按阶段累计耗时，用于提示时间花在了哪里。
+ * <p>
+ * 一次扫描只创建一个预算：非阻塞读操作重新开始时调用 {@link #beginAttempt()} 清空上一轮的记录，
+ * 截止时间从第一次尝试开始计算，持续编辑导致的反复重试不会让时间预算失效。
+ */
+public class ScanBudget {
+
+    private final long startNanos = System.nanoTime();
+    private final long deadlineNanos;
+    private final int maxDepth;
+    private final Set<String> cutByDepth = ConcurrentHashMap.newKeySet();
+    private final Set<String> cutByTime = ConcurrentHashMap.newKeySet();
+    private final Map<String, LongAdder> phaseNanos = new ConcurrentHashMap<>();
+    private final AtomicBoolean deadlineLogged = new AtomicBoolean();
+
+    public ScanBudget(long timeoutMillis, int maxDepth) {
+        this.deadlineNanos = timeoutMillis > 0 ? startNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMillis) : Long.MAX_VALUE;
+        this.maxDepth = maxDepth > 0 ? maxDepth : Integer.MAX_VALUE;
+    }
+
+    /**
+     * 按全局配置的 scanTimeout / maxScanDepth 创建
+     */
+    public static ScanBudget fromConfiguration() {
+        ConfigurationManager configuration = ConfigurationManager.getInstance();
+        return new ScanBudget(configuration.getScanTimeout(), configuration.getMaxScanDepth());
+    }
+
+    /**
+     * 开始一次新的遍历尝试：清空上一轮的边界节点与阶段耗时，截止时间保持不变
+     */
+    public void beginAttempt() {
+        cutByDepth.clear();
+        cutByTime.clear();
+        phaseNanos.clear();
+    }
+
+    /**
+     * 深度为 depth 的节点是否还能展开依赖；不能展开时记录为边界节点
+     */
+    public boolean allowsExpansion(String className, int depth) {
+        if (System.nanoTime() - deadlineNanos > 0) {
+            cutByTime.add(className);
+            if (deadlineLogged.compareAndSet(false, true)) {
+                LogUtil.warn("Bean 扫描超过时间预算 {} ms，停止展开，使用已发现的结果", elapsedMillis());
+            }
+            return false;
+        }
+        if (depth >= maxDepth) {
+            cutByDepth.add(className);
+            LogUtil.debug("类 {} 达到最大扫描深度 {}，不再展开", className, maxDepth);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 计时一个扫描阶段，嵌套调用会分别计入各自阶段
+     */
+    public <T> T time(String phase, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            phaseNanos.computeIfAbsent(phase, key -> new LongAdder()).add(System.nanoTime() - start);
+        }
+    }
+
+    public ScanReport report() {
+        Map<String, Long> phases = new LinkedHashMap<>();
+        phaseNanos.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .forEach(entry -> phases.put(entry.getKey(), TimeUnit.NANOSECONDS.toMillis(entry.getValue().sum())));
+        return new ScanReport(elapsedMillis(), new TreeSet<>(cutByTime), new TreeSet<>(cutByDepth), phases);
+    }
+
+    private long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 扫描结束后的预算使用情况
+     */
+    public static class ScanReport {
+        private final long elapsedMillis;
+        private final Set<String> cutByTime;
+        private final Set<String> cutByDepth;
+        private final Map<String, Long> phaseMillis;
+
+        public ScanReport(long elapsedMillis, Set<String> cutByTime, Set<String> cutByDepth, Map<String, Long> phaseMillis) {
+            this.elapsedMillis = elapsedMillis;
+            this.cutByTime = cutByTime;
+            this.cutByDepth = cutByDepth;
+            this.phaseMillis = phaseMillis;
+        }
+
+        public long getElapsedMillis() { return elapsedMillis; }
+        public Set<String> getCutByTime() { return cutByTime; }
+        public Set<String> getCutByDepth() { return cutByDepth; }
+        public Map<String, Long> getPhaseMillis() { return phaseMillis; }
+
+        /**
+         * 是否有节点因预算耗尽未展开
+         */
+        public boolean isTruncated() {
+            return !cutByTime.isEmpty() || !cutByDepth.isEmpty();
+        }
+
+        public String summary() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("扫描耗时 %d ms，因超时未展开 %d 个，因深度未展开 %d 个（有 Mockito 时生成为 mock，否则为懒加载 Bean）",
+                    elapsedMillis, cutByTime.size(), cutByDepth.size()));
+            if (!phaseMillis.isEmpty()) {
+                StringJoiner phases = new StringJoiner("，", "\n耗时分布：", "");
+                phaseMillis.forEach((phase, millis) -> phases.add(phase + " " + millis + " ms"));
+                sb.append(phases);
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public String toString() {
+            return summary();
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package org.example.liteworkspace.bean.engine;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import org.example.liteworkspace.bean.core.BeanDefinition;
+import org.example.liteworkspace.bean.core.context.LiteProjectContext;
+import org.example.liteworkspace.bean.core.enums.BeanType;
+import org.example.liteworkspace.bean.core.enums.LazyInitMode;
+import org.example.liteworkspace.datasource.SqlSessionConfig;
+import org.example.liteworkspace.util.LogUtil;
+import org.example.liteworkspace.util.MybatisBeanDto;
+
+import java.util.*;
+
+/**
+ * 生成函数式注册的 ApplicationContextInitializer，作为 {@link SpringXmlBuilder} 的替代输出。
+ * <p>
+ * 注册的 Bean 集合与 XML 完全一致：普通 Bean 优先使用 PSI 解析出的构造器生成
+ * {@code registerBean(name, X.class, () -> new X(...))}，省去 XML 解析与反射实例化，
+ * 构造参数按与自动装配相同的规则取得，两种形式得到相同的上下文；
+ * 无法安全生成构造调用的类（非 public、泛型、带注解参数等）以及 MyBatis 相关 Bean
+ * 退化为按类名注册的 RootBeanDefinition。
+ */
+public class SpringInitializerBuilder {
+
+    public static final String INITIALIZER_SUFFIX = "Initializer";
+
+    private static final Set<String> AUTOWIRED_ANNOTATIONS = Set.of(
+            "org.springframework.beans.factory.annotation.Autowired",
+            "javax.inject.Inject",
+            "jakarta.inject.Inject"
+    );
+
+    private static final Set<String> QUALIFIER_ANNOTATIONS = Set.of(
+            "org.springframework.beans.factory.annotation.Qualifier",
+            "javax.inject.Named",
+            "jakarta.inject.Named"
+    );
+
+    private static final String INDENT = "        ";
+
+    private final LiteProjectContext context;
+    private final LazyInitMode lazyInitMode;
+    private final Set<String> eagerBeanNames = new HashSet<>();
+    private final Set<String> frontierBeanNames = new HashSet<>();
+    private boolean mockFrontier;
+
+    public SpringInitializerBuilder(LiteProjectContext context, LazyInitMode lazyInitMode) {
+        this.context = context;
+        this.lazyInitMode = lazyInitMode;
+    }
+
+    /**
+     * 测试类 FooTest 对应的 Initializer 类名
+     */
+    public static String initializerClassName(String testClassName) {
+        return testClassName + INITIALIZER_SUFFIX;
+    }
+
+    public String build(Collection<BeanDefinition> beans, String packageName, String className) {
+        if (lazyInitMode == LazyInitMode.TARGET_EAGER) {
+            eagerBeanNames.addAll(SpringXmlBuilder.resolveEagerBeanNames(context, beans));
+        }
+        frontierBeanNames.addAll(SpringXmlBuilder.resolveFrontierBeanNames(beans));
+        mockFrontier = !frontierBeanNames.isEmpty() && SpringXmlBuilder.isMockitoAvailable(context);
+
+        Map<BeanType, List<BeanDefinition>> grouped = new EnumMap<>(BeanType.class);
+        for (BeanDefinition bean : beans) {
+            grouped.computeIfAbsent(bean.getType(), t -> new ArrayList<>()).add(bean);
+        }
+
+        // 与 SpringXmlBuilder 相同：按 Bean 名称去重，后出现的覆盖先出现的
+        Map<String, String> registrations = new LinkedHashMap<>();
+        int supplierCount = buildSimpleBeans(grouped.get(BeanType.ANNOTATION), registrations, true);
+        supplierCount += buildSimpleBeans(grouped.get(BeanType.MAPPER_STRUCT), registrations, true);
+        // 配置类交给 ConfigurationClassPostProcessor 增强，不走 Supplier
+        buildSimpleBeans(grouped.get(BeanType.JAVA_CONFIG), registrations, false);
+        buildSimpleBeans(grouped.get(BeanType.MAPPER), registrations, false);
+        buildMyBatisBeans(grouped.get(BeanType.MYBATIS), registrations);
+
+        LogUtil.info("生成 Initializer 注册完成，数量: {}, 其中构造器 Supplier: {}", registrations.size(), supplierCount);
+        return render(packageName, className, registrations.values());
+    }
+
+    /**
+     * @return 使用构造器 Supplier 注册的数量
+     */
+    private int buildSimpleBeans(List<BeanDefinition> list, Map<String, String> registrations, boolean useSupplier) {
+        if (list == null) {
+            return 0;
+        }
+        int supplierCount = 0;
+        for (BeanDefinition bean : list) {
+            String beanName = bean.getBeanName();
+            if (mockFrontier && frontierBeanNames.contains(beanName)) {
+                // 与 XML 一致：未展开依赖的边界 Bean 以 mock 注册
+                registrations.put(beanName, String.format("%scontext.registerBeanDefinition(%s, mock(%s));%n",
+                        INDENT, literal(beanName), literal(bean.getClassName())));
+                continue;
+            }
+            String supplier = useSupplier ? resolveConstructorSupplier(bean.getClassName()) : null;
+            if (supplier != null) {
+                supplierCount++;
+                registrations.put(beanName, String.format("%scontext.registerBean(%s, %s.class, %s%s);%n",
+                        INDENT, literal(beanName), bean.getClassName(), supplier,
+                        isLazy(beanName) ? ", bd -> bd.setLazyInit(true)" : ""));
+            } else {
+                registrations.put(beanName, registerDefinition(beanName, bean.getClassName()));
+            }
+        }
+        return supplierCount;
+    }
+
+    private void buildMyBatisBeans(List<BeanDefinition> list, Map<String, String> registrations) {
+        if (list == null || list.isEmpty()) {
+            return;
+        }
+        Map<String, MybatisBeanDto> namespace2XmlFileMap = context.getMyBatisContext().getNamespace2XmlFileMap();
+        if (namespace2XmlFileMap.isEmpty()) {
+            return;
+        }
+
+        Set<String> allMapperXmlRelativePath = new LinkedHashSet<>();
+        for (BeanDefinition bean : list) {
+            MybatisBeanDto mybatisBeanDto = namespace2XmlFileMap.get(bean.getClassName());
+            if (mybatisBeanDto == null) {
+                continue;
+            }
+            allMapperXmlRelativePath.add(SpringXmlBuilder.toClasspathLocation(mybatisBeanDto.getXmlFilePath()));
+            registrations.put(bean.getBeanName(), registerDefinition(bean.getBeanName(),
+                    "org.mybatis.spring.mapper.MapperFactoryBean",
+                    "mapperInterface", literal(bean.getClassName()),
+                    "sqlSessionFactory", beanReference(mybatisBeanDto.getSqlSessionFactory())));
+        }
+
+        String datasourceImport = SpringXmlBuilder.resolveDatasourceImport(context);
+        if (datasourceImport != null) {
+            registrations.put("defaultDatasource", String.format(
+                    "%snew XmlBeanDefinitionReader(context).loadBeanDefinitions(%s);%n", INDENT, literal(datasourceImport)));
+        } else if (context.getDatasourceConfig().getConfigMap() != null) {
+            Map<String, String> config = context.getDatasourceConfig().getConfigMap();
+            registrations.put("dataSource", registerDefinition("dataSource",
+                    "org.springframework.jdbc.datasource.DriverManagerDataSource",
+                    "driverClassName", literal(config.get("datasource.driver-class-name")),
+                    "url", literal(config.get("datasource.url")),
+                    "username", literal(config.get("datasource.username")),
+                    "password", literal(config.get("datasource.password"))));
+        }
+
+        for (Map.Entry<SqlSessionConfig, List<String>> entry
+                : SpringXmlBuilder.matchSqlSessionMapperLocations(context, allMapperXmlRelativePath).entrySet()) {
+            SqlSessionConfig sessionConfig = entry.getKey();
+            StringJoiner locations = new StringJoiner(", ", "new String[]{", "}");
+            for (String path : entry.getValue()) {
+                locations.add(literal(path));
+            }
+            registrations.put(sessionConfig.getName(), registerDefinition(sessionConfig.getName(),
+                    "org.mybatis.spring.SqlSessionFactoryBean",
+                    "dataSource", beanReference(sessionConfig.getDataSourceBeanId()),
+                    "mapperLocations", locations.toString()));
+        }
+    }
+
+    /**
+     * 从 PSI 解析构造器，生成 {@code () -> new X(bean(context, Dep.class, "dep"), ...)}；
+     * 选择顺序与 Spring 一致：@Autowired/@Inject 构造器 → 唯一构造器 → 无参构造器。
+     * 参数的解析与 XML 上下文中的构造器自动装配一致：带 @Qualifier / @Named 时按名称取，
+     * 否则按类型取唯一候选（含 @Primary），有多个候选时再按参数名匹配。
+     * 任何无法在生成代码中直接表达的情况都返回 null，由调用方退化为按类名注册，交给容器做构造器自动装配。
+     */
+    private String resolveConstructorSupplier(String className) {
+        return ReadAction.compute(() -> {
+            PsiClass psiClass = JavaPsiFacade.getInstance(context.getProject())
+                    .findClass(className, GlobalSearchScope.allScope(context.getProject()));
+            if (!isAccessible(psiClass) || psiClass.isInterface() || psiClass.isEnum()
+                    || psiClass.hasModifierProperty(PsiModifier.ABSTRACT) || psiClass.hasTypeParameters()) {
+                return null;
+            }
+
+            PsiMethod[] constructors = psiClass.getConstructors();
+            if (constructors.length == 0) {
+                return "() -> new " + className + "()";
+            }
+            PsiMethod constructor = selectConstructor(constructors);
+            if (constructor == null || !constructor.hasModifierProperty(PsiModifier.PUBLIC)
+                    || constructor.isVarArgs() || constructor.getThrowsList().getReferencedTypes().length > 0) {
+                return null;
+            }
+
+            StringJoiner arguments = new StringJoiner(", ", "() -> new " + className + "(", ")");
+            for (PsiParameter parameter : constructor.getParameterList().getParameters()) {
+                String dependency = resolveInjectableType(parameter);
+                if (dependency == null) {
+                    return null;
+                }
+                String qualifier = InjectionCandidateResolver.qualifierValue(parameter);
+                arguments.add(qualifier != null
+                        ? "context.getBean(" + literal(qualifier) + ", " + dependency + ".class)"
+                        : "bean(context, " + dependency + ".class, " + literal(parameter.getName()) + ")");
+            }
+            return arguments.toString();
+        });
+    }
+
+    private PsiMethod selectConstructor(PsiMethod[] constructors) {
+        for (PsiMethod constructor : constructors) {
+            for (String annotation : AUTOWIRED_ANNOTATIONS) {
+                if (constructor.hasAnnotation(annotation)) {
+                    return constructor;
+                }
+            }
+        }
+        if (constructors.length == 1) {
+            return constructors[0];
+        }
+        for (PsiMethod constructor : constructors) {
+            if (!constructor.hasParameters()) {
+                return constructor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 只接受除限定符外无注解（@Value、@Lazy 等）、非泛型、可访问的类类型参数
+     */
+    private String resolveInjectableType(PsiParameter parameter) {
+        for (PsiAnnotation annotation : parameter.getAnnotations()) {
+            if (!QUALIFIER_ANNOTATIONS.contains(annotation.getQualifiedName())) {
+                return null;
+            }
+        }
+        if (!(parameter.getType() instanceof PsiClassType classType) || classType.getParameterCount() > 0) {
+            return null;
+        }
+        PsiClass dependency = classType.resolve();
+        if (!isAccessible(dependency) || dependency.hasTypeParameters()) {
+            return null;
+        }
+        return dependency.getQualifiedName();
+    }
+
+    private boolean isAccessible(PsiClass psiClass) {
+        if (psiClass == null || psiClass.getQualifiedName() == null
+                || !psiClass.hasModifierProperty(PsiModifier.PUBLIC)) {
+            return false;
+        }
+        PsiClass containingClass = psiClass.getContainingClass();
+        return containingClass == null
+                || (psiClass.hasModifierProperty(PsiModifier.STATIC) && isAccessible(containingClass));
+    }
+
+    private String registerDefinition(String beanName, String className, String... properties) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(INDENT).append("context.registerBeanDefinition(").append(literal(beanName))
+                .append(", definition(").append(literal(className)).append(", ").append(isLazy(beanName));
+        for (int i = 0; i + 1 < properties.length; i += 2) {
+            sb.append(",\n").append(INDENT).append("        ")
+                    .append(literal(properties[i])).append(", ").append(properties[i + 1]);
+        }
+        sb.append("));\n");
+        return sb.toString();
+    }
+
+    private boolean isLazy(String beanName) {
+        return frontierBeanNames.contains(beanName)
+                || lazyInitMode == LazyInitMode.TARGET_EAGER && !eagerBeanNames.contains(beanName);
+    }
+
+    private String render(String packageName, String className, Collection<String> registrations) {
+        StringBuilder sb = new StringBuilder();
+        if (packageName != null && !packageName.isEmpty()) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append("""
+                import org.springframework.beans.factory.config.RuntimeBeanReference;
+                import org.springframework.beans.factory.support.RootBeanDefinition;
+                import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+                import org.springframework.context.ApplicationContextInitializer;
+                import org.springframework.context.annotation.AnnotationConfigUtils;
+                import org.springframework.context.support.GenericApplicationContext;
+
+                /**
+                 * 由 LiteWorkspace 生成，注册与同名 XML 上下文相同的 Bean 集合，重新生成时会被覆盖
+                 */
+                """);
+        sb.append("public class ").append(className)
+                .append(" implements ApplicationContextInitializer<GenericApplicationContext> {\n\n");
+        sb.append("    @Override\n");
+        sb.append("    public void initialize(GenericApplicationContext context) {\n");
+        sb.append(INDENT).append("AnnotationConfigUtils.registerAnnotationConfigProcessors(context);\n\n");
+        for (String registration : registrations) {
+            sb.append(registration);
+        }
+        sb.append("    }\n\n");
+        sb.append("""
+                    private static RootBeanDefinition definition(String className, boolean lazyInit, Object... properties) {
+                        RootBeanDefinition definition = new RootBeanDefinition(className);
+                        definition.setLazyInit(lazyInit);
+                        for (int i = 0; i + 1 < properties.length; i += 2) {
+                            definition.getPropertyValues().add((String) properties[i], properties[i + 1]);
+                        }
+                        return definition;
+                    }
+
+                    private static <T> T bean(GenericApplicationContext context, Class<T> type, String parameterName) {
+                        // 与构造器自动装配一致：唯一候选（含 @Primary）优先，否则按参数名匹配
+                        T unique = context.getBeanProvider(type).getIfUnique();
+                        return unique != null ? unique : context.getBean(parameterName, type);
+                    }
+
+                    private static RootBeanDefinition mock(String className) {
+                        RootBeanDefinition definition = new RootBeanDefinition("org.mockito.Mockito");
+                        definition.setFactoryMethodName("mock");
+                        definition.getConstructorArgumentValues().addGenericArgumentValue(className);
+                        return definition;
+                    }
+                }
+                """);
+        return sb.toString();
+    }
+
+    private static String beanReference(String beanName) {
+        return "new RuntimeBeanReference(" + literal(beanName) + ")";
+    }
+
+    private static String literal(String value) {
+        if (value == null) {
+            return "null";
+        }
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -2,23 +2,57 @@ package org.example.liteworkspace.bean.engine;
 
 import org.example.liteworkspace.bean.core.BeanDefinition;
 import org.example.liteworkspace.bean.core.enums.BeanType;
+import org.example.liteworkspace.bean.core.enums.LazyInitMode;
 import org.example.liteworkspace.bean.core.context.LiteProjectContext;
+import com.intellij.psi.JavaPsiFacade;
 import org.example.liteworkspace.datasource.SqlSessionConfig;
 import org.example.liteworkspace.util.MapperMatcher;
 import org.example.liteworkspace.util.MybatisBeanDto;
+import org.example.liteworkspace.util.ReadActionUtil;
 
 import java.util.*;
 
 public class SpringXmlBuilder {
 
+    static final String MOCKITO = "org.mockito.Mockito";
+
     private final LiteProjectContext context;
+    private final LazyInitMode lazyInitMode;
+
+    /**
+     * 懒加载模式下需要保持 eager 的 Bean 名称
+     */
+    private final Set<String> eagerBeanNames = new HashSet<>();
+    /**
+     * 扫描预算耗尽时未展开的边界 Bean：其依赖没有被扫描，真实实例化必然缺少依赖，
+     * 因此测试类路径有 Mockito 时生成为 mock，否则只能懒加载，被注入时仍会启动失败
+     */
+    private final Set<String> frontierBeanNames = new HashSet<>();
+    private boolean mockFrontier;
 
     public SpringXmlBuilder(LiteProjectContext context) {
+        this(context, LazyInitMode.EAGER);
+    }
+
+    public SpringXmlBuilder(LiteProjectContext context, LazyInitMode lazyInitMode) {
         this.context = context;
+        this.lazyInitMode = lazyInitMode;
+    }
+
+    /**
+     * 生成的 XML 头是否需要 default-lazy-init="true"
+     */
+    public boolean isDefaultLazyInit() {
+        return lazyInitMode == LazyInitMode.TARGET_EAGER;
     }
 
     public Map<String, String> buildXmlMap(Collection<BeanDefinition> beans) {
         Map<String, String> xmlMap = new LinkedHashMap<>();
+        if (isDefaultLazyInit()) {
+            eagerBeanNames.addAll(resolveEagerBeanNames(context, beans));
+        }
+        frontierBeanNames.addAll(resolveFrontierBeanNames(beans));
+        mockFrontier = !frontierBeanNames.isEmpty() && isMockitoAvailable(context);
         // 1. 分组
         Map<BeanType, List<BeanDefinition>> grouped = new EnumMap<>(BeanType.class);
         for (BeanDefinition bean : beans) {
@@ -52,11 +86,79 @@ public class SpringXmlBuilder {
             return;
         }
         for (BeanDefinition bean : list) {
-            xmlMap.put(bean.getBeanName(), String.format("    <bean id=\"%s\" class=\"%s\"/>",
-                    bean.getBeanName(), bean.getClassName()));
+            if (mockFrontier && frontierBeanNames.contains(bean.getBeanName())) {
+                xmlMap.put(bean.getBeanName(), mockBeanXml(bean.getBeanName(), bean.getClassName()));
+                continue;
+            }
+            xmlMap.put(bean.getBeanName(), String.format("    <bean id=\"%s\" class=\"%s\"%s/>",
+                    bean.getBeanName(), bean.getClassName(), lazyInitAttribute(bean.getBeanName())));
         }
     }
 
+    /**
+     * 目标 Bean、其直接依赖以及必须立即初始化的 Bean 保持 eager，其余沿用 default-lazy-init
+     */
+    static Set<String> resolveEagerBeanNames(LiteProjectContext context, Collection<BeanDefinition> beans) {
+        String targetClassName = context.getTargetClassDto() != null
+                ? context.getTargetClassDto().getQualifiedName() : null;
+        Set<String> eagerClassNames = new HashSet<>();
+        for (BeanDefinition bean : beans) {
+            if (bean.getSourceDto() != null && Objects.equals(targetClassName, bean.getSourceDto().getQualifiedName())) {
+                eagerClassNames.add(targetClassName);
+                eagerClassNames.addAll(bean.getDependencyClassNames());
+            }
+        }
+        Set<String> eagerBeanNames = new HashSet<>();
+        for (BeanDefinition bean : beans) {
+            String sourceClassName = bean.getSourceDto() != null ? bean.getSourceDto().getQualifiedName() : null;
+            if (bean.isEagerRequired()
+                    || eagerClassNames.contains(bean.getClassName())
+                    || eagerClassNames.contains(sourceClassName)) {
+                eagerBeanNames.add(bean.getBeanName());
+            }
+        }
+        return eagerBeanNames;
+    }
+
+    /**
+     * 未展开依赖的边界 Bean；必须立即初始化的 Bean（如 BeanPostProcessor）保持真实实例
+     */
+    static Set<String> resolveFrontierBeanNames(Collection<BeanDefinition> beans) {
+        Set<String> frontierBeanNames = new HashSet<>();
+        for (BeanDefinition bean : beans) {
+            if (bean.isFrontier() && !bean.isEagerRequired()) {
+                frontierBeanNames.add(bean.getBeanName());
+            }
+        }
+        return frontierBeanNames;
+    }
+
+    /**
+     * 目标模块的类路径上是否有 Mockito
+     */
+    static boolean isMockitoAvailable(LiteProjectContext context) {
+        return ReadActionUtil.computeAsync(context.getProject(), () -> JavaPsiFacade.getInstance(context.getProject())
+                .findClass(MOCKITO, context.getResolveScope()) != null).join();
+    }
+
+    /**
+     * 以 Mockito mock 注册的 Bean
+     */
+    static String mockBeanXml(String beanName, String className) {
+        return String.format("""
+                    <bean id="%s" class="%s" factory-method="mock">
+                        <constructor-arg value="%s"/>
+                    </bean>
+                """, beanName, MOCKITO, className);
+    }
+
+    private String lazyInitAttribute(String beanName) {
+        if (frontierBeanNames.contains(beanName)) {
+            return " lazy-init=\"true\"";
+        }
+        return isDefaultLazyInit() && eagerBeanNames.contains(beanName) ? " lazy-init=\"false\"" : "";
+    }
+
     private void buildMyBatisBeans(Map<BeanType, List<BeanDefinition>> grouped,
                                    Map<String, String> xmlMap) {
         List<BeanDefinition> list = grouped.get(BeanType.MYBATIS);
@@ -75,50 +177,32 @@ public class SpringXmlBuilder {
             if (mybatisBeanDto == null) {
                 continue;
             }
-            String classpathPath = mybatisBeanDto.getXmlFilePath()
-                    .replace("\\", "/")  // 统一使用正斜杠
-                    .replaceFirst(".*src/(main|test)/resources/", "")  // 去掉资源目录前缀
-                    .replaceFirst("^/", "");  // 去掉可能的前导斜杠
-            allMapperXmlRelativePath.add("classpath:" + classpathPath);
+            allMapperXmlRelativePath.add(toClasspathLocation(mybatisBeanDto.getXmlFilePath()));
 
             String mapperBean = String.format("""
-                        <bean id="%s" class="org.mybatis.spring.mapper.MapperFactoryBean">
+                        <bean id="%s" class="org.mybatis.spring.mapper.MapperFactoryBean"%s>
                             <property name="mapperInterface" value="%s"/>
                             <property name="sqlSessionFactory" ref="%s"/>
                         </bean>
-                    """, beanName, daoClassName, mybatisBeanDto.getSqlSessionFactory());
+                    """, beanName, lazyInitAttribute(beanName), daoClassName, mybatisBeanDto.getSqlSessionFactory());
             xmlMap.put(beanName, mapperBean);
         }
 
-        if (context.getDatasourceConfig().isImported()) {
+        String datasourceImport = resolveDatasourceImport(context);
+        if (datasourceImport != null) {
             // 使用标准Spring import格式
-            String importPath = context.getDatasourceConfig().getImportPath();
-            String relativePath = importPath.replace(context.getProject().getBasePath() + "/", "");
             xmlMap.put("defaultDatasource",
-                    String.format("    <import resource=\"classpath:%s\"/>",
-                            relativePath.replace("src/test/resources/", "")));
+                    String.format("    <import resource=\"%s\"/>", datasourceImport));
         } else {
             // 使用模板方式填充默认配置
             xmlMap.putAll(context.getDatasourceConfig().getDefaultDatasource());
         }
 
         // 所有sqlSessionFactory配置列表
-        List<SqlSessionConfig> sqlSessionConfigList = context.getSqlSessionConfigList();
-        for (SqlSessionConfig sessionConfig : sqlSessionConfigList) {
+        for (Map.Entry<SqlSessionConfig, List<String>> entry
+                : matchSqlSessionMapperLocations(context, allMapperXmlRelativePath).entrySet()) {
+            SqlSessionConfig sessionConfig = entry.getKey();
             String beanName = sessionConfig.getName();
-            String dataSourceBeanId = sessionConfig.getDataSourceBeanId();
-            List<String> mapperLocations = sessionConfig.getMapperLocations();
-            // 这个sqlSession 没有配置扫描路径
-            if (dataSourceBeanId == null || mapperLocations == null || mapperLocations.isEmpty()) {
-                continue;
-            }
-
-            List<String> matchedPaths = MapperMatcher
-                    .matchMapperPaths(new ArrayList<>(allMapperXmlRelativePath), sessionConfig.getMapperLocations());
-            // 这个sqlSession 匹配的mapper,即当前类不依赖这个数据源
-            if (matchedPaths.isEmpty()) {
-                continue;
-            }
 
             // 构造SqlSessionFactory,把需要扫描的mapper.xml 以classpath的形式定义
             StringBuilder factory = new StringBuilder();
@@ -127,8 +211,8 @@ public class SpringXmlBuilder {
                             <property name="dataSource" ref="%s"/>
                             <property name="mapperLocations">
                                 <list>
-                    """, beanName, dataSourceBeanId));
-            for (String path : matchedPaths) {
+                    """, beanName, sessionConfig.getDataSourceBeanId()));
+            for (String path : entry.getValue()) {
                 factory.append("            <value>").append(path).append("</value>\n");
             }
 
@@ -141,4 +225,52 @@ public class SpringXmlBuilder {
             xmlMap.put(beanName, factory.toString());
         }
     }
+
+    /**
+     * mapper.xml 的磁盘路径转换为 classpath 形式
+     */
+    static String toClasspathLocation(String xmlFilePath) {
+        String classpathPath = xmlFilePath
+                .replace("\\", "/")  // 统一使用正斜杠
+                .replaceFirst(".*src/(main|test)/resources/", "")  // 去掉资源目录前缀
+                .replaceFirst("^/", "");  // 去掉可能的前导斜杠
+        return "classpath:" + classpathPath;
+    }
+
+    /**
+     * 导入的数据源 XML（classpath 形式）；未配置 configs/datasource.xml 时返回 null，使用默认数据源
+     */
+    static String resolveDatasourceImport(LiteProjectContext context) {
+        if (!context.getDatasourceConfig().isImported()) {
+            return null;
+        }
+        String importPath = context.getDatasourceConfig().getImportPath();
+        String relativePath = importPath.replace(context.getProject().getBasePath() + "/", "");
+        return "classpath:" + relativePath.replace("src/test/resources/", "");
+    }
+
+    /**
+     * 计算每个 SqlSessionFactory 需要加载的 mapper.xml；不依赖该数据源的 SqlSessionFactory 不会出现在结果中
+     */
+    static Map<SqlSessionConfig, List<String>> matchSqlSessionMapperLocations(LiteProjectContext context,
+                                                                              Collection<String> mapperXmlClasspaths) {
+        Map<SqlSessionConfig, List<String>> result = new LinkedHashMap<>();
+        for (SqlSessionConfig sessionConfig : context.getSqlSessionConfigList()) {
+            String dataSourceBeanId = sessionConfig.getDataSourceBeanId();
+            List<String> mapperLocations = sessionConfig.getMapperLocations();
+            // 这个sqlSession 没有配置扫描路径
+            if (dataSourceBeanId == null || mapperLocations == null || mapperLocations.isEmpty()) {
+                continue;
+            }
+
+            List<String> matchedPaths = MapperMatcher
+                    .matchMapperPaths(new ArrayList<>(mapperXmlClasspaths), mapperLocations);
+            // 这个sqlSession 匹配的mapper,即当前类不依赖这个数据源
+            if (matchedPaths.isEmpty()) {
+                continue;
+            }
+            result.put(sessionConfig, matchedPaths);
+        }
+        return result;
+    }
 }
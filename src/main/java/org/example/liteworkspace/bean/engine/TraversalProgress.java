@@ -0,0 +1,93 @@
+package org.example.liteworkspace.bean.engine;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import org.example.liteworkspace.bean.core.BeanDefinition;
+import org.example.liteworkspace.event.EventBus;
+import org.example.liteworkspace.event.PluginEvents;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bean 遍历的进度与取消检查。
+ * <p>
+ * 每个节点开始前检查取消，进度按 已访问 / (已访问 + 待处理) 估算并映射到进度条的 Bean 扫描区间；
+ * 每登记一个 Bean 即发布 {@link PluginEvents.BeanDiscoveredEvent}，工具窗口据此实时展示部分结果。
+ * 每次遍历尝试使用一个新实例，事件带上扫描来源与尝试序号，重新开始后旧尝试的结果可被识别并丢弃。
+ */
+public class TraversalProgress {
+
+    private final ProgressIndicator indicator;
+    private final EventBus eventBus;
+    private final String source;
+    private final int attempt;
+    private final double startFraction;
+    private final double endFraction;
+    private final AtomicInteger visited = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger(1);
+
+    /**
+     * @param indicator     当前进度条，可为 null
+     * @param eventBus      事件总线，可为 null
+     * @param source        事件来源，每次扫描唯一
+     * @param attempt       遍历尝试序号，从 1 开始
+     * @param startFraction 遍历开始时的进度
+     * @param endFraction   遍历结束时的进度
+     */
+    public TraversalProgress(ProgressIndicator indicator, EventBus eventBus, String source, int attempt,
+                             double startFraction, double endFraction) {
+        this.indicator = indicator;
+        this.eventBus = eventBus;
+        this.source = source;
+        this.attempt = attempt;
+        this.startFraction = startFraction;
+        this.endFraction = endFraction;
+    }
+
+    /**
+     * 新加入 count 个待处理节点
+     */
+    public void enqueued(int count) {
+        pending.addAndGet(count);
+    }
+
+    /**
+     * 开始处理一个节点；已取消时抛出 ProcessCanceledException
+     */
+    public void nodeStarted(String className) {
+        ProgressManager.checkCanceled();
+        int done = visited.incrementAndGet();
+        int remaining = Math.max(0, pending.decrementAndGet());
+        double ratio = (double) done / (done + remaining);
+        if (indicator != null) {
+            if (!indicator.isIndeterminate()) {
+                indicator.setFraction(startFraction + (endFraction - startFraction) * ratio);
+            }
+            indicator.setText2(String.format("扫描 Bean 依赖 (%d/%d): %s", done, done + remaining, className));
+        }
+        if (eventBus != null) {
+            eventBus.publish(new PluginEvents.ScanProgressEvent(source, ratio, className));
+        }
+    }
+
+    /**
+     * 待处理节点已被访问过，直接跳过
+     */
+    public void nodeSkipped() {
+        pending.decrementAndGet();
+    }
+
+    /**
+     * 登记了一个 Bean
+     */
+    public void beanDiscovered(BeanDefinition definition, int depth) {
+        if (eventBus != null) {
+            eventBus.publish(new PluginEvents.BeanDiscoveredEvent(source, definition.getBeanName(),
+                    definition.getClassName(), String.valueOf(definition.getType()), depth, definition.isFrontier(), attempt));
+        }
+    }
+
+    public int getVisited() {
+        return visited.get();
+    }
+}
@@ -0,0 +1,392 @@
+package org.example.liteworkspace.cache;
+
+import com.google.gson.JsonSyntaxException;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.example.liteworkspace.util.ClassFileReader;
+import org.example.liteworkspace.util.LogUtil;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 依赖 jar 的 Spring 相关性摘要（应用级服务）
+ * <p>
+ * 每个 jar 按路径、修改时间与大小只分析一次，结果持久化到 {@code ~/.liteworkspace_cache/library_summaries.json}，
+ * 在项目之间共享。分析直接读取 zip 条目与 class 文件常量池，不经过 PSI 与 VFS：
+ * <ul>
+ *   <li>类上是否有 Spring 构造型注解或 @Configuration</li>
+ *   <li>是否包含 MyBatis Mapper XML、spring.factories、AutoConfiguration.imports</li>
+ *   <li>类级注解全限定名的布隆过滤器，用于快速排除不含某注解的 jar</li>
+ * </ul>
+ * 自定义构造型注解若定义在其他 jar 中，无法在单个 jar 内识别，相关 jar 需借助 spring.components 等元数据判断。
+ * <p>
+ * 同一 jar 的并发请求只分析一次；分析失败同样记录（视为相关），jar 未变化前不再重试。
+ * 加载持久化文件时剔除已不存在或已变化的 jar，文件不会随依赖升级无限增长。
+ */
+public class LibrarySummaryIndex {
+
+    private static final int FORMAT_VERSION = 2;
+    private static final String STORAGE_FILE = "library_summaries.json";
+
+    private static final String SPRING_FACTORIES = "META-INF/spring.factories";
+    private static final String SPRING_COMPONENTS = "META-INF/spring.components";
+    private static final String AUTO_CONFIGURATION_IMPORTS =
+            "META-INF/spring/org.springframework.boot.autoconfigure.AutoConfiguration.imports";
+    private static final String CONFIGURATION_ANNOTATION = "org.springframework.context.annotation.Configuration";
+
+    private static final Set<String> STEREOTYPE_ANNOTATIONS = Set.of(
+            "org.springframework.stereotype.Component",
+            "org.springframework.stereotype.Service",
+            "org.springframework.stereotype.Repository",
+            "org.springframework.stereotype.Controller",
+            "org.springframework.web.bind.annotation.RestController",
+            "org.springframework.web.bind.annotation.ControllerAdvice",
+            "org.springframework.web.bind.annotation.RestControllerAdvice",
+            "org.springframework.boot.autoconfigure.AutoConfiguration",
+            "org.springframework.boot.autoconfigure.SpringBootApplication",
+            "org.apache.ibatis.annotations.Mapper"
+    );
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    private final Path storageFile;
+    private final Map<String, LibrarySummary> summaries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<LibrarySummary>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+    private volatile boolean dirty;
+
+    public LibrarySummaryIndex() {
+        this(Paths.get(System.getProperty("user.home"), ".liteworkspace_cache", STORAGE_FILE));
+    }
+
+    LibrarySummaryIndex(Path storageFile) {
+        this.storageFile = storageFile;
+        load();
+    }
+
+    public static LibrarySummaryIndex getInstance() {
+        return ApplicationManager.getApplication().getService(LibrarySummaryIndex.class);
+    }
+
+    /**
+     * 获取库根（jar 根目录）的摘要；非 jar 的 class 目录返回 null，调用方应视为相关
+     */
+    public LibrarySummary getSummary(VirtualFile libraryRoot) {
+        VirtualFile jar = VfsUtilCore.getVirtualFileForJar(libraryRoot);
+        if (jar == null || !jar.isInLocalFileSystem()) {
+            return null;
+        }
+        File jarFile = new File(jar.getPath());
+        return jarFile.isFile() ? getSummary(jarFile) : null;
+    }
+
+    public LibrarySummary getSummary(File jarFile) {
+        LibrarySummary cached = getCachedSummary(jarFile);
+        if (cached != null) {
+            return cached;
+        }
+
+        // 同一 jar 只由第一个请求者分析，其余请求等待同一结果
+        String key = jarFile.getAbsolutePath();
+        CompletableFuture<LibrarySummary> created = new CompletableFuture<>();
+        CompletableFuture<LibrarySummary> pending = inFlight.computeIfAbsent(key, k -> created);
+        if (pending != created) {
+            return pending.join();
+        }
+        try {
+            long lastModified = jarFile.lastModified();
+            long length = jarFile.length();
+            long start = System.currentTimeMillis();
+            LibrarySummary summary = analyze(jarFile, lastModified, length);
+            summaries.put(key, summary);
+            dirty = true;
+            LogUtil.debug("分析依赖 jar {} 完成，Spring 相关: {}, Mapper XML: {}, 耗时: {} ms",
+                    jarFile.getName(), summary.isSpringRelevant(), summary.hasMapperXml(), System.currentTimeMillis() - start);
+            created.complete(summary);
+            return summary;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    /**
+     * 已有且仍然有效的摘要，不触发分析；非 jar 或无摘要时返回 null
+     */
+    public LibrarySummary getCachedSummary(VirtualFile libraryRoot) {
+        VirtualFile jar = VfsUtilCore.getVirtualFileForJar(libraryRoot);
+        return jar != null && jar.isInLocalFileSystem() ? getCachedSummary(new File(jar.getPath())) : null;
+    }
+
+    private LibrarySummary getCachedSummary(File jarFile) {
+        LibrarySummary cached = summaries.get(jarFile.getAbsolutePath());
+        return cached != null && cached.matches(jarFile) ? cached : null;
+    }
+
+    /**
+     * 持有读锁的调用方使用：返回已有摘要，没有时在后台线程分析该 jar 并返回 null（调用方视为相关），
+     * 下一次查询即可用上摘要
+     */
+    public LibrarySummary getCachedOrAnalyzeInBackground(VirtualFile libraryRoot) {
+        LibrarySummary cached = getCachedSummary(libraryRoot);
+        if (cached == null) {
+            analyzeInBackground(libraryRoot);
+        }
+        return cached;
+    }
+
+    private void analyzeInBackground(VirtualFile libraryRoot) {
+        VirtualFile jar = VfsUtilCore.getVirtualFileForJar(libraryRoot);
+        if (jar == null || !jar.isInLocalFileSystem()) {
+            return;
+        }
+        File jarFile = new File(jar.getPath());
+        String key = jarFile.getAbsolutePath();
+        if (!queued.add(key)) {
+            return;
+        }
+        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+            try {
+                if (jarFile.isFile()) {
+                    getSummary(jarFile);
+                    flush();
+                }
+            } finally {
+                queued.remove(key);
+            }
+        });
+    }
+
+    /**
+     * 把新分析的摘要写回磁盘，在一批查询结束后调用
+     */
+    public synchronized void flush() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        Storage storage = new Storage();
+        storage.version = FORMAT_VERSION;
+        storage.summaries = new HashMap<>(summaries);
+        try {
+            Files.createDirectories(storageFile.getParent());
+            Files.writeString(storageFile, GsonProvider.gson.toJson(storage));
+        } catch (IOException e) {
+            dirty = true;
+            LogUtil.warn("保存依赖 jar 摘要失败: {}", e.getMessage());
+        }
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        return factory;
+    }
+
+    private void load() {
+        if (!Files.exists(storageFile)) {
+            return;
+        }
+        try {
+            Storage storage = GsonProvider.gson.fromJson(Files.readString(storageFile), Storage.class);
+            if (storage != null && storage.version == FORMAT_VERSION && storage.summaries != null) {
+                // 剔除已删除或已变化的 jar（如升级后的旧版本），下次 flush 时写回
+                storage.summaries.forEach((path, summary) -> {
+                    if (summary != null && summary.matches(new File(path))) {
+                        summaries.put(path, summary);
+                    }
+                });
+                dirty = summaries.size() != storage.summaries.size();
+                LogUtil.info("加载依赖 jar 摘要 {} 个，剔除失效 {} 个", summaries.size(),
+                        storage.summaries.size() - summaries.size());
+            }
+        } catch (IOException | JsonSyntaxException e) {
+            LogUtil.warn("读取依赖 jar 摘要失败，将重新分析: {}", e.getMessage());
+        }
+    }
+
+    private static LibrarySummary analyze(File jarFile, long lastModified, long length) {
+        LibrarySummary summary = new LibrarySummary(lastModified, length);
+        try (ZipFile zip = new ZipFile(jarFile)) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                String name = entry.getName();
+                if (name.endsWith(".class")) {
+                    if (!name.endsWith("module-info.class")) {
+                        try (InputStream is = zip.getInputStream(entry)) {
+                            for (String annotation : ClassFileReader.readClassAnnotations(is.readAllBytes())) {
+                                summary.addAnnotation(annotation);
+                            }
+                        } catch (IOException e) {
+                            // 个别 class 文件格式异常时只跳过该文件
+                            LogUtil.debug("解析 {}!{} 失败: {}", jarFile.getName(), name, e.getMessage());
+                        }
+                    }
+                } else if (SPRING_FACTORIES.equals(name)) {
+                    summary.springFactories = true;
+                } else if (AUTO_CONFIGURATION_IMPORTS.equals(name)) {
+                    summary.autoConfigurationImports = true;
+                } else if (SPRING_COMPONENTS.equals(name)) {
+                    summary.stereotypes = true;
+                } else if (name.endsWith(".xml") && !name.startsWith("META-INF/") && !summary.mapperXml) {
+                    try (InputStream is = zip.getInputStream(entry)) {
+                        summary.mapperXml = isMapperXml(is);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LogUtil.warn("分析依赖 jar {} 失败，视为相关: {}", jarFile.getName(), e.getMessage());
+            LibrarySummary failed = new LibrarySummary(lastModified, length);
+            failed.failed = true;
+            return failed;
+        }
+        return summary;
+    }
+
+    /**
+     * 按 DOCTYPE 或根元素判断是否是 MyBatis Mapper XML；只读到根元素为止，不加载外部 DTD，
+     * 文件头的许可证注释再长也不影响判断
+     */
+    static boolean isMapperXml(InputStream is) {
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(is);
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.DTD) {
+                    String doctype = reader.getText();
+                    if (doctype != null && doctype.contains("mybatis.org//DTD Mapper")) {
+                        return true;
+                    }
+                } else if (event == XMLStreamConstants.START_ELEMENT) {
+                    return "mapper".equals(reader.getLocalName());
+                }
+            }
+        } catch (XMLStreamException e) {
+            // 不是格式正确的 XML
+            return false;
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // 关闭失败不影响结果
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 持久化格式
+     */
+    private static class Storage {
+        private int version;
+        private Map<String, LibrarySummary> summaries;
+    }
+
+    /**
+     * 单个 jar 的摘要
+     */
+    public static class LibrarySummary {
+        private static final int BLOOM_BITS = 2048;
+
+        private long lastModified;
+        private long length;
+        private boolean stereotypes;
+        private boolean configuration;
+        private boolean mapperXml;
+        private boolean springFactories;
+        private boolean autoConfigurationImports;
+        // 分析失败（如 jar 损坏）时保守地视为包含一切
+        private boolean failed;
+        private long[] annotationBloom = new long[BLOOM_BITS / 64];
+
+        LibrarySummary(long lastModified, long length) {
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        private void addAnnotation(String annotationFqn) {
+            if (CONFIGURATION_ANNOTATION.equals(annotationFqn)) {
+                configuration = true;
+            } else if (STEREOTYPE_ANNOTATIONS.contains(annotationFqn)) {
+                stereotypes = true;
+            }
+            int hash1 = annotationFqn.hashCode();
+            int hash2 = mix(hash1);
+            for (int i = 0; i < 3; i++) {
+                int bit = Math.floorMod(hash1 + i * hash2, BLOOM_BITS);
+                annotationBloom[bit >>> 6] |= 1L << (bit & 63);
+            }
+        }
+
+        /**
+         * 可能含有以该注解标注的类；返回 false 时一定不含
+         */
+        public boolean mightContainAnnotation(String annotationFqn) {
+            if (failed) {
+                return true;
+            }
+            int hash1 = annotationFqn.hashCode();
+            int hash2 = mix(hash1);
+            for (int i = 0; i < 3; i++) {
+                int bit = Math.floorMod(hash1 + i * hash2, BLOOM_BITS);
+                if ((annotationBloom[bit >>> 6] & (1L << (bit & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int mix(int hash) {
+            hash ^= hash >>> 16;
+            hash *= 0x85ebca6b;
+            hash ^= hash >>> 13;
+            return hash | 1;
+        }
+
+        /**
+         * 是否可能向 Spring 上下文贡献 Bean
+         */
+        public boolean isSpringRelevant() {
+            return failed || stereotypes || configuration || springFactories || autoConfigurationImports;
+        }
+
+        /**
+         * 摘要是否仍对应当前的 jar 文件
+         */
+        private boolean matches(File jarFile) {
+            return jarFile.isFile() && lastModified == jarFile.lastModified() && length == jarFile.length();
+        }
+
+        public boolean isFailed() { return failed; }
+        public boolean hasStereotypes() { return failed || stereotypes; }
+        public boolean hasConfiguration() { return failed || configuration; }
+        public boolean hasMapperXml() { return failed || mapperXml; }
+        public boolean hasSpringFactories() { return failed || springFactories; }
+        public boolean hasAutoConfigurationImports() { return failed || autoConfigurationImports; }
+    }
+}
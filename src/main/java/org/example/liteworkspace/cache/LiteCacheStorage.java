@@ -23,8 +23,14 @@ public class LiteCacheStorage {
     private final Path cacheDir;
 
     public LiteCacheStorage(Project project) {
-        String projectId = DigestUtils.md5Hex(project.getBasePath());
-        this.cacheDir = Paths.get(System.getProperty("user.home"), ".liteworkspace_cache", projectId);
+        this(Paths.get(System.getProperty("user.home"), ".liteworkspace_cache", DigestUtils.md5Hex(project.getBasePath())));
+    }
+
+    /**
+     * 直接指定缓存目录，供基准测试等无 Project 的场景使用
+     */
+    LiteCacheStorage(Path cacheDir) {
+        this.cacheDir = cacheDir;
         try {
             Files.createDirectories(cacheDir);
         } catch (IOException e) {
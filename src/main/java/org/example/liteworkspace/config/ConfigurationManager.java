@@ -5,6 +5,9 @@ import com.intellij.openapi.components.PersistentStateComponent;
 import com.intellij.openapi.components.State;
 import com.intellij.openapi.components.Storage;
 import com.intellij.openapi.project.Project;
+import org.example.liteworkspace.bean.core.enums.CompileBackend;
+import org.example.liteworkspace.bean.core.enums.ContextOutputFormat;
+import org.example.liteworkspace.bean.core.enums.LazyInitMode;
 import org.example.liteworkspace.exception.ExceptionHandler;
 import org.example.liteworkspace.util.LogUtil;
 import org.jetbrains.annotations.NotNull;
@@ -41,6 +44,15 @@ public class ConfigurationManager implements PersistentStateComponent<Configurat
         public int maxScanDepth = 10;
         public boolean excludeTestClasses = true;
         
+        // 生成配置
+        public String lazyInitMode = LazyInitMode.EAGER.name();
+        public String contextOutputFormat = ContextOutputFormat.XML.name();
+        
+        // 运行配置
+        public boolean compileClosure = false; // 只编译扫描得到的 Bean 闭包中过期的源文件
+        public String compileBackend = CompileBackend.JPS.name();
+        public int maxRepairIterations = 5; // 上下文自动修复循环最多运行次数
+        
         // 缓存配置
         public boolean enableCache = true;
         public long cacheExpireTime = 30 * 60 * 1000; // 30分钟
@@ -126,6 +138,40 @@ public class ConfigurationManager implements PersistentStateComponent<Configurat
             hasErrors = true;
         }
         
+        // 验证懒加载模式
+        try {
+            LazyInitMode.valueOf(state.lazyInitMode);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            LogUtil.warn("懒加载模式无效，使用默认值");
+            state.lazyInitMode = LazyInitMode.EAGER.name();
+            hasErrors = true;
+        }
+        
+        // 验证上下文输出形式
+        try {
+            ContextOutputFormat.valueOf(state.contextOutputFormat);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            LogUtil.warn("上下文输出形式无效，使用默认值");
+            state.contextOutputFormat = ContextOutputFormat.XML.name();
+            hasErrors = true;
+        }
+        
+        // 验证编译方式
+        try {
+            CompileBackend.valueOf(state.compileBackend);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            LogUtil.warn("编译方式无效，使用默认值");
+            state.compileBackend = CompileBackend.JPS.name();
+            hasErrors = true;
+        }
+
+        // 验证自动修复轮数
+        if (state.maxRepairIterations <= 0 || state.maxRepairIterations > 20) {
+            LogUtil.warn("自动修复轮数无效，使用默认值");
+            state.maxRepairIterations = 5;
+            hasErrors = true;
+        }
+
         // 验证线程池大小
         if (state.threadPoolSize <= 0) {
             LogUtil.warn("线程池大小无效，使用默认值");
@@ -201,6 +247,11 @@ public class ConfigurationManager implements PersistentStateComponent<Configurat
         copy.scanTimeout = original.scanTimeout;
         copy.maxScanDepth = original.maxScanDepth;
         copy.excludeTestClasses = original.excludeTestClasses;
+        copy.lazyInitMode = original.lazyInitMode;
+        copy.contextOutputFormat = original.contextOutputFormat;
+        copy.compileClosure = original.compileClosure;
+        copy.compileBackend = original.compileBackend;
+        copy.maxRepairIterations = original.maxRepairIterations;
         copy.enableCache = original.enableCache;
         copy.cacheExpireTime = original.cacheExpireTime;
         copy.maxCacheSize = original.maxCacheSize;
@@ -260,6 +311,11 @@ public class ConfigurationManager implements PersistentStateComponent<Configurat
     public int getScanTimeout() { return state.scanTimeout; }
     public int getMaxScanDepth() { return state.maxScanDepth; }
     public boolean isExcludeTestClasses() { return state.excludeTestClasses; }
+    public LazyInitMode getLazyInitMode() { return LazyInitMode.valueOf(state.lazyInitMode); }
+    public ContextOutputFormat getContextOutputFormat() { return ContextOutputFormat.valueOf(state.contextOutputFormat); }
+    public boolean isCompileClosure() { return state.compileClosure; }
+    public CompileBackend getCompileBackend() { return CompileBackend.valueOf(state.compileBackend); }
+    public int getMaxRepairIterations() { return state.maxRepairIterations; }
     public boolean isEnableCache() { return state.enableCache; }
     public long getCacheExpireTime() { return state.cacheExpireTime; }
     public int getMaxCacheSize() { return state.maxCacheSize; }
@@ -314,6 +370,26 @@ public class ConfigurationManager implements PersistentStateComponent<Configurat
         updateConfiguration(() -> state.excludeTestClasses = excludeTestClasses);
     }
     
+    public void setLazyInitMode(LazyInitMode lazyInitMode) {
+        updateConfiguration(() -> state.lazyInitMode = lazyInitMode.name());
+    }
+    
+    public void setContextOutputFormat(ContextOutputFormat contextOutputFormat) {
+        updateConfiguration(() -> state.contextOutputFormat = contextOutputFormat.name());
+    }
+    
+    public void setCompileClosure(boolean compileClosure) {
+        updateConfiguration(() -> state.compileClosure = compileClosure);
+    }
+    
+    public void setCompileBackend(CompileBackend compileBackend) {
+        updateConfiguration(() -> state.compileBackend = compileBackend.name());
+    }
+    
+    public void setMaxRepairIterations(int maxRepairIterations) {
+        updateConfiguration(() -> state.maxRepairIterations = maxRepairIterations);
+    }
+    
     public void setEnableCache(boolean enableCache) {
         updateConfiguration(() -> state.enableCache = enableCache);
     }
@@ -13,6 +13,9 @@ import com.intellij.ui.components.JBScrollPane;
 import com.intellij.ui.components.JBTabbedPane;
 import com.intellij.util.ui.FormBuilder;
 import com.intellij.util.ui.JBUI;
+import org.example.liteworkspace.bean.core.enums.CompileBackend;
+import org.example.liteworkspace.bean.core.enums.ContextOutputFormat;
+import org.example.liteworkspace.bean.core.enums.LazyInitMode;
 import org.example.liteworkspace.event.EventBus;
 import org.example.liteworkspace.event.PluginEvents;
 import org.example.liteworkspace.service.ConfigurationService;
@@ -58,6 +61,7 @@ public class EnhancedLiteWorkspaceSettingsConfigurable implements Configurable {
         BASIC("基本设置", "基础配置选项"),
         API("API设置", "外部服务API配置"),
         PERFORMANCE("性能设置", "性能优化相关配置"),
+        GENERATION("生成与运行", "测试上下文生成、编译与自动修复配置"),
         ADVANCED("高级设置", "高级和实验性配置");
         
         private final String displayName;
@@ -108,6 +112,13 @@ public class EnhancedLiteWorkspaceSettingsConfigurable implements Configurable {
     private JCheckBox enableSmartCacheCheckBox;
     private JTextField memoryLimitField;
     
+    // 生成与运行设置组件
+    private JComboBox<LazyInitMode> lazyInitModeComboBox;
+    private JComboBox<ContextOutputFormat> contextOutputFormatComboBox;
+    private JCheckBox compileClosureCheckBox;
+    private JComboBox<CompileBackend> compileBackendComboBox;
+    private JSpinner maxRepairIterationsSpinner;
+    
     // 高级设置组件
     private JTextField logLevelField;
     private JCheckBox enableDebugModeCheckBox;
@@ -142,7 +153,7 @@ public class EnhancedLiteWorkspaceSettingsConfigurable implements Configurable {
      */
     private EventBus getEventBus() {
         if (eventBus == null) {
-            eventBus = new EventBus(project);
+            eventBus = project != null ? EventBus.getInstance(project) : new EventBus(null);
         }
         return eventBus;
     }
@@ -173,6 +184,7 @@ public class EnhancedLiteWorkspaceSettingsConfigurable implements Configurable {
         createBasicSettingsTab();
         createApiSettingsTab();
         createPerformanceSettingsTab();
+        createGenerationSettingsTab();
         createAdvancedSettingsTab();
         
         mainPanel.add(tabbedPane, BorderLayout.CENTER);
@@ -304,6 +316,36 @@ public class EnhancedLiteWorkspaceSettingsConfigurable implements Configurable {
         tabbedPane.addTab(ConfigCategory.PERFORMANCE.getDisplayName(), panel);
     }
     
+    /**
+     * 创建生成与运行设置标签页
+     */
+    private void createGenerationSettingsTab() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        panel.setBorder(JBUI.Borders.empty(10));
+        
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = JBUI.insets(5);
+        gbc.anchor = GridBagConstraints.WEST;
+        
+        // 上下文生成
+        addConfigComponent(panel, "懒加载策略:", lazyInitModeComboBox = new JComboBox<>(LazyInitMode.values()), 
+                          "EAGER：所有 Bean 立即初始化；TARGET_EAGER：只有目标 Bean 及其直接依赖立即初始化", gbc, 0);
+        addConfigComponent(panel, "上下文输出形式:", contextOutputFormatComboBox = new JComboBox<>(ContextOutputFormat.values()), 
+                          "XML：测试类加载生成的 XML；INITIALIZER：额外生成 ApplicationContextInitializer（不支持自动修复）", gbc, 1);
+        
+        // 编译与运行
+        addConfigCheckbox(panel, "只编译 Bean 闭包", compileClosureCheckBox = new JCheckBox(), 
+                         "RunOnDemand 只编译扫描得到的 Bean 闭包中过期的源文件", gbc, 2);
+        addConfigComponent(panel, "编译方式:", compileBackendComboBox = new JComboBox<>(CompileBackend.values()), 
+                          "JPS：完整构建；IN_MEMORY：进程内编译到内存（启用注解处理的模块仍走 JPS）", gbc, 3);
+        
+        // 自动修复
+        addConfigComponent(panel, "自动修复最多轮数:", maxRepairIterationsSpinner = new JSpinner(new SpinnerNumberModel(5, 1, 20, 1)), 
+                          "上下文自动修复循环最多运行的次数", gbc, 4);
+        
+        tabbedPane.addTab(ConfigCategory.GENERATION.getDisplayName(), panel);
+    }
+    
     /**
      * 创建高级设置标签页
      */
@@ -420,6 +462,24 @@ public class EnhancedLiteWorkspaceSettingsConfigurable implements Configurable {
         parent.add(field, gbc);
     }
     
+    /**
+     * 添加下拉框、微调框等其他配置组件
+     */
+    private void addConfigComponent(JPanel parent, String labelText, JComponent component, 
+                                    String tooltip, GridBagConstraints gbc, int row) {
+        gbc.gridx = 0;
+        gbc.gridy = row;
+        gbc.gridwidth = 1;
+        gbc.weightx = 0;
+        gbc.fill = GridBagConstraints.NONE;
+        parent.add(new JLabel(labelText), gbc);
+        
+        gbc.gridx = 1;
+        gbc.weightx = 1.0;
+        component.setToolTipText(tooltip);
+        parent.add(component, gbc);
+    }
+    
     /**
      * 添加配置复选框
      */
@@ -496,6 +556,13 @@ public class EnhancedLiteWorkspaceSettingsConfigurable implements Configurable {
         cacheSizeSlider.addChangeListener(e -> markModified());
         scanDepthSlider.addChangeListener(e -> markModified());
         
+        // 生成与运行设置
+        lazyInitModeComboBox.addActionListener(e -> markModified());
+        contextOutputFormatComboBox.addActionListener(e -> markModified());
+        compileClosureCheckBox.addActionListener(e -> markModified());
+        compileBackendComboBox.addActionListener(e -> markModified());
+        maxRepairIterationsSpinner.addChangeListener(e -> markModified());
+        
         // 标签页切换时更新预览
         tabbedPane.addChangeListener(e -> updateConfigurationPreview());
     }
@@ -543,6 +610,14 @@ public class EnhancedLiteWorkspaceSettingsConfigurable implements Configurable {
         preview.append("智能缓存: ").append(enableSmartCacheCheckBox.isSelected()).append("\n");
         preview.append("内存限制: ").append(memoryLimitField.getText()).append("MB\n\n");
         
+        // 生成与运行设置
+        preview.append("## 生成与运行\n");
+        preview.append("懒加载策略: ").append(lazyInitModeComboBox.getSelectedItem()).append("\n");
+        preview.append("上下文输出形式: ").append(contextOutputFormatComboBox.getSelectedItem()).append("\n");
+        preview.append("只编译 Bean 闭包: ").append(compileClosureCheckBox.isSelected()).append("\n");
+        preview.append("编译方式: ").append(compileBackendComboBox.getSelectedItem()).append("\n");
+        preview.append("自动修复最多轮数: ").append(maxRepairIterationsSpinner.getValue()).append("\n\n");
+        
         // 高级设置
         preview.append("## 高级设置\n");
         preview.append("日志级别: ").append(logLevelField.getText()).append("\n");
@@ -601,6 +676,14 @@ public class EnhancedLiteWorkspaceSettingsConfigurable implements Configurable {
             enableSmartCacheCheckBox.setSelected(true); // 默认值
             memoryLimitField.setText("512"); // 默认值
             
+            // 生成与运行设置
+            ConfigurationManager configManager = ConfigurationManager.getInstance();
+            lazyInitModeComboBox.setSelectedItem(configManager.getLazyInitMode());
+            contextOutputFormatComboBox.setSelectedItem(configManager.getContextOutputFormat());
+            compileClosureCheckBox.setSelected(configManager.isCompileClosure());
+            compileBackendComboBox.setSelectedItem(configManager.getCompileBackend());
+            maxRepairIterationsSpinner.setValue(configManager.getMaxRepairIterations());
+            
             // 高级设置
             logLevelField.setText("INFO"); // 默认值
             enableDebugModeCheckBox.setSelected(false); // 默认值
@@ -666,6 +749,16 @@ public class EnhancedLiteWorkspaceSettingsConfigurable implements Configurable {
             
             // 使用配置管理器保存配置
             ConfigurationManager configManager = ConfigurationManager.getInstance();
+            configManager.setLazyInitMode((LazyInitMode) lazyInitModeComboBox.getSelectedItem());
+            configManager.setContextOutputFormat((ContextOutputFormat) contextOutputFormatComboBox.getSelectedItem());
+            configManager.setCompileClosure(compileClosureCheckBox.isSelected());
+            configManager.setCompileBackend((CompileBackend) compileBackendComboBox.getSelectedItem());
+            configManager.setMaxRepairIterations((Integer) maxRepairIterationsSpinner.getValue());
+            config.put("lazy.init.mode", String.valueOf(lazyInitModeComboBox.getSelectedItem()));
+            config.put("context.output.format", String.valueOf(contextOutputFormatComboBox.getSelectedItem()));
+            config.put("compile.closure", compileClosureCheckBox.isSelected());
+            config.put("compile.backend", String.valueOf(compileBackendComboBox.getSelectedItem()));
+            config.put("max.repair.iterations", maxRepairIterationsSpinner.getValue());
             for (Map.Entry<String, Object> entry : config.entrySet()) {
 //                configManager.setConfiguration(entry.getKey(), entry.getValue());
             }
@@ -919,6 +1012,13 @@ public class EnhancedLiteWorkspaceSettingsConfigurable implements Configurable {
                 cacheSizeSlider.setValue(100);
                 scanDepthSlider.setValue(5);
                 
+                // 重置生成与运行设置
+                lazyInitModeComboBox.setSelectedItem(LazyInitMode.EAGER);
+                contextOutputFormatComboBox.setSelectedItem(ContextOutputFormat.XML);
+                compileClosureCheckBox.setSelected(false);
+                compileBackendComboBox.setSelectedItem(CompileBackend.JPS);
+                maxRepairIterationsSpinner.setValue(5);
+                
                 updateConfigurationPreview();
                 Messages.showInfoMessage("配置已重置到默认值", "重置成功");
                 updateStatus("配置已重置");
@@ -1029,6 +1129,13 @@ public class EnhancedLiteWorkspaceSettingsConfigurable implements Configurable {
         backup.put("smart.cache.enabled", enableSmartCacheCheckBox.isSelected());
         backup.put("memory.limit.mb", memoryLimitField.getText());
         
+        // 生成与运行设置
+        backup.put("lazy.init.mode", String.valueOf(lazyInitModeComboBox.getSelectedItem()));
+        backup.put("context.output.format", String.valueOf(contextOutputFormatComboBox.getSelectedItem()));
+        backup.put("compile.closure", compileClosureCheckBox.isSelected());
+        backup.put("compile.backend", String.valueOf(compileBackendComboBox.getSelectedItem()));
+        backup.put("max.repair.iterations", maxRepairIterationsSpinner.getValue());
+        
         // 高级设置
         backup.put("log.level", logLevelField.getText());
         backup.put("debug.mode.enabled", enableDebugModeCheckBox.isSelected());
@@ -1069,6 +1176,13 @@ public class EnhancedLiteWorkspaceSettingsConfigurable implements Configurable {
         enableSmartCacheCheckBox.setSelected(getBoolean(config, "smart.cache.enabled", true));
         memoryLimitField.setText(getString(config, "memory.limit.mb", "512"));
         
+        // 生成与运行设置
+        lazyInitModeComboBox.setSelectedItem(getEnum(config, "lazy.init.mode", LazyInitMode.class, LazyInitMode.EAGER));
+        contextOutputFormatComboBox.setSelectedItem(getEnum(config, "context.output.format", ContextOutputFormat.class, ContextOutputFormat.XML));
+        compileClosureCheckBox.setSelected(getBoolean(config, "compile.closure", false));
+        compileBackendComboBox.setSelectedItem(getEnum(config, "compile.backend", CompileBackend.class, CompileBackend.JPS));
+        maxRepairIterationsSpinner.setValue(Math.max(1, Math.min(20, getInt(config, "max.repair.iterations", 5))));
+        
         // 高级设置
         logLevelField.setText(getString(config, "log.level", "INFO"));
         enableDebugModeCheckBox.setSelected(getBoolean(config, "debug.mode.enabled", false));
@@ -1108,6 +1222,18 @@ public class EnhancedLiteWorkspaceSettingsConfigurable implements Configurable {
         return defaultValue;
     }
     
+    private <E extends Enum<E>> E getEnum(Map<String, Object> map, String key, Class<E> type, E defaultValue) {
+        Object value = map.get(key);
+        if (value != null) {
+            try {
+                return Enum.valueOf(type, value.toString());
+            } catch (IllegalArgumentException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+    
     private String convertToJson(Map<String, Object> map) {
         StringBuilder json = new StringBuilder();
         json.append("{\n");
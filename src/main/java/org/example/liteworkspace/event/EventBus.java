@@ -1,15 +1,16 @@
 package org.example.liteworkspace.event;
 
+import com.intellij.openapi.Disposable;
 import com.intellij.openapi.project.Project;
 import org.example.liteworkspace.config.ConfigurationManager;
 import org.example.liteworkspace.util.LogUtil;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntSupplier;
 
 /**
  * 事件总线
@@ -20,8 +21,12 @@ import java.util.concurrent.atomic.AtomicLong;
  * 3. 事件监听器管理
  * 4. 事件过滤和路由
  * 5. 性能监控和统计
+ * 6. 异步监听器运行在有界线程池上，队列满时丢弃并计数
+ * 7. 高频事件（如扫描进度）按来源合并，每秒最多投递 N 次，只投递最新值
+ * 
+ * 项目级实例通过 {@link #getInstance(Project)} 获取，扫描过程与工具窗口共用同一实例
  */
-public class EventBus {
+public class EventBus implements Disposable {
     
     /**
      * 事件监听器接口
@@ -74,6 +79,9 @@ public class EventBus {
         private final AtomicLong totalProcessingTime = new AtomicLong(0);
         private final Map<Class<? extends Event>, AtomicLong> eventCounts = new ConcurrentHashMap<>();
         private final Map<String, AtomicLong> listenerCounts = new ConcurrentHashMap<>();
+        private final AtomicLong totalEventsDropped = new AtomicLong(0);
+        private final AtomicLong totalEventsCoalesced = new AtomicLong(0);
+        private volatile IntSupplier queueDepthSupplier = () -> 0;
         
         public void recordEventPublished(Class<? extends Event> eventType) {
             totalEventsPublished.incrementAndGet();
@@ -90,6 +98,24 @@ public class EventBus {
             totalEventsFailed.incrementAndGet();
         }
         
+        /**
+         * 异步队列已满，事件未投递
+         */
+        public void recordEventDropped() {
+            totalEventsDropped.incrementAndGet();
+        }
+        
+        /**
+         * 合并类型的事件被同一来源的更新值取代
+         */
+        public void recordEventCoalesced() {
+            totalEventsCoalesced.incrementAndGet();
+        }
+        
+        void setQueueDepthSupplier(IntSupplier queueDepthSupplier) {
+            this.queueDepthSupplier = queueDepthSupplier;
+        }
+        
         public double getSuccessRate() {
             long total = totalEventsProcessed.get() + totalEventsFailed.get();
             return total == 0 ? 0.0 : (double) totalEventsProcessed.get() / total;
@@ -104,10 +130,11 @@ public class EventBus {
         public String toString() {
             return String.format(
                 "EventStats{published=%d, processed=%d, failed=%d, successRate=%.2f%%, " +
-                "avgTime=%.2fms, eventTypes=%d, listeners=%d}",
+                "avgTime=%.2fms, eventTypes=%d, listeners=%d, queueDepth=%d, dropped=%d, coalesced=%d}",
                 totalEventsPublished.get(), totalEventsProcessed.get(), totalEventsFailed.get(),
                 getSuccessRate() * 100, getAverageProcessingTime(),
-                eventCounts.size(), listenerCounts.size()
+                eventCounts.size(), listenerCounts.size(),
+                getQueueDepth(), totalEventsDropped.get(), totalEventsCoalesced.get()
             );
         }
         
@@ -115,6 +142,9 @@ public class EventBus {
         public long getTotalEventsPublished() { return totalEventsPublished.get(); }
         public long getTotalEventsProcessed() { return totalEventsProcessed.get(); }
         public long getTotalEventsFailed() { return totalEventsFailed.get(); }
+        public long getTotalEventsDropped() { return totalEventsDropped.get(); }
+        public long getTotalEventsCoalesced() { return totalEventsCoalesced.get(); }
+        public int getQueueDepth() { return queueDepthSupplier.getAsInt(); }
         public Map<Class<? extends Event>, AtomicLong> getEventCounts() { 
             return new HashMap<>(eventCounts); 
         }
@@ -170,29 +200,83 @@ public class EventBus {
         public String getListenerName() { return listener.getName(); }
     }
     
+    /**
+     * 合并投递的状态：同一（事件类型, 来源）只保留最新一条待投递事件
+     * <p>
+     * 投递后保持调度，间隔到期时若没有新事件则从表中移除，来源用完即释放，间隔内的限流不受影响。
+     */
+    private static class CoalescingSlot {
+        private final String key;
+        private final String source;
+        private final AtomicReference<Event> pending = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        private CoalescingSlot(String key, String source) {
+            this.key = key;
+            this.source = source;
+        }
+    }
+    
+    private static final int ASYNC_THREADS = 2;
+    private static final int ASYNC_QUEUE_CAPACITY = 1024;
+    private static final int DEFAULT_PROGRESS_DELIVERIES_PER_SECOND = 10;
+    private static final ListenerWrapper<?>[] NO_LISTENERS = new ListenerWrapper<?>[0];
+    
     // 核心组件
     private final Project project;
     private final ConfigurationManager configManager;
     private final Map<Class<? extends Event>, List<ListenerWrapper<? extends Event>>> listeners;
-    private final ExecutorService asyncExecutor;
+    // 按具体事件类型预先计算好的监听器数组（含父类型上注册的监听器，按优先级排序），注册变化时整体失效
+    private final Map<Class<?>, ListenerWrapper<?>[]> dispatchCache = new ConcurrentHashMap<>();
+    // 合并投递的事件类型 → 最小投递间隔（纳秒）
+    private final Map<Class<? extends Event>, Long> coalescingIntervals = new ConcurrentHashMap<>();
+    private final Map<String, CoalescingSlot> coalescingSlots = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor asyncExecutor;
+    private final ScheduledExecutorService coalescingScheduler;
     private final EventStatistics statistics;
     private volatile boolean isShutdown;
     
     public EventBus(Project project) {
         this.project = project;
-        this.configManager = ConfigurationManager.getInstance(project);
+        this.configManager = ConfigurationManager.getInstance();
         this.listeners = new ConcurrentHashMap<>();
-        this.asyncExecutor = Executors.newCachedThreadPool(r -> {
-            Thread t = new Thread(r, "EventBus-Async");
-            t.setDaemon(true);
-            return t;
-        });
         this.statistics = new EventStatistics();
+        this.asyncExecutor = new ThreadPoolExecutor(ASYNC_THREADS, ASYNC_THREADS, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(ASYNC_QUEUE_CAPACITY), daemonThreadFactory("EventBus-Async"),
+            (task, executor) -> statistics.recordEventDropped());
+        this.asyncExecutor.allowCoreThreadTimeOut(true);
+        this.coalescingScheduler = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("EventBus-Coalescing"));
+        this.statistics.setQueueDepthSupplier(() -> asyncExecutor.getQueue().size());
         this.isShutdown = false;
         
+        coalesce(PluginEvents.ScanProgressEvent.class, DEFAULT_PROGRESS_DELIVERIES_PER_SECOND);
+        
         LogUtil.info("EventBus 初始化完成");
     }
     
+    public static EventBus getInstance(Project project) {
+        return project.getService(EventBus.class);
+    }
+    
+    private static ThreadFactory daemonThreadFactory(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+    
+    /**
+     * 将事件类型设为合并投递：同一来源的事件每秒最多投递 maxPerSecond 次，期间只保留最新一条
+     */
+    public void coalesce(Class<? extends Event> eventType, int maxPerSecond) {
+        if (maxPerSecond <= 0) {
+            coalescingIntervals.remove(eventType);
+            return;
+        }
+        coalescingIntervals.put(eventType, TimeUnit.SECONDS.toNanos(1) / maxPerSecond);
+    }
+    
     /**
      * 注册事件监听器
      */
@@ -221,9 +305,7 @@ public class EventBus {
         ListenerWrapper<T> wrapper = new ListenerWrapper<>(listener, eventType, filter, async);
         
         listeners.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>()).add(wrapper);
-        
-        // 按优先级排序
-//        listeners.get(eventType).sort(Comparator.naturalOrder());
+        dispatchCache.clear();
         
         LogUtil.debug("注册事件监听器: {} -> {}", eventType.getSimpleName(), listener.getName());
     }
@@ -238,6 +320,7 @@ public class EventBus {
             if (listenerList.isEmpty()) {
                 listeners.remove(eventType);
             }
+            dispatchCache.clear();
             LogUtil.debug("取消注册事件监听器: {} -> {}", eventType.getSimpleName(), listener.getName());
         }
     }
@@ -253,15 +336,89 @@ public class EventBus {
         
         statistics.recordEventPublished(event.getClass());
         
-        List<ListenerWrapper<? extends Event>> listenerList = listeners.get(event.getClass());
-        if (listenerList == null || listenerList.isEmpty()) {
+        Long interval = coalescingIntervals.get(event.getClass());
+        if (interval != null) {
+            publishCoalesced(event, interval);
+            return;
+        }
+        if (event instanceof PluginEvents.ScanCompletedEvent || event instanceof PluginEvents.ScanFailedEvent) {
+            // 扫描已结束，同一来源尚未投递的进度不再有意义，避免在结束事件之后到达
+            dropCoalesced(event.getSource());
+        }
+        dispatch(event);
+    }
+    
+    /**
+     * 合并投递：记录最新值，到达投递间隔时由调度线程投递
+     */
+    private void publishCoalesced(Event event, long intervalNanos) {
+        String key = event.getClass().getName() + "|" + event.getSource();
+        CoalescingSlot slot = coalescingSlots.computeIfAbsent(key, k -> new CoalescingSlot(k, event.getSource()));
+        if (slot.pending.getAndSet(event) != null) {
+            statistics.recordEventCoalesced();
+        }
+        // 槽位空闲（新建或上一次投递后已过一个间隔）时立即投递，否则等待已调度的投递
+        if (slot.scheduled.compareAndSet(false, true)) {
+            scheduleFlush(slot, 0, intervalNanos);
+        }
+    }
+    
+    private void scheduleFlush(CoalescingSlot slot, long delayNanos, long intervalNanos) {
+        try {
+            coalescingScheduler.schedule(() -> flushCoalesced(slot, intervalNanos), delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // 已关闭
+            slot.scheduled.set(false);
+        }
+    }
+    
+    /**
+     * 投递最新事件并在一个间隔后再次检查；间隔内没有新事件时移除槽位
+     */
+    private void flushCoalesced(CoalescingSlot slot, long intervalNanos) {
+        Event latest = slot.pending.getAndSet(null);
+        if (latest != null) {
+            if (!isShutdown) {
+                dispatch(latest);
+            }
+            scheduleFlush(slot, intervalNanos, intervalNanos);
+            return;
+        }
+        coalescingSlots.remove(slot.key, slot);
+        slot.scheduled.set(false);
+        // 移除前并发写入的事件：已空闲满一个间隔，直接投递
+        Event raced = slot.pending.getAndSet(null);
+        if (raced != null && !isShutdown) {
+            dispatch(raced);
+        }
+    }
+    
+    /**
+     * 丢弃该来源所有尚未投递的合并事件并移除其槽位
+     */
+    private void dropCoalesced(String source) {
+        coalescingSlots.values().removeIf(slot -> {
+            if (!Objects.equals(slot.source, source)) {
+                return false;
+            }
+            if (slot.pending.getAndSet(null) != null) {
+                statistics.recordEventCoalesced();
+            }
+            return true;
+        });
+    }
+    
+    /**
+     * 把事件投递给预先计算的监听器数组
+     */
+    private void dispatch(Event event) {
+        ListenerWrapper<?>[] listenerArray = dispatchCache.computeIfAbsent(event.getClass(), this::resolveListeners);
+        if (listenerArray.length == 0) {
             LogUtil.debug("没有监听器处理事件: {}", event.getClass().getSimpleName());
             return;
         }
         
-        LogUtil.debug("发布事件: {} 到 {} 个监听器", event.getClass().getSimpleName(), listenerList.size());
-        
-        for (ListenerWrapper<? extends Event> wrapper : listenerList) {
+        for (ListenerWrapper<?> wrapper : listenerArray) {
             if (wrapper.canHandle(event)) {
                 if (wrapper.isAsync() && wrapper.getListener().supportAsync()) {
                     publishAsync(wrapper, event);
@@ -272,6 +429,23 @@ public class EventBus {
         }
     }
     
+    /**
+     * 收集能处理该事件类型的监听器（含在父类型上注册的），按优先级排序
+     */
+    private ListenerWrapper<?>[] resolveListeners(Class<?> eventClass) {
+        List<ListenerWrapper<? extends Event>> matched = new ArrayList<>();
+        for (Map.Entry<Class<? extends Event>, List<ListenerWrapper<? extends Event>>> entry : listeners.entrySet()) {
+            if (entry.getKey().isAssignableFrom(eventClass)) {
+                matched.addAll(entry.getValue());
+            }
+        }
+        if (matched.isEmpty()) {
+            return NO_LISTENERS;
+        }
+        matched.sort(Comparator.comparingInt(wrapper -> wrapper.getListener().getPriority()));
+        return matched.toArray(new ListenerWrapper<?>[0]);
+    }
+    
     /**
      * 同步发布事件
      */
@@ -290,7 +464,7 @@ public class EventBus {
      * 异步发布事件
      */
     private void publishAsync(ListenerWrapper<? extends Event> wrapper, Event event) {
-        asyncExecutor.submit(() -> {
+        asyncExecutor.execute(() -> {
             long startTime = System.currentTimeMillis();
             try {
                 wrapper.handle(event);
@@ -345,6 +519,7 @@ public class EventBus {
      */
     public void clear() {
         listeners.clear();
+        dispatchCache.clear();
         LogUtil.info("已清空所有事件监听器");
     }
     
@@ -353,6 +528,7 @@ public class EventBus {
      */
     public void clear(Class<? extends Event> eventType) {
         listeners.remove(eventType);
+        dispatchCache.clear();
         LogUtil.info("已清空事件类型的监听器: {}", eventType.getSimpleName());
     }
     
@@ -368,6 +544,8 @@ public class EventBus {
         clear();
         
         // 关闭异步执行器
+        coalescingScheduler.shutdownNow();
+        coalescingSlots.clear();
         asyncExecutor.shutdown();
         
         try {
@@ -382,6 +560,13 @@ public class EventBus {
         LogUtil.info("EventBus 已关闭");
     }
     
+    @Override
+    public void dispose() {
+        if (!isShutdown) {
+            shutdown();
+        }
+    }
+    
     /**
      * 检查是否已关闭
      */
@@ -40,6 +40,56 @@ public class PluginEvents {
         }
     }
     
+    /**
+     * 扫描重新开始事件
+     * 
+     * 非阻塞读操作遇到写操作会从头重新遍历，此前发布的部分结果作废，展示方应清空后接收新一轮的结果
+     */
+    public static class ScanRestartedEvent extends Event {
+        private final String scanType;
+        private final int attempt;
+        
+        public ScanRestartedEvent(String source, String scanType, int attempt) {
+            super(source);
+            this.scanType = scanType;
+            this.attempt = attempt;
+            addMetadata("scanType", scanType);
+            addMetadata("attempt", attempt);
+        }
+        
+        public String getScanType() { return scanType; }
+        public int getAttempt() { return attempt; }
+        
+        @Override
+        public String getDescription() {
+            return String.format("重新扫描: %s (第 %d 次尝试)", scanType, attempt);
+        }
+    }
+    
+    /**
+     * 扫描进度事件
+     * 
+     * 并行扫描时按类发布，频率很高，EventBus 默认对其按来源合并，只投递最新进度
+     */
+    public static class ScanProgressEvent extends Event {
+        private final double fraction;
+        private final String currentItem;
+        
+        public ScanProgressEvent(String source, double fraction, String currentItem) {
+            super(source);
+            this.fraction = fraction;
+            this.currentItem = currentItem;
+        }
+        
+        public double getFraction() { return fraction; }
+        public String getCurrentItem() { return currentItem; }
+        
+        @Override
+        public String getDescription() {
+            return String.format("扫描进度: %.0f%% (%s)", fraction * 100, currentItem);
+        }
+    }
+    
     /**
      * 扫描完成事件
      */
@@ -68,6 +118,46 @@ public class PluginEvents {
         }
     }
     
+    /**
+     * Bean 发现事件
+     * 
+     * 遍历过程中每登记一个 Bean 发布一次，供工具窗口实时展示；不合并，订阅方自行批量刷新界面
+     */
+    public static class BeanDiscoveredEvent extends Event {
+        private final String beanName;
+        private final String className;
+        private final String beanType;
+        private final int depth;
+        private final boolean frontier;
+        private final int attempt;
+        
+        /**
+         * @param attempt 发现该 Bean 的遍历尝试序号，从 1 开始；异步投递时据此丢弃已作废尝试的结果
+         */
+        public BeanDiscoveredEvent(String source, String beanName, String className, String beanType,
+                                   int depth, boolean frontier, int attempt) {
+            super(source);
+            this.attempt = attempt;
+            this.beanName = beanName;
+            this.className = className;
+            this.beanType = beanType;
+            this.depth = depth;
+            this.frontier = frontier;
+        }
+        
+        public String getBeanName() { return beanName; }
+        public String getClassName() { return className; }
+        public String getBeanType() { return beanType; }
+        public int getDepth() { return depth; }
+        public boolean isFrontier() { return frontier; }
+        public int getAttempt() { return attempt; }
+        
+        @Override
+        public String getDescription() {
+            return String.format("发现Bean: %s (%s, 深度 %d%s)", beanName, className, depth, frontier ? ", 未展开" : "");
+        }
+    }
+    
     /**
      * 扫描失败事件
      */
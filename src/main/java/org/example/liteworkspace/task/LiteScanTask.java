@@ -0,0 +1,111 @@
+package org.example.liteworkspace.task;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.util.ProgressIndicatorBase;
+import com.intellij.openapi.project.Project;
+import org.example.liteworkspace.bean.core.LiteWorkspaceService;
+import org.example.liteworkspace.cache.GsonProvider;
+import org.example.liteworkspace.config.ConfigurationManager;
+import org.example.liteworkspace.dto.ClassSignatureDTO;
+import org.example.liteworkspace.dto.MethodSignatureDTO;
+
+/**
+ * 扫描并生成测试配置的任务
+ * 
+ * 以被测类为目标键、以“目标类 + 方法 + 配置摘要”为请求键提交给 {@link TaskScheduler#submitKeyedTask}，
+ * 相同请求复用进行中的扫描，同一目标的新请求取代旧请求。
+ * 扫描在任务自己的进度指示器下执行，不绑定发起请求的进度条，
+ * 各请求通过 {@link #getProgressIndicator()} 展示进度，是否取消由调度器按等待的请求数决定。
+ */
+public class LiteScanTask implements Task {
+    
+    private final Project project;
+    private final ClassSignatureDTO targetClassDto;
+    private final MethodSignatureDTO targetMethodDto;
+    private final ProgressIndicator indicator;
+    
+    public LiteScanTask(Project project, ClassSignatureDTO targetClassDto, MethodSignatureDTO targetMethodDto) {
+        this.project = project;
+        this.targetClassDto = targetClassDto;
+        this.targetMethodDto = targetMethodDto;
+        this.indicator = new ProgressIndicatorBase();
+    }
+    
+    @Override
+    public TaskResult execute() throws Exception {
+        Exception[] failure = new Exception[1];
+        // 在任务自己的进度指示器下执行，调度器取消任务即可中断扫描中的读操作
+        ProgressManager.getInstance().runProcess(() -> {
+            try {
+                new LiteWorkspaceService(project).scanAndGenerateWithDto(targetClassDto, targetMethodDto, indicator);
+            } catch (Exception e) {
+                failure[0] = e;
+            }
+        }, indicator);
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return TaskResult.success("生成完成: " + targetClassDto.getQualifiedName());
+    }
+    
+    @Override
+    public String getName() {
+        return "LiteScan:" + targetClassDto.getQualifiedName();
+    }
+    
+    @Override
+    public TaskType getType() {
+        return TaskType.BEAN_SCAN;
+    }
+    
+    /**
+     * 扫描结果依赖项目当前状态，失败后由用户重新发起
+     */
+    @Override
+    public boolean isRetryable() {
+        return false;
+    }
+    
+    @Override
+    public void cancel() {
+        indicator.cancel();
+    }
+    
+    @Override
+    public ProgressIndicator getProgressIndicator() {
+        return indicator;
+    }
+    
+    public String getTargetKey() {
+        return targetKey(targetClassDto);
+    }
+    
+    public String getRequestKey() {
+        return requestKey(targetClassDto, targetMethodDto);
+    }
+    
+    public static String targetKey(ClassSignatureDTO targetClassDto) {
+        return targetClassDto.getQualifiedName();
+    }
+    
+    /**
+     * 目标类、方法签名与当前配置共同决定请求是否相同
+     */
+    public static String requestKey(ClassSignatureDTO targetClassDto, MethodSignatureDTO targetMethodDto) {
+        StringBuilder key = new StringBuilder(targetClassDto.getQualifiedName());
+        if (targetMethodDto != null) {
+            key.append('#').append(targetMethodDto.getMethodName()).append('(');
+            if (targetMethodDto.getParameterTypes() != null) {
+                key.append(String.join(",", targetMethodDto.getParameterTypes()));
+            }
+            key.append(')');
+        }
+        return key.append('@').append(settingsHash()).toString();
+    }
+    
+    private static int settingsHash() {
+        ConfigurationManager.ConfigurationState state = ConfigurationManager.getInstance().getState();
+        return state == null ? 0 : GsonProvider.gson.toJson(state).hashCode();
+    }
+}
@@ -1,5 +1,7 @@
 package org.example.liteworkspace.task;
 
+import com.intellij.openapi.progress.ProgressIndicator;
+
 /**
  * 任务接口
  * 
@@ -64,4 +66,23 @@ public interface Task {
     default long getTimeout() {
         return 0;
     }
+    
+    /**
+     * 取消正在执行的任务
+     * 
+     * 调度器取消任务时调用，实现方应通知执行线程尽快结束（例如取消进度指示器）
+     */
+    default void cancel() {
+    }
+    
+    /**
+     * 获取任务自身的进度指示器
+     * 
+     * 合并请求时，等待同一任务的请求据此展示进度
+     * 
+     * @return 进度指示器，null 表示任务不提供进度
+     */
+    default ProgressIndicator getProgressIndicator() {
+        return null;
+    }
 }
@@ -1,5 +1,9 @@
 package org.example.liteworkspace.task;
 
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import org.example.liteworkspace.config.ConfigurationManager;
 import org.example.liteworkspace.exception.TaskExecutionException;
@@ -10,6 +14,7 @@ import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -21,8 +26,10 @@ import java.util.stream.Collectors;
  * 3. 任务优先级处理
  * 4. 任务结果缓存
  * 5. 异常处理和重试机制
+ * 6. 按目标合并重复请求：相同请求复用进行中的结果，同一目标的新请求取代旧请求
+ * 7. 项目级阶段在并发请求间共享
  */
-public class TaskScheduler {
+public class TaskScheduler implements Disposable {
     
     /**
      * 任务优先级
@@ -71,11 +78,21 @@ public class TaskScheduler {
         private volatile long endTime;
         private volatile Throwable lastError;
         private final CompletableFuture<TaskResult> future;
+        private final String targetKey;
+        private final String requestKey;
+        /** 按目标提交时等待该任务结果的请求数，受 tasksByTarget 锁保护 */
+        private int waiters;
         
         public TaskWrapper(String taskId, Task task, TaskPriority priority) {
+            this(taskId, task, priority, null, null);
+        }
+        
+        public TaskWrapper(String taskId, Task task, TaskPriority priority, String targetKey, String requestKey) {
             this.taskId = taskId;
             this.task = task;
             this.priority = priority;
+            this.targetKey = targetKey;
+            this.requestKey = requestKey;
             this.submitTime = System.currentTimeMillis();
             this.retryCount = new AtomicInteger(0);
             this.status = TaskStatus.PENDING;
@@ -122,8 +139,12 @@ public class TaskScheduler {
         public int getRetryCount() { return retryCount.get(); }
         public Throwable getLastError() { return lastError; }
         public CompletableFuture<TaskResult> getFuture() { return future; }
+        public String getTargetKey() { return targetKey; }
+        public String getRequestKey() { return requestKey; }
         
         public void incrementRetryCount() { retryCount.incrementAndGet(); }
+        public void addWaiter() { waiters++; }
+        public int releaseWaiter() { return --waiters; }
         public void setLastError(Throwable error) { this.lastError = error; }
     }
     
@@ -184,7 +205,11 @@ public class TaskScheduler {
             totalTasksCancelled.incrementAndGet();
             tasksByStatus.get(oldStatus).decrementAndGet();
             tasksByStatus.get(TaskStatus.CANCELLED).incrementAndGet();
-            currentPendingTasks.decrementAndGet();
+            if (oldStatus == TaskStatus.RUNNING) {
+                currentRunningTasks.decrementAndGet();
+            } else {
+                currentPendingTasks.decrementAndGet();
+            }
         }
         
         public double getSuccessRate() {
@@ -223,6 +248,8 @@ public class TaskScheduler {
     private final ExecutorService executorService;
     private final ScheduledExecutorService scheduledExecutor;
     private final Map<String, TaskWrapper> activeTasks;
+    private final Map<String, TaskWrapper> tasksByTarget = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Object>> sharedPhases = new ConcurrentHashMap<>();
     private final SchedulerStatistics statistics;
     private final AtomicInteger taskIdGenerator;
     private volatile boolean isShutdown;
@@ -234,7 +261,7 @@ public class TaskScheduler {
     
     public TaskScheduler(Project project) {
         this.project = project;
-        this.configManager = ConfigurationManager.getInstance(project);
+        this.configManager = ConfigurationManager.getInstance();
         this.taskQueue = new PriorityBlockingQueue<>();
         this.activeTasks = new ConcurrentHashMap<>();
         this.statistics = new SchedulerStatistics();
@@ -271,6 +298,10 @@ public class TaskScheduler {
         LogUtil.info("TaskScheduler 初始化完成，最大并发任务数: " + maxConcurrentTasks);
     }
     
+    public static TaskScheduler getInstance(Project project) {
+        return project.getService(TaskScheduler.class);
+    }
+    
     /**
      * 启动任务处理器
      */
@@ -314,7 +345,9 @@ public class TaskScheduler {
             
             TaskResult result = taskWrapper.getTask().execute();
             
-            if (result.isSuccess()) {
+            if (taskWrapper.getStatus() == TaskStatus.CANCELLED) {
+                LogUtil.debug("任务已被取消，忽略结果: {}", taskWrapper.getTaskId());
+            } else if (result.isSuccess()) {
                 taskWrapper.updateStatus(TaskStatus.COMPLETED);
                 statistics.recordTaskCompleted(taskWrapper.getPriority(), TaskStatus.RUNNING, taskWrapper.getExecutionTime());
                 taskWrapper.getFuture().complete(result);
@@ -324,7 +357,11 @@ public class TaskScheduler {
             }
             
         } catch (Exception e) {
-            handleTaskFailure(taskWrapper, e);
+            if (taskWrapper.getStatus() == TaskStatus.CANCELLED) {
+                LogUtil.debug("任务已被取消: {} ({})", taskWrapper.getTaskId(), e.getClass().getSimpleName());
+            } else {
+                handleTaskFailure(taskWrapper, e);
+            }
         } finally {
             activeTasks.remove(taskWrapper.getTaskId());
         }
@@ -432,6 +469,180 @@ public class TaskScheduler {
         return submitTask(task, TaskPriority.NORMAL);
     }
     
+    /**
+     * 按目标提交的任务的等待句柄：每个请求各持一份结果副本，并可读取共享任务的进度
+     */
+    public static class KeyedSubmission {
+        private final CompletableFuture<TaskResult> future;
+        private final Task task;
+        private final boolean joined;
+        
+        KeyedSubmission(CompletableFuture<TaskResult> future, Task task, boolean joined) {
+            this.future = future;
+            this.task = task;
+            this.joined = joined;
+        }
+        
+        /**
+         * 本请求的结果；取消它只撤回本请求，所有请求都撤回后共享任务才会被取消
+         */
+        public CompletableFuture<TaskResult> getFuture() { return future; }
+        
+        /**
+         * 共享任务的进度，任务未提供时为 null
+         */
+        public ProgressIndicator getProgress() { return task.getProgressIndicator(); }
+        
+        /**
+         * 是否复用了进行中的相同请求
+         */
+        public boolean isJoined() { return joined; }
+    }
+    
+    /**
+     * 按目标提交任务，合并重复请求：
+     * <ul>
+     *   <li>同一目标已有相同 requestKey 的任务在执行或排队时，加入等待并复用其结果</li>
+     *   <li>同一目标已有不同 requestKey 的任务时，取消旧任务后提交新任务</li>
+     * </ul>
+     * 每个请求拿到各自的结果副本，任务按等待的请求数计数：某个请求取消只撤回它自己，
+     * 最后一个请求也取消后才取消共享任务，发起方取消不会中断仍有人等待的扫描。
+     *
+     * @param targetKey  目标标识，如被测类全限定名
+     * @param requestKey 请求标识，目标、方法与影响结果的配置都相同的请求视为同一请求
+     */
+    public KeyedSubmission submitKeyedTask(String targetKey, String requestKey, Task task, TaskPriority priority) {
+        if (isShutdown) {
+            return new KeyedSubmission(CompletableFuture.failedFuture(new IllegalStateException("任务调度器已关闭")),
+                    task, false);
+        }
+        
+        TaskWrapper stale = null;
+        TaskWrapper taskWrapper;
+        KeyedSubmission submission;
+        synchronized (tasksByTarget) {
+            TaskWrapper existing = tasksByTarget.get(targetKey);
+            if (existing != null && !existing.getFuture().isDone()) {
+                if (requestKey.equals(existing.getRequestKey())) {
+                    LogUtil.info("相同请求正在执行，复用任务 {}: {}", existing.getTaskId(), requestKey);
+                    return attachWaiter(existing, true);
+                }
+                stale = existing;
+            }
+            taskWrapper = new TaskWrapper(generateTaskId(), task, priority, targetKey, requestKey);
+            tasksByTarget.put(targetKey, taskWrapper);
+            // 先登记到活动任务，发起方在入队前取消时也能找到并标记为已取消
+            activeTasks.put(taskWrapper.getTaskId(), taskWrapper);
+            submission = attachWaiter(taskWrapper, false);
+        }
+        
+        if (stale != null) {
+            LogUtil.info("目标 {} 有新的请求，取消旧任务 {}", targetKey, stale.getTaskId());
+            cancelTask(stale.getTaskId());
+        }
+        TaskWrapper submitted = taskWrapper;
+        taskWrapper.getFuture().whenComplete((result, error) -> tasksByTarget.remove(targetKey, submitted));
+        
+        taskQueue.offer(taskWrapper);
+        statistics.recordTaskSubmitted(priority);
+        
+        LogUtil.debug("任务已提交: {} ({}, 优先级: {}, 目标: {})", taskWrapper.getTaskId(), task.getName(), priority, targetKey);
+        return submission;
+    }
+    
+    /**
+     * 登记一个等待方，调用方需持有 tasksByTarget 锁
+     */
+    private KeyedSubmission attachWaiter(TaskWrapper wrapper, boolean joined) {
+        wrapper.addWaiter();
+        CompletableFuture<TaskResult> own = wrapper.getFuture().copy();
+        // 副本只在等待方主动取消时处于 cancelled 状态，共享任务被取消时副本是异常完成
+        own.whenComplete((result, error) -> {
+            if (own.isCancelled()) {
+                releaseWaiter(wrapper);
+            }
+        });
+        return new KeyedSubmission(own, wrapper.getTask(), joined);
+    }
+    
+    private void releaseWaiter(TaskWrapper wrapper) {
+        boolean last;
+        synchronized (tasksByTarget) {
+            last = wrapper.releaseWaiter() == 0 && !wrapper.getFuture().isDone();
+            if (last) {
+                // 先移出目标表，之后到达的相同请求提交新任务而不是加入即将取消的任务
+                tasksByTarget.remove(wrapper.getTargetKey(), wrapper);
+            }
+        }
+        if (last) {
+            LogUtil.info("任务 {} 的所有请求均已取消，取消任务", wrapper.getTaskId());
+            cancelTask(wrapper.getTaskId());
+        }
+    }
+    
+    /**
+     * 同一目标是否有相同请求正在执行或排队
+     */
+    public boolean isRequestInFlight(String targetKey, String requestKey) {
+        TaskWrapper existing = tasksByTarget.get(targetKey);
+        return existing != null && !existing.getFuture().isDone() && requestKey.equals(existing.getRequestKey());
+    }
+    
+    /**
+     * 在并发请求间共享项目级阶段（如数据源配置、Mapper XML 扫描）：
+     * 同一 phaseKey 的计算进行中时，后来者等待其结果而不是重复计算；计算结束即移除，不缓存结果。
+     * 发起方失败或被取消（例如读操作让位于写操作）时，由等待方重新计算。
+     * 等待期间响应当前线程的进度取消。
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T shareInFlight(String phaseKey, Supplier<T> computation) {
+        while (true) {
+            CompletableFuture<Object> own = new CompletableFuture<>();
+            CompletableFuture<Object> existing = sharedPhases.putIfAbsent(phaseKey, own);
+            if (existing == null) {
+                try {
+                    T value = computation.get();
+                    own.complete(value);
+                    return value;
+                } catch (Throwable e) {
+                    own.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    sharedPhases.remove(phaseKey, own);
+                }
+            }
+            
+            LogUtil.info("复用进行中的项目级阶段: {}", phaseKey);
+            try {
+                return (T) awaitShared(existing);
+            } catch (ExecutionException e) {
+                LogUtil.debug("项目级阶段 {} 的发起方未完成（{}），重新计算", phaseKey, String.valueOf(e.getCause()));
+            }
+        }
+    }
+    
+    /**
+     * {@link #shareInFlight} 的便捷入口，调度器服务不可用（如测试环境）时直接计算
+     */
+    public static <T> T shareProjectPhase(Project project, String phaseKey, Supplier<T> computation) {
+        TaskScheduler scheduler = project.isDisposed() ? null : getInstance(project);
+        return scheduler != null ? scheduler.shareInFlight(phaseKey, computation) : computation.get();
+    }
+    
+    private static Object awaitShared(CompletableFuture<Object> future) throws ExecutionException {
+        while (true) {
+            ProgressManager.checkCanceled();
+            try {
+                return future.get(50, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ignored) {
+                // 继续等待，期间检查取消
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProcessCanceledException(e);
+            }
+        }
+    }
+    
     /**
      * 批量提交任务
      */
@@ -451,6 +662,8 @@ public class TaskScheduler {
             taskWrapper.updateStatus(TaskStatus.CANCELLED);
             statistics.recordTaskCancelled(taskWrapper.getPriority(), oldStatus);
             taskWrapper.getFuture().cancel(true);
+            // 正在执行的任务需要协作式中断
+            taskWrapper.getTask().cancel();
             
             // 从队列中移除
             taskQueue.remove(taskWrapper);
@@ -542,8 +755,8 @@ public class TaskScheduler {
             }
         });
         
-        // 关闭执行器
-        executorService.shutdown();
+        // 关闭执行器：工作线程阻塞在队列上，需要中断才能退出
+        executorService.shutdownNow();
         scheduledExecutor.shutdown();
         
         try {
@@ -562,6 +775,11 @@ public class TaskScheduler {
         LogUtil.info("任务调度器已关闭");
     }
     
+    @Override
+    public void dispose() {
+        shutdown();
+    }
+    
     /**
      * 检查是否已关闭
      */
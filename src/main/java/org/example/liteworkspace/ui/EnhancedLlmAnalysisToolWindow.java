@@ -29,6 +29,8 @@ import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -41,6 +43,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * 4. 实时日志显示
  * 5. 统计信息展示
  * 6. 操作历史记录
+ * 7. 扫描过程中实时展示已发现的 Bean
  */
 public class EnhancedLlmAnalysisToolWindow implements ToolWindowFactory {
     
@@ -49,6 +52,7 @@ public class EnhancedLlmAnalysisToolWindow implements ToolWindowFactory {
      */
     public enum TabType {
         ANALYSIS("分析结果", "analysis"),
+        BEANS("实时Bean", "beans"),
         LOGS("日志", "logs"),
         STATISTICS("统计", "statistics"),
         HISTORY("历史", "history");
@@ -127,6 +131,7 @@ public class EnhancedLlmAnalysisToolWindow implements ToolWindowFactory {
     // UI组件
     private JBTabbedPane tabbedPane;
     private JTextArea analysisTextArea;
+    private JTextArea beansTextArea;
     private JTextArea logTextArea;
     private JTextArea statisticsTextArea;
     private JTextArea historyTextArea;
@@ -137,12 +142,21 @@ public class EnhancedLlmAnalysisToolWindow implements ToolWindowFactory {
     private final ConcurrentHashMap<String, String> analysisResults = new ConcurrentHashMap<>();
     private final StringBuilder logBuffer = new StringBuilder();
     private final StringBuilder historyBuffer = new StringBuilder();
+    // 扫描线程发现的 Bean 先入队，由一次 invokeLater 批量追加，避免每个 Bean 都调度一次 EDT
+    private final ConcurrentLinkedQueue<String> pendingBeanLines = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean beanFlushScheduled = new AtomicBoolean(false);
+    // 队列中的清空标记：扫描开始或重新开始时放入，刷新时清空实时Bean标签页，按引用比较
+    private static final String RESET_BEANS = new String("<reset>");
+    // 实时Bean标签页当前展示的扫描及其尝试序号，由 pendingBeanLines 加锁保护；事件异步投递，顺序不保证
+    private String liveScanSource;
+    private int liveAttempt;
+    private String finishedScanSource;
     
     @Override
     public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
         this.project = project;
         this.windowState = new WindowState();
-        this.eventBus = new EventBus(project);
+        this.eventBus = EventBus.getInstance(project);
         
         OptimizedLogUtil.info("创建增强的LLM分析工具窗口");
         
@@ -241,6 +255,10 @@ public class EnhancedLlmAnalysisToolWindow implements ToolWindowFactory {
         analysisTextArea = createTextArea();
         tabbedPane.addTab(TabType.ANALYSIS.getDisplayName(), new JBScrollPane(analysisTextArea));
         
+        // 实时Bean标签页
+        beansTextArea = createTextArea();
+        tabbedPane.addTab(TabType.BEANS.getDisplayName(), new JBScrollPane(beansTextArea));
+        
         // 日志标签页
         logTextArea = createTextArea();
         tabbedPane.addTab(TabType.LOGS.getDisplayName(), new JBScrollPane(logTextArea));
@@ -277,6 +295,14 @@ public class EnhancedLlmAnalysisToolWindow implements ToolWindowFactory {
         eventBus.register(PluginEvents.ScanStartedEvent.class, new EventBus.EventListener<PluginEvents.ScanStartedEvent>() {
             @Override
             public void handle(PluginEvents.ScanStartedEvent event) {
+                synchronized (pendingBeanLines) {
+                    // 该扫描的 Bean 事件可能先于开始事件到达并已接管标签页，此时不再清空
+                    if (!event.getSource().equals(liveScanSource)) {
+                        liveScanSource = event.getSource();
+                        liveAttempt = 0;
+                        resetLiveBeans();
+                    }
+                }
                 ApplicationManager.getApplication().invokeLater(() -> {
                     windowState.setAnalyzing(true);
                     windowState.setProgress(0.0);
@@ -287,10 +313,53 @@ public class EnhancedLlmAnalysisToolWindow implements ToolWindowFactory {
             }
         });
         
+        // 监听扫描进度事件：EventBus 已按来源合并，这里只刷新进度，不写日志
+        eventBus.register(PluginEvents.ScanProgressEvent.class, new EventBus.EventListener<PluginEvents.ScanProgressEvent>() {
+            @Override
+            public void handle(PluginEvents.ScanProgressEvent event) {
+                if (!isLiveOrIdle(event.getSource())) {
+                    return;
+                }
+                ApplicationManager.getApplication().invokeLater(() -> {
+                    windowState.setProgress(event.getFraction());
+                    updateStatusBar();
+                });
+            }
+        });
+        
+        // 监听 Bean 发现事件：扫描过程中逐个到达，批量刷新到实时Bean标签页
+        eventBus.register(PluginEvents.BeanDiscoveredEvent.class, new EventBus.EventListener<PluginEvents.BeanDiscoveredEvent>() {
+            @Override
+            public void handle(PluginEvents.BeanDiscoveredEvent event) {
+                synchronized (pendingBeanLines) {
+                    if (!acceptLiveEvent(event.getSource(), event.getAttempt())) {
+                        return;
+                    }
+                    pendingBeanLines.add(formatBeanLine(event));
+                }
+                scheduleBeanFlush();
+            }
+        });
+
+        // 监听扫描重新开始事件：非阻塞读操作被写操作打断后会从头遍历，清空上一轮尝试已展示的Bean
+        eventBus.register(PluginEvents.ScanRestartedEvent.class, new EventBus.EventListener<PluginEvents.ScanRestartedEvent>() {
+            @Override
+            public void handle(PluginEvents.ScanRestartedEvent event) {
+                synchronized (pendingBeanLines) {
+                    acceptLiveEvent(event.getSource(), event.getAttempt());
+                }
+                ApplicationManager.getApplication().invokeLater(() -> appendLog(event.getDescription()));
+            }
+        });
+        
         // 监听扫描完成事件
         eventBus.register(PluginEvents.ScanCompletedEvent.class, new EventBus.EventListener<PluginEvents.ScanCompletedEvent>() {
             @Override
             public void handle(PluginEvents.ScanCompletedEvent event) {
+                if (!finishLiveScan(event.getSource())) {
+                    appendForeignResult("扫描完成: " + event.getSource() + "，找到 " + event.getItemsFound() + " 个Bean");
+                    return;
+                }
                 ApplicationManager.getApplication().invokeLater(() -> {
                     windowState.setAnalyzing(false);
                     windowState.setProgress(1.0);
@@ -305,6 +374,27 @@ public class EnhancedLlmAnalysisToolWindow implements ToolWindowFactory {
             }
         });
         
+        // 监听扫描失败或取消事件：结束扫描状态，已实时展示的部分Bean保留在标签页中
+        eventBus.register(PluginEvents.ScanFailedEvent.class, new EventBus.EventListener<PluginEvents.ScanFailedEvent>() {
+            @Override
+            public void handle(PluginEvents.ScanFailedEvent event) {
+                if (!finishLiveScan(event.getSource())) {
+                    appendForeignResult(event.getErrorMessage());
+                    return;
+                }
+                ApplicationManager.getApplication().invokeLater(() -> {
+                    flushBeanLines();
+                    windowState.setAnalyzing(false);
+                    windowState.incrementTotal();
+                    windowState.incrementFailed();
+                    updateStatusBar();
+                    updateStatistics();
+                    appendLog(event.getErrorMessage());
+                    appendHistory("[" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")) + "] " + event.getErrorMessage());
+                });
+            }
+        });
+
         // 监听错误事件
         eventBus.register(PluginEvents.ErrorEvent.class, new EventBus.EventListener<PluginEvents.ErrorEvent>() {
             @Override
@@ -318,6 +408,112 @@ public class EnhancedLlmAnalysisToolWindow implements ToolWindowFactory {
         });
     }
     
+    private String formatBeanLine(PluginEvents.BeanDiscoveredEvent event) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < event.getDepth(); i++) {
+            line.append("  ");
+        }
+        line.append(event.getBeanName()).append(" [").append(event.getBeanType()).append("] ").append(event.getClassName());
+        if (event.isFrontier()) {
+            line.append(" (未展开)");
+        }
+        return line.append('\n').toString();
+    }
+    
+    /**
+     * 判断事件是否属于实时Bean标签页正在展示的扫描（第 attempt 次尝试），调用方需持有 pendingBeanLines 锁。
+     * 较新的尝试会清空上一轮已展示的Bean；其他扫描或已过期尝试的事件返回 false
+     */
+    private boolean acceptLiveEvent(String source, int attempt) {
+        if (liveScanSource == null) {
+            // 开始事件尚未处理时由第一个事件接管；已结束扫描的迟到事件直接忽略
+            if (source.equals(finishedScanSource)) {
+                return false;
+            }
+            liveScanSource = source;
+            liveAttempt = attempt;
+            resetLiveBeans();
+            return true;
+        }
+        if (!liveScanSource.equals(source) || attempt < liveAttempt) {
+            return false;
+        }
+        if (attempt > liveAttempt) {
+            liveAttempt = attempt;
+            resetLiveBeans();
+        }
+        return true;
+    }
+
+    /**
+     * 丢弃尚未刷新的Bean并排入清空标记，调用方需持有 pendingBeanLines 锁
+     */
+    private void resetLiveBeans() {
+        pendingBeanLines.clear();
+        pendingBeanLines.add(RESET_BEANS);
+        scheduleBeanFlush();
+    }
+
+    /**
+     * 进度事件是否应展示：属于当前扫描，或空闲时来自尚未结束的扫描；已结束扫描迟到的进度丢弃
+     */
+    private boolean isLiveOrIdle(String source) {
+        synchronized (pendingBeanLines) {
+            return liveScanSource == null ? !source.equals(finishedScanSource) : liveScanSource.equals(source);
+        }
+    }
+
+    /**
+     * 结束实时展示的扫描；返回 false 表示事件来自其他扫描，当前展示的扫描仍在进行
+     */
+    private boolean finishLiveScan(String source) {
+        synchronized (pendingBeanLines) {
+            if (liveScanSource != null && !liveScanSource.equals(source)) {
+                return false;
+            }
+            liveScanSource = null;
+            finishedScanSource = source;
+            return true;
+        }
+    }
+
+    /**
+     * 其他扫描的结束事件只记录到日志与历史，不影响当前扫描的状态和实时Bean标签页
+     */
+    private void appendForeignResult(String message) {
+        ApplicationManager.getApplication().invokeLater(() -> {
+            appendLog(message);
+            appendHistory("[" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")) + "] " + message);
+        });
+    }
+
+    private void scheduleBeanFlush() {
+        if (beanFlushScheduled.compareAndSet(false, true)) {
+            ApplicationManager.getApplication().invokeLater(() -> flushBeanLines());
+        }
+    }
+
+    /**
+     * 在 EDT 上把排队的 Bean 一次性追加到实时Bean标签页；遇到清空标记时先清空标签页
+     */
+    private void flushBeanLines() {
+        beanFlushScheduled.set(false);
+        StringBuilder lines = new StringBuilder();
+        String line;
+        while ((line = pendingBeanLines.poll()) != null) {
+            if (line == RESET_BEANS) {
+                beansTextArea.setText("");
+                lines.setLength(0);
+            } else {
+                lines.append(line);
+            }
+        }
+        if (lines.length() > 0) {
+            beansTextArea.append(lines.toString());
+            beansTextArea.setCaretPosition(beansTextArea.getDocument().getLength());
+        }
+    }
+    
     /**
      * 注册工具栏操作
      */
@@ -442,6 +638,7 @@ public class EnhancedLlmAnalysisToolWindow implements ToolWindowFactory {
         if (result == Messages.YES) {
             analysisResults.clear();
             analysisTextArea.setText("");
+            beansTextArea.setText("");
             logTextArea.setText("");
             statisticsTextArea.setText("");
             historyTextArea.setText("");
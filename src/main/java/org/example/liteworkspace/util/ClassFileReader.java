@@ -0,0 +1,175 @@
+package org.example.liteworkspace.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * 直接读取 class 文件常量池的轻量解析器，不经过 PSI，适用于没有源码的依赖 jar
+ */
+public final class ClassFileReader {
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+
+    private ClassFileReader() {
+    }
+
+    /**
+     * 读取类级 RuntimeVisibleAnnotations 的注解全限定名，跳过其余结构
+     */
+    public static List<String> readClassAnnotations(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        ConstantPool pool = ConstantPool.read(in);
+        if (pool == null) {
+            return Collections.emptyList();
+        }
+        // access_flags, this_class, super_class
+        in.skipBytes(6);
+        in.skipBytes(2 * in.readUnsignedShort());
+        skipMembers(in);
+        skipMembers(in);
+
+        List<String> annotations = new ArrayList<>();
+        int attributeCount = in.readUnsignedShort();
+        for (int i = 0; i < attributeCount; i++) {
+            String name = pool.utf8[in.readUnsignedShort()];
+            int length = in.readInt();
+            if (!"RuntimeVisibleAnnotations".equals(name)) {
+                in.skipBytes(length);
+                continue;
+            }
+            int annotationCount = in.readUnsignedShort();
+            for (int j = 0; j < annotationCount; j++) {
+                String descriptor = pool.utf8[in.readUnsignedShort()];
+                if (descriptor != null && descriptor.length() > 2) {
+                    annotations.add(descriptor.substring(1, descriptor.length() - 1).replace('/', '.').replace('$', '.'));
+                }
+                skipElementValuePairs(in);
+            }
+        }
+        return annotations;
+    }
+
+    /**
+     * 读取常量池中引用的类名（类常量）与形如全限定类名的字符串常量，如 {@code Foo.class.getName()} 与 {@code "a.b.Foo"}
+     */
+    public static Set<String> readReferencedClassNames(byte[] bytes) throws IOException {
+        ConstantPool pool = ConstantPool.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+        if (pool == null) {
+            return Collections.emptySet();
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (int i = 1; i < pool.tags.length; i++) {
+            String value = pool.refs[i] > 0 ? pool.utf8[pool.refs[i]] : null;
+            if (value == null) {
+                continue;
+            }
+            if (pool.tags[i] == CONSTANT_CLASS && !value.startsWith("[")) {
+                names.add(value.replace('/', '.').replace('$', '.'));
+            } else if (pool.tags[i] == CONSTANT_STRING && looksLikeClassName(value)) {
+                names.add(value.replace('$', '.'));
+            }
+        }
+        return names;
+    }
+
+    private static boolean looksLikeClassName(String value) {
+        int lastDot = value.lastIndexOf('.');
+        if (lastDot <= 0 || lastDot == value.length() - 1 || !Character.isUpperCase(value.charAt(lastDot + 1))) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '.' && c != '$' && !Character.isJavaIdentifierPart(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void skipMembers(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            in.skipBytes(6);
+            int attributeCount = in.readUnsignedShort();
+            for (int j = 0; j < attributeCount; j++) {
+                in.skipBytes(2);
+                in.skipBytes(in.readInt());
+            }
+        }
+    }
+
+    private static void skipElementValuePairs(DataInputStream in) throws IOException {
+        int pairCount = in.readUnsignedShort();
+        for (int i = 0; i < pairCount; i++) {
+            in.skipBytes(2);
+            skipElementValue(in);
+        }
+    }
+
+    private static void skipElementValue(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 'e' -> in.skipBytes(4);
+            case '@' -> {
+                in.skipBytes(2);
+                skipElementValuePairs(in);
+            }
+            case '[' -> {
+                int count = in.readUnsignedShort();
+                for (int i = 0; i < count; i++) {
+                    skipElementValue(in);
+                }
+            }
+            default -> in.skipBytes(2);
+        }
+    }
+
+    /**
+     * 常量池：UTF8 常量的内容，以及类常量、字符串常量指向的 UTF8 下标
+     */
+    private static final class ConstantPool {
+        private final int[] tags;
+        private final int[] refs;
+        private final String[] utf8;
+
+        private ConstantPool(int count) {
+            this.tags = new int[count];
+            this.refs = new int[count];
+            this.utf8 = new String[count];
+        }
+
+        /**
+         * 读取魔数、版本与常量池；不是 class 文件或遇到未知常量类型时返回 null
+         */
+        private static ConstantPool read(DataInputStream in) throws IOException {
+            if (in.readInt() != 0xCAFEBABE) {
+                return null;
+            }
+            in.skipBytes(4);
+            ConstantPool pool = new ConstantPool(in.readUnsignedShort());
+            for (int i = 1; i < pool.tags.length; i++) {
+                int tag = in.readUnsignedByte();
+                pool.tags[i] = tag;
+                switch (tag) {
+                    case CONSTANT_UTF8 -> pool.utf8[i] = in.readUTF();
+                    case CONSTANT_CLASS, CONSTANT_STRING -> pool.refs[i] = in.readUnsignedShort();
+                    case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipBytes(4);
+                    case 5, 6 -> {
+                        in.skipBytes(8);
+                        i++;
+                    }
+                    case 16, 19, 20 -> in.skipBytes(2);
+                    case 15 -> in.skipBytes(3);
+                    default -> {
+                        return null;
+                    }
+                }
+            }
+            return pool;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.example.liteworkspace.util;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.compiler.CompilerPaths;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * 根据最近一次扫描写出的 {@code build/lite/bean-classes.txt} 计算测试运行所需的最小源文件集合：
+ * 测试类（及其 Initializer）、Bean 类以及它们签名中引用的项目源码类型（父类、接口、字段、方法参数与返回值）。
+ * 只返回其中未编译或源文件比 class 文件新的部分，交给 {@code createFilesCompileScope} 编译。
+ */
+public class CompileClosureResolver {
+
+    public static final String BEAN_CLASSES_FILE = "build/lite/bean-classes.txt";
+
+    private final Project project;
+
+    public CompileClosureResolver(Project project) {
+        this.project = project;
+    }
+
+    /**
+     * @param testClass   待运行的测试类
+     * @param targetClass 测试类对应的被测类全限定名，用来确认 bean-classes.txt 来自同一次扫描
+     * @return 需要编译的过期源文件（可能为空）；扫描结果缺失或与当前测试无关时返回 null，调用方应退回整模块编译
+     */
+    public Set<VirtualFile> resolveStaleFiles(PsiClass testClass, String targetClass) {
+        List<String> beanClasses = readBeanClasses();
+        if (beanClasses.isEmpty() || !beanClasses.contains(targetClass)) {
+            LogUtil.info("{} 不在最近一次扫描结果中，使用整模块编译", targetClass);
+            return null;
+        }
+
+        return ReadAction.compute(() -> {
+            CostUtil.start("compileClosure");
+            GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+            JavaPsiFacade facade = JavaPsiFacade.getInstance(project);
+
+            Set<PsiClass> seeds = new LinkedHashSet<>();
+            seeds.add(testClass);
+            String testClassName = testClass.getQualifiedName();
+            if (testClassName != null) {
+                PsiClass initializer = facade.findClass(testClassName + "Initializer", scope);
+                if (initializer != null) {
+                    seeds.add(initializer);
+                }
+            }
+            for (String beanClass : beanClasses) {
+                PsiClass psiClass = facade.findClass(beanClass, scope);
+                if (psiClass != null) {
+                    seeds.add(psiClass);
+                }
+            }
+
+            Set<VirtualFile> closure = new LinkedHashSet<>();
+            for (PsiClass seed : seeds) {
+                addSourceFile(seed, closure);
+                for (PsiClass dependency : collectSignatureDependencies(seed)) {
+                    addSourceFile(dependency, closure);
+                }
+            }
+
+            Set<VirtualFile> stale = new LinkedHashSet<>();
+            for (VirtualFile file : closure) {
+                if (isStale(project, file)) {
+                    stale.add(file);
+                }
+            }
+            LogUtil.info("编译闭包: 源文件 {} 个, 需要编译 {} 个, 耗时: {} ms",
+                    closure.size(), stale.size(), CostUtil.end("compileClosure"));
+            return stale;
+        });
+    }
+
+    private List<String> readBeanClasses() {
+        Path file = Paths.get(project.getBasePath(), BEAN_CLASSES_FILE);
+        if (!Files.exists(file)) {
+            return Collections.emptyList();
+        }
+        try {
+            return Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LogUtil.warn("读取 {} 失败: {}", file.toString(), e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 签名级依赖：父类、接口、字段类型、方法/构造器的参数与返回类型（含泛型实参）
+     */
+    private Set<PsiClass> collectSignatureDependencies(PsiClass psiClass) {
+        Set<PsiClass> dependencies = new LinkedHashSet<>();
+        for (PsiClassType superType : psiClass.getSuperTypes()) {
+            addType(superType, dependencies);
+        }
+        for (PsiField field : psiClass.getFields()) {
+            addType(field.getType(), dependencies);
+        }
+        for (PsiMethod method : psiClass.getMethods()) {
+            addType(method.getReturnType(), dependencies);
+            for (PsiParameter parameter : method.getParameterList().getParameters()) {
+                addType(parameter.getType(), dependencies);
+            }
+        }
+        for (PsiClass innerClass : psiClass.getInnerClasses()) {
+            dependencies.addAll(collectSignatureDependencies(innerClass));
+        }
+        return dependencies;
+    }
+
+    private void addType(PsiType type, Set<PsiClass> dependencies) {
+        if (type == null) {
+            return;
+        }
+        PsiClass resolved = PsiUtil.resolveClassInType(type);
+        if (resolved != null) {
+            dependencies.add(resolved);
+        }
+        if (type instanceof PsiClassType classType) {
+            for (PsiType parameter : classType.getParameters()) {
+                addType(parameter, dependencies);
+            }
+        }
+    }
+
+    /**
+     * 只收集项目源码中的文件，库中的类型不参与编译
+     */
+    private void addSourceFile(PsiClass psiClass, Set<VirtualFile> files) {
+        PsiFile psiFile = psiClass.getContainingFile();
+        VirtualFile file = psiFile != null ? psiFile.getVirtualFile() : null;
+        if (file != null && ProjectFileIndex.getInstance(project).isInSourceContent(file)
+                && "java".equalsIgnoreCase(file.getExtension())) {
+            files.add(file);
+        }
+    }
+
+    /**
+     * 未保存、未编译或源文件比输出目录中的 class 文件新时视为过期，需在读操作中调用
+     */
+    public static boolean isStale(Project project, VirtualFile file) {
+        if (FileDocumentManager.getInstance().isFileModified(file)) {
+            return true;
+        }
+        PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        Module module = ModuleUtilCore.findModuleForFile(file, project);
+        if (!(psiFile instanceof PsiJavaFile javaFile) || module == null) {
+            return true;
+        }
+        boolean forTests = ProjectFileIndex.getInstance(project).isInTestSourceContent(file);
+        String outputDirectory = CompilerPaths.getModuleOutputPath(module, forTests);
+        if (outputDirectory == null) {
+            return true;
+        }
+        String packagePath = javaFile.getPackageName().replace('.', '/');
+        for (PsiClass psiClass : javaFile.getClasses()) {
+            File classFile = new File(outputDirectory, (packagePath.isEmpty() ? "" : packagePath + "/")
+                    + psiClass.getName() + ".class");
+            if (!classFile.exists() || classFile.lastModified() < file.getTimeStamp()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
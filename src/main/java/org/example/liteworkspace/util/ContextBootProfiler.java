@@ -0,0 +1,252 @@
+package org.example.liteworkspace.util;
+
+import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.projectRoots.Sdk;
+import com.intellij.openapi.roots.ModuleRootManager;
+import org.example.liteworkspace.cache.GsonProvider;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 在独立 JVM 中启动生成的 Spring 上下文，收集每个 Bean 的创建耗时与内存分配。
+ * <p>
+ * 类路径复用 {@link RunOnDemandCompiler#collectRuntimeClasspath}，测速逻辑由插件 jar 中的
+ * {@code org.example.liteworkspace.bootstrap.ContextProfilerMain} 在子进程内完成，
+ * 结果写入 {@code build/lite/context-profile.json}（与 bean-classes.txt 同目录）。
+ */
+public class ContextBootProfiler {
+
+    public static final String PROFILE_FILE = "build/lite/context-profile.json";
+
+    private static final String MAIN_CLASS = "org.example.liteworkspace.bootstrap.ContextProfilerMain";
+    private static final String PREFIX = "LITE-PROFILE";
+    private static final long PROCESS_TIMEOUT_SECONDS = 300;
+
+    private final Project project;
+    private final Module module;
+
+    public ContextBootProfiler(Project project, Module module) {
+        this.project = project;
+        this.module = module;
+    }
+
+    /**
+     * 启动生成的 XML 上下文
+     *
+     * @param xmlResource 类路径下的 XML 位置，如 com/example/FooServiceTest.xml
+     */
+    public ContextProfile profileXml(String xmlResource, ProgressIndicator indicator) throws IOException {
+        return launch("xml", xmlResource, indicator);
+    }
+
+    /**
+     * 启动生成的 ApplicationContextInitializer，需要先完成测试源码编译
+     *
+     * @param initializerClass Initializer 全限定名，如 com.example.FooServiceTestInitializer
+     */
+    public ContextProfile profileInitializer(String initializerClass, ProgressIndicator indicator) throws IOException {
+        return launch("initializer", initializerClass, indicator);
+    }
+
+    /**
+     * 启动完整的 Spring Boot 应用上下文，用于与最小上下文对比
+     *
+     * @param applicationClass @SpringBootApplication 主类全限定名
+     */
+    public ContextProfile profileFullContext(String applicationClass, ProgressIndicator indicator) throws IOException {
+        return launch("boot", applicationClass, indicator);
+    }
+
+    private ContextProfile launch(String mode, String location, ProgressIndicator indicator) throws IOException {
+        Set<String> classpathEntries = ReadActionUtil.computeAsync(project,
+                () -> RunOnDemandCompiler.collectRuntimeClasspath(List.of(module))).join();
+        classpathEntries.add(PathManager.getJarPathForClass(ContextBootProfiler.class));
+
+        List<String> command = Arrays.asList(resolveJavaExecutable(module),
+                "-cp", String.join(File.pathSeparator, classpathEntries),
+                MAIN_CLASS, mode, location);
+        LogUtil.info("启动上下文测速进程: mode={}, location={}", mode, location);
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        ContextProfile profile = new ContextProfile(mode, location);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (indicator != null && indicator.isCanceled()) {
+                    process.destroyForcibly();
+                    break;
+                }
+                if (line.startsWith(PREFIX)) {
+                    profile.accept(line.split("\t"));
+                } else {
+                    ConsoleService.print(project, line, ConsoleViewContentType.NORMAL_OUTPUT);
+                }
+            }
+        }
+
+        try {
+            if (!process.waitFor(PROCESS_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+            profile.exitCode = process.exitValue();
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        } catch (IllegalThreadStateException e) {
+            profile.exitCode = -1;
+        }
+        profile.beans.sort(Comparator.comparingDouble(BeanCost::getSelfMillis).reversed());
+        return profile;
+    }
+
+    /**
+     * 优先使用模块 SDK 的 java，保证与项目运行环境一致；模块为空或未配置 SDK 时使用 PATH 中的 java
+     */
+    public static String resolveJavaExecutable(Module module) {
+        Sdk sdk = module != null ? ModuleRootManager.getInstance(module).getSdk() : null;
+        if (sdk != null && sdk.getHomePath() != null) {
+            File java = new File(sdk.getHomePath(), "bin/java");
+            if (java.exists()) {
+                return java.getAbsolutePath();
+            }
+        }
+        return "java";
+    }
+
+    /**
+     * 把测速结果持久化到 build/lite/context-profile.json
+     */
+    public static Path save(Project project, List<ContextProfile> profiles) throws IOException {
+        Path file = Paths.get(project.getBasePath(), PROFILE_FILE);
+        Files.createDirectories(file.getParent());
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", System.currentTimeMillis());
+        report.put("profiles", profiles);
+        Files.writeString(file, GsonProvider.gson.toJson(report), StandardCharsets.UTF_8);
+        LogUtil.info("上下文测速结果已写入: {}", file.toString());
+        return file;
+    }
+
+    /**
+     * 渲染按自身耗时降序排列的成本表
+     */
+    public static String renderTable(ContextProfile profile, int limit) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("[%s] %s%n", profile.getMode(), profile.getLocation()));
+        sb.append(String.format("JVM 启动 %d ms, 上下文刷新 %.1f ms, Bean 定义 %d 个, 堆增量 %s, 退出码 %d%n",
+                profile.getJvmStartupMillis(), profile.getRefreshMillis(), profile.getBeanDefinitionCount(),
+                formatBytes(profile.getHeapDeltaBytes()), profile.getExitCode()));
+        sb.append(String.format("%-40s %10s %10s %12s  %s%n", "bean", "self(ms)", "total(ms)", "self alloc", "class"));
+        int count = 0;
+        for (BeanCost bean : profile.getBeans()) {
+            if (count++ >= limit) {
+                sb.append(String.format("... 其余 %d 个 Bean 见 %s%n", profile.getBeans().size() - limit, PROFILE_FILE));
+                break;
+            }
+            sb.append(String.format("%-40s %10.2f %10.2f %12s  %s%n", bean.getBeanName(), bean.getSelfMillis(),
+                    bean.getTotalMillis(), formatBytes(bean.getSelfAllocatedBytes()), bean.getClassName()));
+        }
+        return sb.toString();
+    }
+
+    private static String formatBytes(long bytes) {
+        if (Math.abs(bytes) < 1024) {
+            return bytes + " B";
+        }
+        if (Math.abs(bytes) < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    /**
+     * 单次上下文启动的测速结果
+     */
+    public static class ContextProfile {
+        private final String mode;
+        private final String location;
+        private long jvmStartupMillis;
+        private double refreshMillis;
+        private int beanDefinitionCount;
+        private long heapDeltaBytes;
+        private int exitCode;
+        private final List<BeanCost> beans = new ArrayList<>();
+
+        public ContextProfile(String mode, String location) {
+            this.mode = mode;
+            this.location = location;
+        }
+
+        private void accept(String[] parts) {
+            if (parts.length >= 8 && "BEAN".equals(parts[1])) {
+                beans.add(new BeanCost(parts[2], parts[3],
+                        Long.parseLong(parts[4]) / 1_000_000.0, Long.parseLong(parts[5]) / 1_000_000.0,
+                        Long.parseLong(parts[6]), Long.parseLong(parts[7])));
+            } else if (parts.length >= 7 && "CONTEXT".equals(parts[1])) {
+                jvmStartupMillis = Long.parseLong(parts[3]);
+                refreshMillis = Long.parseLong(parts[4]) / 1_000_000.0;
+                beanDefinitionCount = Integer.parseInt(parts[5]);
+                heapDeltaBytes = Long.parseLong(parts[6]);
+            }
+        }
+
+        /**
+         * 子进程是否完成了上下文刷新
+         */
+        public boolean isBooted() {
+            return exitCode == 0 && refreshMillis > 0;
+        }
+
+        public String getMode() { return mode; }
+        public String getLocation() { return location; }
+        public long getJvmStartupMillis() { return jvmStartupMillis; }
+        public double getRefreshMillis() { return refreshMillis; }
+        public int getBeanDefinitionCount() { return beanDefinitionCount; }
+        public long getHeapDeltaBytes() { return heapDeltaBytes; }
+        public int getExitCode() { return exitCode; }
+        public List<BeanCost> getBeans() { return beans; }
+    }
+
+    /**
+     * 单个 Bean 的创建成本；self 为扣除其依赖 Bean 创建后的自身部分
+     */
+    public static class BeanCost {
+        private final String beanName;
+        private final String className;
+        private final double selfMillis;
+        private final double totalMillis;
+        private final long selfAllocatedBytes;
+        private final long totalAllocatedBytes;
+
+        public BeanCost(String beanName, String className, double selfMillis, double totalMillis,
+                        long selfAllocatedBytes, long totalAllocatedBytes) {
+            this.beanName = beanName;
+            this.className = className;
+            this.selfMillis = selfMillis;
+            this.totalMillis = totalMillis;
+            this.selfAllocatedBytes = selfAllocatedBytes;
+            this.totalAllocatedBytes = totalAllocatedBytes;
+        }
+
+        public String getBeanName() { return beanName; }
+        public String getClassName() { return className; }
+        public double getSelfMillis() { return selfMillis; }
+        public double getTotalMillis() { return totalMillis; }
+        public long getSelfAllocatedBytes() { return selfAllocatedBytes; }
+        public long getTotalAllocatedBytes() { return totalAllocatedBytes; }
+    }
+}
@@ -0,0 +1,254 @@
+package org.example.liteworkspace.util;
+
+import com.intellij.compiler.CompilerConfiguration;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.projectRoots.JavaSdk;
+import com.intellij.openapi.projectRoots.JavaSdkVersion;
+import com.intellij.openapi.projectRoots.Sdk;
+import org.jetbrains.annotations.Nullable;
+
+import javax.tools.*;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 基于 JDK {@link JavaCompiler} 的进程内编译：只把改动的源文件编译到内存，
+ * 其余类型从模块输出目录与依赖 jar 中解析。
+ * <p>
+ * 同一类路径下复用同一个 {@link StandardJavaFileManager}，jar 的打开与索引只发生一次；
+ * 类路径变化或服务释放（插件卸载、IDE 关闭）时关闭文件管理器，释放打开的 jar。
+ * 编译结果以 “二进制类名 → 字节码” 的形式交给运行器类加载器，不落盘。
+ * <p>
+ * 编译器随 IDE 运行时提供，只能编译不高于运行时版本的代码；编译时不运行注解处理器（{@code -proc:none}），
+ * 启用了注解处理的模块（Lombok、MapStruct 等）需要生成代码与处理器路径，交给 CompilerManager 编译。
+ * 调用方应先检查 {@link #unsupportedReason(Sdk, Collection)}，不可用时改用 CompilerManager 编译。
+ */
+public class InMemoryJavaCompiler implements Disposable {
+
+    private final Object lock = new Object();
+    private String cachedClasspathKey;
+    private StandardJavaFileManager cachedFileManager;
+
+    public static InMemoryJavaCompiler getInstance() {
+        return ApplicationManager.getApplication().getService(InMemoryJavaCompiler.class);
+    }
+
+    /**
+     * 进程内编译对这些模块不可用的原因：SDK 不受支持，或任一模块启用了注解处理
+     *
+     * @return 不可用原因；可用时为 null
+     */
+    @Nullable
+    public static String unsupportedReason(Sdk sdk, Collection<Module> modules) {
+        String reason = unsupportedReason(sdk);
+        if (reason != null) {
+            return reason;
+        }
+        for (Module module : modules) {
+            if (CompilerConfiguration.getInstance(module.getProject())
+                    .getAnnotationProcessingConfiguration(module).isEnabled()) {
+                return String.format("模块 %s 启用了注解处理，进程内编译不运行注解处理器", module.getName());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 进程内编译对该 SDK 不可用的原因
+     *
+     * @return 不可用原因；可用时为 null
+     */
+    @Nullable
+    public static String unsupportedReason(Sdk sdk) {
+        if (ToolProvider.getSystemJavaCompiler() == null) {
+            return "当前 IDE 运行时不提供 javax.tools 编译器";
+        }
+        int feature = sdkFeature(sdk);
+        int runtimeFeature = Runtime.version().feature();
+        if (feature > runtimeFeature) {
+            return String.format("模块 SDK 为 Java %d，高于 IDE 运行时的 Java %d，进程内编译器无法按该版本编译",
+                    feature, runtimeFeature);
+        }
+        if (feature > 0 && feature < 8) {
+            return String.format("模块 SDK 为 Java %d，进程内编译只支持 Java 8 及以上", feature);
+        }
+        return null;
+    }
+
+    /**
+     * @param sources          类全限定名（仅用于命名）→ 源码文本，通常来自编辑器 Document，未保存的修改同样生效
+     * @param classpathEntries 模块输出目录与依赖 jar
+     * @param sdk              模块 SDK，用于确定 --release；为空时使用当前 JDK 的默认值
+     * @throws IllegalStateException {@link #unsupportedReason(Sdk)} 不为空时；注解处理由调用方通过
+     *                               {@link #unsupportedReason(Sdk, Collection)} 排除
+     */
+    public CompileResult compile(Map<String, String> sources, Collection<String> classpathEntries, Sdk sdk) {
+        String unsupported = unsupportedReason(sdk);
+        if (unsupported != null) {
+            throw new IllegalStateException(unsupported);
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        long start = System.nanoTime();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Map<String, ByteArrayOutputStream> outputs = new LinkedHashMap<>();
+        boolean success;
+        synchronized (lock) {
+            StandardJavaFileManager standardFileManager = getFileManager(compiler, classpathEntries);
+            JavaFileManager fileManager = new MemoryFileManager(standardFileManager, outputs);
+
+            List<JavaFileObject> units = new ArrayList<>();
+            for (Map.Entry<String, String> source : sources.entrySet()) {
+                units.add(new SourceFile(source.getKey(), source.getValue()));
+            }
+            List<String> options = new ArrayList<>(List.of("-g", "-proc:none", "-parameters", "-encoding", "UTF-8"));
+            int feature = sdkFeature(sdk);
+            if (feature > 0) {
+                options.add("--release");
+                options.add(String.valueOf(feature));
+            }
+            success = compiler.getTask(null, fileManager, diagnostics, options, null, units).call();
+        }
+
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        for (Map.Entry<String, ByteArrayOutputStream> output : outputs.entrySet()) {
+            classes.put(output.getKey(), output.getValue().toByteArray());
+        }
+        return new CompileResult(success, classes, diagnostics.getDiagnostics(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private StandardJavaFileManager getFileManager(JavaCompiler compiler, Collection<String> classpathEntries) {
+        String key = String.join(File.pathSeparator, classpathEntries);
+        if (cachedFileManager != null && key.equals(cachedClasspathKey)) {
+            return cachedFileManager;
+        }
+        closeFileManager();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+        List<File> classpath = new ArrayList<>();
+        for (String entry : classpathEntries) {
+            classpath.add(new File(entry));
+        }
+        try {
+            fileManager.setLocation(StandardLocation.CLASS_PATH, classpath);
+        } catch (IOException e) {
+            LogUtil.warn("设置编译类路径失败: {}", e.getMessage());
+        }
+        cachedFileManager = fileManager;
+        cachedClasspathKey = key;
+        LogUtil.info("创建编译文件管理器，类路径条目: {}", classpath.size());
+        return fileManager;
+    }
+
+    private void closeFileManager() {
+        if (cachedFileManager != null) {
+            try {
+                cachedFileManager.close();
+            } catch (IOException e) {
+                LogUtil.warn("关闭编译文件管理器失败: {}", e.getMessage());
+            }
+            cachedFileManager = null;
+            cachedClasspathKey = null;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        synchronized (lock) {
+            closeFileManager();
+        }
+    }
+
+    /**
+     * 模块 SDK 的语言版本，用于 --release 与运行器 JVM 对齐；无法确定时为 -1
+     */
+    private static int sdkFeature(Sdk sdk) {
+        if (sdk == null || !(sdk.getSdkType() instanceof JavaSdk javaSdk)) {
+            return -1;
+        }
+        JavaSdkVersion version = javaSdk.getVersion(sdk);
+        return version == null ? -1 : version.getMaxLanguageLevel().toJavaVersion().feature;
+    }
+
+    /**
+     * 编译结果
+     */
+    public static class CompileResult {
+        private final boolean success;
+        private final Map<String, byte[]> classes;
+        private final List<Diagnostic<? extends JavaFileObject>> diagnostics;
+        private final long elapsedMillis;
+
+        public CompileResult(boolean success, Map<String, byte[]> classes,
+                             List<Diagnostic<? extends JavaFileObject>> diagnostics, long elapsedMillis) {
+            this.success = success;
+            this.classes = classes;
+            this.diagnostics = diagnostics;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public boolean isSuccess() { return success; }
+        public Map<String, byte[]> getClasses() { return classes; }
+        public List<Diagnostic<? extends JavaFileObject>> getDiagnostics() { return diagnostics; }
+        public long getElapsedMillis() { return elapsedMillis; }
+    }
+
+    private static final class SourceFile extends SimpleJavaFileObject {
+        private final String content;
+
+        private SourceFile(String className, String content) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+
+    private static final class ClassOutput extends SimpleJavaFileObject {
+        private final ByteArrayOutputStream bytes;
+
+        private ClassOutput(String className, ByteArrayOutputStream bytes) {
+            super(URI.create("mem:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return bytes;
+        }
+    }
+
+    /**
+     * 把 CLASS_OUTPUT 重定向到内存，其余位置委托给标准文件管理器
+     */
+    private static final class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        private final Map<String, ByteArrayOutputStream> outputs;
+
+        private MemoryFileManager(StandardJavaFileManager fileManager, Map<String, ByteArrayOutputStream> outputs) {
+            super(fileManager);
+            this.outputs = outputs;
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className,
+                                                   JavaFileObject.Kind kind, FileObject sibling) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            outputs.put(className, bytes);
+            return new ClassOutput(className, bytes);
+        }
+
+        @Override
+        public void close() {
+            // 标准文件管理器由缓存持有，跨编译复用
+        }
+    }
+}
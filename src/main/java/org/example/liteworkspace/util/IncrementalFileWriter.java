@@ -0,0 +1,110 @@
+package org.example.liteworkspace.util;
+
+import com.intellij.openapi.vfs.LocalFileSystem;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 生成文件的增量写入
+ * <p>
+ * 内容哈希与磁盘文件一致时跳过写入，避免重复触发索引与构建工具的资源过期判断；
+ * 需要写入时先写临时文件再原子替换，写入的文件由调用方收集后通过 {@link #refreshAsync} 批量刷新 VFS。
+ */
+public final class IncrementalFileWriter {
+
+    /**
+     * 最近一次写入或读取到的文件指纹，文件大小与修改时间未变时直接比较哈希，不再读取文件
+     */
+    private static final Map<Path, Fingerprint> FINGERPRINTS = new ConcurrentHashMap<>();
+
+    private IncrementalFileWriter() {
+    }
+
+    /**
+     * 内容变化时写入文件
+     *
+     * @return 是否实际写入
+     */
+    public static boolean writeIfChanged(Path file, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        String hash = DigestUtils.sha256Hex(bytes);
+        Path path = file.toAbsolutePath().normalize();
+        if (hash.equals(diskHash(path))) {
+            LogUtil.debug("文件内容未变化，跳过写入: {}", path);
+            return false;
+        }
+
+        Files.createDirectories(path.getParent());
+        Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes);
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        FINGERPRINTS.put(path, Fingerprint.of(path, hash));
+        LogUtil.debug("已写入文件: {}", path);
+        return true;
+    }
+
+    /**
+     * 一次异步刷新所有写入过的文件，完成后执行 onFinish（可为 null）
+     */
+    public static void refreshAsync(Collection<Path> files, Runnable onFinish) {
+        if (files.isEmpty()) {
+            if (onFinish != null) {
+                onFinish.run();
+            }
+            return;
+        }
+        LocalFileSystem.getInstance().refreshNioFiles(List.copyOf(files), true, false, onFinish);
+    }
+
+    private static String diskHash(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            FINGERPRINTS.remove(path);
+            return null;
+        }
+        Fingerprint fingerprint = FINGERPRINTS.get(path);
+        if (fingerprint != null && fingerprint.matches(path)) {
+            return fingerprint.hash;
+        }
+        String hash = DigestUtils.sha256Hex(Files.readAllBytes(path));
+        FINGERPRINTS.put(path, Fingerprint.of(path, hash));
+        return hash;
+    }
+
+    private static class Fingerprint {
+        private final long size;
+        private final long lastModified;
+        private final String hash;
+
+        private Fingerprint(long size, long lastModified, String hash) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+
+        private static Fingerprint of(Path path, String hash) throws IOException {
+            return new Fingerprint(Files.size(path), Files.getLastModifiedTime(path).toMillis(), hash);
+        }
+
+        private boolean matches(Path path) throws IOException {
+            return size == Files.size(path) && lastModified == Files.getLastModifiedTime(path).toMillis();
+        }
+    }
+}
@@ -34,7 +34,7 @@ public class LogUtil {
         logThread.start();
     }
 
-    private static String format(String str, Object... params) {
+    static String format(String str, Object... params) {
         if (params == null || params.length == 0) {
             return "LiteWorkspace:" + str;
         }
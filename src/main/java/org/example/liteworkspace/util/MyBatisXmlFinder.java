@@ -10,10 +10,12 @@ import com.intellij.openapi.roots.OrderRootType;
 import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.openapi.vfs.VirtualFileVisitor;
+import org.example.liteworkspace.cache.LibrarySummaryIndex;
 import org.example.liteworkspace.datasource.SqlSessionConfig;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.*;
@@ -72,11 +74,14 @@ public class MyBatisXmlFinder {
             collectXmlFiles(root, cfg, result, true);
         }
 
-        // 2️⃣ 扫描依赖库
+        // 2️⃣ 扫描依赖库，跳过摘要中不含 Mapper XML 的 jar；调用方持有读锁，不在这里读 jar，尚无摘要的先照常扫描
+        LibrarySummaryIndex summaryIndex = LibrarySummaryIndex.getInstance();
         for (OrderEntry entry : ModuleRootManager.getInstance(module).getOrderEntries()) {
             if (!(entry instanceof LibraryOrderEntry libEntry)) continue;
             for (VirtualFile root : libEntry.getRootFiles(OrderRootType.CLASSES)) {
                 if (!root.isValid()) continue;
+                LibrarySummaryIndex.LibrarySummary summary = summaryIndex.getCachedOrAnalyzeInBackground(root);
+                if (summary != null && !summary.hasMapperXml()) continue;
                 collectXmlFiles(root, cfg, result, false);
             }
         }
@@ -174,9 +179,18 @@ public class MyBatisXmlFinder {
      * 从文件前几行提取 <mapper namespace="...">
      */
     private String extractMapperNamespace(VirtualFile file) {
-        try (InputStream is = file.getInputStream();
-             BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
+        try (InputStream is = file.getInputStream()) {
+            return extractMapperNamespace(is);
+        } catch (Exception ignored) {
+        }
+        return null;
+    }
 
+    /**
+     * 不依赖 VFS 的解析部分，便于基准测试直接喂入文件内容
+     */
+    static String extractMapperNamespace(InputStream is) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
             StringBuilder sb = new StringBuilder();
             String line;
             int lineCount = 0;
@@ -196,7 +210,6 @@ public class MyBatisXmlFinder {
                     break;
                 }
             }
-        } catch (Exception ignored) {
         }
         return null;
     }
@@ -1,119 +1,302 @@
 package org.example.liteworkspace.util;
 
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.OrderEnumerator;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.roots.ProjectRootModificationTracker;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiClass;
-import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiManager;
 import com.intellij.psi.search.GlobalSearchScope;
+import org.example.liteworkspace.cache.LibrarySummaryIndex;
 import org.example.liteworkspace.dto.ClassSignatureDTO;
-import org.example.liteworkspace.util.LogUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * 简化的搜索范围管理器
- * 完全移除缓存机制，避免项目间数据污染
+ * 按模块依赖计算搜索范围（项目级服务）
+ * <p>
+ * 目标类只能看到所在模块及其传递依赖模块中的 Bean，因此：
+ * <ul>
+ *   <li>解析范围：{@code moduleWithDependenciesAndLibrariesScope}，用于按全限定名查找类</li>
+ *   <li>Bean 搜索范围：模块及其传递依赖模块的源码，加上 {@link LibrarySummaryIndex} 判定为 Spring 相关的依赖 jar，
+ *   用于实现类搜索与配置类发现</li>
+ * </ul>
+ * 范围按模块缓存，项目根（模块依赖、库）变化后整体失效；服务随项目销毁，不会在项目间共享。
+ * <p>
+ * jar 摘要的分析是文件 IO，不在读锁内进行：调用方已持有读锁且有 jar 尚未分析时，先保守地把这些 jar 计入范围，
+ * 同时在后台分析，完成后让缓存的范围失效，下次查询得到收窄后的范围。
  */
-public class OptimizedSearchScopeManager {
-    
+public class OptimizedSearchScopeManager implements Disposable {
+
     private final Project project;
-    
+    private final Map<Module, ModuleScopes> moduleScopes = new ConcurrentHashMap<>();
+    private final Map<VirtualFile, Boolean> springRelevantRoots = new ConcurrentHashMap<>();
+    private final Set<VirtualFile> analyzingRoots = ConcurrentHashMap.newKeySet();
+    private volatile long cachedRootModificationCount = -1;
+
     public OptimizedSearchScopeManager(Project project) {
         this.project = project;
     }
-    
+
+    public static OptimizedSearchScopeManager getInstance(Project project) {
+        return project.getService(OptimizedSearchScopeManager.class);
+    }
+
+    /**
+     * 按全限定名解析类的范围；模块未知时为全局范围
+     */
+    public GlobalSearchScope getResolveScope(@Nullable Module module) {
+        return module == null ? GlobalSearchScope.allScope(project) : scopesFor(module).resolveScope;
+    }
+
     /**
-     * 获取搜索范围（无缓存版本）
+     * 搜索 Bean（实现类、配置类）的范围；模块未知时为全局范围
+     */
+    public GlobalSearchScope getBeanSearchScope(@Nullable Module module) {
+        return module == null ? GlobalSearchScope.allScope(project) : scopesFor(module).beanSearchScope;
+    }
+
+    /**
+     * 获取目标类的 Bean 搜索范围
      */
     public GlobalSearchScope getOptimizedSearchScope(PsiClass targetClass) {
         return ReadAction.compute(() -> {
             LogUtil.debug("获取搜索范围: {}", targetClass.getQualifiedName());
-            
-            // 简化实现：直接返回项目范围
-            return GlobalSearchScope.projectScope(project);
+            return getBeanSearchScope(ModuleUtilCore.findModuleForPsiElement(targetClass));
         });
     }
-    
+
     /**
-     * 获取相关类的搜索范围（无缓存版本）
+     * 获取相关类的搜索范围：各类所在模块 Bean 搜索范围的并集
      */
     public GlobalSearchScope getRelatedClassesScope(Collection<PsiClass> relatedClasses) {
         LogUtil.debug("获取相关类搜索范围，数量: {}", relatedClasses.size());
-        
-        // 简化实现：直接返回项目范围
-        return GlobalSearchScope.projectScope(project);
+
+        return ReadAction.compute(() -> {
+            Set<Module> modules = new LinkedHashSet<>();
+            for (PsiClass relatedClass : relatedClasses) {
+                Module module = ModuleUtilCore.findModuleForPsiElement(relatedClass);
+                if (module == null) {
+                    return GlobalSearchScope.allScope(project);
+                }
+                modules.add(module);
+            }
+            GlobalSearchScope scope = GlobalSearchScope.EMPTY_SCOPE;
+            for (Module module : modules) {
+                scope = scope.union(getBeanSearchScope(module));
+            }
+            return scope;
+        });
     }
-    
+
     /**
-     * 基于DTO获取搜索范围（无缓存版本）
+     * 基于DTO获取搜索范围
      */
     public GlobalSearchScope getSearchScopeForDto(ClassSignatureDTO classDto) {
         LogUtil.debug("基于DTO获取搜索范围: {}", classDto.getQualifiedName());
-        
-        // 简化实现：直接返回项目范围
-        return GlobalSearchScope.projectScope(project);
+
+        return ReadAction.compute(() -> {
+            PsiClass psiClass = JavaPsiFacade.getInstance(project)
+                .findClass(classDto.getQualifiedName(), GlobalSearchScope.projectScope(project));
+            return getBeanSearchScope(psiClass != null ? ModuleUtilCore.findModuleForPsiElement(psiClass) : null);
+        });
+    }
+
+    private ModuleScopes scopesFor(Module module) {
+        long modificationCount = ProjectRootModificationTracker.getInstance(project).getModificationCount();
+        if (modificationCount != cachedRootModificationCount) {
+            moduleScopes.clear();
+            springRelevantRoots.clear();
+            cachedRootModificationCount = modificationCount;
+        }
+        ModuleScopes scopes = moduleScopes.get(module);
+        if (scopes == null) {
+            // 计算可能涉及文件 IO，不放在 computeIfAbsent 中占住哈希桶；并发计算的结果相同，保留先写入的
+            ModuleScopes computed = computeScopes(module);
+            scopes = moduleScopes.putIfAbsent(module, computed);
+            if (scopes == null) {
+                scopes = computed;
+            }
+        }
+        return scopes;
     }
-    
+
+    private ModuleScopes computeScopes(Module module) {
+        VirtualFile[] libraryRoots = ReadAction.compute(() -> OrderEnumerator.orderEntries(module).recursively()
+            .librariesOnly().classes().getRoots());
+        LibrarySummaryIndex summaryIndex = LibrarySummaryIndex.getInstance();
+        // 已持有读锁时不能在这里做 IO，只使用已有摘要
+        boolean underReadLock = ApplicationManager.getApplication().isReadAccessAllowed();
+        Set<VirtualFile> springRoots = new LinkedHashSet<>();
+        List<VirtualFile> unanalyzed = new ArrayList<>();
+        for (VirtualFile root : libraryRoots) {
+            Boolean relevant = springRelevantRoots.get(root);
+            if (relevant == null) {
+                LibrarySummaryIndex.LibrarySummary summary = underReadLock
+                    ? summaryIndex.getCachedSummary(root) : summaryIndex.getSummary(root);
+                if (summary == null && underReadLock && VfsUtilCore.getVirtualFileForJar(root) != null) {
+                    unanalyzed.add(root);
+                    springRoots.add(root);
+                    continue;
+                }
+                // 非 jar 的 class 目录没有摘要，保守地视为相关
+                relevant = summary == null || summary.isSpringRelevant();
+                springRelevantRoots.put(root, relevant);
+            }
+            if (relevant) {
+                springRoots.add(root);
+            }
+        }
+        if (unanalyzed.isEmpty()) {
+            summaryIndex.flush();
+        } else {
+            analyzeInBackground(unanalyzed);
+        }
+
+        GlobalSearchScope sourceScope = GlobalSearchScope.moduleWithDependenciesScope(module);
+        GlobalSearchScope beanSearchScope = springRoots.isEmpty()
+            ? sourceScope
+            : sourceScope.union(new LibraryRootsScope(project, springRoots));
+        LogUtil.info("模块 {} 的搜索范围: 依赖库 {} 个，其中 Spring 相关 {} 个（待分析 {} 个）",
+            module.getName(), libraryRoots.length, springRoots.size(), unanalyzed.size());
+        return new ModuleScopes(GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(module), beanSearchScope);
+    }
+
     /**
-     * 获取包名
+     * 在读锁之外分析 jar，完成后让缓存的范围失效
      */
-    private String getPackageName(PsiClass psiClass) {
-        return ReadAction.compute(() -> {
-            String qualifiedName = psiClass.getQualifiedName();
-            if (qualifiedName != null) {
-                int lastDot = qualifiedName.lastIndexOf('.');
-                if (lastDot > 0) {
-                    return qualifiedName.substring(0, lastDot);
+    private void analyzeInBackground(List<VirtualFile> roots) {
+        List<VirtualFile> claimed = new ArrayList<>();
+        for (VirtualFile root : roots) {
+            if (analyzingRoots.add(root)) {
+                claimed.add(root);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+            LibrarySummaryIndex summaryIndex = LibrarySummaryIndex.getInstance();
+            try {
+                for (VirtualFile root : claimed) {
+                    if (project.isDisposed()) {
+                        return;
+                    }
+                    summaryIndex.getSummary(root);
                 }
+                summaryIndex.flush();
+            } finally {
+                analyzingRoots.removeAll(claimed);
+                moduleScopes.clear();
             }
-            return "";
+            LogUtil.info("后台分析依赖 jar {} 个完成，搜索范围将重新计算", claimed.size());
         });
     }
-    
+
     /**
-     * 获取统计信息（无缓存版本）
+     * 获取统计信息
      */
     public ScopeStatistics getStatistics() {
-        return new ScopeStatistics(
-            0, // 无缓存
-            "OptimizedSearchScopeManager"
-        );
+        return new ScopeStatistics(moduleScopes.size(), "OptimizedSearchScopeManager");
+    }
+
+    /**
+     * 单个模块的搜索范围
+     */
+    private static class ModuleScopes {
+        private final GlobalSearchScope resolveScope;
+        private final GlobalSearchScope beanSearchScope;
+
+        private ModuleScopes(GlobalSearchScope resolveScope, GlobalSearchScope beanSearchScope) {
+            this.resolveScope = resolveScope;
+            this.beanSearchScope = beanSearchScope;
+        }
+    }
+
+    /**
+     * 只包含指定库根（jar 或 class 目录）下文件的范围
+     */
+    private static class LibraryRootsScope extends GlobalSearchScope {
+        private final Set<VirtualFile> roots;
+
+        private LibraryRootsScope(Project project, Set<VirtualFile> roots) {
+            super(project);
+            this.roots = roots;
+        }
+
+        @Override
+        public boolean contains(@NotNull VirtualFile file) {
+            VirtualFile root = ProjectFileIndex.getInstance(getProject()).getClassRootForFile(file);
+            return root != null && roots.contains(root);
+        }
+
+        @Override
+        public boolean isSearchInModuleContent(@NotNull Module aModule) {
+            return false;
+        }
+
+        @Override
+        public boolean isSearchInLibraries() {
+            return true;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof LibraryRootsScope other && roots.equals(other.roots);
+        }
+
+        @Override
+        public int calcHashCode() {
+            return roots.hashCode();
+        }
     }
-    
+
     /**
      * 范围统计信息
      */
     public static class ScopeStatistics {
         private final int cachedScopes;
         private final String description;
-        
+
         public ScopeStatistics(int cachedScopes, String description) {
             this.cachedScopes = cachedScopes;
             this.description = description;
         }
-        
+
         public int getCachedScopes() {
             return cachedScopes;
         }
-        
+
         public String getDescription() {
             return description;
         }
-        
+
         @Override
         public String toString() {
             return String.format(
-                "ScopeStatistics{cachedScopes=%d, description=%s, noCache=true}",
+                "ScopeStatistics{cachedScopes=%d, description=%s}",
                 cachedScopes, description
             );
         }
     }
-    
+
     /**
-     * 清理资源（无缓存版本）
+     * 清理资源
      */
+    @Override
     public void dispose() {
+        moduleScopes.clear();
+        springRelevantRoots.clear();
         LogUtil.debug("OptimizedSearchScopeManager已清理");
     }
 }
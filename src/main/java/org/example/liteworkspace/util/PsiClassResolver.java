@@ -0,0 +1,173 @@
+package org.example.liteworkspace.util;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootModificationTracker;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiModificationTracker;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按全限定名解析 PsiClass（项目级服务）
+ * <p>
+ * 只使用索引，不枚举项目中的类：
+ * <ol>
+ *   <li>{@code JavaPsiFacade.findClass}，名称中的 {@code $} 按内部类分隔符处理</li>
+ *   <li>含 {@code $} 时先解析最外层类，再逐级查找内部类</li>
+ * </ol>
+ * 不按短类名猜测：类被移动或改名后旧全限定名视为未找到，由调用方重新生成 DTO，
+ * 避免把同名但无关的类当作依赖写入上下文。
+ * 解析结果以 {@link SmartPsiElementPointer} 按范围缓存；未找到的结果在 PSI 或项目根变化后失效。
+ */
+public class PsiClassResolver implements Disposable {
+
+    private final Project project;
+    private final Map<GlobalSearchScope, Map<String, CachedClass>> cache = new ConcurrentHashMap<>();
+    private volatile long cachedModificationCount = -1;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong notFound = new AtomicLong();
+
+    public PsiClassResolver(Project project) {
+        this.project = project;
+    }
+
+    public static PsiClassResolver getInstance(Project project) {
+        return project.getService(PsiClassResolver.class);
+    }
+
+    /**
+     * 在指定范围内按全限定名解析类，需在读操作中调用
+     */
+    @Nullable
+    public PsiClass resolve(String qualifiedName, GlobalSearchScope scope) {
+        if (qualifiedName == null || qualifiedName.isEmpty()) {
+            return null;
+        }
+        invalidateIfModified();
+        Map<String, CachedClass> scopeCache = cache.computeIfAbsent(scope, key -> new ConcurrentHashMap<>());
+        CachedClass cached = scopeCache.get(qualifiedName);
+        if (cached != null) {
+            PsiClass psiClass = cached.get();
+            if (cached.isMissing() || psiClass != null) {
+                hits.incrementAndGet();
+                return psiClass;
+            }
+            // 指针已失效，重新解析
+        }
+        misses.incrementAndGet();
+        PsiClass psiClass = doResolve(qualifiedName, scope);
+        if (psiClass == null) {
+            notFound.incrementAndGet();
+            LogUtil.warn("无法解析类: {}", qualifiedName);
+            scopeCache.put(qualifiedName, CachedClass.MISSING);
+        } else {
+            scopeCache.put(qualifiedName, new CachedClass(SmartPointerManager.getInstance(project).createSmartPsiElementPointer(psiClass)));
+        }
+        return psiClass;
+    }
+
+    private PsiClass doResolve(String qualifiedName, GlobalSearchScope scope) {
+        JavaPsiFacade facade = JavaPsiFacade.getInstance(project);
+        String canonicalName = qualifiedName.replace('$', '.');
+        PsiClass psiClass = facade.findClass(canonicalName, scope);
+        if (psiClass != null) {
+            return psiClass;
+        }
+
+        // 编译器形式的内部类名：外部类 + 逐级内部类
+        int dollar = qualifiedName.indexOf('$');
+        if (dollar > 0) {
+            psiClass = facade.findClass(qualifiedName.substring(0, dollar), scope);
+            for (String innerName : qualifiedName.substring(dollar + 1).split("\\$")) {
+                if (psiClass == null) {
+                    break;
+                }
+                psiClass = psiClass.findInnerClassByName(innerName, false);
+            }
+            return psiClass;
+        }
+        return null;
+    }
+
+    /**
+     * PSI 或项目根变化后清空缓存，避免沿用过期的未找到结果
+     */
+    private void invalidateIfModified() {
+        long modificationCount = PsiModificationTracker.getInstance(project).getModificationCount()
+                + ProjectRootModificationTracker.getInstance(project).getModificationCount();
+        if (modificationCount != cachedModificationCount) {
+            cache.clear();
+            cachedModificationCount = modificationCount;
+        }
+    }
+
+    public ResolverStatistics getStatistics() {
+        return new ResolverStatistics(hits.get(), misses.get(), notFound.get());
+    }
+
+    @Override
+    public void dispose() {
+        cache.clear();
+    }
+
+    /**
+     * 缓存项：解析到的类指针，或未找到标记
+     */
+    private static class CachedClass {
+        private static final CachedClass MISSING = new CachedClass(null);
+
+        private final SmartPsiElementPointer<PsiClass> pointer;
+
+        private CachedClass(SmartPsiElementPointer<PsiClass> pointer) {
+            this.pointer = pointer;
+        }
+
+        private boolean isMissing() {
+            return pointer == null;
+        }
+
+        private PsiClass get() {
+            return pointer == null ? null : pointer.getElement();
+        }
+    }
+
+    /**
+     * 解析统计
+     */
+    public static class ResolverStatistics {
+        private final long hits;
+        private final long misses;
+        private final long notFound;
+
+        public ResolverStatistics(long hits, long misses, long notFound) {
+            this.hits = hits;
+            this.misses = misses;
+            this.notFound = notFound;
+        }
+
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getNotFound() { return notFound; }
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ResolverStatistics{hits=%d, misses=%d, notFound=%d, hitRate=%.2f%%}",
+                    hits, misses, notFound, getHitRate() * 100);
+        }
+    }
+}
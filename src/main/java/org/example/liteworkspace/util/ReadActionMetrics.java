@@ -0,0 +1,124 @@
+package org.example.liteworkspace.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按调用点统计 {@link ReadActionUtil} 提交的读操作：排队等待、因写操作导致的重启次数与执行耗时。
+ * <p>
+ * 直方图按 2 的幂分桶（微秒），只用 LongAdder 累加，可在读操作线程上无锁记录。
+ */
+public class ReadActionMetrics {
+
+    private static final Map<String, CallSite> CALL_SITES = new ConcurrentHashMap<>();
+
+    private ReadActionMetrics() {
+    }
+
+    static void record(String callSite, long queueWaitNanos, int restarts, long executionNanos) {
+        CallSite site = CALL_SITES.computeIfAbsent(callSite, key -> new CallSite());
+        site.queueWait.record(queueWaitNanos / 1_000);
+        site.restarts.record(restarts);
+        site.execution.record(executionNanos / 1_000);
+    }
+
+    /**
+     * 记录一次被取消的读操作（超时或调用方取消）
+     */
+    static void recordCancelled(String callSite) {
+        CALL_SITES.computeIfAbsent(callSite, key -> new CallSite()).cancelled.increment();
+    }
+
+    public static Map<String, CallSite> snapshot() {
+        return new TreeMap<>(CALL_SITES);
+    }
+
+    public static void reset() {
+        CALL_SITES.clear();
+    }
+
+    /**
+     * 每个调用点一行的汇总，按执行总耗时倒序
+     */
+    public static String summary() {
+        StringBuilder sb = new StringBuilder("ReadAction 统计（微秒）:");
+        CALL_SITES.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().execution.getSum(), a.getValue().execution.getSum()))
+                .forEach(entry -> sb.append('\n').append("  ").append(entry.getKey()).append(' ').append(entry.getValue()));
+        return sb.toString();
+    }
+
+    /**
+     * 单个调用点的统计
+     */
+    public static class CallSite {
+        private final Histogram queueWait = new Histogram();
+        private final Histogram restarts = new Histogram();
+        private final Histogram execution = new Histogram();
+        private final LongAdder cancelled = new LongAdder();
+
+        public Histogram getQueueWait() { return queueWait; }
+        public Histogram getRestarts() { return restarts; }
+        public Histogram getExecution() { return execution; }
+        public long getCancelled() { return cancelled.sum(); }
+
+        @Override
+        public String toString() {
+            return String.format("calls=%d, cancelled=%d, queueWait[p50=%d, p99=%d], restarts[total=%d, max=%d], "
+                            + "execution[p50=%d, p99=%d, max=%d]",
+                    execution.getCount(), getCancelled(), queueWait.percentile(0.5), queueWait.percentile(0.99),
+                    restarts.getSum(), restarts.getMax(),
+                    execution.percentile(0.5), execution.percentile(0.99), execution.getMax());
+        }
+    }
+
+    /**
+     * 以 2 的幂分桶的直方图，百分位返回所在桶的上界
+     */
+    public static class Histogram {
+        private static final int BUCKETS = 40;
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        Histogram() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long value) {
+            long normalized = Math.max(0, value);
+            int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(normalized));
+            buckets[bucket].increment();
+            count.increment();
+            sum.add(normalized);
+            max.accumulate(normalized);
+        }
+
+        public long getCount() { return count.sum(); }
+        public long getSum() { return sum.sum(); }
+        public long getMax() { return max.get(); }
+
+        public long percentile(double quantile) {
+            long total = count.sum();
+            if (total == 0) {
+                return 0;
+            }
+            long threshold = (long) Math.ceil(total * quantile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i].sum();
+                if (seen >= threshold) {
+                    return i == 0 ? 0 : Math.min(getMax(), (1L << i) - 1);
+                }
+            }
+            return getMax();
+        }
+    }
+}
@@ -1,18 +1,36 @@
 package org.example.liteworkspace.util;
 
+import com.intellij.openapi.application.NonBlockingReadAction;
 import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.concurrency.CancellablePromise;
 
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
-import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 读操作的统一入口。
+ * <p>
+ * 异步读操作提交到插件自有的有界线程池，不与其他插件争用公共线程池；调用线程的进度指示器
+ * 通过 wrapProgress 传入读操作，调用方取消或超时会真正取消底层的 non-blocking 读操作。
+ * 每次调用按调用点记录排队等待、写操作导致的重启次数与执行耗时，见 {@link ReadActionMetrics}。
+ */
 public class ReadActionUtil {
 
-    private static final Executor EXECUTOR = ForkJoinPool.commonPool();
+    private static final ExecutorService EXECUTOR = AppExecutorUtil.createBoundedApplicationPoolExecutor(
+            "LiteWorkspace ReadAction", Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())));
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
 
     /**
      * 异步执行只读任务，返回 CompletableFuture
@@ -24,59 +42,61 @@ public class ReadActionUtil {
     }
 
     /**
-     * 异步执行只读任务，返回 CompletableFuture，支持超时控制
+     * 异步执行只读任务，返回 CompletableFuture，支持超时控制；进度指示器取自调用线程
      */
     public static <T> CompletableFuture<T> computeAsync(@NotNull Project project,
                                                         @NotNull ThrowableComputable<T, Exception> task,
                                                         long timeout, TimeUnit unit) {
+        return computeAsync(project, task, timeout, unit, ProgressManager.getInstance().getProgressIndicator());
+    }
+
+    /**
+     * 异步执行只读任务
+     *
+     * @param indicator 读操作跟随的进度指示器，取消它即取消读操作；为空时不关联
+     */
+    public static <T> CompletableFuture<T> computeAsync(@NotNull Project project,
+                                                        @NotNull ThrowableComputable<T, Exception> task,
+                                                        long timeout, TimeUnit unit,
+                                                        @Nullable ProgressIndicator indicator) {
+        String callSite = callSite();
         CompletableFuture<T> future = new CompletableFuture<>();
+        Attempts attempts = new Attempts();
 
-        ReadAction.nonBlocking(() -> {
-                    try {
-                        // 在ReadAction内部进行日志记录
-                        System.out.println("[DEBUG] 开始执行异步ReadAction任务");
-                        T result = task.compute();
-                        System.out.println("[DEBUG] 异步ReadAction任务执行成功");
-                        return result;
-                    } catch (ProcessCanceledException e) {
-                        System.out.println("[WARN] 异步ReadAction任务被取消: " + e.getMessage());
-                        // 重新抛出ProcessCanceledException，让上层处理
-                        throw e;
-                    } catch (Exception e) {
-                        System.err.println("[ERROR] 异步ReadAction任务执行失败");
-                        e.printStackTrace();
-                        throw new RuntimeException(e);
-                    }
-                })
+        NonBlockingReadAction<T> readAction = ReadAction.nonBlocking(() -> attempts.run(task))
                 .inSmartMode(project)         // 等待索引就绪
-                .submit(EXECUTOR)             // 提交到后台线程池
+                .expireWith(project);
+        if (indicator != null) {
+            readAction = readAction.wrapProgress(indicator);
+        }
+        CancellablePromise<T> promise = readAction.submit(EXECUTOR)
                 .onSuccess(result -> {
-                    System.out.println("[DEBUG] 异步ReadAction任务成功完成");
+                    attempts.record(callSite);
                     future.complete(result);
                 })
                 .onError(ex -> {
                     if (ex instanceof ProcessCanceledException) {
-                        System.out.println("[WARN] 异步ReadAction任务被取消，不标记为失败");
                         // 对于ProcessCanceledException，不标记future为异常状态
                         // 这允许上层代码继续执行或优雅地处理取消
+                        LogUtil.debug("异步ReadAction任务被取消: {}", callSite);
                         future.cancel(true);
                     } else {
-                        System.err.println("[ERROR] 异步ReadAction任务失败");
-                        ex.printStackTrace();
+                        LogUtil.warn("异步ReadAction任务失败: {}, {}", callSite, ex.toString());
                         future.completeExceptionally(ex);
                     }
                 });
 
-        // 添加超时控制
+        // 超时或调用方取消时，一并取消底层读操作，避免超时后的任务继续占用 CPU
+        future.whenComplete((result, ex) -> {
+            if (!promise.isDone()) {
+                ReadActionMetrics.recordCancelled(callSite);
+                promise.cancel();
+            }
+        });
         if (timeout > 0) {
-            future.orTimeout(timeout, unit).handle((result, ex) -> {
-                if (ex != null) {
-                    if (ex instanceof java.util.concurrent.TimeoutException) {
-                        System.out.println("[WARN] 异步ReadAction任务超时: " + timeout + " " + unit);
-                        future.cancel(true);
-                    } else if (ex instanceof ProcessCanceledException) {
-                        System.out.println("[DEBUG] 异步ReadAction任务被取消");
-                    }
+            future.orTimeout(timeout, unit).exceptionally(ex -> {
+                if (ex instanceof TimeoutException) {
+                    LogUtil.warn("异步ReadAction任务超时: {} ({} {})", callSite, timeout, unit);
                 }
                 return null;
             });
@@ -90,28 +110,79 @@ public class ReadActionUtil {
      */
     public static void runAsync(@NotNull Project project,
                                 @NotNull ThrowableRunnable<Exception> task) {
-        ReadAction.nonBlocking(() -> {
-                    try {
-                        task.run();
-                    } catch (Exception e) {
-                        throw new RuntimeException(e);
-                    }
-                })
+        String callSite = callSite();
+        Attempts attempts = new Attempts();
+        ReadAction.nonBlocking(() -> attempts.run(() -> {
+                    task.run();
+                    return null;
+                }))
                 .inSmartMode(project)
-                .submit(EXECUTOR);
+                .expireWith(project)
+                .submit(EXECUTOR)
+                .onSuccess(result -> attempts.record(callSite));
     }
 
+    /**
+     * 在当前线程同步执行只读任务，沿用当前线程的进度指示器
+     */
     public static void runSync(@NotNull Project project,
                                 @NotNull ThrowableRunnable<Exception> task) {
-        ReadAction.nonBlocking(() -> {
-                    try {
-                        task.run();
-                    } catch (Exception e) {
-                        throw new RuntimeException(e);
-                    }
-                })
+        String callSite = callSite();
+        Attempts attempts = new Attempts();
+        ReadAction.nonBlocking(() -> attempts.run(() -> {
+                    task.run();
+                    return null;
+                }))
                 .inSmartMode(project)
                 .executeSynchronously();
+        attempts.record(callSite);
+    }
+
+    /**
+     * 第一个不属于本类的栈帧作为调用点
+     */
+    private static String callSite() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> !frame.getClassName().equals(ReadActionUtil.class.getName()))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "#" + frame.getMethodName())
+                .orElse("unknown"));
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * 一次调用的多次尝试：non-blocking 读操作在写操作到来时会被中止并重新执行
+     */
+    private static final class Attempts {
+        private final long submittedAt = System.nanoTime();
+        private final AtomicLong firstStartedAt = new AtomicLong();
+        private final AtomicLong lastExecutionNanos = new AtomicLong();
+        private final AtomicInteger count = new AtomicInteger();
+
+        private <T> T run(ThrowableComputable<T, Exception> task) {
+            long start = System.nanoTime();
+            firstStartedAt.compareAndSet(0, start);
+            count.incrementAndGet();
+            try {
+                return task.compute();
+            } catch (RuntimeException e) {
+                // 包括 ProcessCanceledException，原样抛出，由平台决定重启或取消
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            } finally {
+                lastExecutionNanos.set(System.nanoTime() - start);
+            }
+        }
+
+        private void record(String callSite) {
+            long started = firstStartedAt.get();
+            long queueWait = started == 0 ? 0 : started - submittedAt;
+            ReadActionMetrics.record(callSite, queueWait, Math.max(0, count.get() - 1), lastExecutionNanos.get());
+        }
     }
 
     @FunctionalInterface
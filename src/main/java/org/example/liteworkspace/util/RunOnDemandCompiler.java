@@ -1,25 +1,47 @@
 package org.example.liteworkspace.util;
 
 import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.compiler.CompileScope;
 import com.intellij.openapi.compiler.CompilerManager;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.projectRoots.Sdk;
+import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.roots.CompilerModuleExtension;
 import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.OrderEnumerator;
 import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
 import com.intellij.psi.search.GlobalSearchScope;
+import org.example.liteworkspace.bean.core.enums.CompileBackend;
+import org.example.liteworkspace.config.ConfigurationManager;
 
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 public class RunOnDemandCompiler {
 
+    /**
+     * 单次运行的上限，超时后销毁运行进程，避免常驻运行器被一直占用
+     */
+    private static final long RUN_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
     public static void run(Project project, String mainClass, List<String> javaFilePaths) {
         Set<VirtualFile> filesToCompile = new HashSet<>();
         Set<Module> modules = new HashSet<>();
@@ -39,10 +61,20 @@ public class RunOnDemandCompiler {
         }
 
         if (filesToCompile.isEmpty()) {
-            System.out.println("[ERROR] 未找到需要编译的 Java 文件");
+            ConsoleService.print(project, "[ERROR] 未找到需要编译的 Java 文件", ConsoleViewContentType.ERROR_OUTPUT);
+            return;
+        }
+
+        if (ConfigurationManager.getInstance().getCompileBackend() == CompileBackend.IN_MEMORY) {
+            ApplicationManager.getApplication().executeOnPooledThread(
+                    () -> compileInMemoryAndLaunch(project, mainClass, modules, filesToCompile));
             return;
         }
+        makeAndLaunch(project, mainClass, modules, filesToCompile);
+    }
 
+    private static void makeAndLaunch(Project project, String mainClass, Set<Module> modules,
+                                      Set<VirtualFile> filesToCompile) {
         CompileScope scope = CompilerManager.getInstance(project)
                 .createFilesCompileScope(filesToCompile.toArray(new VirtualFile[0]));
 
@@ -54,82 +86,182 @@ public class RunOnDemandCompiler {
 
             ConsoleService .print(project,"[INFO] 编译成功，准备运行主类：" + mainClass , ConsoleViewContentType.NORMAL_OUTPUT);
 
-            try {
-                Set<String> classpathEntries = new LinkedHashSet<>();
-                
-                // 1. 添加模块输出路径
-                for (Module module : modules) {
-                    CompilerModuleExtension compilerExtension = CompilerModuleExtension.getInstance(module);
-                    if (compilerExtension != null) {
-                        // 测试输出路径
-                        VirtualFile testOutput = compilerExtension.getCompilerOutputPathForTests();
-                        if (testOutput != null) {
-                            classpathEntries.add(testOutput.getPath());
-                        }
-                        // 生产输出路径
-                        VirtualFile output = compilerExtension.getCompilerOutputPath();
-                        if (output != null) {
-                            classpathEntries.add(output.getPath());
-                        }
-                    }
+            // make 回调在 EDT 上执行，运行与等待都放到后台线程
+            ApplicationManager.getApplication().executeOnPooledThread(() -> {
+                Set<String> classpathEntries = ReadActionUtil.computeAsync(project,
+                        () -> collectRuntimeClasspath(modules)).join();
+                launch(project, mainClass, modules, classpathEntries, Collections.emptyMap());
+            });
+        });
+    }
+
+    /**
+     * 进程内编译：只把过期（未保存或比 class 文件新）的源文件编译到内存，字节码直接交给运行器
+     */
+    private static void compileInMemoryAndLaunch(Project project, String mainClass, Set<Module> modules,
+                                                 Set<VirtualFile> filesToCompile) {
+        Set<String> classpathEntries = ReadActionUtil.computeAsync(project,
+                () -> collectRuntimeClasspath(modules)).join();
+
+        Map<String, String> sources = new LinkedHashMap<>();
+        Sdk[] sdk = new Sdk[1];
+        ReadActionUtil.runSync(project, () -> {
+            for (VirtualFile file : filesToCompile) {
+                if (!CompileClosureResolver.isStale(project, file)) {
+                    continue;
                 }
-                
-                // 2. 智能查找Maven和Gradle输出目录
-                for (Module module : modules) {
-                    ModuleRootManager rootManager = ModuleRootManager.getInstance(module);
-                    String moduleBasePath = rootManager.getContentRoots()[0].getPath();
-                    
-                    // Maven输出目录
-                    addIfExists(classpathEntries, moduleBasePath + "/target/classes");
-                    addIfExists(classpathEntries, moduleBasePath + "/target/test-classes");
-                    
-                    // Gradle输出目录
-                    addIfExists(classpathEntries, moduleBasePath + "/build/classes/java/main");
-                    addIfExists(classpathEntries, moduleBasePath + "/build/classes/java/test");
-                    addIfExists(classpathEntries, moduleBasePath + "/build/resources/main");
-                    addIfExists(classpathEntries, moduleBasePath + "/build/resources/test");
-                    
-                    // IDEA输出目录
-                    addIfExists(classpathEntries, moduleBasePath + "/out/production/classes");
-                    addIfExists(classpathEntries, moduleBasePath + "/out/test/classes");
+                PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+                Document document = FileDocumentManager.getInstance().getDocument(file);
+                if (psiFile instanceof PsiJavaFile javaFile && document != null && javaFile.getClasses().length > 0) {
+                    String className = javaFile.getClasses()[0].getQualifiedName();
+                    sources.put(className != null ? className : file.getNameWithoutExtension(), document.getText());
                 }
+            }
+            if (!modules.isEmpty()) {
+                sdk[0] = ModuleRootManager.getInstance(modules.iterator().next()).getSdk();
+            }
+        });
 
-                String classpath = String.join(File.pathSeparator, classpathEntries);
-                System.out.println("[DEBUG] 类路径: " + classpath);
-                System.out.println("[DEBUG] 主类: " + mainClass);
-                
-                // 验证主类文件是否存在
-                boolean mainClassFound = false;
-                for (String classpathEntry : classpathEntries) {
-                    File classFile = new File(classpathEntry, mainClass.replace('.', '/') + ".class");
-                    if (classFile.exists()) {
-                        mainClassFound = true;
-                        System.out.println("[DEBUG] 找到主类文件: " + classFile.getAbsolutePath());
-                        break;
+        if (sources.isEmpty()) {
+            ConsoleService.print(project, "[INFO] 源文件均未修改，直接运行主类：" + mainClass, ConsoleViewContentType.NORMAL_OUTPUT);
+            launch(project, mainClass, modules, classpathEntries, Collections.emptyMap());
+            return;
+        }
+
+        String unsupported = InMemoryJavaCompiler.unsupportedReason(sdk[0], modules);
+        if (unsupported != null) {
+            ConsoleService.print(project, "[WARN] " + unsupported + "，改用 CompilerManager 编译",
+                    ConsoleViewContentType.NORMAL_OUTPUT);
+            ApplicationManager.getApplication().invokeLater(() -> makeAndLaunch(project, mainClass, modules, filesToCompile));
+            return;
+        }
+        InMemoryJavaCompiler.CompileResult result = InMemoryJavaCompiler.getInstance()
+                .compile(sources, classpathEntries, sdk[0]);
+        for (Diagnostic<? extends JavaFileObject> diagnostic : result.getDiagnostics()) {
+            ConsoleService.print(project, String.format("[%s] %s:%d %s", diagnostic.getKind(),
+                            diagnostic.getSource() != null ? diagnostic.getSource().getName() : "",
+                            diagnostic.getLineNumber(), diagnostic.getMessage(Locale.getDefault())),
+                    diagnostic.getKind() == Diagnostic.Kind.ERROR
+                            ? ConsoleViewContentType.ERROR_OUTPUT : ConsoleViewContentType.NORMAL_OUTPUT);
+        }
+        if (!result.isSuccess()) {
+            ConsoleService.print(project, "[ERROR] 内存编译失败，耗时 " + result.getElapsedMillis() + " ms",
+                    ConsoleViewContentType.ERROR_OUTPUT);
+            return;
+        }
+        ConsoleService.print(project, String.format("[INFO] 内存编译 %d 个源文件（%d 个类），耗时 %d ms，准备运行主类：%s",
+                sources.size(), result.getClasses().size(), result.getElapsedMillis(), mainClass),
+                ConsoleViewContentType.NORMAL_OUTPUT);
+        launch(project, mainClass, modules, classpathEntries, result.getClasses());
+    }
+
+    /**
+     * 在可取消的后台任务中运行主类：优先交给常驻运行器，只有常驻运行器无法启动或连接时才改用独立进程
+     */
+    private static void launch(Project project, String mainClass, Set<Module> modules, Set<String> classpathEntries,
+                               Map<String, byte[]> memoryClasses) {
+        LogUtil.debug("运行主类: {}, 类路径: {}", mainClass, String.join(File.pathSeparator, classpathEntries));
+
+        // 验证主类文件是否存在
+        boolean mainClassFound = memoryClasses.containsKey(mainClass);
+        for (String classpathEntry : classpathEntries) {
+            if (mainClassFound) {
+                break;
+            }
+            File classFile = new File(classpathEntry, mainClass.replace('.', '/') + ".class");
+            if (classFile.exists()) {
+                mainClassFound = true;
+                LogUtil.debug("找到主类文件: {}", classFile.getAbsolutePath());
+            }
+        }
+        if (!mainClassFound) {
+            ConsoleService.print(project, "[ERROR] 未找到主类文件: " + mainClass, ConsoleViewContentType.ERROR_OUTPUT);
+            return;
+        }
+
+        String javaExecutable = ContextBootProfiler.resolveJavaExecutable(modules.isEmpty() ? null : modules.iterator().next());
+        Task.Backgroundable task = new Task.Backgroundable(project, "运行 " + mainClass, true) {
+            @Override
+            public void run(ProgressIndicator indicator) {
+                indicator.setIndeterminate(true);
+                try {
+                    int exitCode;
+                    try {
+                        exitCode = WarmRunnerService.getInstance(project).run(javaExecutable, mainClass,
+                                classpathEntries, memoryClasses, indicator, RUN_TIMEOUT_MILLIS);
+                    } catch (WarmRunnerService.RunnerUnavailableException e) {
+                        // 请求尚未执行，改用独立进程不会重复运行用户代码
+                        LogUtil.warn("常驻运行器不可用，改为独立进程运行: {}", e.getMessage());
+                        String classpath = String.join(File.pathSeparator, classpathEntries);
+                        Path classesDirectory = null;
+                        try {
+                            if (!memoryClasses.isEmpty()) {
+                                // 独立进程无法接收内存中的类，只能先写到临时目录并放在类路径最前面
+                                classesDirectory = writeClassesToTempDirectory(memoryClasses);
+                                classpath = classesDirectory + File.pathSeparator + classpath;
+                            }
+                            exitCode = runInNewProcess(project, javaExecutable, mainClass, classpath, indicator);
+                        } finally {
+                            // 进程已结束或已销毁，临时目录只服务于这一次运行
+                            deleteTempDirectory(classesDirectory);
+                        }
                     }
+                    ConsoleService.print(project, "[INFO] 运行结束，退出码: " + exitCode, ConsoleViewContentType.NORMAL_OUTPUT);
+                } catch (ProcessCanceledException e) {
+                    ConsoleService.print(project, "[INFO] 已取消运行: " + mainClass, ConsoleViewContentType.NORMAL_OUTPUT);
+                    throw e;
+                } catch (Exception e) {
+                    LogUtil.error("运行 {} 失败", e, mainClass);
+                    ConsoleService.print(project, "[ERROR] 运行失败: " + e.getMessage(), ConsoleViewContentType.ERROR_OUTPUT);
                 }
-                
-                if (!mainClassFound) {
-                    System.out.println("[ERROR] 未找到主类文件: " + mainClass);
-                    ConsoleService.print(project, "[ERROR] 未找到主类文件: " + mainClass, ConsoleViewContentType.ERROR_OUTPUT);
-                    return;
-                }
-                
-                List<String> command = Arrays.asList("java", "-cp", classpath, mainClass);
+            }
+        };
+        ApplicationManager.getApplication().invokeLater(task::queue);
+    }
 
-                ProcessBuilder pb = new ProcessBuilder(command);
-                Process process = pb.start();
+    private static Path writeClassesToTempDirectory(Map<String, byte[]> classes) throws IOException {
+        Path directory = Files.createTempDirectory("lite-run-classes");
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+            Path classFile = directory.resolve(entry.getKey().replace('.', '/') + ".class");
+            Files.createDirectories(classFile.getParent());
+            Files.write(classFile, entry.getValue());
+        }
+        return directory;
+    }
 
-                Executors.newSingleThreadExecutor().submit(() -> printStream(project, process.getInputStream(), ConsoleViewContentType.NORMAL_OUTPUT));
-                Executors.newSingleThreadExecutor().submit(() -> printStream(project, process.getErrorStream(), ConsoleViewContentType.ERROR_OUTPUT));
+    private static void deleteTempDirectory(Path directory) {
+        if (directory != null && !FileUtil.delete(directory.toFile())) {
+            LogUtil.warn("删除临时类目录失败: {}", directory);
+        }
+    }
 
-                int exitCode = process.waitFor();
-                System.out.println("[INFO] 运行结束，退出码: " + exitCode);
-            } catch (Exception e) {
-                System.out.println("[ERROR] 运行失败: " + e.getMessage());
-                e.printStackTrace();
+    /**
+     * 独立 JVM 运行，输出由两个受管的后台线程转到控制台，进程结束后等待输出读完
+     */
+    private static int runInNewProcess(Project project, String javaExecutable, String mainClass, String classpath,
+                                       ProgressIndicator indicator) throws Exception {
+        List<String> command = Arrays.asList(javaExecutable, "-cp", classpath, mainClass);
+
+        ProcessBuilder pb = new ProcessBuilder(command);
+        Process process = pb.start();
+
+        Future<?> stdout = ApplicationManager.getApplication().executeOnPooledThread(
+                () -> printStream(project, process.getInputStream(), ConsoleViewContentType.NORMAL_OUTPUT));
+        Future<?> stderr = ApplicationManager.getApplication().executeOnPooledThread(
+                () -> printStream(project, process.getErrorStream(), ConsoleViewContentType.ERROR_OUTPUT));
+
+        long deadline = System.currentTimeMillis() + RUN_TIMEOUT_MILLIS;
+        while (!process.waitFor(200, TimeUnit.MILLISECONDS)) {
+            if (indicator.isCanceled() || System.currentTimeMillis() > deadline) {
+                process.destroyForcibly();
+                indicator.checkCanceled();
+                throw new IOException("执行 " + mainClass + " 超时，进程已销毁");
             }
-        });
+        }
+        int exitCode = process.exitValue();
+        stdout.get();
+        stderr.get();
+        return exitCode;
     }
 
     private static void printStream(Project project, InputStream stream, ConsoleViewContentType contentType) {
@@ -150,6 +282,74 @@ public class RunOnDemandCompiler {
         }
     }
 
+    /**
+     * 计算模块的运行时类路径：模块输出目录、Maven/Gradle/IDEA 约定输出目录、资源目录以及依赖 jar
+     */
+    public static Set<String> collectRuntimeClasspath(Collection<Module> modules) {
+        Set<String> classpathEntries = new LinkedHashSet<>();
+
+        // 1. 添加模块输出路径
+        for (Module module : modules) {
+            CompilerModuleExtension compilerExtension = CompilerModuleExtension.getInstance(module);
+            if (compilerExtension != null) {
+                // 测试输出路径
+                VirtualFile testOutput = compilerExtension.getCompilerOutputPathForTests();
+                if (testOutput != null) {
+                    classpathEntries.add(testOutput.getPath());
+                }
+                // 生产输出路径
+                VirtualFile output = compilerExtension.getCompilerOutputPath();
+                if (output != null) {
+                    classpathEntries.add(output.getPath());
+                }
+            }
+        }
+
+        // 2. 智能查找Maven和Gradle输出目录
+        for (Module module : modules) {
+            ModuleRootManager rootManager = ModuleRootManager.getInstance(module);
+            VirtualFile[] contentRoots = rootManager.getContentRoots();
+            if (contentRoots.length == 0) {
+                continue;
+            }
+            String moduleBasePath = contentRoots[0].getPath();
+
+            // Maven输出目录
+            addIfExists(classpathEntries, moduleBasePath + "/target/classes");
+            addIfExists(classpathEntries, moduleBasePath + "/target/test-classes");
+
+            // Gradle输出目录
+            addIfExists(classpathEntries, moduleBasePath + "/build/classes/java/main");
+            addIfExists(classpathEntries, moduleBasePath + "/build/classes/java/test");
+            addIfExists(classpathEntries, moduleBasePath + "/build/resources/main");
+            addIfExists(classpathEntries, moduleBasePath + "/build/resources/test");
+
+            // IDEA输出目录
+            addIfExists(classpathEntries, moduleBasePath + "/out/production/classes");
+            addIfExists(classpathEntries, moduleBasePath + "/out/test/classes");
+        }
+
+        // 3. 资源源目录（刚生成的测试 XML 可能还没被复制到输出目录）
+        for (Module module : modules) {
+            ModuleRootManager rootManager = ModuleRootManager.getInstance(module);
+            for (VirtualFile root : rootManager.getSourceRoots(true)) {
+                if (root.getPath().endsWith("/resources")) {
+                    classpathEntries.add(root.getPath());
+                }
+            }
+        }
+
+        // 4. 依赖模块输出与第三方 jar
+        for (Module module : modules) {
+            classpathEntries.addAll(OrderEnumerator.orderEntries(module)
+                    .recursively()
+                    .withoutSdk()
+                    .getPathsList()
+                    .getPathList());
+        }
+        return classpathEntries;
+    }
+
     private static void collectImportsAndRelatedFiles(Project project, VirtualFile vf, Set<VirtualFile> resultSet) {
         ReadActionUtil.runSync(project, () -> {
             PsiFile psiFile = PsiManager.getInstance(project).findFile(vf);
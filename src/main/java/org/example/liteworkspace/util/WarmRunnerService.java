@@ -0,0 +1,321 @@
+package org.example.liteworkspace.util;
+
+import com.intellij.execution.ui.ConsoleViewContentType;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 按 “java 可执行文件 + 模块依赖 jar 集合” 复用常驻的运行器 JVM（{@code org.example.liteworkspace.bootstrap.WarmRunnerMain}）。
+ * <p>
+ * jar 在常驻进程的启动类路径中共享；目录（项目与依赖模块的输出、资源目录）随每次请求发送，
+ * 由运行器用新的类加载器加载，因此重新编译后无需重启进程。项目关闭时销毁所有常驻进程。
+ * <p>
+ * 同一常驻进程串行处理请求。请求超时或进度条取消时销毁该进程（用户代码无法被中断），下次运行时重新启动。
+ */
+public final class WarmRunnerService implements Disposable {
+
+    private static final String MAIN_CLASS = "org.example.liteworkspace.bootstrap.WarmRunnerMain";
+    private static final String PREFIX = "LITE-RUNNER";
+    private static final long WATCHDOG_INTERVAL_MILLIS = 200;
+
+    private final Project project;
+    private final Map<String, RunnerProcess> runners = new ConcurrentHashMap<>();
+
+    public WarmRunnerService(Project project) {
+        this.project = project;
+    }
+
+    public static WarmRunnerService getInstance(Project project) {
+        return project.getService(WarmRunnerService.class);
+    }
+
+    /**
+     * 在常驻进程中运行主类，输出实时写入 RunOnDemand 控制台
+     *
+     * @param javaExecutable 模块 SDK 的 java，见 {@link ContextBootProfiler#resolveJavaExecutable}
+     * @param memoryClasses  进程内编译得到的 “二进制类名 → 字节码”，优先于输出目录中的同名类
+     * @param indicator      取消时销毁常驻进程，可为 null
+     * @param timeoutMillis  超时后销毁常驻进程，0 表示不限制
+     * @return 退出码；主类抛出异常为 1
+     * @throws RunnerUnavailableException 常驻进程无法启动或连接，请求尚未执行，调用方可退回到独立进程运行
+     * @throws IOException                请求执行期间常驻进程退出（如用户代码调用 System.exit）或超时，不应重新运行
+     */
+    public int run(String javaExecutable, String mainClass, Collection<String> classpathEntries,
+                   Map<String, byte[]> memoryClasses, ProgressIndicator indicator, long timeoutMillis) throws IOException {
+        return execute(javaExecutable, mainClass, classpathEntries, memoryClasses, Collections.emptyList(), null,
+                indicator, timeoutMillis).getExitCode();
+    }
+
+    /**
+     * 运行主类并把每行输出交给 outputListener（同时写入控制台），供需要解析运行结果的调用方使用
+     *
+     * @param arguments      主类参数
+     * @param outputListener 输出行回调，可为 null
+     */
+    public RunResult execute(String javaExecutable, String mainClass, Collection<String> classpathEntries,
+                             Map<String, byte[]> memoryClasses, List<String> arguments, Consumer<String> outputListener,
+                             ProgressIndicator indicator, long timeoutMillis) throws IOException {
+        List<String> sharedJars = new ArrayList<>();
+        List<String> requestDirectories = new ArrayList<>();
+        for (String entry : classpathEntries) {
+            if (new File(entry).isDirectory()) {
+                requestDirectories.add(entry);
+            } else {
+                sharedJars.add(entry);
+            }
+        }
+
+        String key = javaExecutable + File.pathSeparator + String.join(File.pathSeparator, sharedJars);
+        RunnerProcess runner;
+        boolean coldStart = false;
+        synchronized (runners) {
+            runner = runners.get(key);
+            if (runner == null || !runner.process.isAlive()) {
+                try {
+                    runner = start(javaExecutable, sharedJars);
+                } catch (IOException e) {
+                    throw new RunnerUnavailableException("常驻运行器启动失败: " + e.getMessage(), e);
+                }
+                runners.put(key, runner);
+                coldStart = true;
+            }
+        }
+
+        long deadline = timeoutMillis > 0 ? System.currentTimeMillis() + timeoutMillis : Long.MAX_VALUE;
+        acquire(runner, indicator, deadline);
+        try {
+            long start = System.currentTimeMillis();
+            int exitCode = runner.submit(mainClass, requestDirectories, memoryClasses, arguments, outputListener,
+                    indicator, deadline);
+            return new RunResult(exitCode, System.currentTimeMillis() - start, runner.startupMillis, coldStart);
+        } catch (IOException | ProcessCanceledException e) {
+            // 常驻进程已退出或被销毁，下次运行时重新启动
+            runners.remove(key, runner);
+            runner.destroy();
+            throw e;
+        } finally {
+            runner.lock.unlock();
+        }
+    }
+
+    /**
+     * 等待前一个请求结束；等待期间同样响应取消与超时
+     */
+    private void acquire(RunnerProcess runner, ProgressIndicator indicator, long deadline) throws IOException {
+        try {
+            while (!runner.lock.tryLock(WATCHDOG_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (indicator != null) {
+                    indicator.checkCanceled();
+                }
+                if (System.currentTimeMillis() > deadline) {
+                    throw new IOException("等待常驻运行器超时，前一个请求仍在执行");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessCanceledException(e);
+        }
+    }
+
+    private RunnerProcess start(String javaExecutable, List<String> sharedJars) throws IOException {
+        List<String> classpath = new ArrayList<>(sharedJars);
+        classpath.add(PathManager.getJarPathForClass(WarmRunnerService.class));
+        List<String> command = Arrays.asList(javaExecutable, "-cp", String.join(File.pathSeparator, classpath), MAIN_CLASS);
+
+        CostUtil.start("warmRunner");
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null && !line.startsWith(PREFIX)) {
+            ConsoleService.print(project, line, ConsoleViewContentType.NORMAL_OUTPUT);
+        }
+        String[] parts = line != null ? line.split("\t") : new String[0];
+        if (parts.length < 4) {
+            process.destroyForcibly();
+            throw new IOException("常驻运行器未输出端口");
+        }
+
+        // 常驻进程自身的输出（如请求结束后仍在运行的用户线程）持续转到控制台，避免管道写满阻塞
+        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+            try {
+                String output;
+                while ((output = reader.readLine()) != null) {
+                    ConsoleService.print(project, output, ConsoleViewContentType.NORMAL_OUTPUT);
+                }
+            } catch (IOException ignored) {
+                // 进程结束
+            }
+        });
+
+        long startupMillis = CostUtil.end("warmRunner");
+        LogUtil.info("常驻运行器已启动, java={}, port={}, jar 数量={}, 耗时: {} ms",
+                javaExecutable, parts[2], sharedJars.size(), startupMillis);
+        return new RunnerProcess(process, Integer.parseInt(parts[2]), parts[3], startupMillis);
+    }
+
+    @Override
+    public void dispose() {
+        for (RunnerProcess runner : runners.values()) {
+            runner.destroy();
+        }
+        runners.clear();
+    }
+
+    private final class RunnerProcess {
+        private final Process process;
+        private final int port;
+        private final String token;
+        private final long startupMillis;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private RunnerProcess(Process process, int port, String token, long startupMillis) {
+            this.process = process;
+            this.port = port;
+            this.token = token;
+            this.startupMillis = startupMillis;
+        }
+
+        private int submit(String mainClass, List<String> directories, Map<String, byte[]> memoryClasses,
+                           List<String> arguments, Consumer<String> outputListener,
+                           ProgressIndicator indicator, long deadline) throws IOException {
+            Socket socket;
+            try {
+                socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            } catch (IOException e) {
+                throw new RunnerUnavailableException("无法连接常驻运行器: " + e.getMessage(), e);
+            }
+
+            // 看门狗：取消或超时时关闭连接并销毁进程，阻塞中的读取随即结束
+            AtomicReference<String> abortReason = new AtomicReference<>();
+            ScheduledFuture<?> watchdog = AppExecutorUtil.getAppScheduledExecutorService().scheduleWithFixedDelay(() -> {
+                String reason = indicator != null && indicator.isCanceled() ? "canceled"
+                        : System.currentTimeMillis() > deadline ? "timeout" : null;
+                if (reason == null || !abortReason.compareAndSet(null, reason)) {
+                    return;
+                }
+                destroy();
+                try {
+                    socket.close();
+                } catch (IOException ignored) {
+                    // 已关闭
+                }
+            }, WATCHDOG_INTERVAL_MILLIS, WATCHDOG_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+            try (socket;
+                 Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+                 BufferedReader reader = new BufferedReader(
+                         new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+                StringBuilder request = new StringBuilder();
+                request.append("TOKEN\t").append(token).append('\n');
+                request.append("RUN\t").append(mainClass).append('\n');
+                for (String directory : directories) {
+                    request.append("CP\t").append(directory).append('\n');
+                }
+                for (String argument : arguments) {
+                    request.append("ARG\t").append(argument).append('\n');
+                }
+                for (Map.Entry<String, byte[]> memoryClass : memoryClasses.entrySet()) {
+                    request.append("CLASS\t").append(memoryClass.getKey()).append('\t')
+                            .append(Base64.getEncoder().encodeToString(memoryClass.getValue())).append('\n');
+                }
+                request.append("END\n");
+                writer.write(request.toString());
+                writer.flush();
+
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("OUT\t") || line.startsWith("ERR\t")) {
+                        String output = line.substring(4);
+                        ConsoleService.print(project, output, line.startsWith("OUT\t")
+                                ? ConsoleViewContentType.NORMAL_OUTPUT : ConsoleViewContentType.ERROR_OUTPUT);
+                        if (outputListener != null) {
+                            outputListener.accept(output);
+                        }
+                    } else if (line.startsWith("EXIT\t")) {
+                        String[] parts = line.split("\t");
+                        LogUtil.info("常驻运行器执行 {} 完成, 耗时: {} ms", mainClass, parts[2]);
+                        return Integer.parseInt(parts[1]);
+                    }
+                }
+            } catch (IOException e) {
+                if (abortReason.get() == null) {
+                    throw e;
+                }
+            } finally {
+                watchdog.cancel(false);
+            }
+            if ("canceled".equals(abortReason.get())) {
+                LogUtil.warn("已取消 {}，常驻运行器已销毁", mainClass);
+                throw new ProcessCanceledException();
+            }
+            if ("timeout".equals(abortReason.get())) {
+                throw new IOException("执行 " + mainClass + " 超时，常驻运行器已销毁");
+            }
+            throw new IOException("常驻运行器在 " + mainClass + " 执行期间退出");
+        }
+
+        private void destroy() {
+            process.destroy();
+        }
+    }
+
+    /**
+     * 常驻进程无法启动或连接：请求尚未执行，可以安全地改用独立进程运行
+     */
+    public static class RunnerUnavailableException extends IOException {
+        public RunnerUnavailableException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * 单次请求的运行结果
+     */
+    public static class RunResult {
+        private final int exitCode;
+        private final long elapsedMillis;
+        private final long runnerStartupMillis;
+        private final boolean coldStart;
+
+        public RunResult(int exitCode, long elapsedMillis, long runnerStartupMillis, boolean coldStart) {
+            this.exitCode = exitCode;
+            this.elapsedMillis = elapsedMillis;
+            this.runnerStartupMillis = runnerStartupMillis;
+            this.coldStart = coldStart;
+        }
+
+        public int getExitCode() { return exitCode; }
+
+        /**
+         * 请求本身的耗时，不含常驻进程启动
+         */
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        /**
+         * 常驻进程启动时测得的耗时，即每次改用新 JVM 运行要额外付出的成本
+         */
+        public long getRunnerStartupMillis() { return runnerStartupMillis; }
+
+        /**
+         * 本次请求是否新启动了常驻进程
+         */
+        public boolean isColdStart() { return coldStart; }
+    }
+}
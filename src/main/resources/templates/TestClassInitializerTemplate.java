@@ -0,0 +1,22 @@
+package ${PACKAGE};
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+import javax.annotation.Resource;
+
+@RunWith(SpringRunner.class)
+@ContextConfiguration(initializers = ${TEST_CLASS}Initializer.class)
+${IMPORT_AUTO_CONFIGURATION}
+public class ${TEST_CLASS} {
+
+@Resource
+private ${CLASS} ${BEAN};
+
+@Test
+public void test${METHOD}() {
+        // TODO: add assertions
+        System.out.println("${BEAN} = " + ${BEAN});
+    }
+}
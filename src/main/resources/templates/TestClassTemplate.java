@@ -8,6 +8,7 @@ import javax.annotation.Resource;
 
 @RunWith(SpringRunner.class)
 @ContextConfiguration(locations = "classpath:${RELATIVE_PATH}/${TEST_CLASS}.xml")
+${IMPORT_AUTO_CONFIGURATION}
 public class ${TEST_CLASS} {
 
 @Resource
@@ -0,0 +1,106 @@
+package org.example.liteworkspace.perf;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.application.impl.NonBlockingReadActionImpl;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.testFramework.UsefulTestCase;
+import org.example.liteworkspace.bean.core.BeanDefinition;
+import org.example.liteworkspace.bean.core.context.LiteProjectContext;
+import org.example.liteworkspace.bean.core.enums.BeanType;
+import org.example.liteworkspace.bean.engine.ContextCompletenessChecker;
+import org.example.liteworkspace.bean.engine.ContextCompletenessChecker.CompletenessReport;
+import org.example.liteworkspace.perf.SyntheticProjectGenerator.SyntheticProject;
+import org.example.liteworkspace.util.ReadActionUtil;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 完整性检查与边界 Bean：在 {@code src/perf/testData/completeness/frontier-bean} 上检查，
+ * 边界 Bean 以 mock 或懒加载生成、不会注入依赖，其无法满足的依赖不应报告为缺失。
+ * <p>
+ * 通过 {@code ./gradlew ideTest} 运行。
+ */
+public class ContextCompletenessCheckerTest extends UsefulTestCase {
+
+    private static final String FIXTURE = "completeness/frontier-bean";
+    private static final String SERVICE = "com.example.report.ReportService";
+    private static final String REPOSITORY = "com.example.report.ReportRepository";
+
+    private SyntheticProjectFixture fixture;
+    private Path workDir;
+    private Project project;
+
+    @Override
+    protected boolean runInDispatchThread() {
+        // 检查内部提交非阻塞读操作并等待结果，需在后台线程驱动
+        return false;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        Path testData = Paths.get(System.getProperty("lite.perf.testData", "src/perf/testData"));
+        workDir = Files.createTempDirectory("lite-completeness-");
+        SyntheticProject syntheticProject = PerfFixtureLoader.load(testData.resolve(FIXTURE), workDir);
+        fixture = new SyntheticProjectFixture("completeness", syntheticProject);
+        fixture.setUp();
+        project = fixture.getProject();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            if (fixture != null) {
+                fixture.tearDown();
+            }
+            FileUtil.delete(workDir.toFile());
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testFrontierBeanWithUnresolvableDependencyIsNotReported() {
+        CompletenessReport report = check(true);
+        assertFalse(report.summary(), report.hasIssues());
+    }
+
+    public void testExpandedBeanWithUnresolvableDependencyIsReported() {
+        CompletenessReport report = check(false);
+        assertEquals(report.summary(), 1, report.getIssues().size());
+        ContextCompletenessChecker.Issue issue = report.getIssues().get(0);
+        assertEquals("reportRepository", issue.getBeanName());
+        assertEquals("com.example.report.ReportClient", issue.getRequiredType());
+    }
+
+    private CompletenessReport check(boolean repositoryIsFrontier) {
+        PsiClass serviceClass = findClass(SERVICE);
+        PsiClass repositoryClass = findClass(REPOSITORY);
+        LiteProjectContext context = ReadActionUtil.computeAsync(project,
+                () -> new LiteProjectContext(project, serviceClass, null, new EmptyProgressIndicator()),
+                10, TimeUnit.MINUTES).join();
+        NonBlockingReadActionImpl.waitForAsyncTaskCompletion();
+
+        List<BeanDefinition> beans = ReadAction.compute(() -> List.of(
+                new BeanDefinition("reportService", SERVICE, BeanType.ANNOTATION, serviceClass),
+                new BeanDefinition("reportRepository", REPOSITORY, BeanType.ANNOTATION, repositoryClass)));
+        beans.get(1).setFrontier(repositoryIsFrontier);
+        return new ContextCompletenessChecker(context).check(beans, Collections.emptyMap(), Collections.emptyList());
+    }
+
+    private PsiClass findClass(String qualifiedName) {
+        PsiClass psiClass = ReadAction.compute(() -> JavaPsiFacade.getInstance(project)
+                .findClass(qualifiedName, GlobalSearchScope.projectScope(project)));
+        assertNotNull("未找到 " + qualifiedName, psiClass);
+        return psiClass;
+    }
+}
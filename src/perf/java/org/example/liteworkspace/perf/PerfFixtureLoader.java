@@ -0,0 +1,109 @@
+package org.example.liteworkspace.perf;
+
+import com.intellij.openapi.util.io.FileUtil;
+import org.example.liteworkspace.perf.SyntheticProjectGenerator.ModuleLayout;
+import org.example.liteworkspace.perf.SyntheticProjectGenerator.SyntheticProject;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * 读取 {@code src/perf/testData/<name>/fixture.properties} 描述的性能测试项目：
+ * <ul>
+ *   <li>包含 {@code generator.*} 键时，用 {@link SyntheticProjectGenerator} 按参数生成</li>
+ *   <li>否则把检入的目录复制到工作目录，按 {@code modules} 与 {@code module.<name>.dependencies} 组装模块，
+ *       并加入注解桩模块</li>
+ * </ul>
+ * 项目总是在工作目录中打开，测试过程不会改动检入的文件。
+ */
+public class PerfFixtureLoader {
+
+    public static final String FIXTURE_FILE = "fixture.properties";
+
+    private PerfFixtureLoader() {
+    }
+
+    public static SyntheticProject load(Path fixtureDir, Path workDir) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(fixtureDir.resolve(FIXTURE_FILE), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        if (properties.containsKey("generator.moduleCount")) {
+            return new SyntheticProjectGenerator(toSpec(properties)).generate(workDir);
+        }
+
+        FileUtil.copyDir(fixtureDir.toFile(), workDir.toFile());
+        Files.deleteIfExists(workDir.resolve(FIXTURE_FILE));
+        SyntheticProjectGenerator.writeStubs(workDir.resolve(SyntheticProjectGenerator.STUBS_MODULE));
+
+        List<ModuleLayout> modules = new ArrayList<>();
+        modules.add(new ModuleLayout(SyntheticProjectGenerator.STUBS_MODULE,
+                workDir.resolve(SyntheticProjectGenerator.STUBS_MODULE), List.of()));
+        for (String name : split(properties.getProperty("modules", ""))) {
+            List<String> dependencies = new ArrayList<>();
+            dependencies.add(SyntheticProjectGenerator.STUBS_MODULE);
+            dependencies.addAll(split(properties.getProperty("module." + name + ".dependencies", "")));
+            modules.add(new ModuleLayout(name, workDir.resolve(name), dependencies));
+        }
+
+        String targetClass = properties.getProperty("target");
+        if (targetClass == null) {
+            throw new IllegalArgumentException(fixtureDir + " 缺少 target 配置");
+        }
+        return new SyntheticProject(null, workDir, modules, targetClass, countFiles(workDir));
+    }
+
+    private static SyntheticProjectSpec toSpec(Properties properties) {
+        SyntheticProjectSpec.Builder builder = SyntheticProjectSpec.builder()
+                .moduleCount(Integer.parseInt(properties.getProperty("generator.moduleCount")));
+        String value;
+        if ((value = properties.getProperty("generator.beansPerModule")) != null) {
+            builder.beansPerModule(Integer.parseInt(value));
+        }
+        if ((value = properties.getProperty("generator.fanOut")) != null) {
+            builder.fanOut(Integer.parseInt(value));
+        }
+        if ((value = properties.getProperty("generator.interfaceRatio")) != null) {
+            builder.interfaceRatio(Double.parseDouble(value));
+        }
+        if ((value = properties.getProperty("generator.configurationRatio")) != null) {
+            builder.configurationRatio(Double.parseDouble(value));
+        }
+        if ((value = properties.getProperty("generator.xmlConfigRatio")) != null) {
+            builder.xmlConfigRatio(Double.parseDouble(value));
+        }
+        if ((value = properties.getProperty("generator.sqlSessionConfigCount")) != null) {
+            builder.sqlSessionConfigCount(Integer.parseInt(value));
+        }
+        if ((value = properties.getProperty("generator.mapperXmlsPerSqlSession")) != null) {
+            builder.mapperXmlsPerSqlSession(Integer.parseInt(value));
+        }
+        if ((value = properties.getProperty("generator.seed")) != null) {
+            builder.seed(Long.parseLong(value));
+        }
+        return builder.build();
+    }
+
+    private static List<String> split(String value) {
+        List<String> result = new ArrayList<>();
+        for (String part : value.split(",")) {
+            if (!part.isBlank()) {
+                result.add(part.trim());
+            }
+        }
+        return result;
+    }
+
+    private static int countFiles(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return (int) files.filter(Files::isRegularFile).count();
+        }
+    }
+}
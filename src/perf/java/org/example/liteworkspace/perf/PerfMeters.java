@@ -0,0 +1,140 @@
+package org.example.liteworkspace.perf;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.extensions.LoadingOrder;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElementFinder;
+import com.intellij.psi.PsiPackage;
+import com.intellij.psi.search.GlobalSearchScope;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 性能门禁使用的度量工具：校准循环、全线程分配字节数、PSI 类查找计数
+ */
+public final class PerfMeters {
+
+    private PerfMeters() {
+    }
+
+    /**
+     * 固定的 CPU 与内存负载，取多次运行的最小值，用于把墙钟时间预算换算到当前机器
+     *
+     * @return 一次校准循环的耗时（毫秒，至少 1）
+     */
+    public static double calibrate() {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < 7; round++) {
+            long start = System.nanoTime();
+            int[] values = new int[200_000];
+            int seed = 17 + round;
+            for (int i = 0; i < values.length; i++) {
+                seed = seed * 1_103_515_245 + 12_345;
+                values[i] = seed;
+            }
+            Arrays.sort(values);
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < values.length; i += 100) {
+                sb.append(values[i]).append(',');
+            }
+            checksum += sb.toString().hashCode();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        // 防止循环被优化掉
+        if (checksum == 42) {
+            System.out.println("[Perf] " + checksum);
+        }
+        return Math.max(1.0, best / 1_000_000.0);
+    }
+
+    /**
+     * 通过 {@link com.sun.management.ThreadMXBean} 统计所有线程的分配量；
+     * 扫描链路会把工作提交到后台线程池，只统计当前线程会漏掉大部分分配
+     */
+    public static final class AllocationMeter {
+        private final com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        private Map<Long, Long> baseline = new HashMap<>();
+
+        public AllocationMeter() {
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+        }
+
+        public void start() {
+            baseline = snapshot();
+        }
+
+        /**
+         * @return 自 {@link #start()} 以来仍存活线程的分配字节数；期间结束的线程不计入
+         */
+        public long allocatedBytes() {
+            long total = 0;
+            for (Map.Entry<Long, Long> entry : snapshot().entrySet()) {
+                total += entry.getValue() - baseline.getOrDefault(entry.getKey(), 0L);
+            }
+            return total;
+        }
+
+        private Map<Long, Long> snapshot() {
+            long[] ids = threadBean.getAllThreadIds();
+            long[] bytes = threadBean.getThreadAllocatedBytes(ids);
+            Map<Long, Long> result = new HashMap<>(ids.length * 2);
+            for (int i = 0; i < ids.length; i++) {
+                if (bytes[i] >= 0) {
+                    result.put(ids[i], bytes[i]);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 排在最前面的 {@link PsiElementFinder}，只计数不返回结果：
+     * JavaPsiFacade 的类、包查找（未命中其缓存的部分）都会经过它，用作 PSI 解析量的代理指标
+     */
+    public static final class ClassLookupCounter extends PsiElementFinder {
+        private final AtomicLong lookups = new AtomicLong();
+
+        @Override
+        public PsiClass findClass(@NotNull String qualifiedName, @NotNull GlobalSearchScope scope) {
+            lookups.incrementAndGet();
+            return null;
+        }
+
+        @Override
+        public PsiClass @NotNull [] findClasses(@NotNull String qualifiedName, @NotNull GlobalSearchScope scope) {
+            lookups.incrementAndGet();
+            return PsiClass.EMPTY_ARRAY;
+        }
+
+        @Override
+        public PsiPackage findPackage(@NotNull String qualifiedName) {
+            lookups.incrementAndGet();
+            return null;
+        }
+
+        @Override
+        public PsiClass @NotNull [] getClasses(@NotNull PsiPackage psiPackage, @NotNull GlobalSearchScope scope) {
+            lookups.incrementAndGet();
+            return PsiClass.EMPTY_ARRAY;
+        }
+
+        public long get() {
+            return lookups.get();
+        }
+
+        public static ClassLookupCounter install(Project project, Disposable parent) {
+            ClassLookupCounter counter = new ClassLookupCounter();
+            PsiElementFinder.EP.getPoint(project)
+                    .registerExtension(counter, LoadingOrder.FIRST, parent);
+            return counter;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package org.example.liteworkspace.perf;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.application.impl.NonBlockingReadActionImpl;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.testFramework.UsefulTestCase;
+import org.example.liteworkspace.bean.core.BeanDefinition;
+import org.example.liteworkspace.bean.core.context.LiteProjectContext;
+import org.example.liteworkspace.bean.core.context.MyBatisContext;
+import org.example.liteworkspace.bean.core.enums.LazyInitMode;
+import org.example.liteworkspace.bean.engine.LiteBeanScanner;
+import org.example.liteworkspace.bean.engine.SpringXmlBuilder;
+import org.example.liteworkspace.cache.GsonProvider;
+import org.example.liteworkspace.datasource.DataSourceConfigLoader;
+import org.example.liteworkspace.perf.SyntheticProjectGenerator.SyntheticProject;
+import org.example.liteworkspace.util.ReadActionUtil;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 性能门禁：在 {@code src/perf/testData} 下的每个项目上依次执行上下文初始化、Bean 遍历、Mapper 发现、XML 生成，
+ * 检查墙钟时间（按校准循环归一化）、全线程分配量与 PSI 类查找次数，任一超限即失败。
+ * <p>
+ * 预算不手工设定：每项指标的预算 = {@code baseline.properties} 中实测记录的基线 × (1 + margin) + slack，
+ * 余量在 {@code budgets.properties} 中声明。未记录基线的阶段直接失败。
+ * 以 {@code -Dlite.perf.recordBaseline=true} 运行时只测量并重写基线文件，不做检查。
+ * <p>
+ * 每个项目先完整预热一轮再测量。结果写入 {@code lite.perf.report}（默认 build/reports/perf/gate.json）便于做趋势对比。
+ * 通过 {@code ./gradlew perfGate} 运行。
+ */
+public class PerformanceGateTest extends UsefulTestCase {
+
+    private static final String BUDGETS_FILE = "budgets.properties";
+    private static final String BASELINE_FILE = "baseline.properties";
+    private static final List<String> METRICS = List.of("timeUnits", "allocMb", "classLookups");
+    private static final List<String> PHASES = List.of("contextInit", "beanTraversal", "mapperDiscovery", "xmlGeneration");
+
+    @Override
+    protected boolean runInDispatchThread() {
+        // 扫描链路内部会提交非阻塞读操作并等待结果，需在后台线程驱动
+        return false;
+    }
+
+    public void testPhaseBudgets() throws Exception {
+        Path testData = Paths.get(System.getProperty("lite.perf.testData", "src/perf/testData"));
+        Properties margins = loadProperties(testData.resolve(BUDGETS_FILE));
+        Path baselineFile = Paths.get(System.getProperty("lite.perf.baseline", testData.resolve(BASELINE_FILE).toString()));
+        Properties baseline = loadProperties(baselineFile);
+        boolean recordBaseline = Boolean.getBoolean("lite.perf.recordBaseline");
+
+        double calibrationMillis = PerfMeters.calibrate();
+        System.out.println(String.format("[PerfGate] 校准循环: %.1f ms", calibrationMillis));
+
+        List<String> violations = new ArrayList<>();
+        List<Map<String, Object>> report = new ArrayList<>();
+        for (Path fixtureDir : listFixtures(testData)) {
+            String fixtureName = fixtureDir.getFileName().toString();
+            Map<String, PhaseResult> results = measureFixture(fixtureName, fixtureDir);
+            for (String phase : PHASES) {
+                PhaseResult result = results.get(phase);
+                Map<String, Double> metrics = result.metrics(calibrationMillis);
+                if (!recordBaseline) {
+                    violations.addAll(check(baseline, margins, fixtureName, phase, metrics));
+                }
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("fixture", fixtureName);
+                row.put("phase", phase);
+                row.put("millis", result.millis);
+                row.putAll(metrics);
+                report.add(row);
+                System.out.println(String.format("[PerfGate] %-18s %-16s %8d ms %8.1f units %9.1f MB %9d lookups",
+                        fixtureName, phase, result.millis, result.millis / calibrationMillis,
+                        result.allocatedBytes / 1024.0 / 1024.0, result.classLookups));
+            }
+        }
+        writeReport(calibrationMillis, report);
+        if (recordBaseline) {
+            writeBaseline(baselineFile, calibrationMillis, report);
+            return;
+        }
+
+        if (!violations.isEmpty()) {
+            fail("性能门禁未通过:\n  " + String.join("\n  ", violations));
+        }
+    }
+
+    private Map<String, PhaseResult> measureFixture(String fixtureName, Path fixtureDir) throws Exception {
+        Path workDir = Files.createTempDirectory("lite-perf-" + fixtureName + "-");
+        SyntheticProject syntheticProject = PerfFixtureLoader.load(fixtureDir, workDir);
+        SyntheticProjectFixture fixture = new SyntheticProjectFixture("perf-" + fixtureName, syntheticProject);
+        try {
+            fixture.setUp();
+            Project project = fixture.getProject();
+            PsiClass targetClass = ReadAction.compute(() -> JavaPsiFacade.getInstance(project)
+                    .findClass(syntheticProject.getTargetClass(), GlobalSearchScope.projectScope(project)));
+            assertNotNull(fixtureName + " 未找到目标类 " + syntheticProject.getTargetClass(), targetClass);
+
+            PerfMeters.ClassLookupCounter counter = PerfMeters.ClassLookupCounter.install(project, getTestRootDisposable());
+            // 预热：类加载、JIT 与 IDE 内部缓存不计入预算
+            runPipeline(project, targetClass, new LinkedHashMap<>(), counter);
+            Map<String, PhaseResult> results = new LinkedHashMap<>();
+            runPipeline(project, targetClass, results, counter);
+            return results;
+        } finally {
+            fixture.tearDown();
+            FileUtil.delete(workDir.toFile());
+        }
+    }
+
+    private void runPipeline(Project project, PsiClass targetClass, Map<String, PhaseResult> results,
+                             PerfMeters.ClassLookupCounter counter) throws Exception {
+        LiteProjectContext context = measure("contextInit", results, counter, () -> {
+            LiteProjectContext created = ReadActionUtil.computeAsync(project,
+                    () -> new LiteProjectContext(project, targetClass, null, new EmptyProgressIndicator()),
+                    10, TimeUnit.MINUTES).join();
+            // SpringContext 的配置类收集是异步提交的，计入上下文初始化
+            NonBlockingReadActionImpl.waitForAsyncTaskCompletion();
+            return created;
+        });
+
+        Collection<BeanDefinition> beans = measure("beanTraversal", results, counter,
+                () -> new LiteBeanScanner(context).scanAndCollectBeanList(targetClass, project));
+
+        // 上下文初始化已包含一次 Mapper 发现，这里单独重放以得到该阶段自身的开销
+        measure("mapperDiscovery", results, counter, () -> ReadActionUtil.computeAsync(project, () -> {
+            MyBatisContext myBatisContext = new MyBatisContext(project, DataSourceConfigLoader.load(project));
+            myBatisContext.refresh();
+            return myBatisContext;
+        }, 10, TimeUnit.MINUTES).join());
+
+        measure("xmlGeneration", results, counter,
+                () -> new SpringXmlBuilder(context, LazyInitMode.EAGER).buildXmlMap(beans));
+    }
+
+    private <T> T measure(String phase, Map<String, PhaseResult> results, PerfMeters.ClassLookupCounter counter,
+                          Callable<T> action) throws Exception {
+        PerfMeters.AllocationMeter allocationMeter = new PerfMeters.AllocationMeter();
+        long lookupsBefore = counter.get();
+        allocationMeter.start();
+        long start = System.nanoTime();
+        T value = action.call();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        results.put(phase, new PhaseResult(millis, allocationMeter.allocatedBytes(), counter.get() - lookupsBefore));
+        return value;
+    }
+
+    /**
+     * 逐项对照 基线 × (1 + margin) + slack；缺少基线或余量视为违规，避免门禁在未测量时静默通过
+     */
+    private List<String> check(Properties baseline, Properties margins, String fixture, String phase,
+                               Map<String, Double> metrics) {
+        List<String> violations = new ArrayList<>();
+        String prefix = fixture + "." + phase + ".";
+        for (String metric : METRICS) {
+            String recorded = baseline.getProperty(prefix + metric);
+            if (recorded == null) {
+                violations.add(prefix + metric + " 未记录基线，先在基线机器上运行 -Dlite.perf.recordBaseline=true");
+                continue;
+            }
+            String margin = margins.getProperty("margin." + metric);
+            String slack = margins.getProperty("slack." + metric);
+            if (margin == null || slack == null) {
+                violations.add(metric + " 未在 " + BUDGETS_FILE + " 中声明 margin/slack");
+                continue;
+            }
+            double budget = Double.parseDouble(recorded) * (1 + Double.parseDouble(margin)) + Double.parseDouble(slack);
+            double actual = metrics.get(metric);
+            if (actual > budget) {
+                violations.add(String.format("%s 实测 %.1f > 预算 %.1f（基线 %s，margin %s，slack %s）",
+                        prefix + metric, actual, budget, recorded, margin, slack));
+            }
+        }
+        return violations;
+    }
+
+    private static Properties loadProperties(Path file) throws IOException {
+        Properties properties = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * 重写基线文件；不用 Properties.store，保留中文注释且按项目、阶段顺序输出便于审阅差异
+     */
+    private static void writeBaseline(Path baselineFile, double calibrationMillis, List<Map<String, Object>> rows)
+            throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# 性能门禁基线：<fixture>.<phase>.<metric>，由门禁在基线机器上实测写入，不要手工填写\n");
+        sb.append("# 重新记录：./gradlew perfGate -Dlite.perf.recordBaseline=true，并在提交说明中写明机器与 JDK\n");
+        sb.append(String.format(Locale.ROOT, "# 记录时 JDK %s，%s %s，校准循环 %.1f ms%n", System.getProperty("java.version"),
+                System.getProperty("os.name"), System.getProperty("os.arch"), calibrationMillis));
+        String lastFixture = null;
+        for (Map<String, Object> row : rows) {
+            String fixture = (String) row.get("fixture");
+            if (!fixture.equals(lastFixture)) {
+                sb.append('\n');
+                lastFixture = fixture;
+            }
+            String prefix = fixture + "." + row.get("phase") + ".";
+            sb.append(String.format(Locale.ROOT, "%stimeUnits=%.1f%n", prefix, (Double) row.get("timeUnits")));
+            sb.append(String.format(Locale.ROOT, "%sallocMb=%.1f%n", prefix, (Double) row.get("allocMb")));
+            sb.append(String.format(Locale.ROOT, "%sclassLookups=%d%n", prefix, Math.round((Double) row.get("classLookups"))));
+        }
+        Files.writeString(baselineFile, sb.toString(), StandardCharsets.UTF_8);
+        System.out.println("[PerfGate] 基线已写入 " + baselineFile.toAbsolutePath());
+    }
+
+    private static List<Path> listFixtures(Path testData) throws IOException {
+        try (Stream<Path> children = Files.list(testData)) {
+            return children.filter(dir -> Files.isRegularFile(dir.resolve(PerfFixtureLoader.FIXTURE_FILE)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static void writeReport(double calibrationMillis, List<Map<String, Object>> rows) throws IOException {
+        Path reportFile = Paths.get(System.getProperty("lite.perf.report", "build/reports/perf/gate.json"));
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("calibrationMillis", calibrationMillis);
+        report.put("phases", rows);
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        Files.writeString(reportFile, GsonProvider.gson.toJson(report),
+                StandardCharsets.UTF_8);
+        System.out.println("[PerfGate] 结果已写入 " + reportFile.toAbsolutePath());
+    }
+
+    private static final class PhaseResult {
+        private final long millis;
+        private final long allocatedBytes;
+        private final long classLookups;
+
+        private PhaseResult(long millis, long allocatedBytes, long classLookups) {
+            this.millis = millis;
+            this.allocatedBytes = allocatedBytes;
+            this.classLookups = classLookups;
+        }
+
+        private Map<String, Double> metrics(double calibrationMillis) {
+            Map<String, Double> metrics = new LinkedHashMap<>();
+            metrics.put("timeUnits", millis / calibrationMillis);
+            metrics.put("allocMb", allocatedBytes / 1024.0 / 1024.0);
+            metrics.put("classLookups", (double) classLookups);
+            return metrics;
+        }
+    }
+}
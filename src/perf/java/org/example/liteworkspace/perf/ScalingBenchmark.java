@@ -0,0 +1,196 @@
+package org.example.liteworkspace.perf;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.application.impl.NonBlockingReadActionImpl;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.testFramework.UsefulTestCase;
+import org.example.liteworkspace.bean.core.BeanDefinition;
+import org.example.liteworkspace.bean.core.context.LiteProjectContext;
+import org.example.liteworkspace.bean.engine.LiteBeanScanner;
+import org.example.liteworkspace.perf.SyntheticProjectGenerator.SyntheticProject;
+import org.example.liteworkspace.util.ReadActionUtil;
+
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 在逐级放大的合成项目上测量 LiteProjectContext 初始化与 Bean 遍历的耗时和常驻堆，输出规模曲线。
+ * <p>
+ * 相邻两级之间耗时增长的幂次（log(t2/t1) / log(n2/n1)，n 为 Bean 总数）超过阈值时标记为超线性。
+ * 通过 {@code ./gradlew scalingBenchmark} 运行，可用系统属性调整：
+ * <ul>
+ *   <li>{@code lite.scaling.sizes}：模块数序列，默认 5,10,20,40</li>
+ *   <li>{@code lite.scaling.beansPerModule}、{@code lite.scaling.fanOut}、{@code lite.scaling.interfaceRatio}、
+ *       {@code lite.scaling.configurationRatio}、{@code lite.scaling.xmlConfigRatio}、
+ *       {@code lite.scaling.sqlSessions}、{@code lite.scaling.mapperXmlsPerSqlSession}</li>
+ *   <li>{@code lite.scaling.maxExponent}：超线性阈值，默认 1.3；{@code lite.scaling.failOnSuperLinear=true} 时超限即失败</li>
+ * </ul>
+ */
+public class ScalingBenchmark extends UsefulTestCase {
+
+    @Override
+    protected boolean runInDispatchThread() {
+        // 扫描链路内部会提交非阻塞读操作并等待结果，需在后台线程驱动
+        return false;
+    }
+
+    public void testScalingCurve() throws Exception {
+        SyntheticProjectSpec base = SyntheticProjectSpec.builder()
+                .beansPerModule(Integer.getInteger("lite.scaling.beansPerModule", 60))
+                .fanOut(Integer.getInteger("lite.scaling.fanOut", 3))
+                .interfaceRatio(doubleProperty("lite.scaling.interfaceRatio", 0.5))
+                .configurationRatio(doubleProperty("lite.scaling.configurationRatio", 0.1))
+                .xmlConfigRatio(doubleProperty("lite.scaling.xmlConfigRatio", 0.1))
+                .sqlSessionConfigCount(Integer.getInteger("lite.scaling.sqlSessions", 2))
+                .mapperXmlsPerSqlSession(Integer.getInteger("lite.scaling.mapperXmlsPerSqlSession", 50))
+                .build();
+
+        List<ScalingPoint> points = new ArrayList<>();
+        for (String size : System.getProperty("lite.scaling.sizes", "5,10,20,40").split(",")) {
+            SyntheticProjectSpec spec = base.withModuleCount(Integer.parseInt(size.trim()));
+            ScalingPoint point = measure(spec);
+            points.add(point);
+            System.out.println("[Scaling] " + spec + " -> " + point);
+        }
+
+        List<String> superLinear = printCurve(points, doubleProperty("lite.scaling.maxExponent", 1.3));
+        if (Boolean.getBoolean("lite.scaling.failOnSuperLinear")) {
+            assertTrue("检测到超线性增长: " + superLinear, superLinear.isEmpty());
+        }
+    }
+
+    private ScalingPoint measure(SyntheticProjectSpec spec) throws Exception {
+        Path root = Files.createTempDirectory("lite-scaling-" + spec.getModuleCount() + "-");
+        SyntheticProject syntheticProject = new SyntheticProjectGenerator(spec).generate(root);
+        SyntheticProjectFixture fixture = new SyntheticProjectFixture("scaling" + spec.getModuleCount(), syntheticProject);
+        try {
+            long indexStart = System.nanoTime();
+            fixture.setUp();
+            long indexMillis = elapsedMillis(indexStart);
+            Project project = fixture.getProject();
+
+            PsiClass targetClass = ReadAction.compute(() -> JavaPsiFacade.getInstance(project)
+                    .findClass(syntheticProject.getTargetClass(), GlobalSearchScope.projectScope(project)));
+            assertNotNull("未找到目标类 " + syntheticProject.getTargetClass(), targetClass);
+
+            long heapBefore = usedHeapAfterGc();
+
+            long contextStart = System.nanoTime();
+            LiteProjectContext context = ReadActionUtil.computeAsync(project,
+                    () -> new LiteProjectContext(project, targetClass, null, new EmptyProgressIndicator()),
+                    10, TimeUnit.MINUTES).join();
+            // SpringContext 的配置类收集是异步提交的，计入上下文初始化
+            NonBlockingReadActionImpl.waitForAsyncTaskCompletion();
+            long contextMillis = elapsedMillis(contextStart);
+
+            long traversalStart = System.nanoTime();
+            Collection<BeanDefinition> beans = new LiteBeanScanner(context).scanAndCollectBeanList(targetClass, project);
+            long traversalMillis = elapsedMillis(traversalStart);
+
+            long retainedBytes = usedHeapAfterGc() - heapBefore;
+            Reference.reachabilityFence(context);
+
+            return new ScalingPoint(spec, syntheticProject.getFileCount(), indexMillis, contextMillis, traversalMillis,
+                    beans.size(), retainedBytes);
+        } finally {
+            fixture.tearDown();
+            FileUtil.delete(root.toFile());
+        }
+    }
+
+    /**
+     * 打印规模曲线，返回超过幂次阈值的区间描述
+     */
+    private List<String> printCurve(List<ScalingPoint> points, double maxExponent) {
+        List<String> superLinear = new ArrayList<>();
+        System.out.println();
+        System.out.println("[Scaling] ============================= 规模曲线 =============================");
+        System.out.println(String.format("[Scaling] %8s %8s %8s %10s %10s %10s %8s %10s %8s",
+                "modules", "beans", "files", "index ms", "context ms", "scan ms", "found", "heap MB", "exponent"));
+        for (int i = 0; i < points.size(); i++) {
+            ScalingPoint point = points.get(i);
+            String exponentText = "-";
+            if (i > 0) {
+                double exponent = growthExponent(points.get(i - 1), point);
+                exponentText = String.format("%.2f", exponent);
+                if (exponent > maxExponent) {
+                    exponentText += "*";
+                    superLinear.add(points.get(i - 1).spec.getTotalBeans() + "->" + point.spec.getTotalBeans()
+                            + " beans: " + String.format("%.2f", exponent));
+                }
+            }
+            System.out.println(String.format("[Scaling] %8d %8d %8d %10d %10d %10d %8d %10.1f %8s",
+                    point.spec.getModuleCount(), point.spec.getTotalBeans(), point.fileCount, point.indexMillis,
+                    point.contextMillis, point.traversalMillis, point.beanCount,
+                    point.retainedBytes / 1024.0 / 1024.0, exponentText));
+        }
+        if (!superLinear.isEmpty()) {
+            System.out.println("[Scaling] 超线性区间（幂次 > " + maxExponent + "）: " + superLinear);
+        }
+        return superLinear;
+    }
+
+    /**
+     * 以上下文初始化 + Bean 遍历的总耗时计算相邻两级的增长幂次
+     */
+    private static double growthExponent(ScalingPoint previous, ScalingPoint current) {
+        double timeRatio = Math.max(1, current.contextMillis + current.traversalMillis)
+                / (double) Math.max(1, previous.contextMillis + previous.traversalMillis);
+        double sizeRatio = current.spec.getTotalBeans() / (double) previous.spec.getTotalBeans();
+        return sizeRatio <= 1 ? 0 : Math.log(timeRatio) / Math.log(sizeRatio);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static double doubleProperty(String key, double defaultValue) {
+        String value = System.getProperty(key);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+
+    private static final class ScalingPoint {
+        private final SyntheticProjectSpec spec;
+        private final int fileCount;
+        private final long indexMillis;
+        private final long contextMillis;
+        private final long traversalMillis;
+        private final int beanCount;
+        private final long retainedBytes;
+
+        private ScalingPoint(SyntheticProjectSpec spec, int fileCount, long indexMillis, long contextMillis,
+                             long traversalMillis, int beanCount, long retainedBytes) {
+            this.spec = spec;
+            this.fileCount = fileCount;
+            this.indexMillis = indexMillis;
+            this.contextMillis = contextMillis;
+            this.traversalMillis = traversalMillis;
+            this.beanCount = beanCount;
+            this.retainedBytes = retainedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("index=%d ms, context=%d ms, scan=%d ms, beans=%d, heap=%.1f MB",
+                    indexMillis, contextMillis, traversalMillis, beanCount, retainedBytes / 1024.0 / 1024.0);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.liteworkspace.perf;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ContentEntry;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.ModuleRootModificationUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.EdtTestUtil;
+import com.intellij.testFramework.builders.JavaModuleFixtureBuilder;
+import com.intellij.testFramework.fixtures.IdeaProjectTestFixture;
+import com.intellij.testFramework.fixtures.IdeaTestFixtureFactory;
+import com.intellij.testFramework.fixtures.JavaTestFixtureFactory;
+import com.intellij.testFramework.fixtures.TestFixtureBuilder;
+import org.example.liteworkspace.perf.SyntheticProjectGenerator.ModuleLayout;
+import org.example.liteworkspace.perf.SyntheticProjectGenerator.SyntheticProject;
+import org.jetbrains.jps.model.java.JavaResourceRootType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 把磁盘上的多模块项目（合成的或仓库中检入的）加载为 IntelliJ heavy 测试项目：
+ * 每个 {@link ModuleLayout} 对应一个真实模块，挂上 src/main/java 源码根、src/main/resources 资源根与模块依赖，
+ * 并等待索引完成。
+ */
+public class SyntheticProjectFixture {
+
+    private final SyntheticProject syntheticProject;
+    private final IdeaProjectTestFixture fixture;
+
+    public SyntheticProjectFixture(String name, SyntheticProject syntheticProject) {
+        this.syntheticProject = syntheticProject;
+        // 触发 JavaModuleFixtureBuilder 的注册
+        JavaTestFixtureFactory.getFixtureFactory();
+        TestFixtureBuilder<IdeaProjectTestFixture> builder =
+                IdeaTestFixtureFactory.getFixtureFactory().createFixtureBuilder(name);
+        for (ModuleLayout layout : syntheticProject.getModules()) {
+            JavaModuleFixtureBuilder<?> moduleBuilder = builder.addModule(JavaModuleFixtureBuilder.class);
+            moduleBuilder.addContentRoot(layout.getRoot().toString());
+            if (Files.isDirectory(layout.getRoot().resolve("src/main/java"))) {
+                moduleBuilder.addSourceRoot("src/main/java");
+            }
+            moduleBuilder.addJdk(System.getProperty("java.home"));
+        }
+        this.fixture = builder.getFixture();
+    }
+
+    /**
+     * 在 EDT 上创建项目并配置模块，随后在当前（非 EDT）线程等待索引完成
+     */
+    public void setUp() throws Exception {
+        EdtTestUtil.runInEdtAndWait(() -> {
+            fixture.setUp();
+            configureModules();
+        });
+        DumbService.getInstance(getProject()).waitForSmartMode();
+    }
+
+    public void tearDown() throws Exception {
+        EdtTestUtil.runInEdtAndWait(fixture::tearDown);
+    }
+
+    public Project getProject() {
+        return fixture.getProject();
+    }
+
+    public SyntheticProject getSyntheticProject() {
+        return syntheticProject;
+    }
+
+    private void configureModules() {
+        Map<String, Module> modulesByName = new HashMap<>();
+        for (Module module : ModuleManager.getInstance(getProject()).getModules()) {
+            for (VirtualFile contentRoot : ModuleRootManager.getInstance(module).getContentRoots()) {
+                for (ModuleLayout layout : syntheticProject.getModules()) {
+                    if (contentRoot.toNioPath().equals(layout.getRoot())) {
+                        modulesByName.put(layout.getName(), module);
+                    }
+                }
+            }
+        }
+
+        for (ModuleLayout layout : syntheticProject.getModules()) {
+            Module module = modulesByName.get(layout.getName());
+            if (module == null) {
+                throw new IllegalStateException("未找到模块: " + layout.getName());
+            }
+            Path resources = layout.getRoot().resolve("src/main/resources");
+            VirtualFile resourceRoot = Files.isDirectory(resources)
+                    ? LocalFileSystem.getInstance().refreshAndFindFileByNioFile(resources) : null;
+            if (resourceRoot != null) {
+                // 每个模块只有一个内容根，即模块目录
+                ModuleRootModificationUtil.updateModel(module, model -> {
+                    ContentEntry[] entries = model.getContentEntries();
+                    if (entries.length > 0) {
+                        entries[0].addSourceFolder(resourceRoot, JavaResourceRootType.RESOURCE);
+                    }
+                });
+            }
+            for (String dependency : layout.getDependencies()) {
+                Module dependencyModule = modulesByName.get(dependency);
+                if (dependencyModule != null) {
+                    ModuleRootModificationUtil.addDependency(module, dependencyModule);
+                }
+            }
+        }
+    }
+}
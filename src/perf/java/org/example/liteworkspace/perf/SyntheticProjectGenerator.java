@@ -0,0 +1,389 @@
+package org.example.liteworkspace.perf;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * 按 {@link SyntheticProjectSpec} 把合成的多模块 Spring/MyBatis 项目写到指定目录。
+ * <p>
+ * 目录结构：
+ * <pre>
+ *   stubs/src/main/java            Spring / MyBatis 注解桩，所有模块都依赖它
+ *   m000/src/main/java             com.example.m000.service / dao
+ *   m000/src/main/resources        spring/*.xml、mapper/ds*&#47;m000/*.xml
+ *   ...
+ *   mNNN/src/main/java             最后一个模块额外包含 @ComponentScan 入口类，测速目标类也在这里
+ * </pre>
+ * 第 i 个模块依赖第 i-1 个模块，每个 Bean 的第一个依赖指向上游模块，因此从最后一个模块出发的遍历会贯穿全部模块。
+ * 相同的规格与种子总是生成相同的内容。
+ */
+public class SyntheticProjectGenerator {
+
+    public static final String STUBS_MODULE = "stubs";
+    private static final String BASE_PACKAGE = "com.example";
+
+    private final SyntheticProjectSpec spec;
+
+    public SyntheticProjectGenerator(SyntheticProjectSpec spec) {
+        this.spec = spec;
+    }
+
+    public SyntheticProject generate(Path root) throws IOException {
+        Files.createDirectories(root);
+        List<ModuleLayout> modules = new ArrayList<>();
+
+        writeStubs(root.resolve(STUBS_MODULE));
+        modules.add(new ModuleLayout(STUBS_MODULE, root.resolve(STUBS_MODULE), Collections.emptyList()));
+
+        Map<Integer, List<String>> mappersByModule = writeMappers(root);
+
+        int fileCount = 0;
+        for (int i = 0; i < spec.getModuleCount(); i++) {
+            String name = moduleName(i);
+            Path moduleRoot = root.resolve(name);
+            List<String> dependencies = new ArrayList<>();
+            dependencies.add(STUBS_MODULE);
+            if (i > 0) {
+                dependencies.add(moduleName(i - 1));
+            }
+            fileCount += writeModule(i, moduleRoot, mappersByModule.getOrDefault(i, Collections.emptyList()));
+            modules.add(new ModuleLayout(name, moduleRoot, dependencies));
+        }
+
+        int last = spec.getModuleCount() - 1;
+        writeApplication(root.resolve(moduleName(last)));
+        writeSqlSessionConfigs(root.resolve(moduleName(0)));
+
+        String targetClass = packageName(last, "service") + "." + beanImplName(last, 0, new Random(moduleSeed(last)));
+        return new SyntheticProject(spec, root, modules, targetClass, fileCount);
+    }
+
+    // ===================== 业务模块 =====================
+
+    private int writeModule(int moduleIndex, Path moduleRoot, List<String> mappers) throws IOException {
+        Path javaRoot = moduleRoot.resolve("src/main/java");
+        Path resourcesRoot = moduleRoot.resolve("src/main/resources");
+        write(moduleRoot.resolve("build.gradle"), "// synthetic module " + moduleName(moduleIndex) + "\n");
+
+        Random random = new Random(moduleSeed(moduleIndex));
+        String servicePackage = packageName(moduleIndex, "service");
+        Path serviceDir = javaRoot.resolve(servicePackage.replace('.', '/'));
+
+        List<String> configBeans = new ArrayList<>();
+        List<String> xmlBeans = new ArrayList<>();
+        int fileCount = 0;
+        for (int j = 0; j < spec.getBeansPerModule(); j++) {
+            boolean withInterface = random.nextDouble() < spec.getInterfaceRatio();
+            double style = random.nextDouble();
+            BeanStyle beanStyle = style < spec.getXmlConfigRatio() ? BeanStyle.XML
+                    : style < spec.getXmlConfigRatio() + spec.getConfigurationRatio() ? BeanStyle.CONFIGURATION
+                    : BeanStyle.ANNOTATION;
+
+            String typeName = beanTypeName(moduleIndex, j);
+            String implName = withInterface ? typeName + "Impl" : typeName;
+            if (withInterface) {
+                write(serviceDir.resolve(typeName + ".java"), "package " + servicePackage + ";\n\n"
+                        + "public interface " + typeName + " {\n    String handle(String input);\n}\n");
+                fileCount++;
+            }
+
+            StringBuilder body = new StringBuilder();
+            body.append("package ").append(servicePackage).append(";\n\n");
+            body.append("import org.springframework.beans.factory.annotation.Autowired;\n");
+            if (beanStyle == BeanStyle.ANNOTATION) {
+                body.append("import org.springframework.stereotype.Service;\n\n@Service\n");
+            } else {
+                body.append('\n');
+            }
+            body.append("public class ").append(implName)
+                    .append(withInterface ? " implements " + typeName : "").append(" {\n\n");
+            for (String dependency : selectDependencies(moduleIndex, j, mappers, random)) {
+                String simpleName = dependency.substring(dependency.lastIndexOf('.') + 1);
+                body.append("    @Autowired\n    private ").append(dependency).append(' ')
+                        .append(decapitalize(simpleName)).append(";\n\n");
+            }
+            body.append(withInterface ? "    @Override\n" : "")
+                    .append("    public String handle(String input) {\n        return input;\n    }\n}\n");
+            write(serviceDir.resolve(implName + ".java"), body.toString());
+            fileCount++;
+
+            String qualifiedImpl = servicePackage + "." + implName;
+            if (beanStyle == BeanStyle.CONFIGURATION) {
+                configBeans.add(servicePackage + "." + typeName + "|" + qualifiedImpl);
+            } else if (beanStyle == BeanStyle.XML) {
+                xmlBeans.add(qualifiedImpl);
+            }
+        }
+
+        if (!configBeans.isEmpty()) {
+            writeConfiguration(moduleIndex, javaRoot, configBeans);
+            fileCount++;
+        }
+        if (!xmlBeans.isEmpty()) {
+            writeBeansXml(moduleIndex, resourcesRoot, xmlBeans);
+            fileCount++;
+        }
+        Files.createDirectories(resourcesRoot);
+        return fileCount + mappers.size() * 2;
+    }
+
+    /**
+     * 第一个依赖指向上游模块的同序号 Bean，其余指向本模块中序号更大的 Bean（保证无环），每 4 个 Bean 注入一个 Mapper
+     */
+    private List<String> selectDependencies(int moduleIndex, int beanIndex, List<String> mappers, Random random) {
+        List<String> dependencies = new ArrayList<>();
+        int remaining = spec.getFanOut();
+        if (remaining > 0 && moduleIndex > 0) {
+            dependencies.add(packageName(moduleIndex - 1, "service") + "." + beanTypeName(moduleIndex - 1, beanIndex));
+            remaining--;
+        }
+        Set<Integer> chosen = new TreeSet<>();
+        int candidates = spec.getBeansPerModule() - beanIndex - 1;
+        while (remaining > 0 && chosen.size() < candidates) {
+            if (chosen.add(beanIndex + 1 + random.nextInt(candidates))) {
+                remaining--;
+            }
+        }
+        for (int target : chosen) {
+            dependencies.add(packageName(moduleIndex, "service") + "." + beanTypeName(moduleIndex, target));
+        }
+        if (!mappers.isEmpty() && beanIndex % 4 == 0) {
+            dependencies.add(mappers.get((beanIndex / 4) % mappers.size()));
+        }
+        return dependencies;
+    }
+
+    private void writeConfiguration(int moduleIndex, Path javaRoot, List<String> configBeans) throws IOException {
+        String configPackage = packageName(moduleIndex, "config");
+        String className = capitalize(moduleName(moduleIndex)) + "Config";
+        StringBuilder body = new StringBuilder();
+        body.append("package ").append(configPackage).append(";\n\n");
+        body.append("import org.springframework.context.annotation.Bean;\n");
+        body.append("import org.springframework.context.annotation.Configuration;\n\n");
+        body.append("@Configuration\npublic class ").append(className).append(" {\n");
+        for (String configBean : configBeans) {
+            String[] parts = configBean.split("\\|");
+            String simpleName = parts[0].substring(parts[0].lastIndexOf('.') + 1);
+            body.append("\n    @Bean\n    public ").append(parts[0]).append(' ').append(decapitalize(simpleName))
+                    .append("() {\n        return new ").append(parts[1]).append("();\n    }\n");
+        }
+        body.append("}\n");
+        write(javaRoot.resolve(configPackage.replace('.', '/')).resolve(className + ".java"), body.toString());
+    }
+
+    private void writeBeansXml(int moduleIndex, Path resourcesRoot, List<String> xmlBeans) throws IOException {
+        StringBuilder body = new StringBuilder(beansHeader());
+        for (String className : xmlBeans) {
+            String simpleName = className.substring(className.lastIndexOf('.') + 1);
+            body.append("    <bean id=\"").append(decapitalize(simpleName)).append("\" class=\"")
+                    .append(className).append("\"/>\n");
+        }
+        body.append("</beans>\n");
+        write(resourcesRoot.resolve("spring/" + moduleName(moduleIndex) + "-beans.xml"), body.toString());
+    }
+
+    // ===================== MyBatis =====================
+
+    /**
+     * Mapper 按序号轮流分布到各模块，XML 放在 mapper/ds{k}/{module}/ 下，与对应 SqlSessionFactory 的 mapperLocations 匹配
+     *
+     * @return 模块序号 → 该模块中的 Mapper 接口全限定名
+     */
+    private Map<Integer, List<String>> writeMappers(Path root) throws IOException {
+        Map<Integer, List<String>> mappersByModule = new HashMap<>();
+        int ordinal = 0;
+        for (int k = 0; k < spec.getSqlSessionConfigCount(); k++) {
+            for (int n = 0; n < spec.getMapperXmlsPerSqlSession(); n++) {
+                int moduleIndex = ordinal++ % spec.getModuleCount();
+                String daoPackage = packageName(moduleIndex, "dao");
+                String simpleName = "Ds" + k + "Mapper" + n;
+                String qualifiedName = daoPackage + "." + simpleName;
+                Path moduleRoot = root.resolve(moduleName(moduleIndex));
+
+                write(moduleRoot.resolve("src/main/java/" + daoPackage.replace('.', '/') + "/" + simpleName + ".java"),
+                        "package " + daoPackage + ";\n\n"
+                                + "import org.apache.ibatis.annotations.Mapper;\n\n"
+                                + "@Mapper\npublic interface " + simpleName + " {\n"
+                                + "    java.util.Map<String, Object> selectById(Long id);\n\n"
+                                + "    int deleteById(Long id);\n}\n");
+                write(moduleRoot.resolve("src/main/resources/mapper/ds" + k + "/" + moduleName(moduleIndex)
+                        + "/" + simpleName + ".xml"), mapperXml(qualifiedName));
+                mappersByModule.computeIfAbsent(moduleIndex, i -> new ArrayList<>()).add(qualifiedName);
+            }
+        }
+        return mappersByModule;
+    }
+
+    private void writeSqlSessionConfigs(Path moduleRoot) throws IOException {
+        for (int k = 0; k < spec.getSqlSessionConfigCount(); k++) {
+            String body = beansHeader()
+                    + "    <bean id=\"sqlSessionFactoryDs" + k + "\" class=\"org.mybatis.spring.SqlSessionFactoryBean\">\n"
+                    + "        <property name=\"dataSource\" ref=\"dataSourceDs" + k + "\"/>\n"
+                    + "        <property name=\"mapperLocations\">\n"
+                    + "            <list>\n"
+                    + "                <value>classpath*:mapper/ds" + k + "/**/*.xml</value>\n"
+                    + "            </list>\n"
+                    + "        </property>\n"
+                    + "    </bean>\n\n"
+                    + "    <bean class=\"org.mybatis.spring.mapper.MapperScannerConfigurer\">\n"
+                    + "        <property name=\"sqlSessionFactoryBeanName\" value=\"sqlSessionFactoryDs" + k + "\"/>\n"
+                    + "        <property name=\"basePackage\" value=\"" + BASE_PACKAGE + "\"/>\n"
+                    + "    </bean>\n"
+                    + "</beans>\n";
+            write(moduleRoot.resolve("src/main/resources/spring/mybatis-ds" + k + ".xml"), body);
+        }
+    }
+
+    private static String mapperXml(String namespace) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<!DOCTYPE mapper PUBLIC \"-//mybatis.org//DTD Mapper 3.0//EN\" "
+                + "\"http://mybatis.org/dtd/mybatis-3-mapper.dtd\">\n"
+                + "<mapper namespace=\"" + namespace + "\">\n"
+                + "    <select id=\"selectById\" resultType=\"map\">\n"
+                + "        select * from t_record where id = #{id}\n"
+                + "    </select>\n"
+                + "    <delete id=\"deleteById\">\n"
+                + "        delete from t_record where id = #{id}\n"
+                + "    </delete>\n"
+                + "</mapper>\n";
+    }
+
+    // ===================== 入口类与注解桩 =====================
+
+    private void writeApplication(Path moduleRoot) throws IOException {
+        String appPackage = BASE_PACKAGE + ".app";
+        write(moduleRoot.resolve("src/main/java/" + appPackage.replace('.', '/') + "/Application.java"),
+                "package " + appPackage + ";\n\n"
+                        + "import org.springframework.context.annotation.ComponentScan;\n"
+                        + "import org.springframework.context.annotation.Configuration;\n\n"
+                        + "@Configuration\n@ComponentScan(\"" + BASE_PACKAGE + "\")\npublic class Application {\n}\n");
+    }
+
+    static void writeStubs(Path moduleRoot) throws IOException {
+        Path javaRoot = moduleRoot.resolve("src/main/java");
+        writeAnnotation(javaRoot, "org.springframework.stereotype", "Component", "TYPE");
+        writeAnnotation(javaRoot, "org.springframework.stereotype", "Service", "TYPE");
+        writeAnnotation(javaRoot, "org.springframework.stereotype", "Repository", "TYPE");
+        writeAnnotation(javaRoot, "org.springframework.context.annotation", "Configuration", "TYPE");
+        writeAnnotation(javaRoot, "org.springframework.context.annotation", "ComponentScan", "TYPE");
+        writeAnnotation(javaRoot, "org.springframework.context.annotation", "Bean", "METHOD");
+        writeAnnotation(javaRoot, "org.springframework.beans.factory.annotation", "Autowired",
+                "FIELD", "METHOD", "CONSTRUCTOR");
+        writeAnnotation(javaRoot, "org.apache.ibatis.annotations", "Mapper", "TYPE");
+    }
+
+    private static void writeAnnotation(Path javaRoot, String packageName, String name, String... targets) throws IOException {
+        StringJoiner elementTypes = new StringJoiner(", ", "{", "}");
+        for (String target : targets) {
+            elementTypes.add("java.lang.annotation.ElementType." + target);
+        }
+        write(javaRoot.resolve(packageName.replace('.', '/')).resolve(name + ".java"),
+                "package " + packageName + ";\n\n"
+                        + "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\n"
+                        + "@java.lang.annotation.Target(" + elementTypes + ")\n"
+                        + "public @interface " + name + " {\n"
+                        + "    String[] value() default {};\n"
+                        + "}\n");
+    }
+
+    // ===================== 命名与写文件 =====================
+
+    private static String beansHeader() {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<beans xmlns=\"http://www.springframework.org/schema/beans\"\n"
+                + "       xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n"
+                + "       xsi:schemaLocation=\"http://www.springframework.org/schema/beans "
+                + "http://www.springframework.org/schema/beans/spring-beans.xsd\">\n\n";
+    }
+
+    /**
+     * 目标类需要与 writeModule 中第 0 个 Bean 的接口抽签结果一致，因此使用同一种子的随机数重放
+     */
+    private String beanImplName(int moduleIndex, int beanIndex, Random random) {
+        boolean withInterface = random.nextDouble() < spec.getInterfaceRatio();
+        return withInterface ? beanTypeName(moduleIndex, beanIndex) + "Impl" : beanTypeName(moduleIndex, beanIndex);
+    }
+
+    private long moduleSeed(int moduleIndex) {
+        return spec.getSeed() * 31 + moduleIndex;
+    }
+
+    static String moduleName(int moduleIndex) {
+        return String.format("m%03d", moduleIndex);
+    }
+
+    private static String packageName(int moduleIndex, String layer) {
+        return BASE_PACKAGE + "." + moduleName(moduleIndex) + "." + layer;
+    }
+
+    private static String beanTypeName(int moduleIndex, int beanIndex) {
+        return capitalize(moduleName(moduleIndex)) + "Service" + beanIndex;
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private static String decapitalize(String value) {
+        return Character.toLowerCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    private enum BeanStyle {
+        ANNOTATION,
+        CONFIGURATION,
+        XML
+    }
+
+    /**
+     * 单个模块的目录与模块依赖（按名称）
+     */
+    public static class ModuleLayout {
+        private final String name;
+        private final Path root;
+        private final List<String> dependencies;
+
+        public ModuleLayout(String name, Path root, List<String> dependencies) {
+            this.name = name;
+            this.root = root;
+            this.dependencies = dependencies;
+        }
+
+        public String getName() { return name; }
+        public Path getRoot() { return root; }
+        public List<String> getDependencies() { return dependencies; }
+    }
+
+    /**
+     * 生成结果：模块按依赖顺序排列，目标类为最后一个模块的第 0 个 Bean
+     */
+    public static class SyntheticProject {
+        private final SyntheticProjectSpec spec;
+        private final Path root;
+        private final List<ModuleLayout> modules;
+        private final String targetClass;
+        private final int fileCount;
+
+        public SyntheticProject(SyntheticProjectSpec spec, Path root, List<ModuleLayout> modules,
+                                String targetClass, int fileCount) {
+            this.spec = spec;
+            this.root = root;
+            this.modules = modules;
+            this.targetClass = targetClass;
+            this.fileCount = fileCount;
+        }
+
+        public SyntheticProjectSpec getSpec() { return spec; }
+        public Path getRoot() { return root; }
+        public List<ModuleLayout> getModules() { return modules; }
+        public String getTargetClass() { return targetClass; }
+        public int getFileCount() { return fileCount; }
+    }
+}
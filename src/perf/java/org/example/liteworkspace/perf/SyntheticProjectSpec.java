@@ -0,0 +1,173 @@
+package org.example.liteworkspace.perf;
+
+/**
+ * 合成 Spring/MyBatis 项目的规模参数，用于在公开环境复现 “数百模块、数万 Bean、数千 Mapper XML” 的场景
+ */
+public class SyntheticProjectSpec {
+
+    private final int moduleCount;
+    private final int beansPerModule;
+    private final int fanOut;
+    private final double interfaceRatio;
+    private final double configurationRatio;
+    private final double xmlConfigRatio;
+    private final int sqlSessionConfigCount;
+    private final int mapperXmlsPerSqlSession;
+    private final long seed;
+
+    private SyntheticProjectSpec(Builder builder) {
+        this.moduleCount = builder.moduleCount;
+        this.beansPerModule = builder.beansPerModule;
+        this.fanOut = builder.fanOut;
+        this.interfaceRatio = builder.interfaceRatio;
+        this.configurationRatio = builder.configurationRatio;
+        this.xmlConfigRatio = builder.xmlConfigRatio;
+        this.sqlSessionConfigCount = builder.sqlSessionConfigCount;
+        this.mapperXmlsPerSqlSession = builder.mapperXmlsPerSqlSession;
+        this.seed = builder.seed;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 业务模块数量（不含注解桩模块），第 i 个模块依赖第 i-1 个模块
+     */
+    public int getModuleCount() { return moduleCount; }
+
+    /**
+     * 每个模块中的 Bean 数量（不含 Mapper）
+     */
+    public int getBeansPerModule() { return beansPerModule; }
+
+    /**
+     * 每个 Bean 注入的依赖数量，其中一个指向上游模块
+     */
+    public int getFanOut() { return fanOut; }
+
+    /**
+     * 以 “接口 + 实现类” 形式声明、按接口注入的 Bean 比例
+     */
+    public double getInterfaceRatio() { return interfaceRatio; }
+
+    /**
+     * 由 @Configuration 类中的 @Bean 方法提供的 Bean 比例
+     */
+    public double getConfigurationRatio() { return configurationRatio; }
+
+    /**
+     * 在 Spring XML 中以 &lt;bean&gt; 声明、类上不带注解的 Bean 比例
+     */
+    public double getXmlConfigRatio() { return xmlConfigRatio; }
+
+    public int getSqlSessionConfigCount() { return sqlSessionConfigCount; }
+
+    /**
+     * 每个 SqlSessionFactory 的 mapperLocations 下的 Mapper XML 数量
+     */
+    public int getMapperXmlsPerSqlSession() { return mapperXmlsPerSqlSession; }
+
+    public long getSeed() { return seed; }
+
+    public int getTotalBeans() {
+        return moduleCount * beansPerModule;
+    }
+
+    public int getTotalMapperXmls() {
+        return sqlSessionConfigCount * mapperXmlsPerSqlSession;
+    }
+
+    /**
+     * 保持其余参数不变，按模块数缩放，用于绘制规模曲线
+     */
+    public SyntheticProjectSpec withModuleCount(int moduleCount) {
+        return toBuilder().moduleCount(moduleCount).build();
+    }
+
+    public Builder toBuilder() {
+        return new Builder()
+                .moduleCount(moduleCount)
+                .beansPerModule(beansPerModule)
+                .fanOut(fanOut)
+                .interfaceRatio(interfaceRatio)
+                .configurationRatio(configurationRatio)
+                .xmlConfigRatio(xmlConfigRatio)
+                .sqlSessionConfigCount(sqlSessionConfigCount)
+                .mapperXmlsPerSqlSession(mapperXmlsPerSqlSession)
+                .seed(seed);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("modules=%d, beans=%d, fanOut=%d, interface=%.2f, configuration=%.2f, xml=%.2f, "
+                        + "sqlSessions=%d, mapperXmls=%d",
+                moduleCount, getTotalBeans(), fanOut, interfaceRatio, configurationRatio, xmlConfigRatio,
+                sqlSessionConfigCount, getTotalMapperXmls());
+    }
+
+    public static class Builder {
+        private int moduleCount = 10;
+        private int beansPerModule = 60;
+        private int fanOut = 3;
+        private double interfaceRatio = 0.5;
+        private double configurationRatio = 0.1;
+        private double xmlConfigRatio = 0.1;
+        private int sqlSessionConfigCount = 2;
+        private int mapperXmlsPerSqlSession = 50;
+        private long seed = 42L;
+
+        public Builder moduleCount(int moduleCount) {
+            this.moduleCount = Math.max(1, moduleCount);
+            return this;
+        }
+
+        public Builder beansPerModule(int beansPerModule) {
+            this.beansPerModule = Math.max(1, beansPerModule);
+            return this;
+        }
+
+        public Builder fanOut(int fanOut) {
+            this.fanOut = Math.max(0, fanOut);
+            return this;
+        }
+
+        public Builder interfaceRatio(double interfaceRatio) {
+            this.interfaceRatio = clamp(interfaceRatio);
+            return this;
+        }
+
+        public Builder configurationRatio(double configurationRatio) {
+            this.configurationRatio = clamp(configurationRatio);
+            return this;
+        }
+
+        public Builder xmlConfigRatio(double xmlConfigRatio) {
+            this.xmlConfigRatio = clamp(xmlConfigRatio);
+            return this;
+        }
+
+        public Builder sqlSessionConfigCount(int sqlSessionConfigCount) {
+            this.sqlSessionConfigCount = Math.max(0, sqlSessionConfigCount);
+            return this;
+        }
+
+        public Builder mapperXmlsPerSqlSession(int mapperXmlsPerSqlSession) {
+            this.mapperXmlsPerSqlSession = Math.max(0, mapperXmlsPerSqlSession);
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public SyntheticProjectSpec build() {
+            return new SyntheticProjectSpec(this);
+        }
+
+        private static double clamp(double ratio) {
+            return Math.max(0.0, Math.min(1.0, ratio));
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.report;
+
+import java.util.List;
+
+public interface ReportClient {
+
+    List<String> fetch();
+}
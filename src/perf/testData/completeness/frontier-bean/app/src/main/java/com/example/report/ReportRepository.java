@@ -0,0 +1,15 @@
+package com.example.report;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class ReportRepository {
+
+    @Autowired
+    private ReportClient reportClient;
+
+    public int count() {
+        return reportClient.fetch().size();
+    }
+}
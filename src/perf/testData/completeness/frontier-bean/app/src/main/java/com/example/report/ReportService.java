@@ -0,0 +1,15 @@
+package com.example.report;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ReportService {
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    public int count() {
+        return reportRepository.count();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.common;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AuditLogger {
+
+    @Autowired
+    private IdGenerator idGenerator;
+
+    public long record(String action) {
+        return idGenerator.nextId();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.common;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class IdGenerator {
+
+    private long sequence;
+
+    public synchronized long nextId() {
+        return ++sequence;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.order.dao;
+
+import org.apache.ibatis.annotations.Mapper;
+
+import java.util.List;
+import java.util.Map;
+
+@Mapper
+public interface OrderItemMapper {
+
+    List<Map<String, Object>> selectByOrderId(Long orderId);
+}
@@ -0,0 +1,13 @@
+package com.example.order.dao;
+
+import org.apache.ibatis.annotations.Mapper;
+
+import java.util.Map;
+
+@Mapper
+public interface OrderMapper {
+
+    Map<String, Object> selectById(Long id);
+
+    int insert(Map<String, Object> order);
+}
@@ -0,0 +1,14 @@
+package com.example.order.config;
+
+import com.example.order.service.DiscountPolicy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OrderConfig {
+
+    @Bean
+    public DiscountPolicy discountPolicy() {
+        return amount -> amount / 10;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.order.service;
+
+/**
+ * 在 spring/order-beans.xml 中声明
+ */
+public class InventoryClient {
+
+    public boolean reserve(long amount) {
+        return amount > 0;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.order.service;
+
+public interface OrderService {
+
+    long placeOrder(long amount);
+}
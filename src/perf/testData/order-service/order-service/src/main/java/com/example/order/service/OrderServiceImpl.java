@@ -0,0 +1,38 @@
+package com.example.order.service;
+
+import com.example.common.AuditLogger;
+import com.example.order.dao.OrderItemMapper;
+import com.example.order.dao.OrderMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+public class OrderServiceImpl implements OrderService {
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private OrderItemMapper orderItemMapper;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private InventoryClient inventoryClient;
+
+    @Autowired
+    private AuditLogger auditLogger;
+
+    @Override
+    public long placeOrder(long amount) {
+        inventoryClient.reserve(amount);
+        Map<String, Object> order = new HashMap<>();
+        order.put("id", auditLogger.record("placeOrder"));
+        order.put("amount", pricingService.price(amount));
+        return orderMapper.insert(order);
+    }
+}
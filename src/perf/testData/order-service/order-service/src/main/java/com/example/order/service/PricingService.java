@@ -0,0 +1,15 @@
+package com.example.order.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class PricingService {
+
+    @Autowired
+    private DiscountPolicy discountPolicy;
+
+    public long price(long amount) {
+        return amount - discountPolicy.discount(amount);
+    }
+}